@@ -0,0 +1,37 @@
+#!/bin/bash
+# Run the test suite against a disposable PostgreSQL
+# Starts a throwaway PostgreSQL container, runs the Maven tests with TEST_POSTGRES_URL pointing at it (so the
+# PostgreSQL-only tests run instead of being skipped) and removes the container afterwards.
+# Usage: ./scripts/test-postgres.sh [maven arguments, e.g. -Dtest=OrderSearchIndexTest]
+# Environment: POSTGRES_IMAGE (default postgres:16), POSTGRES_PORT (default 55432)
+
+set -e
+
+POSTGRES_IMAGE=${POSTGRES_IMAGE:-postgres:16}
+POSTGRES_PORT=${POSTGRES_PORT:-55432}
+CONTAINER="ttelgo-test-postgres-$$"
+
+cd "$(dirname "$0")/.."
+
+echo "Starting $POSTGRES_IMAGE on port $POSTGRES_PORT"
+docker run --rm -d --name "$CONTAINER" \
+    -e POSTGRES_PASSWORD=postgres -e POSTGRES_DB=ttelgo_test \
+    -p "$POSTGRES_PORT:5432" "$POSTGRES_IMAGE" -c max_connections=200 > /dev/null
+trap 'docker rm -f "$CONTAINER" > /dev/null' EXIT
+
+# The image restarts the server once after initialization, so wait for it to accept TCP connections
+for i in $(seq 1 60); do
+    if docker exec "$CONTAINER" pg_isready -h 127.0.0.1 -U postgres -d ttelgo_test > /dev/null 2>&1; then
+        break
+    fi
+    if [ "$i" -eq 60 ]; then
+        echo "PostgreSQL did not start" >&2
+        exit 1
+    fi
+    sleep 1
+done
+
+TEST_POSTGRES_URL="jdbc:postgresql://localhost:$POSTGRES_PORT/ttelgo_test" \
+TEST_POSTGRES_USER=postgres \
+TEST_POSTGRES_PASSWORD=postgres \
+    ./mvnw -B test "$@"
@@ -1,21 +1,27 @@
 package com.tiktel.ttelgo.admin.api;
 
 import com.tiktel.ttelgo.common.dto.ApiResponse;
+import com.tiktel.ttelgo.common.dto.Cursor;
+import com.tiktel.ttelgo.common.dto.CursorPage;
 import com.tiktel.ttelgo.common.dto.PaginationMeta;
+import com.tiktel.ttelgo.common.exception.BusinessException;
+import com.tiktel.ttelgo.common.exception.ErrorCode;
 import com.tiktel.ttelgo.order.api.dto.OrderResponse;
+import com.tiktel.ttelgo.order.api.mapper.OrderApiMapper;
 import com.tiktel.ttelgo.order.application.OrderService;
-import com.tiktel.ttelgo.order.infrastructure.repository.OrderJpaEntity;
-import com.tiktel.ttelgo.order.infrastructure.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/admin/orders")
@@ -23,35 +29,58 @@ import java.util.List;
 @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
 public class AdminOrderController {
     
-    private final OrderRepository orderRepository;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+    private static final Set<String> SORT_FIELDS = Set.of("createdAt", "updatedAt", "paidAt", "completedAt",
+            "status", "paymentStatus", "totalAmount", "orderNumber", "customerEmail");
+    
     private final OrderService orderService;
+    private final OrderApiMapper orderApiMapper;
     
+    /**
+     * Search orders, paged by offset. paging=cursor (or a cursor) pages newest first by cursor instead:
+     * follow meta.pagination.nextCursor.
+     */
     @GetMapping
     public ResponseEntity<ApiResponse<List<OrderResponse>>> getAllOrders(
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "50") Integer size,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false, defaultValue = "createdAt,desc") String sort) {
-        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long vendorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false, defaultValue = "createdAt,desc") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) Boolean includeTotal) {
+        Sort sortOrder = parseSort(sort);
         
-        Page<OrderJpaEntity> orders;
+        com.tiktel.ttelgo.common.domain.enums.OrderStatus orderStatus = null;
         if (status != null && !status.isEmpty()) {
             try {
-                com.tiktel.ttelgo.common.domain.enums.OrderStatus orderStatus = 
-                    com.tiktel.ttelgo.common.domain.enums.OrderStatus.valueOf(status.toUpperCase());
-                orders = orderRepository.findByStatus(orderStatus, pageable);
+                orderStatus = com.tiktel.ttelgo.common.domain.enums.OrderStatus.valueOf(status.toUpperCase());
             } catch (IllegalArgumentException e) {
-                orders = orderRepository.findAll(pageable);
+                // Unknown status: list all orders
+            }
+        }
+        
+        if (cursor != null || "cursor".equals(paging)) {
+            // Keyset paging: follow meta.pagination.nextCursor; counted on the first page unless asked otherwise
+            if (!NEWEST_FIRST.equals(sortOrder)) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Cursor paging only supports sort=createdAt,desc");
             }
-        } else {
-            orders = orderRepository.findAll(pageable);
+            boolean withTotal = includeTotal != null ? includeTotal : cursor == null;
+            CursorPage<OrderResponse> orders = orderService.searchOrders(userId, vendorId, orderStatus, startDate, endDate,
+                    Cursor.decode(cursor), size, withTotal).map(orderApiMapper::toResponse);
+            return ResponseEntity.ok(ApiResponse.success(orders.content(), "Success",
+                    PaginationMeta.fromCursorPage(orders, size)));
         }
         
-        List<OrderResponse> orderResponses = orders.getContent().stream()
-            .map(order -> orderService.getOrderResponseById(order.getId()))
-            .collect(java.util.stream.Collectors.toList());
+        Pageable pageable = PageRequest.of(page, size, sortOrder);
+        Page<OrderResponse> orders = orderService.searchOrders(userId, vendorId, orderStatus, startDate, endDate, pageable)
+                .map(orderApiMapper::toResponse);
         
-        return ResponseEntity.ok(ApiResponse.success(orderResponses, "Success", PaginationMeta.fromPage(orders)));
+        return ResponseEntity.ok(ApiResponse.success(orders.getContent(), "Success", PaginationMeta.fromPage(orders)));
     }
     
     @GetMapping("/{id}")
@@ -59,6 +88,16 @@ public class AdminOrderController {
         OrderResponse response = orderService.getOrderResponseById(id);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+    
+    /**
+     * Submit a failed or unconfirmed (SYNC_FAILED) order to eSIM Go again.
+     * Not idempotent: for SYNC_FAILED orders, check first that eSIM Go has no order for it.
+     */
+    @PostMapping("/{id}/retry-provisioning")
+    public ResponseEntity<ApiResponse<OrderResponse>> retryProvisioning(@PathVariable Long id) {
+        OrderResponse response = orderApiMapper.toResponse(orderService.retryProvisioning(id));
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 
     private Sort parseSort(String sort) {
         if (sort == null || sort.isBlank()) {
@@ -66,6 +105,9 @@ public class AdminOrderController {
         }
         String[] parts = sort.split(",", 2);
         String field = parts[0].trim();
+        if (!SORT_FIELDS.contains(field)) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Cannot sort orders by: " + field);
+        }
         String dir = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
         Sort.Direction direction = "desc".equals(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
         return Sort.by(direction, field);
@@ -2,6 +2,7 @@ package com.tiktel.ttelgo.admin.api;
 
 import com.tiktel.ttelgo.common.dto.ApiResponse;
 import com.tiktel.ttelgo.common.dto.PaginationMeta;
+import com.tiktel.ttelgo.plan.api.BundleListingStreamer;
 import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
 import com.tiktel.ttelgo.plan.application.PlanService;
 import lombok.RequiredArgsConstructor;
@@ -18,9 +19,10 @@ import java.util.List;
 public class AdminPlanController {
     
     private final PlanService planService;
+    private final BundleListingStreamer listingStreamer;
     
     @GetMapping
-    public ResponseEntity<ApiResponse<ListBundlesResponse>> getAllPlans(
+    public ResponseEntity<?> getAllPlans(
             @RequestParam(required = false, defaultValue = "false") Boolean all,
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false) Integer size,
@@ -40,8 +42,8 @@ public class AdminPlanController {
         String effectiveDirection = direction != null ? direction : sortParts.direction;
 
         if (Boolean.TRUE.equals(all)) {
-            // Load all plans by making multiple paginated requests (client-side filtering in admin UI)
-            return ResponseEntity.ok(ApiResponse.success(planService.loadAllPlans()));
+            // All plans for client-side filtering in the admin UI, streamed from the catalogue snapshot
+            return listingStreamer.stream(planService.listAllBundles().getBundles(), "Success", null);
         }
 
         if (countryIso != null && !countryIso.trim().isEmpty()) {
@@ -57,11 +59,17 @@ public class AdminPlanController {
                         : planService.listRegionalBundles();
                 case "local" -> planService.listLocalBundles();
                 case "global" -> planService.listGlobalBundles();
-                default -> planService.listAllBundlesPaginated(p + 1, effectivePerPage, effectiveDirection, effectiveOrderBy, search);
+                default -> listAllOrSearch(p, effectivePerPage, effectiveDirection, effectiveOrderBy, search);
             };
             return ResponseEntity.ok(ApiResponse.success(response, "Success", PaginationMeta.simple(p, effectivePerPage, totalBundles(response))));
         }
 
+        if (search != null && !search.isBlank()) {
+            ListBundlesResponse matches = planService.searchBundles(search.trim());
+            return ResponseEntity.ok(ApiResponse.success(page(matches, p, effectivePerPage), "Success",
+                    PaginationMeta.simple(p, effectivePerPage, totalBundles(matches))));
+        }
+
         ListBundlesResponse response = planService.listAllBundlesPaginated(p + 1, effectivePerPage, effectiveDirection, effectiveOrderBy, search);
         return ResponseEntity.ok(ApiResponse.success(response, "Success", PaginationMeta.simple(p, effectivePerPage, totalBundles(response))));
     }
@@ -72,6 +80,25 @@ public class AdminPlanController {
         return ResponseEntity.ok(ApiResponse.success(regions));
     }
 
+    /**
+     * Searches go to the in-memory search index; plain listings still page through eSIMGo
+     */
+    private ListBundlesResponse listAllOrSearch(int page, int perPage, String direction, String orderBy, String search) {
+        if (search != null && !search.isBlank()) {
+            return page(planService.searchBundles(search.trim()), page, perPage);
+        }
+        return planService.listAllBundlesPaginated(page + 1, perPage, direction, orderBy, search);
+    }
+
+    private ListBundlesResponse page(ListBundlesResponse response, int page, int size) {
+        List<ListBundlesResponse.BundleDto> bundles = response.getBundles() != null ? response.getBundles() : List.of();
+        int from = Math.min(bundles.size(), Math.max(0, page) * Math.max(1, size));
+        int to = Math.min(bundles.size(), from + Math.max(1, size));
+        ListBundlesResponse paged = new ListBundlesResponse();
+        paged.setBundles(bundles.subList(from, to));
+        return paged;
+    }
+
     private long totalBundles(ListBundlesResponse response) {
         if (response == null || response.getBundles() == null) return 0;
         return response.getBundles().size();
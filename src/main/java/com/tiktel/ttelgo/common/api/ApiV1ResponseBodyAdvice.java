@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -22,7 +23,8 @@ public class ApiV1ResponseBodyAdvice implements ResponseBodyAdvice<Object> {
 
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
-        return true;
+        // Files are written as-is, or by the container (see FileResponses) with no body here
+        return !ResourceHttpMessageConverter.class.isAssignableFrom(converterType);
     }
 
     @Override
@@ -51,6 +53,16 @@ public class ApiV1ResponseBodyAdvice implements ResponseBodyAdvice<Object> {
             return body;
         }
 
+        // Pre-serialized bodies (e.g. cached JSON listings) are written as-is
+        if (body instanceof byte[]) {
+            return body;
+        }
+
+        // Bodies whose converter writes the envelope itself (e.g. streamed listings)
+        if (body instanceof EnvelopedBody) {
+            return body;
+        }
+
         // If someone returns a map with typical error keys from filters, keep it as-is
         if (body instanceof Map<?, ?>) {
             return ApiResponse.success(body);
@@ -0,0 +1,8 @@
+package com.tiktel.ttelgo.common.api;
+
+/**
+ * Response body written with its own {@link com.tiktel.ttelgo.common.dto.ApiResponse} envelope by a dedicated
+ * message converter (e.g. a streamed listing), so {@link ApiV1ResponseBodyAdvice} must not wrap it again.
+ */
+public interface EnvelopedBody {
+}
@@ -0,0 +1,52 @@
+package com.tiktel.ttelgo.common.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+
+/**
+ * Responses that send a file from disk. On Tomcat's NIO connectors the file is handed to the container,
+ * which writes it to the socket with sendfile (zero-copy); elsewhere it is streamed as a {@link Resource}.
+ *
+ * Only for handlers that complete on the request thread: Tomcat does not send files for async dispatches.
+ */
+public final class FileResponses {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileResponses() {
+    }
+
+    /**
+     * 200 with the file as body
+     * @param headers response headers, including the content type; the content length is set here
+     */
+    public static ResponseEntity<Resource> ok(HttpServletRequest request, Path file, long size, HttpHeaders headers) {
+        headers.setContentLength(size);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            // No body: the container writes the file once the headers are committed
+            return new ResponseEntity<>(headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(new FileSystemResource(file), headers, HttpStatus.OK);
+    }
+
+    /**
+     * 200 with the file streamed as a {@link Resource}, for handlers that complete asynchronously
+     * @param headers response headers, including the content type; the content length is set here
+     */
+    public static ResponseEntity<Resource> streamed(Path file, long size, HttpHeaders headers) {
+        headers.setContentLength(size);
+        return new ResponseEntity<>(new FileSystemResource(file), headers, HttpStatus.OK);
+    }
+}
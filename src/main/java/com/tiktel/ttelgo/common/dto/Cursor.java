@@ -0,0 +1,38 @@
+package com.tiktel.ttelgo.common.dto;
+
+import com.tiktel.ttelgo.common.exception.BusinessException;
+import com.tiktel.ttelgo.common.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a newest-first listing: the (created_at, id) of the last row of a page.
+ * The next page starts right after it, so deep pages cost the same as the first one.
+ * Clients only see the opaque encoded form.
+ */
+public record Cursor(LocalDateTime createdAt, Long id) {
+
+    public String encode() {
+        String value = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a missing cursor (first page)
+     */
+    public static Cursor decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(encoded.trim()), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Invalid cursor: " + encoded);
+        }
+    }
+}
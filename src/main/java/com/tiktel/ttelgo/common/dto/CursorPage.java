@@ -0,0 +1,31 @@
+package com.tiktel.ttelgo.common.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) listing
+ * @param nextCursor encoded cursor of the next page, null on the last page
+ * @param totalElements total count, null when the page was fetched without counting
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, Long totalElements) {
+
+    /**
+     * Build a page from a query that fetched up to size + 1 rows: the extra row only tells that there is a next page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf, Long totalElements) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, totalElements);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)).encode(), totalElements);
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor, totalElements);
+    }
+}
@@ -22,6 +22,14 @@ public class PageRequest {
     @Builder.Default
     private String sortDirection = "ASC";
     
+    // Keyset paging, for listings that support it: "cursor" for the first page, then nextCursor of the previous page
+    private String paging;
+    
+    private String cursor;
+    
+    // Count all elements; by default only the first keyset page is counted
+    private Boolean includeTotal;
+    
     public org.springframework.data.domain.PageRequest toPageable() {
         if (sortBy != null && !sortBy.isEmpty()) {
             Sort.Direction direction = Sort.Direction.fromString(sortDirection);
@@ -21,16 +21,20 @@ public class PageResponse<T> {
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class PageMetadata {
-        private int page;
+        // page, totalPages and totalElements are left out of keyset pages, totalElements when not counted
+        private Integer page;
         private int size;
-        private long totalElements;
-        private int totalPages;
+        private Long totalElements;
+        private Integer totalPages;
         private boolean first;
         private boolean last;
         private boolean empty;
         private String sortBy;
         private String sortDirection;
+        // Keyset pages only: pass as cursor to get the next page
+        private String nextCursor;
     }
     
     public static <T> PageResponse<T> of(List<T> content, org.springframework.data.domain.Page<?> page) {
@@ -56,5 +60,27 @@ public class PageResponse<T> {
                 .meta(meta)
                 .build();
     }
+    
+    /**
+     * Response for a newest-first keyset page
+     * @param first whether this is the first page (requested without cursor)
+     */
+    public static <T> PageResponse<T> of(CursorPage<T> page, int size, boolean first) {
+        PageMetadata meta = PageMetadata.builder()
+                .size(size)
+                .totalElements(page.totalElements())
+                .first(first)
+                .last(!page.hasMore())
+                .empty(page.content().isEmpty())
+                .sortBy("createdAt")
+                .sortDirection("DESC")
+                .nextCursor(page.nextCursor())
+                .build();
+        
+        return PageResponse.<T>builder()
+                .content(page.content())
+                .meta(meta)
+                .build();
+    }
 }
 
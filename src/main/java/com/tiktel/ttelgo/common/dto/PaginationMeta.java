@@ -31,6 +31,26 @@ public final class PaginationMeta {
         return meta;
     }
 
+    /**
+     * Metadata of a keyset page; pass nextCursor back as cursor to get the next page
+     */
+    public static Map<String, Object> fromCursorPage(CursorPage<?> page, int size) {
+        Map<String, Object> pagination = new LinkedHashMap<>();
+        pagination.put("size", size);
+        pagination.put("numberOfElements", page.content().size());
+        if (page.totalElements() != null) {
+            pagination.put("totalElements", page.totalElements());
+        }
+        pagination.put("hasMore", page.hasMore());
+        if (page.hasMore()) {
+            pagination.put("nextCursor", page.nextCursor());
+        }
+
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("pagination", pagination);
+        return meta;
+    }
+
     public static Map<String, Object> simple(int page, int size, long totalElements) {
         int totalPages = size <= 0 ? 1 : (int) Math.ceil((double) totalElements / (double) size);
         Map<String, Object> pagination = new LinkedHashMap<>();
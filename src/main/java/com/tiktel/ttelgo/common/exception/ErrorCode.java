@@ -55,6 +55,7 @@ public enum ErrorCode {
     ORDER_CANNOT_BE_CANCELED("ERR_1503", "Order cannot be canceled", HttpStatus.BAD_REQUEST),
     INVALID_ORDER_STATUS("ERR_1504", "Invalid order status", HttpStatus.BAD_REQUEST),
     ORDER_PROVISIONING_FAILED("ERR_1505", "Order provisioning failed", HttpStatus.INTERNAL_SERVER_ERROR),
+    ORDER_PROVISIONING_UNCONFIRMED("ERR_1506", "Order provisioning not confirmed by eSIM Go", HttpStatus.BAD_GATEWAY),
     
     // Payment errors (1600-1699)
     PAYMENT_NOT_FOUND("ERR_1600", "Payment not found", HttpStatus.NOT_FOUND),
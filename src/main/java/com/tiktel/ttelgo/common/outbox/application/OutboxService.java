@@ -0,0 +1,196 @@
+package com.tiktel.ttelgo.common.outbox.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiktel.ttelgo.common.outbox.domain.OutboxEvent;
+import com.tiktel.ttelgo.common.outbox.domain.OutboxEventType;
+import com.tiktel.ttelgo.common.outbox.infrastructure.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transactional outbox.
+ *
+ * Writers append events in the transaction of the state change they describe. The relay claims committed
+ * events in batches and publishes each one as an {@link OutboxEvent} application event on a dedicated
+ * dispatch pool; listeners ({@code @EventListener}) run on that pool, never on the thread that made the change.
+ * An event is marked published once all its listeners returned; if one throws, the event is dispatched
+ * again later, with exponential backoff, up to {@code app.outbox.max-attempts}.
+ */
+@Slf4j
+@Service
+public class OutboxService {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+    private final String relayId;
+    private final ExecutorService dispatchPool;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         ObjectMapper objectMapper,
+                         @Value("${app.outbox.batch-size:100}") int batchSize,
+                         @Value("${app.outbox.dispatch-concurrency:4}") int dispatchConcurrency,
+                         @Value("${app.outbox.lease-seconds:60}") long leaseSeconds,
+                         @Value("${app.outbox.retry-backoff-seconds:10}") long retryBackoffSeconds,
+                         @Value("${app.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.retryBackoff = Duration.ofSeconds(Math.max(1, retryBackoffSeconds));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.relayId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatchPool = Executors.newFixedThreadPool(Math.max(1, dispatchConcurrency), runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Events cut off here are claimed again once their lease expires
+        dispatchPool.shutdownNow();
+    }
+
+    /**
+     * Append an event to the outbox. Must be called inside the transaction that makes the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, Long aggregateId, Map<String, Object> payload) {
+        try {
+            outboxEventRepository.insert(type.getAggregateType(), aggregateId, type.name(),
+                    objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable payload for outbox event " + type, e);
+        }
+    }
+
+    /**
+     * Payload builder that keeps insertion order and allows null values, unlike Map.of
+     */
+    public static Map<String, Object> payload(Object... keysAndValues) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+            payload.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return payload;
+    }
+
+    /**
+     * Claim one batch of due events and dispatch it
+     * @return number of events claimed
+     */
+    public int relayBatch() {
+        List<OutboxEventRepository.ClaimedEvent> claimed = outboxEventRepository.claim(relayId, batchSize, lease);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Long>> dispatches = new ArrayList<>(claimed.size());
+        for (OutboxEventRepository.ClaimedEvent event : claimed) {
+            dispatches.add(CompletableFuture.supplyAsync(() -> dispatch(event), dispatchPool));
+        }
+        try {
+            // Listeners that outlive the lease lose their events to another relay
+            CompletableFuture.allOf(dispatches.toArray(CompletableFuture[]::new))
+                    .get(lease.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Outbox dispatch still running after {}s; marking finished events only", lease.toSeconds());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // dispatch() handles listener failures itself
+        }
+
+        List<Long> published = dispatches.stream()
+                .filter(dispatch -> dispatch.isDone() && !dispatch.isCompletedExceptionally())
+                .map(CompletableFuture::join)
+                .filter(id -> id != null)
+                .toList();
+        outboxEventRepository.markPublished(published, relayId);
+        return claimed.size();
+    }
+
+    /**
+     * Delete published events older than the retention
+     */
+    public int cleanupPublished(Duration retention) {
+        return outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    /**
+     * @return the event id if all listeners succeeded, null if it was rescheduled
+     */
+    private Long dispatch(OutboxEventRepository.ClaimedEvent claimed) {
+        try {
+            OutboxEvent event = new OutboxEvent(
+                    claimed.id(),
+                    OutboxEventType.valueOf(claimed.eventType()),
+                    claimed.aggregateId(),
+                    objectMapper.readValue(claimed.payload(), PAYLOAD_TYPE),
+                    claimed.createdAt());
+            eventPublisher.publishEvent(event);
+            return claimed.id();
+        } catch (Exception e) {
+            retryOrFail(claimed, e);
+            return null;
+        }
+    }
+
+    private void retryOrFail(OutboxEventRepository.ClaimedEvent claimed, Exception e) {
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        try {
+            if (claimed.attempts() >= maxAttempts) {
+                log.error("Outbox event failed permanently: id={}, type={}, attempts={}",
+                        claimed.id(), claimed.eventType(), claimed.attempts(), e);
+                outboxEventRepository.markFailed(claimed.id(), relayId, error);
+            } else {
+                Duration backoff = retryBackoff.multipliedBy(1L << Math.min(claimed.attempts() - 1, 16));
+                if (backoff.compareTo(MAX_BACKOFF) > 0) {
+                    backoff = MAX_BACKOFF;
+                }
+                log.warn("Outbox listener failed, retrying in {}s: id={}, type={}: {}",
+                        backoff.toSeconds(), claimed.id(), claimed.eventType(), error);
+                outboxEventRepository.retryLater(claimed.id(), relayId, error, LocalDateTime.now().plus(backoff));
+            }
+        } catch (Exception recordError) {
+            log.error("Failed to record outbox dispatch failure: id={}", claimed.id(), recordError);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.tiktel.ttelgo.common.outbox.domain;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A committed lifecycle event, as delivered to listeners by the outbox relay.
+ * Delivery is at least once and events of one aggregate may arrive out of order: listeners must be
+ * idempotent (the event id is a stable key) and must not rely on ordering.
+ * @param aggregateId ID of the order, vendor or eSIM the event is about
+ * @param payload event fields, as written
+ */
+public record OutboxEvent(Long id,
+                          OutboxEventType type,
+                          Long aggregateId,
+                          Map<String, Object> payload,
+                          LocalDateTime createdAt) {
+}
@@ -0,0 +1,24 @@
+package com.tiktel.ttelgo.common.outbox.domain;
+
+/**
+ * Lifecycle events written to the outbox, with the aggregate they belong to
+ */
+public enum OutboxEventType {
+    ORDER_CREATED("ORDER"),
+    ORDER_PAID("ORDER"),
+    ORDER_PROVISIONED("ORDER"),
+    ORDER_FAILED("ORDER"),
+    ORDER_REFUNDED("ORDER"),
+    LEDGER_POSTED("VENDOR"),
+    ESIM_ACTIVATED("ESIM");
+    
+    private final String aggregateType;
+    
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+    
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
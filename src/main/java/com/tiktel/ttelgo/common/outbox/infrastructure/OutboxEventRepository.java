@@ -0,0 +1,96 @@
+package com.tiktel.ttelgo.common.outbox.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * outbox_events through plain JDBC: claiming needs FOR UPDATE SKIP LOCKED and UPDATE ... RETURNING
+ */
+@Repository
+public class OutboxEventRepository {
+    
+    private static final String CLAIM_SQL =
+            "UPDATE outbox_events e SET status = 'RUNNING', locked_by = ?, locked_at = ?, attempts = e.attempts + 1 " +
+            "WHERE e.id IN (" +
+            "  SELECT id FROM outbox_events " +
+            "  WHERE (status = 'PENDING' AND next_attempt_at <= ?) OR (status = 'RUNNING' AND locked_at < ?) " +
+            "  ORDER BY next_attempt_at, id " +
+            "  LIMIT ? " +
+            "  FOR UPDATE SKIP LOCKED) " +
+            "RETURNING e.id, e.event_type, e.aggregate_id, e.payload, e.attempts, e.created_at";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public OutboxEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * A claimed row
+     * @param attempts dispatch attempts so far, including the current one
+     */
+    public record ClaimedEvent(Long id, String eventType, Long aggregateId, String payload, int attempts,
+                               LocalDateTime createdAt) {
+    }
+    
+    public void insert(String aggregateType, Long aggregateId, String eventType, String payload) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, status, attempts, next_attempt_at, created_at) " +
+                            "VALUES (?, ?, ?, ?, 'PENDING', 0, ?, ?)",
+                aggregateType, aggregateId, eventType, payload, now, now);
+    }
+    
+    /**
+     * Claim up to limit due events, oldest first, skipping rows other relays hold
+     */
+    public List<ClaimedEvent> claim(String relayId, int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        return jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new ClaimedEvent(
+                        rs.getLong("id"),
+                        rs.getString("event_type"),
+                        rs.getObject("aggregate_id", Long.class),
+                        rs.getString("payload"),
+                        rs.getInt("attempts"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                relayId, nowTs, nowTs, Timestamp.valueOf(now.minus(lease)), limit);
+    }
+    
+    public void markPublished(List<Long> ids, String relayId) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("UPDATE outbox_events SET status = 'PUBLISHED', locked_by = NULL, locked_at = NULL, " +
+                                          "last_error = NULL, published_at = ? WHERE id = ANY(?) AND locked_by = ?");
+            ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            ps.setArray(2, con.createArrayOf("bigint", ids.toArray()));
+            ps.setString(3, relayId);
+            return ps;
+        });
+    }
+    
+    public void retryLater(Long id, String relayId, String error, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'PENDING', locked_by = NULL, locked_at = NULL, " +
+                            "next_attempt_at = ?, last_error = ? WHERE id = ? AND locked_by = ?",
+                Timestamp.valueOf(nextAttemptAt), error, id, relayId);
+    }
+    
+    public void markFailed(Long id, String relayId, String error) {
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'FAILED', locked_by = NULL, locked_at = NULL, " +
+                            "last_error = ? WHERE id = ? AND locked_by = ?",
+                error, id, relayId);
+    }
+    
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM outbox_events WHERE status = 'PUBLISHED' AND published_at < ?",
+                Timestamp.valueOf(cutoff));
+    }
+}
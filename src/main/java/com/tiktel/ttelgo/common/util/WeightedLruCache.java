@@ -0,0 +1,81 @@
+package com.tiktel.ttelgo.common.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small LRU cache bounded by the total weight of its values rather than by entry count.
+ * Least recently used entries are evicted once the combined weight exceeds the budget; a single value
+ * heavier than the whole budget is computed and returned but not retained.
+ */
+public final class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    public WeightedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Cached value for the key, computing it outside the lock on a miss.
+     * Concurrent misses for the same key may compute it more than once; the first result is kept.
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return put(key, loader.apply(key));
+    }
+
+    /**
+     * Cached value for the key, or null
+     */
+    public synchronized V getIfPresent(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Cache the value unless the key is already present, evicting least recently used entries as needed.
+     * @return the value now cached for the key (an existing value wins), or {@code value} itself if it is
+     *         heavier than the whole budget and therefore not retained
+     */
+    public V put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            return value;
+        }
+        synchronized (this) {
+            V existing = entries.putIfAbsent(key, value);
+            if (existing != null) {
+                return existing;
+            }
+            weight += valueWeight;
+            Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+            while (weight > maxWeight && eldest.hasNext()) {
+                Map.Entry<K, V> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                weight -= weigher.applyAsLong(entry.getValue());
+                eldest.remove();
+            }
+            return value;
+        }
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -3,14 +3,26 @@ package com.tiktel.ttelgo.esim.api;
 import com.tiktel.ttelgo.esim.api.dto.ActivateBundleRequest;
 import com.tiktel.ttelgo.esim.api.dto.ActivateBundleResponse;
 import com.tiktel.ttelgo.esim.api.dto.EsimQrResponse;
+import com.tiktel.ttelgo.common.api.FileResponses;
 import com.tiktel.ttelgo.esim.application.EsimService;
+import com.tiktel.ttelgo.esim.application.port.QrCodeFileStorePort;
 import com.tiktel.ttelgo.integration.esimgo.dto.QrCodeResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
@@ -70,24 +82,97 @@ public class EsimController {
     /**
      * Get QR code by matching ID.
      * GET /api/v1/esims/{matchingId}/qr
+     * Completed asynchronously: no request thread is held while eSIMGo renders the QR code.
      */
     @GetMapping("/esims/{matchingId}/qr")
-    public ResponseEntity<EsimQrResponse> getQrCode(@PathVariable String matchingId) {
-        QrCodeResponse qrResponse = esimService.getQrCode(matchingId);
-        EsimQrResponse response = new EsimQrResponse();
-        response.setQrCode(qrResponse.getQrCode());
-        response.setMatchingId(qrResponse.getMatchingId());
-        response.setIccid(qrResponse.getIccid());
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<EsimQrResponse>> getQrCode(@PathVariable String matchingId) {
+        return esimService.getQrCodeAsync(matchingId).thenApply(qrResponse -> {
+            EsimQrResponse response = new EsimQrResponse();
+            response.setQrCode(qrResponse.getQrCode());
+            response.setMatchingId(qrResponse.getMatchingId());
+            response.setIccid(qrResponse.getIccid());
+            return ResponseEntity.ok(response);
+        });
+    }
+    
+    /**
+     * Get the QR code image by matching ID as PNG bytes.
+     * GET /api/v1/esims/{matchingId}/qr.png
+     * Sent straight from the QR code store (zero-copy where the container supports it). The image of an
+     * eSIM never changes, so it may be cached for good; clients revalidating with If-None-Match get 304.
+     * An image not stored yet is redirected (307) to {@link #fetchQrCodeImage}, which fetches and stores it.
+     */
+    @GetMapping("/esims/{matchingId}/qr.png")
+    public ResponseEntity<Resource> getQrCodeImage(
+            @PathVariable String matchingId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request) {
+        Optional<QrCodeFileStorePort.StoredQrCode> stored = esimService.findStoredQrCode(matchingId);
+        if (stored.isEmpty()) {
+            // Relative to this URL; the fetch is async, and Tomcat sends files (sendfile) only from the
+            // request thread, so stored images keep this synchronous handler
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                    .header(HttpHeaders.LOCATION, "qr.png?fetch=true")
+                    .build();
+        }
+        return qrCodeImage(stored.get(), ifNoneMatch, request);
+    }
+    
+    /**
+     * Get the QR code image by matching ID, fetching it from eSIMGo into the QR code store if it is missing.
+     * GET /api/v1/esims/{matchingId}/qr.png?fetch=true
+     * Completed asynchronously, like the QR code; the image is streamed rather than sent with sendfile.
+     */
+    @GetMapping(value = "/esims/{matchingId}/qr.png", params = "fetch")
+    public CompletableFuture<ResponseEntity<Resource>> fetchQrCodeImage(
+            @PathVariable String matchingId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CompletableFuture<QrCodeFileStorePort.StoredQrCode> image = esimService.findStoredQrCode(matchingId)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> esimService.fetchAndStoreQrCode(matchingId));
+        return image.thenApply(stored -> qrCodeImage(stored, ifNoneMatch, null));
     }
     
     /**
      * Get eSIM provider order details by provider order ID.
      * GET /api/v1/esim-orders/{orderId}
+     * Completed asynchronously, like the QR code.
      */
     @GetMapping("/esim-orders/{orderId}")
-    public ResponseEntity<ActivateBundleResponse> getEsimOrderDetails(@PathVariable String orderId) {
-        ActivateBundleResponse response = esimService.getOrderDetails(orderId);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<ActivateBundleResponse>> getEsimOrderDetails(@PathVariable String orderId) {
+        return esimService.getOrderDetailsAsync(orderId).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * @param sendfileRequest request to send the file from, or null when completing asynchronously
+     */
+    private static ResponseEntity<Resource> qrCodeImage(QrCodeFileStorePort.StoredQrCode image, String ifNoneMatch,
+                                                        HttpServletRequest sendfileRequest) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable());
+        headers.setETag(image.etag());
+        if (matches(ifNoneMatch, image.etag())) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+        headers.setContentType(MediaType.IMAGE_PNG);
+        return sendfileRequest != null
+                ? FileResponses.ok(sendfileRequest, image.file(), image.size(), headers)
+                : FileResponses.streamed(image.file(), image.size(), headers);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -4,10 +4,16 @@ import com.tiktel.ttelgo.esim.api.dto.ActivateBundleRequest;
 import com.tiktel.ttelgo.esim.api.dto.ActivateBundleResponse;
 import com.tiktel.ttelgo.esim.application.port.EsimGoProvisioningPort;
 import com.tiktel.ttelgo.esim.application.port.EsimRepositoryPort;
+import com.tiktel.ttelgo.esim.application.port.QrCodeFileStorePort;
+import com.tiktel.ttelgo.esim.application.port.QrCodeImageStorePort;
 import com.tiktel.ttelgo.esim.domain.Esim;
+import com.tiktel.ttelgo.esim.domain.QrCodeImage;
 import com.tiktel.ttelgo.common.domain.enums.EsimStatus;
 import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
 import com.tiktel.ttelgo.common.domain.enums.PaymentStatus;
+import com.tiktel.ttelgo.common.outbox.application.OutboxService;
+import com.tiktel.ttelgo.common.outbox.domain.OutboxEventType;
+import com.tiktel.ttelgo.common.util.WeightedLruCache;
 import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderRequest;
 import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderResponse;
 import com.tiktel.ttelgo.integration.esimgo.dto.OrderDetailResponse;
@@ -16,15 +22,24 @@ import com.tiktel.ttelgo.order.application.port.OrderRepositoryPort;
 import com.tiktel.ttelgo.order.domain.Order;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -37,14 +52,34 @@ public class EsimService {
     private final EsimGoProvisioningPort esimGoProvisioningPort;
     private final OrderRepositoryPort orderRepositoryPort;
     private final EsimRepositoryPort esimRepositoryPort;
+    private final QrCodeImageStorePort qrCodeImageStorePort;
+    private final QrCodeFileStorePort qrCodeFileStorePort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final Executor qrCodeStoreExecutor;
+    // Recently viewed QR images in front of the shared store, bounded by their total size in bytes
+    private final WeightedLruCache<String, QrCodeImage> qrCodeImages;
     
     @Autowired
     public EsimService(EsimGoProvisioningPort esimGoProvisioningPort,
                       OrderRepositoryPort orderRepositoryPort,
-                      EsimRepositoryPort esimRepositoryPort) {
+                      EsimRepositoryPort esimRepositoryPort,
+                      QrCodeImageStorePort qrCodeImageStorePort,
+                      QrCodeFileStorePort qrCodeFileStorePort,
+                      ApplicationEventPublisher eventPublisher,
+                      OutboxService outboxService,
+                      @Qualifier("applicationTaskExecutor") Executor qrCodeStoreExecutor,
+                      @Value("${app.cache.qr-codes.memory-max-bytes:16777216}") long qrCodeCacheMaxBytes) {
         this.esimGoProvisioningPort = esimGoProvisioningPort;
         this.orderRepositoryPort = orderRepositoryPort;
         this.esimRepositoryPort = esimRepositoryPort;
+        this.qrCodeImageStorePort = qrCodeImageStorePort;
+        this.qrCodeFileStorePort = qrCodeFileStorePort;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
+        this.qrCodeStoreExecutor = qrCodeStoreExecutor;
+        this.qrCodeImages = new WeightedLruCache<>(qrCodeCacheMaxBytes,
+                image -> image.png().length + image.matchingId().length() + 128L);
     }
     
     /**
@@ -140,6 +175,115 @@ public class EsimService {
      * - orderReference UUID (e.g., "92688722-d069-4141-ba16-93fbafeea3e9")
      */
     public QrCodeResponse getQrCode(String identifier) {
+        String matchingId = resolveMatchingId(identifier);
+        try {
+            return esimGoProvisioningPort.getQrCode(matchingId);
+        } catch (com.tiktel.ttelgo.common.exception.BusinessException ex) {
+            throw ex; // re-throw already-typed exceptions (includes ResourceNotFoundException) as-is
+        } catch (Exception ex) {
+            throw qrCodeNotFound(identifier, matchingId, ex);
+        }
+    }
+    
+    /**
+     * Non-blocking {@link #getQrCode(String)}: the identifier is resolved right away, then the image is taken
+     * from the QR code store. Images not stored yet are fetched as in {@link #fetchAndStoreQrCode(String)}, without
+     * holding the caller's thread.
+     */
+    public CompletableFuture<QrCodeResponse> getQrCodeAsync(String identifier) {
+        String matchingId = resolveMatchingId(identifier);
+        QrCodeImage stored = loadStoredQrCodeImage(matchingId);
+        CompletableFuture<QrCodeImage> image = stored != null
+                ? CompletableFuture.completedFuture(stored)
+                : fetchQrCodeImage(identifier, matchingId).thenApply(fetched -> {
+                    qrCodeStoreExecutor.execute(() -> storeQrCodeImage(fetched));
+                    return fetched;
+                });
+        return image.thenApply(EsimService::toQrCodeResponse);
+    }
+    
+    /**
+     * QR code image file, for the same identifiers as {@link #getQrCode(String)}, if it is in the QR code store.
+     * Images are stored when the eSIM is provisioned (see {@link QrCodeArchiver}); one that is missing, because
+     * the eSIM predates the store or the fetch failed, is fetched with {@link #fetchAndStoreQrCode(String)}.
+     */
+    public Optional<QrCodeFileStorePort.StoredQrCode> findStoredQrCode(String identifier) {
+        return qrCodeFileStorePort.find(resolveMatchingId(identifier));
+    }
+    
+    /**
+     * Fetch a QR code image missing from the QR code store and store it, without holding the caller's thread
+     */
+    public CompletableFuture<QrCodeFileStorePort.StoredQrCode> fetchAndStoreQrCode(String identifier) {
+        String matchingId = resolveMatchingId(identifier);
+        // Written to disk on the task executor, not on the HTTP client's thread that completes the fetch
+        return fetchQrCodeImage(identifier, matchingId).thenApplyAsync(
+                image -> qrCodeFileStorePort.store(matchingId, image.png()), qrCodeStoreExecutor);
+    }
+    
+    private QrCodeImage loadStoredQrCodeImage(String matchingId) {
+        QrCodeImage cached = qrCodeImages.getIfPresent(matchingId);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<QrCodeFileStorePort.StoredQrCode> stored = qrCodeFileStorePort.find(matchingId);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        try {
+            return qrCodeImages.put(matchingId, QrCodeImage.of(matchingId, Files.readAllBytes(stored.get().file())));
+        } catch (IOException e) {
+            log.warn("Failed to read stored QR code for matchingId {}: {}", matchingId, e.getMessage());
+            return null;
+        }
+    }
+    
+    private void storeQrCodeImage(QrCodeImage image) {
+        try {
+            qrCodeFileStorePort.store(image.matchingId(), image.png());
+        } catch (Exception e) {
+            log.warn("Failed to store QR code for matchingId {}: {}", image.matchingId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * QR code image of an eSIM that is not in the QR code store: from memory or the shared cache when
+     * possible, otherwise fetched from eSIMGo and kept in both
+     */
+    private CompletableFuture<QrCodeImage> fetchQrCodeImage(String identifier, String matchingId) {
+        QrCodeImage cached = qrCodeImages.getIfPresent(matchingId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        Optional<byte[]> shared = qrCodeImageStorePort.find(matchingId);
+        if (shared.isPresent()) {
+            return CompletableFuture.completedFuture(qrCodeImages.put(matchingId, QrCodeImage.of(matchingId, shared.get())));
+        }
+        return esimGoProvisioningPort.getQrCodePngAsync(matchingId)
+                .thenApply(png -> {
+                    if (png == null) {
+                        throw new IllegalStateException("eSIMGo returned no QR image");
+                    }
+                    qrCodeImageStorePort.save(matchingId, png);
+                    return qrCodeImages.put(matchingId, QrCodeImage.of(matchingId, png));
+                })
+                .exceptionally(ex -> {
+                    throw qrCodeNotFound(identifier, matchingId,
+                            ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                });
+    }
+    
+    private static QrCodeResponse toQrCodeResponse(QrCodeImage image) {
+        QrCodeResponse response = new QrCodeResponse();
+        response.setQrCode("data:image/png;base64," + Base64.getEncoder().encodeToString(image.png()));
+        response.setMatchingId(image.matchingId());
+        return response;
+    }
+    
+    /**
+     * Resolve the eSIM's matchingId from a matchingId, numeric order ID or order reference UUID
+     */
+    private String resolveMatchingId(String identifier) {
         if (identifier == null || identifier.isBlank()) {
             throw new com.tiktel.ttelgo.common.exception.BusinessException(
                     com.tiktel.ttelgo.common.exception.ErrorCode.INVALID_REQUEST,
@@ -187,17 +331,14 @@ public class EsimService {
                 log.info("Using identifier as matchingId: {}", identifier);
             }
         }
-
-        try {
-            return esimGoProvisioningPort.getQrCode(matchingId);
-        } catch (com.tiktel.ttelgo.common.exception.BusinessException ex) {
-            throw ex; // re-throw already-typed exceptions (includes ResourceNotFoundException) as-is
-        } catch (Exception ex) {
-            log.warn("eSIM provider returned error for matchingId {}: {}", matchingId, ex.getMessage());
-            throw new com.tiktel.ttelgo.common.exception.ResourceNotFoundException(
-                    com.tiktel.ttelgo.common.exception.ErrorCode.RESOURCE_NOT_FOUND,
-                    "eSIM not found for identifier: " + identifier);
-        }
+        return matchingId;
+    }
+    
+    private com.tiktel.ttelgo.common.exception.ResourceNotFoundException qrCodeNotFound(String identifier, String matchingId, Throwable ex) {
+        log.warn("eSIM provider returned error for matchingId {}: {}", matchingId, ex.getMessage());
+        return new com.tiktel.ttelgo.common.exception.ResourceNotFoundException(
+                com.tiktel.ttelgo.common.exception.ErrorCode.RESOURCE_NOT_FOUND,
+                "eSIM not found for identifier: " + identifier);
     }
     
     /**
@@ -208,6 +349,13 @@ public class EsimService {
         return mapOrderDetailToResponse(response);
     }
     
+    /**
+     * Non-blocking {@link #getOrderDetails(String)}, completing when eSIMGo answers
+     */
+    public CompletableFuture<ActivateBundleResponse> getOrderDetailsAsync(String orderId) {
+        return esimGoProvisioningPort.getOrderDetailsAsync(orderId).thenApply(this::mapOrderDetailToResponse);
+    }
+    
     /**
      * Update existing order and save eSIMs to database after successful eSIMGo activation
      */
@@ -343,6 +491,7 @@ public class EsimService {
             return;
         }
 
+        List<String> matchingIds = new ArrayList<>();
         for (CreateOrderResponse.OrderDetail orderDetail : esimGoResponse.getOrder()) {
             if (orderDetail.getEsims() == null || orderDetail.getEsims().isEmpty()) {
                 continue;
@@ -365,8 +514,19 @@ public class EsimService {
                             .status(EsimStatus.CREATED)
                             .build();
 
-                    esimRepositoryPort.save(esim);
+                    Esim saved = esimRepositoryPort.save(esim);
+                    outboxService.append(OutboxEventType.ESIM_ACTIVATED, saved.getId(), OutboxService.payload(
+                            "esimId", saved.getId(),
+                            "orderId", savedOrder.getId(),
+                            "userId", savedOrder.getUserId(),
+                            "vendorId", savedOrder.getVendorId(),
+                            "iccid", esimInfo.getIccid(),
+                            "matchingId", esimInfo.getMatchingId(),
+                            "bundleCode", savedOrder.getBundleCode()));
                     log.info("eSIM saved: iccid={}, matchingId={}", esimInfo.getIccid(), esimInfo.getMatchingId());
+                    if (esimInfo.getMatchingId() != null) {
+                        matchingIds.add(esimInfo.getMatchingId());
+                    }
                 } catch (Exception e) {
                     // Log but do NOT re-throw — the order update must not be rolled back due to eSIM save failure
                     log.error("Failed to save eSIM record for orderId={}, iccid={}, matchingId={}: {}",
@@ -374,6 +534,10 @@ public class EsimService {
                 }
             }
         }
+        if (!matchingIds.isEmpty()) {
+            // QR codes are fetched and stored once the activation has been committed
+            eventPublisher.publishEvent(new EsimsProvisionedEvent(savedOrder.getId(), matchingIds));
+        }
     }
     
     /**
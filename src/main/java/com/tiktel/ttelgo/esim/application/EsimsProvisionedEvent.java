@@ -0,0 +1,11 @@
+package com.tiktel.ttelgo.esim.application;
+
+import java.util.List;
+
+/**
+ * Published when the eSIMs of an order have been saved after successful activation with eSIMGo
+ * @param orderId our order ID
+ * @param matchingIds matchingIds of the order's eSIMs
+ */
+public record EsimsProvisionedEvent(Long orderId, List<String> matchingIds) {
+}
@@ -0,0 +1,44 @@
+package com.tiktel.ttelgo.esim.application;
+
+import com.tiktel.ttelgo.esim.application.port.EsimGoProvisioningPort;
+import com.tiktel.ttelgo.esim.application.port.QrCodeFileStorePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fetches the QR codes of newly provisioned eSIMs from eSIMGo once and keeps them in the
+ * {@link QrCodeFileStorePort}, off the request path and after the activation has been committed.
+ * An image that can't be fetched now is fetched on its first view instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QrCodeArchiver {
+
+    private final EsimGoProvisioningPort esimGoProvisioningPort;
+    private final QrCodeFileStorePort qrCodeFileStorePort;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEsimsProvisioned(EsimsProvisionedEvent event) {
+        for (String matchingId : event.matchingIds()) {
+            if (qrCodeFileStorePort.find(matchingId).isPresent()) {
+                continue;
+            }
+            try {
+                byte[] png = esimGoProvisioningPort.getQrCodePng(matchingId);
+                if (png == null) {
+                    log.warn("No QR code from eSIMGo yet for matchingId {} (orderId {})", matchingId, event.orderId());
+                    continue;
+                }
+                qrCodeFileStorePort.store(matchingId, png);
+            } catch (Exception e) {
+                log.warn("Could not archive QR code for matchingId {} (orderId {}): {}",
+                        matchingId, event.orderId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderResponse;
 import com.tiktel.ttelgo.integration.esimgo.dto.OrderDetailResponse;
 import com.tiktel.ttelgo.integration.esimgo.dto.QrCodeResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface EsimGoProvisioningPort {
 
     CreateOrderResponse createOrder(CreateOrderRequest request);
@@ -12,5 +14,27 @@ public interface EsimGoProvisioningPort {
     QrCodeResponse getQrCode(String matchingId);
 
     OrderDetailResponse getOrderDetails(String orderId);
+
+    /**
+     * The QR code image as raw PNG bytes, unpacked if eSIMGo sent a ZIP; null if eSIMGo returned no image
+     */
+    byte[] getQrCodePng(String matchingId);
+
+    /**
+     * Non-blocking {@link #getQrCode(String)}: completes with null if eSIMGo returned no image, exceptionally
+     * if the fetch failed. Completes on the client's I/O thread, so continuations must not block.
+     */
+    CompletableFuture<QrCodeResponse> getQrCodeAsync(String matchingId);
+
+    /**
+     * Non-blocking {@link #getQrCodePng(String)}. Like {@link #getQrCodeAsync(String)}, completes with null if
+     * eSIMGo returned no image and exceptionally if the fetch failed.
+     */
+    CompletableFuture<byte[]> getQrCodePngAsync(String matchingId);
+
+    /**
+     * Non-blocking {@link #getOrderDetails(String)}, completing with null if the order could not be loaded
+     */
+    CompletableFuture<OrderDetailResponse> getOrderDetailsAsync(String orderId);
 }
 
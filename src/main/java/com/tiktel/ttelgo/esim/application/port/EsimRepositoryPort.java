@@ -1,6 +1,8 @@
 package com.tiktel.ttelgo.esim.application.port;
 
 import com.tiktel.ttelgo.common.domain.enums.EsimStatus;
+import com.tiktel.ttelgo.common.dto.Cursor;
+import com.tiktel.ttelgo.common.dto.CursorPage;
 import com.tiktel.ttelgo.esim.domain.Esim;
 
 import java.util.List;
@@ -13,7 +15,13 @@ public interface EsimRepositoryPort {
     Optional<Esim> findByMatchingId(String matchingId);
     Optional<Esim> findByIccid(String iccid);
     Optional<Esim> findByOrderId(Long orderId);
-    List<Esim> findByUserId(Long userId);
+    
+    /**
+     * eSIMs of a user, newest first, one keyset page after the cursor (null for the first page)
+     * @param includeTotal also count all eSIMs of the user
+     */
+    CursorPage<Esim> findByUserId(Long userId, Cursor after, int size, boolean includeTotal);
+    
     List<Esim> findByStatus(EsimStatus status);
 }
 
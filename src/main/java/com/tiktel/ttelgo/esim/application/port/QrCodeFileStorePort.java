@@ -0,0 +1,30 @@
+package com.tiktel.ttelgo.esim.application.port;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Durable store of QR code images on local disk, filled when an eSIM is provisioned so QR views are
+ * served from the file without calling eSIMGo.
+ */
+public interface QrCodeFileStorePort {
+
+    /**
+     * The stored image of the eSIM, if any
+     */
+    Optional<StoredQrCode> find(String matchingId);
+
+    /**
+     * Store the image of the eSIM, replacing any earlier one
+     * @throws java.io.UncheckedIOException if the image could not be written
+     */
+    StoredQrCode store(String matchingId, byte[] png);
+
+    /**
+     * @param file PNG file, never modified once written
+     * @param size file size in bytes
+     * @param etag strong, quoted entity tag of the image (see {@link com.tiktel.ttelgo.esim.domain.QrCodeImage#etag(String)})
+     */
+    record StoredQrCode(String matchingId, Path file, long size, String etag) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.tiktel.ttelgo.esim.application.port;
+
+import java.util.Optional;
+
+/**
+ * Shared store of QR code PNGs by matchingId, so a QR code is fetched from eSIMGo once for all
+ * application nodes. Best effort: an unavailable store behaves like an empty one.
+ */
+public interface QrCodeImageStorePort {
+
+    Optional<byte[]> find(String matchingId);
+
+    /**
+     * Store the image; may complete after returning
+     */
+    void save(String matchingId, byte[] png);
+}
@@ -0,0 +1,36 @@
+package com.tiktel.ttelgo.esim.domain;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * QR code image of an eSIM as PNG bytes. eSIMGo renders the image once per matchingId, so it never changes
+ * and the ETag, derived from the bytes, can be cached for good.
+ *
+ * @param etag strong, quoted entity tag of {@code png}
+ */
+public record QrCodeImage(String matchingId, byte[] png, String etag) {
+
+    public static QrCodeImage of(String matchingId, byte[] png) {
+        return new QrCodeImage(matchingId, png, etag(contentHash(png)));
+    }
+
+    /**
+     * Hex SHA-256 of the image, which identifies it in content-addressed storage
+     */
+    public static String contentHash(byte[] png) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * ETag of the image with the given {@link #contentHash(byte[])}
+     */
+    public static String etag(String contentHash) {
+        return "\"" + contentHash.substring(0, 32) + "\"";
+    }
+}
@@ -1,6 +1,7 @@
 package com.tiktel.ttelgo.esim.infrastructure.adapter;
 
 import com.tiktel.ttelgo.esim.application.port.EsimGoProvisioningPort;
+import com.tiktel.ttelgo.integration.esimgo.EsimGoAsyncClient;
 import com.tiktel.ttelgo.integration.esimgo.EsimGoClient;
 import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderRequest;
 import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderResponse;
@@ -9,11 +10,14 @@ import com.tiktel.ttelgo.integration.esimgo.dto.QrCodeResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 public class EsimGoProvisioningAdapter implements EsimGoProvisioningPort {
 
     private final EsimGoClient esimGoClient;
+    private final EsimGoAsyncClient esimGoAsyncClient;
 
     @Override
     public CreateOrderResponse createOrder(CreateOrderRequest request) {
@@ -29,5 +33,24 @@ public class EsimGoProvisioningAdapter implements EsimGoProvisioningPort {
     public OrderDetailResponse getOrderDetails(String orderId) {
         return esimGoClient.getOrderDetails(orderId);
     }
-}
 
+    @Override
+    public byte[] getQrCodePng(String matchingId) {
+        return esimGoClient.getQrCodePng(matchingId);
+    }
+
+    @Override
+    public CompletableFuture<QrCodeResponse> getQrCodeAsync(String matchingId) {
+        return esimGoAsyncClient.getQrCode(matchingId).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getQrCodePngAsync(String matchingId) {
+        return esimGoAsyncClient.getQrCodePng(matchingId).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<OrderDetailResponse> getOrderDetailsAsync(String orderId) {
+        return esimGoAsyncClient.getOrderDetails(orderId).toFuture();
+    }
+}
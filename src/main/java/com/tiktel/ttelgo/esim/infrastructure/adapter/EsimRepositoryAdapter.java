@@ -1,12 +1,15 @@
 package com.tiktel.ttelgo.esim.infrastructure.adapter;
 
 import com.tiktel.ttelgo.common.domain.enums.EsimStatus;
+import com.tiktel.ttelgo.common.dto.Cursor;
+import com.tiktel.ttelgo.common.dto.CursorPage;
 import com.tiktel.ttelgo.esim.application.port.EsimRepositoryPort;
 import com.tiktel.ttelgo.esim.domain.Esim;
 import com.tiktel.ttelgo.esim.infrastructure.mapper.EsimMapper;
 import com.tiktel.ttelgo.esim.infrastructure.repository.EsimJpaEntity;
 import com.tiktel.ttelgo.esim.infrastructure.repository.EsimRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -67,12 +70,16 @@ public class EsimRepositoryAdapter implements EsimRepositoryPort {
     }
     
     @Override
-    public List<Esim> findByUserId(Long userId) {
-        return esimRepository.findByUserId(userId, org.springframework.data.domain.Pageable.unpaged())
-                .getContent()
-                .stream()
-                .map(esimMapper::toDomain)
-                .collect(Collectors.toList());
+    public CursorPage<Esim> findByUserId(Long userId, Cursor after, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, size);
+        // One row more than the page, to tell whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<EsimJpaEntity> rows = after == null
+                ? esimRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : esimRepository.findByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        Long total = includeTotal ? esimRepository.countByUserId(userId) : null;
+        return CursorPage.of(rows, pageSize, row -> new Cursor(row.getCreatedAt(), row.getId()), total)
+                .map(esimMapper::toDomain);
     }
     
     @Override
@@ -0,0 +1,106 @@
+package com.tiktel.ttelgo.esim.infrastructure.adapter;
+
+import com.tiktel.ttelgo.esim.application.port.QrCodeFileStorePort;
+import com.tiktel.ttelgo.esim.domain.QrCodeImage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed QR code store under {@code app.upload.dir}:
+ * - qr-codes/objects/{aa}/{sha256}.png - the image, named by the SHA-256 of its bytes and never rewritten
+ * - qr-codes/matching-ids/{matchingId} - SHA-256 of the eSIM's image
+ * Both are written to a temporary file first and moved into place, so readers never see a partial file.
+ * The qr-codes directory is not served under /uploads/**.
+ */
+@Slf4j
+@Component
+public class FileQrCodeStore implements QrCodeFileStorePort {
+
+    private static final Pattern MATCHING_ID = Pattern.compile("[A-Za-z0-9_-]{1,128}");
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path objectsDir;
+    private final Path matchingIdsDir;
+
+    public FileQrCodeStore(@Value("${app.upload.dir:uploads}") String uploadDir) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize().resolve("qr-codes");
+        this.objectsDir = root.resolve("objects");
+        this.matchingIdsDir = root.resolve("matching-ids");
+    }
+
+    @Override
+    public Optional<StoredQrCode> find(String matchingId) {
+        if (!isValid(matchingId)) {
+            return Optional.empty();
+        }
+        try {
+            String hash = Files.readString(matchingIdsDir.resolve(matchingId), StandardCharsets.US_ASCII).trim();
+            if (!CONTENT_HASH.matcher(hash).matches()) {
+                log.warn("Ignoring unreadable QR code index entry for matchingId {}", matchingId);
+                return Optional.empty();
+            }
+            Path file = objectPath(hash);
+            return Optional.of(new StoredQrCode(matchingId, file, Files.size(file), QrCodeImage.etag(hash)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read stored QR code for matchingId {}: {}", matchingId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public StoredQrCode store(String matchingId, byte[] png) {
+        if (!isValid(matchingId)) {
+            throw new IllegalArgumentException("Invalid matchingId: " + matchingId);
+        }
+        String hash = QrCodeImage.contentHash(png);
+        Path file = objectPath(hash);
+        try {
+            if (!Files.exists(file)) {
+                writeAtomically(file, png);
+            }
+            writeAtomically(matchingIdsDir.resolve(matchingId), hash.getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store QR code for matchingId " + matchingId, e);
+        }
+        log.info("Stored QR code for matchingId {}: {} bytes", matchingId, png.length);
+        return new StoredQrCode(matchingId, file, png.length, QrCodeImage.etag(hash));
+    }
+
+    private Path objectPath(String hash) {
+        return objectsDir.resolve(hash.substring(0, 2)).resolve(hash + ".png");
+    }
+
+    private static boolean isValid(String matchingId) {
+        return matchingId != null && MATCHING_ID.matcher(matchingId).matches();
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tiktel.ttelgo.esim.infrastructure.adapter;
+
+import com.tiktel.ttelgo.esim.application.port.QrCodeImageStorePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Redis-backed QR code store: raw PNG bytes under qr:png:{matchingId}, expiring after the configured TTL.
+ * Writes run on the task executor, never on the eSIMGo client's I/O thread that completed the fetch.
+ */
+@Slf4j
+@Component
+public class RedisQrCodeImageStore implements QrCodeImageStorePort {
+
+    private static final String KEY_PREFIX = "qr:png:";
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final RedisTemplate<String, byte[]> imageTemplate;
+
+    public RedisQrCodeImageStore(
+            RedisConnectionFactory connectionFactory,
+            @Value("${app.cache.qr-codes.redis-enabled:true}") boolean enabled,
+            @Value("${app.cache.qr-codes.redis-ttl-seconds:2592000}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+
+        this.imageTemplate = new RedisTemplate<>();
+        imageTemplate.setConnectionFactory(connectionFactory);
+        imageTemplate.setKeySerializer(RedisSerializer.string());
+        imageTemplate.setValueSerializer(RedisSerializer.byteArray());
+        imageTemplate.afterPropertiesSet();
+    }
+
+    @Override
+    public Optional<byte[]> find(String matchingId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            byte[] png = imageTemplate.opsForValue().get(KEY_PREFIX + matchingId);
+            return png != null && png.length > 0 ? Optional.of(png) : Optional.empty();
+        } catch (Exception e) {
+            log.warn("Failed to read QR code {} from Redis: {}", matchingId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Async
+    @Override
+    public void save(String matchingId, byte[] png) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            imageTemplate.opsForValue().set(KEY_PREFIX + matchingId, png, ttl);
+        } catch (Exception e) {
+            log.warn("Failed to store QR code {} in Redis: {}", matchingId, e.getMessage());
+        }
+    }
+}
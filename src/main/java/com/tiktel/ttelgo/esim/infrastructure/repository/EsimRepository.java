@@ -23,6 +23,19 @@ public interface EsimRepository extends JpaRepository<EsimJpaEntity, Long> {
     
     Page<EsimJpaEntity> findByUserId(Long userId, Pageable pageable);
     
+    // Keyset pages, newest first; see OrderRepository
+    List<EsimJpaEntity> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+    
+    @Query("SELECT e FROM EsimJpaEntity e WHERE e.userId = :userId AND " +
+           "e.createdAt <= :createdAt AND (e.createdAt < :createdAt OR e.id < :id) " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    List<EsimJpaEntity> findByUserIdAfter(@Param("userId") Long userId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+    
+    long countByUserId(Long userId);
+    
     Page<EsimJpaEntity> findByVendorId(Long vendorId, Pageable pageable);
     
     Page<EsimJpaEntity> findByStatus(EsimStatus status, Pageable pageable);
@@ -0,0 +1,200 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bound on concurrent calls to eSIMGo that adapts to how eSIMGo copes, AIMD style (like TCP congestion control).
+ *
+ * Every completed call is a sample. A call that was throttled (429), failed on eSIMGo's side (5xx, timeout) or
+ * took longer than the slow-call threshold means eSIMGo is saturated: the limit is cut by {@link #BACKOFF_RATIO},
+ * once per congestion event (calls started before the last cut don't cut again). Any other call, made while at
+ * least half the limit was in use, raises the limit by {@code 1/limit}, i.e. by about one per round trip.
+ * The limit stays within [min, max].
+ *
+ * Calls over the limit wait in a FIFO queue of bounded size and for a bounded time, then fail with
+ * {@link EsimGoBulkheadFullException}. Permits are handed out as futures, so the non-blocking client waits
+ * without holding a thread; the blocking client joins the future.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    static final double BACKOFF_RATIO = 0.75;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long queueTimeoutMs;
+    private final long slowCallNanos;
+    private final ArrayDeque<CompletableFuture<Permit>> waiting = new ArrayDeque<>();
+
+    // Guarded by this
+    private double limit;
+    private int inFlight;
+    private long lastBackoffNanos;
+
+    AdaptiveConcurrencyLimit(String name, int minLimit, int maxLimit, int maxQueue, long queueTimeoutMs, long slowCallMs) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": min " + minLimit + ", max " + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.limit = Math.max(minLimit, maxLimit / 2.0);
+        this.lastBackoffNanos = System.nanoTime();
+    }
+
+    /**
+     * A permit to make one call; completes right away while under the limit, otherwise when a call finishes.
+     * Completes exceptionally with {@link EsimGoBulkheadFullException} if the queue is full or the wait times out.
+     */
+    CompletableFuture<Permit> acquire() {
+        CompletableFuture<Permit> permit = new CompletableFuture<>();
+        synchronized (this) {
+            if (waiting.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                permit.complete(new Permit(inFlight));
+                return permit;
+            }
+            if (waiting.size() >= maxQueue) {
+                permit.completeExceptionally(new EsimGoBulkheadFullException(name, "queue is full"));
+                return permit;
+            }
+            waiting.add(permit);
+        }
+        CompletableFuture<Permit> timed = new CompletableFuture<>();
+        permit.orTimeout(queueTimeoutMs, TimeUnit.MILLISECONDS).whenComplete((granted, e) -> {
+            if (e == null) {
+                if (!timed.complete(granted)) {
+                    granted.cancel(); // the caller gave up waiting
+                }
+                return;
+            }
+            synchronized (this) {
+                waiting.remove(permit);
+            }
+            timed.completeExceptionally(new EsimGoBulkheadFullException(name, "no permit within " + queueTimeoutMs + " ms"));
+        });
+        return timed;
+    }
+
+    /**
+     * {@link #acquire()}, waiting on the calling thread
+     */
+    Permit acquireBlocking() {
+        try {
+            return acquire().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof EsimGoBulkheadFullException full) {
+                throw full;
+            }
+            throw e;
+        }
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int queued() {
+        return waiting.size();
+    }
+
+    String name() {
+        return name;
+    }
+
+    private void release(Permit permit, Boolean congested) {
+        synchronized (this) {
+            inFlight--;
+            if (congested != null) {
+                long now = System.nanoTime();
+                if (congested || now - permit.startNanos > slowCallNanos) {
+                    // Cut once per congestion event: calls already in flight at the last cut saw the same overload
+                    if (permit.startNanos - lastBackoffNanos > 0) {
+                        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                        lastBackoffNanos = now;
+                    }
+                } else if (permit.inFlightAtStart * 2 >= limit) {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+        }
+        admitWaiting();
+    }
+
+    /**
+     * Hand freed permits to queued calls. Futures are completed outside the lock, since the waiting
+     * call continues on this thread.
+     */
+    private void admitWaiting() {
+        while (true) {
+            CompletableFuture<Permit> next;
+            Permit permit;
+            synchronized (this) {
+                if (inFlight >= (int) limit || waiting.isEmpty()) {
+                    return;
+                }
+                next = waiting.poll();
+                inFlight++;
+                permit = new Permit(inFlight);
+            }
+            if (!next.complete(permit)) {
+                // Timed out meanwhile
+                synchronized (this) {
+                    inFlight--;
+                }
+            }
+        }
+    }
+
+    /**
+     * One admitted call. Exactly one of {@link #success()}, {@link #congested()} or {@link #cancel()} is honored.
+     */
+    final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * The call completed normally (still counts as congestion if it was slow)
+         */
+        void success() {
+            release(false);
+        }
+
+        /**
+         * eSIMGo throttled or failed the call
+         */
+        void congested() {
+            release(true);
+        }
+
+        /**
+         * The call was not made or its outcome says nothing about eSIMGo's load
+         */
+        void cancel() {
+            release(null);
+        }
+
+        private void release(Boolean congested) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimit.this.release(this, congested);
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.CataloguePage;
+import com.tiktel.ttelgo.integration.esimgo.dto.RoamingEnabledDeserializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a GET /catalogue response body token by token, handing each bundle to a sink as it is parsed.
+ *
+ * Nothing page-sized is materialized: the sink receives one reused {@link BundleResponse.Bundle}
+ * (with reused country and string lists) that is only valid for the duration of the call, and is
+ * expected to copy what it keeps. Scalars are coerced the way the Jackson data binding did.
+ *
+ * Short values that repeat across the page (country names, regions, ISO codes, groups, speeds) are
+ * decoded through a small direct-mapped cache over the parser's character buffer, so each distinct value
+ * is allocated about once per page instead of once per occurrence.
+ */
+final class CatalogueStreamReader {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int TEXT_CACHE_SIZE = 4096; // power of two
+    private static final int MAX_CACHED_LENGTH = 64;
+
+    private final BundleResponse.Bundle bundle = new BundleResponse.Bundle();
+    private final List<BundleResponse.Country> countries = new ArrayList<>();
+    private final List<BundleResponse.Country> countryPool = new ArrayList<>();
+    private final List<String> group = new ArrayList<>();
+    private final List<String> potentialSpeeds = new ArrayList<>();
+    private final String[] textCache = new String[TEXT_CACHE_SIZE];
+
+    private CatalogueStreamReader() {
+    }
+
+    static CataloguePage read(InputStream body, Consumer<BundleResponse.Bundle> sink) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            return new CatalogueStreamReader().readPage(p, sink);
+        }
+    }
+
+    private CataloguePage readPage(JsonParser p, Consumer<BundleResponse.Bundle> sink) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(p, "Expected a catalogue object");
+        }
+        int bundleCount = 0;
+        Integer pageCount = null;
+        Integer rows = null;
+        Integer pageSize = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "bundles" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (p.nextToken() != JsonToken.END_ARRAY) {
+                            if (p.currentToken() == JsonToken.START_OBJECT) {
+                                readBundle(p);
+                                sink.accept(bundle);
+                                bundleCount++;
+                            } else {
+                                p.skipChildren();
+                            }
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                case "pageCount" -> pageCount = readInteger(p);
+                case "rows" -> rows = readInteger(p);
+                case "pageSize" -> pageSize = readInteger(p);
+                default -> p.skipChildren();
+            }
+        }
+        return new CataloguePage(bundleCount, pageCount, rows, pageSize);
+    }
+
+    private void readBundle(JsonParser p) throws IOException {
+        bundle.setName(null);
+        bundle.setDescription(null);
+        bundle.setCountries(null);
+        bundle.setDataAmount(null);
+        bundle.setDuration(null);
+        bundle.setAutostart(null);
+        bundle.setUnlimited(null);
+        bundle.setRoamingEnabled(null);
+        bundle.setImageUrl(null);
+        bundle.setPrice(null);
+        bundle.setGroup(null);
+        bundle.setBillingType(null);
+        bundle.setPotentialSpeeds(null);
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "name" -> bundle.setName(readString(p));
+                case "description" -> bundle.setDescription(readString(p));
+                case "countries" -> bundle.setCountries(readCountries(p));
+                case "dataAmount" -> bundle.setDataAmount(readInteger(p));
+                case "duration" -> bundle.setDuration(readInteger(p));
+                case "autostart" -> bundle.setAutostart(readBoolean(p));
+                case "unlimited" -> bundle.setUnlimited(readBoolean(p));
+                case "roamingEnabled" -> bundle.setRoamingEnabled(
+                        value == JsonToken.VALUE_NULL ? null : RoamingEnabledDeserializer.read(p));
+                case "imageUrl" -> bundle.setImageUrl(readSharedString(p));
+                case "price" -> bundle.setPrice(readDouble(p));
+                case "group" -> bundle.setGroup(readStrings(p, group));
+                case "billingType" -> bundle.setBillingType(readSharedString(p));
+                case "potentialSpeeds" -> bundle.setPotentialSpeeds(readStrings(p, potentialSpeeds));
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private List<BundleResponse.Country> readCountries(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+        countries.clear();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            BundleResponse.Country country = pooledCountry(countries.size());
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "name" -> country.setName(readSharedString(p));
+                    case "region" -> country.setRegion(readSharedString(p));
+                    case "iso" -> country.setIso(readSharedString(p));
+                    default -> p.skipChildren();
+                }
+            }
+            countries.add(country);
+        }
+        return countries;
+    }
+
+    private BundleResponse.Country pooledCountry(int index) {
+        if (index == countryPool.size()) {
+            countryPool.add(new BundleResponse.Country());
+        }
+        BundleResponse.Country country = countryPool.get(index);
+        country.setName(null);
+        country.setRegion(null);
+        country.setIso(null);
+        return country;
+    }
+
+    private List<String> readStrings(JsonParser p, List<String> target) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+        target.clear();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            target.add(readSharedString(p));
+        }
+        return target;
+    }
+
+    /**
+     * Like {@link #readString}, returning the cached instance when the same text was read before
+     */
+    private String readSharedString(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING || p.getTextLength() > MAX_CACHED_LENGTH) {
+            return readString(p);
+        }
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (TEXT_CACHE_SIZE - 1);
+        String cached = textCache[slot];
+        if (cached != null && contentEquals(cached, chars, offset, length)) {
+            return cached;
+        }
+        String text = new String(chars, offset, length);
+        textCache[slot] = text;
+        return text;
+    }
+
+    private static boolean contentEquals(String text, char[] chars, int offset, int length) {
+        if (text.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String readString(JsonParser p) throws IOException {
+        // Numbers and booleans are accepted as their text, like the data binding's coercion
+        JsonToken token = p.currentToken();
+        if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+            return p.getText();
+        }
+        return skip(p);
+    }
+
+    private static Integer readInteger(JsonParser p) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getValueAsInt();
+            case VALUE_STRING -> p.getText().isBlank() ? null : p.getValueAsInt();
+            default -> skip(p);
+        };
+    }
+
+    private static Double readDouble(JsonParser p) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getDoubleValue();
+            case VALUE_STRING -> p.getText().isBlank() ? null : p.getValueAsDouble();
+            default -> skip(p);
+        };
+    }
+
+    private static Boolean readBoolean(JsonParser p) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NUMBER_INT -> p.getIntValue() != 0;
+            case VALUE_STRING -> p.getText().isBlank() ? null : "true".equalsIgnoreCase(p.getText().trim());
+            default -> skip(p);
+        };
+    }
+
+    private static <T> T skip(JsonParser p) throws IOException {
+        p.skipChildren();
+        return null;
+    }
+}
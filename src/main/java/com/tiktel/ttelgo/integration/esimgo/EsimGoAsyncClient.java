@@ -0,0 +1,155 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.OrderDetailResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.QrCodeResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+/**
+ * Non-blocking counterpart of {@link EsimGoClient} for the calls a client request waits on: catalogue pages,
+ * bundle details, QR codes and order details.
+ *
+ * The returned {@link Mono}s complete on the WebClient's event loop; continuations must not block.
+ * Failures are handled like the blocking client does: lookups complete empty where it returns null,
+ * a failed QR fetch completes with the error.
+ */
+@Slf4j
+@Component
+public class EsimGoAsyncClient {
+
+    private final EsimGoConfig config;
+    private final WebClient webClient;
+
+    @Autowired
+    public EsimGoAsyncClient(EsimGoConfig config, @Qualifier("esimGoWebClient") WebClient webClient) {
+        this.config = config;
+        this.webClient = webClient;
+    }
+
+    /**
+     * One catalogue page, see {@link EsimGoClient#listBundles(Integer, Integer, String, String, String)}
+     */
+    public Mono<BundleResponse> listBundles(Integer page, Integer perPage, String direction, String orderBy, String description) {
+        URI uri = EsimGoClient.catalogueUrl(config.getApiEndpoint(), page, perPage, direction, orderBy, description);
+        return get(webClient.get().uri(uri), uri.toString(), BundleResponse.class);
+    }
+
+    /**
+     * Get bundle details by bundle name
+     */
+    public Mono<BundleResponse.Bundle> getBundleDetails(String bundleName) {
+        return get(webClient.get().uri(config.getApiEndpoint() + "/catalogue/bundle/{bundleName}", bundleName),
+                "/catalogue/bundle/" + bundleName, BundleResponse.Bundle.class);
+    }
+
+    /**
+     * Get order details by order ID
+     */
+    public Mono<OrderDetailResponse> getOrderDetails(String orderId) {
+        return get(webClient.get().uri(config.getApiEndpoint() + "/orders/{orderId}", orderId),
+                "/orders/" + orderId, OrderDetailResponse.class);
+    }
+
+    /**
+     * Get QR code by matching ID, see {@link EsimGoClient#getQrCode(String)}. Completes empty if eSIMGo
+     * returns no image.
+     */
+    public Mono<QrCodeResponse> getQrCode(String matchingId) {
+        log.info("Fetching QR code from eSIMGo for matchingId: {}", matchingId);
+        return webClient.get()
+                .uri(config.getApiEndpoint() + "/esims/qr/{matchingId}", matchingId)
+                // Must NOT send Accept: application/json (causes 403 "access denied")
+                .header("X-API-Key", config.getApiKey())
+                .header(HttpHeaders.ACCEPT, "*/*")
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .flatMap(rawBytes -> {
+                    if (rawBytes.length == 0) {
+                        return Mono.empty();
+                    }
+                    log.info("eSIMGo QR response: {} bytes for matchingId: {}", rawBytes.length, matchingId);
+                    return Mono.just(EsimGoQrCodes.toQrCodeResponse(matchingId, rawBytes));
+                })
+                .switchIfEmpty(Mono.fromRunnable(
+                        () -> log.warn("Empty QR code response from eSIMGo for matchingId: {}", matchingId)))
+                .doOnError(e -> {
+                    if (e instanceof WebClientResponseException response) {
+                        log.error("eSIMGo QR fetch failed for {}: {} - {}", matchingId, response.getStatusCode(),
+                                response.getResponseBodyAsString());
+                    } else {
+                        log.error("Unexpected error fetching QR code for {}: {}", matchingId, e.getMessage(), e);
+                    }
+                });
+    }
+
+    /**
+     * Get the QR code image by matching ID as raw PNG bytes, see {@link EsimGoClient#getQrCodePng(String)}.
+     * The body's buffers are read as one stream, so a ZIP is unpacked without first being copied into an
+     * array. Completes empty if eSIMGo returns no image.
+     */
+    public Mono<byte[]> getQrCodePng(String matchingId) {
+        log.info("Fetching QR image from eSIMGo for matchingId: {}", matchingId);
+        return DataBufferUtils.join(webClient.get()
+                        .uri(config.getApiEndpoint() + "/esims/qr/{matchingId}", matchingId)
+                        // Must NOT send Accept: application/json (causes 403 "access denied")
+                        .header("X-API-Key", config.getApiKey())
+                        .header(HttpHeaders.ACCEPT, "*/*")
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class))
+                .handle((DataBuffer body, SynchronousSink<byte[]> sink) -> {
+                    try (InputStream in = body.asInputStream(true)) {
+                        byte[] png = EsimGoQrCodes.readPng(in);
+                        if (png.length > 0) {
+                            sink.next(png);
+                        }
+                    } catch (IOException e) {
+                        sink.error(new UncheckedIOException("Unreadable QR image for matchingId " + matchingId, e));
+                    }
+                })
+                .switchIfEmpty(Mono.fromRunnable(
+                        () -> log.warn("Empty QR code response from eSIMGo for matchingId: {}", matchingId)))
+                .doOnError(e -> {
+                    if (e instanceof WebClientResponseException response) {
+                        log.error("eSIMGo QR fetch failed for {}: {} - {}", matchingId, response.getStatusCode(),
+                                response.getResponseBodyAsString());
+                    } else {
+                        log.error("Unexpected error fetching QR image for {}: {}", matchingId, e.getMessage(), e);
+                    }
+                });
+    }
+
+    private <T> Mono<T> get(WebClient.RequestHeadersSpec<?> request, String url, Class<T> responseType) {
+        log.debug("Calling eSIMGo API (non-blocking): {}", url);
+        return request
+                .header("X-API-Key", config.getApiKey())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(responseType)
+                .onErrorResume(e -> {
+                    // Complete empty to allow graceful handling upstream, like the blocking client's null
+                    if (e instanceof WebClientResponseException response) {
+                        log.error("eSIMGo API error: {} - status {}, body: {}", url, response.getStatusCode(),
+                                response.getResponseBodyAsString());
+                    } else {
+                        log.error("Error calling eSIMGo API: {} - {} ({})", url, e.getMessage(), e.getClass().getName());
+                    }
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,14 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * A call to eSIMGo was not made because its bulkhead had no free permit in time (see {@link AdaptiveConcurrencyLimit}).
+ * Not an I/O error, so it is not retried by the transport-level retry.
+ */
+public class EsimGoBulkheadFullException extends RestClientException {
+
+    public EsimGoBulkheadFullException(String bulkhead, String reason) {
+        super("eSIMGo " + bulkhead + " bulkhead rejected the call: " + reason);
+    }
+}
@@ -6,12 +6,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.util.function.Consumer;
+
 @Slf4j
 @Component
 public class EsimGoClient {
@@ -42,8 +46,38 @@ public class EsimGoClient {
      * @param description Search term for description (wildcard search)
      */
     public BundleResponse listBundles(Integer page, Integer perPage, String direction, String orderBy, String description) {
-        String url = config.getApiEndpoint() + "/catalogue";
-        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
+        return executeGet(catalogueUrl(config.getApiEndpoint(), page, perPage, direction, orderBy, description), BundleResponse.class);
+    }
+    
+    /**
+     * Stream one catalogue page straight from the response body, without binding it to a {@link BundleResponse}.
+     * Each bundle is handed to {@code bundleSink} as soon as it is parsed; the object passed is reused for the
+     * next bundle, so the sink must copy what it keeps.
+     * @return the page's paging metadata, or null if the request or the parse failed (bundles already handed
+     *         to the sink are then incomplete and should be discarded)
+     */
+    public CataloguePage streamCatalogue(Integer page, Integer perPage, Consumer<BundleResponse.Bundle> bundleSink) {
+        URI url = catalogueUrl(config.getApiEndpoint(), page, perPage, "asc", null, null);
+        log.debug("Streaming eSIMGo catalogue page: {}", url);
+        try {
+            return restTemplate.execute(url, HttpMethod.GET,
+                    request -> request.getHeaders().putAll(createHeaders()),
+                    response -> CatalogueStreamReader.read(response.getBody(), bundleSink));
+        } catch (HttpStatusCodeException e) {
+            log.error("eSIMGo catalogue page {} failed: {} - {}", page, e.getStatusCode(), e.getResponseBodyAsString());
+            return null;
+        } catch (RestClientException e) {
+            log.error("Error streaming eSIMGo catalogue page {}: {}", page, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Encoded GET /catalogue URI with the given paging, sorting and description filter (nulls are left out).
+     * Passed to RestTemplate as a URI, so it is not encoded a second time.
+     */
+    static URI catalogueUrl(String apiEndpoint, Integer page, Integer perPage, String direction, String orderBy, String description) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(apiEndpoint + "/catalogue");
         
         if (page != null) {
             builder.queryParam("page", page);
@@ -60,8 +94,7 @@ public class EsimGoClient {
         if (description != null && !description.trim().isEmpty()) {
             builder.queryParam("description", description.trim());
         }
-        
-        return executeGet(builder.toUriString(), BundleResponse.class);
+        return builder.build().encode().toUri();
     }
     
     /**
@@ -72,7 +105,7 @@ public class EsimGoClient {
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url)
                 .queryParam("countries", countryIso);
         
-        return executeGet(builder.toUriString(), BundleResponse.class);
+        return executeGet(builder.build().encode().toUri(), BundleResponse.class);
     }
     
     /**
@@ -84,7 +117,7 @@ public class EsimGoClient {
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url)
                 .queryParam("group", groupName);
         
-        return executeGet(builder.toUriString(), BundleResponse.class);
+        return executeGet(builder.build().encode().toUri(), BundleResponse.class);
     }
     
     /**
@@ -110,10 +143,8 @@ public class EsimGoClient {
      *  - Must NOT send Accept: application/json (causes 403 "access denied")
      *  - Returns either a raw PNG or a ZIP archive containing the PNG (depends on sandbox vs prod)
      *
-     * This method:
-     *  1. Fetches raw bytes with Accept: *\/\*
-     *  2. Detects if the bytes are a ZIP (magic bytes PK = 0x50 0x4B) and extracts the PNG
-     *  3. Base64-encodes the final PNG and returns it as a proper data:image/png;base64,... URI
+     * This method fetches raw bytes with Accept: *\/\* and turns them into a data:image/png;base64,... URI
+     * (see {@link EsimGoQrCodes}).
      */
     public QrCodeResponse getQrCode(String matchingId) {
         String url = config.getApiEndpoint() + "/esims/qr/" + matchingId;
@@ -137,26 +168,7 @@ public class EsimGoClient {
 
             log.info("eSIMGo QR response: {} bytes, content-type: {}",
                     rawBytes.length, response.getHeaders().getContentType());
-
-            // eSIMGo sometimes returns a ZIP archive (starts with PK = 0x50 0x4B) containing the PNG
-            byte[] pngBytes;
-            if (rawBytes.length >= 2 && rawBytes[0] == 0x50 && rawBytes[1] == 0x4B) {
-                log.info("Detected ZIP archive, extracting PNG for matchingId: {}", matchingId);
-                pngBytes = extractPngFromZip(rawBytes);
-                log.info("Extracted PNG: {} bytes from ZIP for matchingId: {}", pngBytes.length, matchingId);
-            } else {
-                pngBytes = rawBytes;
-                log.info("Response is raw PNG: {} bytes for matchingId: {}", pngBytes.length, matchingId);
-            }
-
-            String base64 = java.util.Base64.getEncoder().encodeToString(pngBytes);
-            String dataUri = "data:image/png;base64," + base64;
-
-            QrCodeResponse qrResponse = new QrCodeResponse();
-            qrResponse.setQrCode(dataUri);
-            qrResponse.setMatchingId(matchingId);
-            log.info("Successfully built QR data URI for matchingId: {}", matchingId);
-            return qrResponse;
+            return EsimGoQrCodes.toQrCodeResponse(matchingId, rawBytes);
 
         } catch (HttpClientErrorException e) {
             log.error("eSIMGo QR fetch failed for {}: {} - {}", matchingId, e.getStatusCode(), e.getResponseBodyAsString());
@@ -168,28 +180,30 @@ public class EsimGoClient {
     }
 
     /**
-     * Extract the first PNG file from a ZIP archive byte array.
+     * Get the QR code image by matching ID as raw PNG bytes, see {@link #getQrCode(String)}. A ZIP is
+     * unpacked while the body is read. Returns null if eSIMGo returns no image.
      */
-    private byte[] extractPngFromZip(byte[] zipBytes) {
-        try (java.util.zip.ZipInputStream zis = new java.util.zip.ZipInputStream(
-                new java.io.ByteArrayInputStream(zipBytes))) {
-            java.util.zip.ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                String name = entry.getName().toLowerCase();
-                if (name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg")) {
-                    byte[] pngBytes = zis.readAllBytes();
-                    log.info("Extracted '{}' ({} bytes) from ZIP", entry.getName(), pngBytes.length);
-                    return pngBytes;
-                }
-                zis.closeEntry();
+    public byte[] getQrCodePng(String matchingId) {
+        String url = config.getApiEndpoint() + "/esims/qr/" + matchingId;
+        log.info("Fetching QR image from eSIMGo for matchingId: {}", matchingId);
+        try {
+            byte[] png = restTemplate.execute(url, HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().set("X-API-Key", config.getApiKey());
+                        request.getHeaders().set(HttpHeaders.ACCEPT, "*/*");
+                    },
+                    response -> EsimGoQrCodes.readPng(response.getBody()));
+            if (png == null || png.length == 0) {
+                log.warn("Empty QR code response from eSIMGo for matchingId: {}", matchingId);
+                return null;
             }
-        } catch (Exception e) {
-            log.error("Failed to extract PNG from ZIP: {}", e.getMessage(), e);
-            throw new RuntimeException("ZIP archive from eSIMGo contained no PNG/JPG image", e);
+            return png;
+        } catch (HttpClientErrorException e) {
+            log.error("eSIMGo QR fetch failed for {}: {} - {}", matchingId, e.getStatusCode(), e.getResponseBodyAsString());
+            throw e;
         }
-        throw new RuntimeException("ZIP archive from eSIMGo contained no PNG/JPG image");
     }
-    
+
     /**
      * Get order details by order ID
      */
@@ -199,6 +213,11 @@ public class EsimGoClient {
     }
     
     private <T> T executeGet(String url, Class<T> responseType) {
+        // Encoded the same way RestTemplate encodes a String URL
+        return executeGet(restTemplate.getUriTemplateHandler().expand(url), responseType);
+    }
+    
+    private <T> T executeGet(URI url, Class<T> responseType) {
         log.info("=== Calling eSIMGo API ===");
         log.info("URL: {}", url);
         try {
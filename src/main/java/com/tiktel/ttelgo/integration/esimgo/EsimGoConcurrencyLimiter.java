@@ -0,0 +1,116 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * Admits calls to eSIMGo, from both the blocking and the non-blocking client, through two adaptive bulkheads
+ * (see {@link AdaptiveConcurrencyLimit}): {@code orders} for order creation and {@code reads} for everything else
+ * (catalogue pages, bundle details, QR codes, order details). Each bulkhead has its own limit, so a burst of
+ * catalogue reads never takes the capacity order provisioning needs.
+ *
+ * A 429 or 5xx from eSIMGo, or an I/O error or timeout, counts as congestion. The permit is held until the
+ * response body has been read.
+ *
+ * Publishes {@code esimgo.client.concurrency.limit}, {@code .in-flight} and {@code .queued} gauges and a
+ * {@code .rejected} counter, tagged with the bulkhead.
+ */
+class EsimGoConcurrencyLimiter implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveConcurrencyLimit reads;
+    private final AdaptiveConcurrencyLimit orders;
+    private final Counter readsRejected;
+    private final Counter ordersRejected;
+
+    EsimGoConcurrencyLimiter(AdaptiveConcurrencyLimit reads, AdaptiveConcurrencyLimit orders, MeterRegistry meterRegistry) {
+        this.reads = reads;
+        this.orders = orders;
+        this.readsRejected = bindMetrics(reads, meterRegistry);
+        this.ordersRejected = bindMetrics(orders, meterRegistry);
+    }
+
+    private static Counter bindMetrics(AdaptiveConcurrencyLimit bulkhead, MeterRegistry meterRegistry) {
+        Gauge.builder("esimgo.client.concurrency.limit", bulkhead, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive limit of concurrent eSIMGo calls")
+                .tag("bulkhead", bulkhead.name())
+                .register(meterRegistry);
+        Gauge.builder("esimgo.client.concurrency.in-flight", bulkhead, AdaptiveConcurrencyLimit::inFlight)
+                .description("eSIMGo calls in flight")
+                .tag("bulkhead", bulkhead.name())
+                .register(meterRegistry);
+        Gauge.builder("esimgo.client.concurrency.queued", bulkhead, AdaptiveConcurrencyLimit::queued)
+                .description("eSIMGo calls waiting for a permit")
+                .tag("bulkhead", bulkhead.name())
+                .register(meterRegistry);
+        return Counter.builder("esimgo.client.concurrency.rejected")
+                .description("eSIMGo calls rejected because the queue was full or the wait timed out")
+                .tag("bulkhead", bulkhead.name())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        AdaptiveConcurrencyLimit bulkhead = bulkhead(request.getMethod(), request.getURI().getPath());
+        AdaptiveConcurrencyLimit.Permit permit;
+        try {
+            permit = bulkhead.acquireBlocking();
+        } catch (EsimGoBulkheadFullException e) {
+            rejected(bulkhead).increment();
+            throw e;
+        }
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            permit.congested();
+            throw e;
+        } catch (RuntimeException e) {
+            permit.cancel();
+            throw e;
+        }
+        return new OnCloseResponse(response, isCongested(response.getStatusCode()) ? permit::congested : permit::success);
+    }
+
+    /**
+     * The same admission for the WebClient; waiting for a permit doesn't hold a thread
+     */
+    ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            AdaptiveConcurrencyLimit bulkhead = bulkhead(request.method(), request.url().getPath());
+            return Mono.fromFuture(bulkhead::acquire)
+                    .doOnError(EsimGoBulkheadFullException.class, e -> rejected(bulkhead).increment())
+                    .flatMap(permit -> next.exchange(request)
+                            .doOnError(e -> permit.congested())
+                            .doOnCancel(permit::cancel)
+                            .map(response -> {
+                                Runnable release = isCongested(response.statusCode()) ? permit::congested : permit::success;
+                                return response.mutate()
+                                        .body(body -> body.doFinally(signal -> release.run()))
+                                        .build();
+                            }));
+        };
+    }
+
+    private AdaptiveConcurrencyLimit bulkhead(HttpMethod method, String path) {
+        return HttpMethod.POST.equals(method) && "/orders".equals(EsimGoRequestMetrics.endpoint(path)) ? orders : reads;
+    }
+
+    private Counter rejected(AdaptiveConcurrencyLimit bulkhead) {
+        return bulkhead == orders ? ordersRejected : readsRejected;
+    }
+
+    private static boolean isCongested(HttpStatusCode status) {
+        return status.value() == 429 || status.is5xxServerError();
+    }
+}
@@ -1,28 +1,171 @@
 package com.tiktel.ttelgo.integration.esimgo;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class EsimGoConfig {
-    
+
+    // Catalogue pages requested with a large perPage are decoded in memory by the non-blocking client
+    private static final int MAX_IN_MEMORY_BYTES = 16 * 1024 * 1024;
+
     @Value("${esimgo.api.endpoint:https://api.esim-go.com/v2.4}")
     private String apiEndpoint;
-    
+
     @Value("${esimgo.api.key:}")
     private String apiKey;
-    
+
+    @Value("${esimgo.timeout.connect:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${esimgo.timeout.read:30000}")
+    private int readTimeoutMs;
+
+    @Value("${esimgo.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${esimgo.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${esimgo.http.connection-request-timeout:5000}")
+    private int connectionRequestTimeoutMs;
+
+    @Value("${esimgo.http.idle-timeout:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${esimgo.http.connection-ttl:300000}")
+    private long connectionTtlMs;
+
+    /**
+     * Pooled HTTP client for eSIMGo: every call reuses kept-alive connections (and their TLS sessions)
+     * instead of opening a new one, and the configured connect/read timeouts are enforced.
+     * Connections are recycled after {@code connection-ttl} so DNS changes are picked up.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient esimGoHttpClient(MeterRegistry meterRegistry) {
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(meterRegistry);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                .setSocketTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                .setTimeToLive(connectionTtlMs, TimeUnit.MILLISECONDS)
+                // Re-check connections idle for a while; eSIMGo's side may have closed them
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true)
+                .build());
+        // httpcomponents.httpclient.pool.* (max, leased/available connections, pending leases), tagged httpclient=esimgo
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "esimgo").bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMs))
+                // Calls are retried by the callers (per catalogue page, per order), not by the transport
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    /**
+     * Adaptive bulkheads shared by both clients: catalogue and other reads vs order creation. The two max limits
+     * together should not exceed {@code max-connections-per-route}, so orders always find a free connection.
+     */
+    @Bean
+    EsimGoConcurrencyLimiter esimGoConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${esimgo.concurrency.reads.min-limit:2}") int readsMinLimit,
+            @Value("${esimgo.concurrency.reads.max-limit:14}") int readsMaxLimit,
+            @Value("${esimgo.concurrency.reads.queue-timeout:2000}") long readsQueueTimeoutMs,
+            @Value("${esimgo.concurrency.reads.slow-call-threshold:5000}") long readsSlowCallMs,
+            @Value("${esimgo.concurrency.orders.min-limit:2}") int ordersMinLimit,
+            @Value("${esimgo.concurrency.orders.max-limit:6}") int ordersMaxLimit,
+            @Value("${esimgo.concurrency.orders.queue-timeout:10000}") long ordersQueueTimeoutMs,
+            @Value("${esimgo.concurrency.orders.slow-call-threshold:10000}") long ordersSlowCallMs,
+            @Value("${esimgo.concurrency.max-queue:200}") int maxQueue) {
+        return new EsimGoConcurrencyLimiter(
+                new AdaptiveConcurrencyLimit("reads", readsMinLimit, readsMaxLimit, maxQueue, readsQueueTimeoutMs, readsSlowCallMs),
+                new AdaptiveConcurrencyLimit("orders", ordersMinLimit, ordersMaxLimit, maxQueue, ordersQueueTimeoutMs, ordersSlowCallMs),
+                meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient esimGoHttpClient, EsimGoConcurrencyLimiter esimGoConcurrencyLimiter,
+                                     MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(esimGoHttpClient));
+        // Admission first, so time spent queued for a permit isn't counted as eSIMGo latency
+        restTemplate.getInterceptors().add(esimGoConcurrencyLimiter);
+        restTemplate.getInterceptors().add(new EsimGoRequestMetrics(meterRegistry));
+        return restTemplate;
+    }
+
+    /**
+     * Connection pool of the non-blocking client, sized and recycled like the blocking one
+     * ({@code reactor.netty.connection.provider.*} metrics, name=esimgo)
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider esimGoConnectionProvider() {
+        return ConnectionProvider.builder("esimgo")
+                .maxConnections(maxConnectionsPerRoute)
+                .pendingAcquireTimeout(Duration.ofMillis(connectionRequestTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(idleTimeoutMs))
+                .maxLifeTime(Duration.ofMillis(connectionTtlMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Non-blocking client for the eSIMGo calls a request waits on (catalogue pages, bundle details, QR codes,
+     * order details). Responses are completed on Netty's event loop, so no servlet thread is held while
+     * eSIMGo answers. Same timeouts, bulkheads and {@code esimgo.client.requests} timer as the blocking client.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public WebClient esimGoWebClient(WebClient.Builder webClientBuilder, ConnectionProvider esimGoConnectionProvider,
+                                     EsimGoConcurrencyLimiter esimGoConcurrencyLimiter, MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.create(esimGoConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_BYTES))
+                .filter(esimGoConcurrencyLimiter.exchangeFilter())
+                .filter(new EsimGoRequestMetrics(meterRegistry).exchangeFilter())
+                .build();
     }
-    
+
     public String getApiEndpoint() {
         return apiEndpoint;
     }
-    
+
     public String getApiKey() {
         return apiKey;
     }
@@ -0,0 +1,87 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import com.tiktel.ttelgo.integration.esimgo.dto.QrCodeResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Turns the body of GET /esims/qr/{matchingId} into PNG bytes or a {@link QrCodeResponse}, shared by the
+ * blocking and the non-blocking client.
+ *
+ * eSIMGo returns either a raw PNG or a ZIP archive containing the PNG (depends on sandbox vs prod).
+ * A ZIP (magic bytes PK = 0x50 0x4B) is unpacked while it is read, so only the image itself is buffered.
+ * {@link #toQrCodeResponse} returns the image as a {@code data:image/png;base64,...} URI.
+ */
+@Slf4j
+final class EsimGoQrCodes {
+
+    private EsimGoQrCodes() {
+    }
+
+    static QrCodeResponse toQrCodeResponse(String matchingId, byte[] rawBytes) {
+        byte[] pngBytes;
+        if (rawBytes.length >= 2 && isZip(rawBytes[0], rawBytes[1])) {
+            log.info("Detected ZIP archive, extracting PNG for matchingId: {}", matchingId);
+            pngBytes = extractPngFromZip(new ByteArrayInputStream(rawBytes));
+            log.info("Extracted PNG: {} bytes from ZIP for matchingId: {}", pngBytes.length, matchingId);
+        } else {
+            pngBytes = rawBytes;
+            log.info("Response is raw PNG: {} bytes for matchingId: {}", pngBytes.length, matchingId);
+        }
+
+        QrCodeResponse qrResponse = new QrCodeResponse();
+        qrResponse.setQrCode("data:image/png;base64," + Base64.getEncoder().encodeToString(pngBytes));
+        qrResponse.setMatchingId(matchingId);
+        log.info("Successfully built QR data URI for matchingId: {}", matchingId);
+        return qrResponse;
+    }
+
+    /**
+     * The image in a QR response body, read straight from the stream: a ZIP is inflated entry by entry
+     * without buffering the archive. Empty if the body is empty.
+     */
+    static byte[] readPng(InputStream body) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(body);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first < 0) {
+            return new byte[0];
+        }
+        return isZip(first, second) ? extractPngFromZip(in) : in.readAllBytes();
+    }
+
+    private static boolean isZip(int first, int second) {
+        return first == 0x50 && second == 0x4B;
+    }
+
+    /**
+     * Extract the first PNG file from a ZIP archive stream.
+     */
+    private static byte[] extractPngFromZip(InputStream zipStream) {
+        try (ZipInputStream zis = new ZipInputStream(zipStream)) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                String name = entry.getName().toLowerCase();
+                if (name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+                    byte[] pngBytes = zis.readAllBytes();
+                    log.info("Extracted '{}' ({} bytes) from ZIP", entry.getName(), pngBytes.length);
+                    return pngBytes;
+                }
+                zis.closeEntry();
+            }
+        } catch (Exception e) {
+            log.error("Failed to extract PNG from ZIP: {}", e.getMessage(), e);
+            throw new RuntimeException("ZIP archive from eSIMGo contained no PNG/JPG image", e);
+        }
+        throw new RuntimeException("ZIP archive from eSIMGo contained no PNG/JPG image");
+    }
+}
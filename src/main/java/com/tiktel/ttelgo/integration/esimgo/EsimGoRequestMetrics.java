@@ -0,0 +1,100 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every eSIMGo call as {@code esimgo.client.requests}, with a latency histogram per endpoint.
+ *
+ * The endpoint tag is the API resource ({@code /catalogue}, {@code /orders}, {@code /esims/qr}, ...),
+ * never the raw path, so matching ids and bundle names don't multiply the series. The sample is taken
+ * when the response is closed, i.e. it includes reading the body, which for streamed catalogue pages
+ * is most of the call. The non-blocking client is timed the same way through {@link #exchangeFilter()}.
+ */
+class EsimGoRequestMetrics implements ClientHttpRequestInterceptor {
+
+    private static final String[] ENDPOINTS = {"/catalogue", "/orders", "/esims/qr", "/esims"};
+
+    private final MeterRegistry meterRegistry;
+
+    EsimGoRequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        String endpoint = endpoint(request.getURI().getPath());
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            record(endpoint, request.getMethod().name(), "IO_ERROR", "error", start);
+            throw e;
+        }
+        HttpStatusCode status = response.getStatusCode();
+        return new OnCloseResponse(response,
+                () -> record(endpoint, request.getMethod().name(), String.valueOf(status.value()), outcome(status), start));
+    }
+
+    /**
+     * The same samples for the WebClient: taken when the response body has been consumed (or released)
+     */
+    ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            long start = System.nanoTime();
+            String endpoint = endpoint(request.url().getPath());
+            String method = request.method().name();
+            return next.exchange(request)
+                    .doOnError(e -> record(endpoint, method, "IO_ERROR", "error", start))
+                    .map(response -> {
+                        HttpStatusCode status = response.statusCode();
+                        return response.mutate()
+                                .body(body -> body.doFinally(signal ->
+                                        record(endpoint, method, String.valueOf(status.value()), outcome(status), start)))
+                                .build();
+                    });
+        };
+    }
+
+    private static String outcome(HttpStatusCode status) {
+        return status.is2xxSuccessful() ? "success" : status.is4xxClientError() ? "client_error" : "server_error";
+    }
+
+    private void record(String endpoint, String method, String status, String outcome, long start) {
+        Timer.builder("esimgo.client.requests")
+                .description("Latency of eSIMGo API calls, including reading the response body")
+                .tag("endpoint", endpoint)
+                .tag("method", method)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The API resource of a request path, e.g. {@code /v2.4/esims/qr/abc} -> {@code /esims/qr}
+     */
+    static String endpoint(String path) {
+        if (path != null) {
+            for (String endpoint : ENDPOINTS) {
+                int at = path.indexOf(endpoint);
+                int end = at + endpoint.length();
+                if (at >= 0 && (end == path.length() || path.charAt(end) == '/')) {
+                    return endpoint;
+                }
+            }
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,66 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Connection pool for the eSIMGo client that times how long each request waits for a connection
+ * ({@code esimgo.client.connection.acquire}, tagged outcome=acquired|timeout|failed). A growing acquire
+ * time means the pool is too small for the load; the pool's own sizes are published separately.
+ */
+class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer acquired;
+    private final Timer timedOut;
+    private final Timer failed;
+
+    InstrumentedConnectionManager(MeterRegistry meterRegistry) {
+        this.acquired = acquireTimer(meterRegistry, "acquired");
+        this.timedOut = acquireTimer(meterRegistry, "timeout");
+        this.failed = acquireTimer(meterRegistry, "failed");
+    }
+
+    private static Timer acquireTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("esimgo.client.connection.acquire")
+                .description("Time requests to eSIMGo wait to lease a pooled connection")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest lease = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout) throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                Timer timer = failed;
+                try {
+                    ConnectionEndpoint endpoint = lease.get(timeout);
+                    timer = acquired;
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    timer = timedOut;
+                    throw e;
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return lease.cancel();
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Runs a callback once, when RestTemplate closes the response after extracting the body
+ */
+final class OnCloseResponse implements ClientHttpResponse {
+    private final ClientHttpResponse delegate;
+    private Runnable onClose;
+
+    OnCloseResponse(ClientHttpResponse delegate, Runnable onClose) {
+        this.delegate = delegate;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return delegate.getBody();
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            if (onClose != null) {
+                onClose.run();
+                onClose = null;
+            }
+        }
+    }
+}
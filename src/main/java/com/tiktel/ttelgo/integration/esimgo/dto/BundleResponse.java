@@ -10,6 +10,15 @@ import java.util.List;
 public class BundleResponse {
     private List<Bundle> bundles;
     
+    // Paging metadata returned by GET /catalogue (absent on some API versions)
+    @JsonProperty("pageCount")
+    private Integer pageCount;
+    
+    private Integer rows;
+    
+    @JsonProperty("pageSize")
+    private Integer pageSize;
+    
     @Data
     public static class Bundle {
         private String name;
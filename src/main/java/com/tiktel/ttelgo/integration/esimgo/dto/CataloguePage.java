@@ -0,0 +1,11 @@
+package com.tiktel.ttelgo.integration.esimgo.dto;
+
+/**
+ * Paging metadata of a streamed GET /catalogue page (the bundles themselves go to the caller's sink)
+ * @param bundleCount number of bundles on the page
+ * @param pageCount total page count, null when absent
+ * @param rows total bundle count, null when absent
+ * @param pageSize page size as reported by eSIMGo, null when absent
+ */
+public record CataloguePage(int bundleCount, Integer pageCount, Integer rows, Integer pageSize) {
+}
@@ -1,66 +1,93 @@
 package com.tiktel.ttelgo.integration.esimgo.dto;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
-import java.util.Iterator;
 
+/**
+ * Decodes eSIMGo's {@code roamingEnabled}, which is either a boolean, a string, or an array of roaming
+ * countries. Reads tokens directly instead of building a tree: the country arrays of global bundles hold
+ * a hundred or more objects per bundle.
+ */
 public class RoamingEnabledDeserializer extends JsonDeserializer<Boolean> {
-    
+
+    // If the array has country objects with 10+ countries, it's likely a global bundle
+    private static final int GLOBAL_ROAMING_COUNTRIES = 10;
+
     @Override
     public Boolean deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
-        
+        return read(p);
+    }
+
+    /**
+     * Decode the value at the parser's current token, leaving the parser on its last token
+     */
+    public static boolean read(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+
         // If it's a boolean, return it directly
-        if (node.isBoolean()) {
-            return node.asBoolean();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return p.getBooleanValue();
+        }
+
+        // If it's a string, try to parse it
+        if (token == JsonToken.VALUE_STRING) {
+            String text = p.getText();
+            return "true".equalsIgnoreCase(text) || "1".equals(text);
         }
-        
+
         // If it's an array, check if it has country objects (indicates global/roaming)
-        if (node.isArray()) {
-            // Check if array contains country objects (has "name", "iso", "region" fields)
-            boolean hasCountryObjects = false;
+        if (token == JsonToken.START_ARRAY) {
             int countryCount = 0;
-            
-            Iterator<JsonNode> elements = node.elements();
-            while (elements.hasNext()) {
-                JsonNode element = elements.next();
-                
-                // Check if it's a country object
-                if (element.isObject() && element.has("name") && element.has("iso")) {
-                    hasCountryObjects = true;
-                    countryCount++;
-                }
-                
-                // Also handle boolean values in array
-                if (element.isBoolean() && element.asBoolean()) {
-                    return true;
+            JsonToken element;
+            while ((element = p.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                // Check if it's a country object (has "name" and "iso" fields)
+                if (element == JsonToken.START_OBJECT) {
+                    if (isCountryObject(p)) {
+                        countryCount++;
+                    }
+                    continue;
                 }
-                // Also handle string "true" values
-                if (element.isTextual() && "true".equalsIgnoreCase(element.asText())) {
+                // Also handle boolean / string "true" values in array
+                boolean enabled = element == JsonToken.VALUE_TRUE
+                        || (element == JsonToken.VALUE_STRING && "true".equalsIgnoreCase(p.getText()));
+                if (enabled) {
+                    skipToArrayEnd(p);
                     return true;
                 }
+                p.skipChildren();
             }
-            
-            // If array has country objects with 10+ countries, it's likely a global bundle
-            if (hasCountryObjects && countryCount >= 10) {
-                return true;
-            }
-            
-            return false;
-        }
-        
-        // If it's a string, try to parse it
-        if (node.isTextual()) {
-            String text = node.asText();
-            return "true".equalsIgnoreCase(text) || "1".equals(text);
+            return countryCount >= GLOBAL_ROAMING_COUNTRIES;
         }
-        
+
         // Default to false if we can't determine
+        p.skipChildren();
         return false;
     }
-}
 
+    /**
+     * Consume an object (parser on its START_OBJECT), telling whether it has "name" and "iso" fields
+     */
+    private static boolean isCountryObject(JsonParser p) throws IOException {
+        boolean hasName = false;
+        boolean hasIso = false;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            hasName |= "name".equals(field);
+            hasIso |= "iso".equals(field);
+            p.nextToken();
+            p.skipChildren();
+        }
+        return hasName && hasIso;
+    }
+
+    private static void skipToArrayEnd(JsonParser p) throws IOException {
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            p.skipChildren();
+        }
+    }
+}
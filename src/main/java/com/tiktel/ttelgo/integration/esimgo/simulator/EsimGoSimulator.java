@@ -0,0 +1,521 @@
+package com.tiktel.ttelgo.integration.esimgo.simulator;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderRequest;
+import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * In-process stand-in for the eSIMGo v2.4 API, for load and latency tests and for running the app without
+ * eSIMGo (profile {@code esimgo-simulator}, see {@link EsimGoSimulatorConfig}).
+ *
+ * Serves {@code GET /catalogue} (paging, sorting and the {@code countries}, {@code group} and {@code description}
+ * filters) and {@code GET /catalogue/bundle/{name}} from a {@link SyntheticCatalogue}; {@code POST /orders}
+ * assigns made-up eSIMs that {@code GET /orders/{reference}} and {@code GET /esims/qr/{matchingId}} (a PNG, or a
+ * ZIP containing it, as eSIMGo returns either) then return. Paths are accepted with or without the {@code /v2.4}
+ * prefix.
+ *
+ * Each response is delayed by a sample of its endpoint's {@link LatencyDistribution}; delayed responses are sent
+ * from a timer, so a slow simulator holds connections, not threads. A configurable share of calls fails with a
+ * 5xx after the delay, and another share is throttled right away with a 429 and {@code Retry-After}.
+ */
+@Slf4j
+public class EsimGoSimulator {
+
+    public enum Endpoint { CATALOGUE, BUNDLE, CREATE_ORDER, ORDER, QR }
+
+    public enum QrFormat { PNG, ZIP }
+
+    private static final String API_VERSION = "/v2.4";
+    private static final String JSON = "application/json";
+    private static final String SMDP_ADDRESS = "smdp.esimgo-simulator.local";
+    private static final int QR_MODULES = 33;
+    private static final int QR_SCALE = 6;
+
+    private final int requestedPort;
+    private final SyntheticCatalogue catalogue;
+    private final Map<Endpoint, LatencyDistribution> latency;
+    private final double errorRate;
+    private final double throttleRate;
+    private final QrFormat qrFormat;
+    private final String apiKey;
+    private final ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final Map<String, CreateOrderResponse> orders = new ConcurrentHashMap<>();
+    private final Map<String, CreateOrderResponse.EsimInfo> esims = new ConcurrentHashMap<>();
+    private final AtomicLong iccidSequence = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService workers;
+    private ScheduledExecutorService timer;
+
+    private EsimGoSimulator(Builder builder) {
+        this.requestedPort = builder.port;
+        this.catalogue = SyntheticCatalogue.generate(builder.catalogueSize, builder.seed);
+        this.latency = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            latency.put(endpoint, builder.latency.getOrDefault(endpoint, builder.defaultLatency));
+        }
+        this.errorRate = builder.errorRate;
+        this.throttleRate = builder.throttleRate;
+        this.qrFormat = builder.qrFormat;
+        this.apiKey = builder.apiKey;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Start listening on the loopback interface (on a free port if the port is 0)
+     */
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start eSIMGo simulator on port " + requestedPort, e);
+        }
+        workers = Executors.newCachedThreadPool(daemonThreads("esimgo-simulator-"));
+        timer = Executors.newScheduledThreadPool(2, daemonThreads("esimgo-simulator-timer-"));
+        server.setExecutor(workers);
+        server.createContext("/", this::handle);
+        server.start();
+        log.info("eSIMGo simulator listening on {} with {} bundles, latency {}, error rate {}, throttle rate {}",
+                baseUrl(), catalogue.size(), latency, errorRate, throttleRate);
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        timer.shutdownNow();
+        workers.shutdownNow();
+        server = null;
+    }
+
+    public synchronized int port() {
+        if (server == null) {
+            throw new IllegalStateException("eSIMGo simulator is not running");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Value for {@code esimgo.api.endpoint}
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + port() + API_VERSION;
+    }
+
+    public SyntheticCatalogue catalogue() {
+        return catalogue;
+    }
+
+    /**
+     * Requests received but not yet answered (including those waiting out their latency)
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Response decided on the handler thread, sent after the sampled delay
+     */
+    private record Reply(int status, String contentType, byte[] body, Map<String, String> headers) {
+        static Reply json(int status, byte[] body) {
+            return new Reply(status, JSON, body, Map.of());
+        }
+    }
+
+    private void handle(HttpExchange exchange) {
+        inFlight.incrementAndGet();
+        requests.incrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        if (path.startsWith(API_VERSION + "/")) {
+            path = path.substring(API_VERSION.length());
+        }
+        String method = exchange.getRequestMethod();
+        Endpoint endpoint = endpoint(method, path);
+        if (endpoint == null) {
+            send(exchange, error(404, "No route for " + method + " " + path));
+            return;
+        }
+        if (apiKey != null && !apiKey.equals(exchange.getRequestHeaders().getFirst("X-API-Key"))) {
+            send(exchange, error(401, "Invalid API key"));
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < throttleRate) {
+            // A rate limiter answers right away
+            Reply throttled = error(429, "Too Many Requests");
+            send(exchange, new Reply(429, throttled.contentType(), throttled.body(), Map.of("Retry-After", "1")));
+            return;
+        }
+        Reply reply;
+        try {
+            reply = random.nextDouble() < errorRate
+                    ? error(random.nextBoolean() ? 500 : 503, "Simulated eSIMGo failure")
+                    : dispatch(endpoint, exchange, path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("eSIMGo simulator failed on {} {}: {}", method, path, e.getMessage());
+            reply = error(500, e.getMessage());
+        }
+        long delayMs = latency.get(endpoint).sampleMillis(random);
+        if (delayMs <= 0) {
+            send(exchange, reply);
+            return;
+        }
+        Reply delayed = reply;
+        timer.schedule(() -> workers.execute(() -> send(exchange, delayed)), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static Endpoint endpoint(String method, String path) {
+        if ("GET".equals(method)) {
+            if (path.equals("/catalogue")) {
+                return Endpoint.CATALOGUE;
+            }
+            if (path.startsWith("/catalogue/bundle/")) {
+                return Endpoint.BUNDLE;
+            }
+            if (path.startsWith("/orders/")) {
+                return Endpoint.ORDER;
+            }
+            if (path.startsWith("/esims/qr/")) {
+                return Endpoint.QR;
+            }
+        } else if ("POST".equals(method) && path.equals("/orders")) {
+            return Endpoint.CREATE_ORDER;
+        }
+        return null;
+    }
+
+    private Reply dispatch(Endpoint endpoint, HttpExchange exchange, String path) throws IOException {
+        return switch (endpoint) {
+            case CATALOGUE -> {
+                Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+                yield Reply.json(200, objectMapper.writeValueAsBytes(catalogue.page(
+                        intParam(query, "page"), intParam(query, "perPage"), query.get("direction"),
+                        query.get("orderBy"), query.get("description"), query.get("countries"), query.get("group"))));
+            }
+            case BUNDLE -> {
+                BundleResponse.Bundle bundle = catalogue.bundle(lastSegment(path));
+                yield bundle != null ? Reply.json(200, objectMapper.writeValueAsBytes(bundle))
+                        : error(404, "Bundle not found");
+            }
+            case CREATE_ORDER -> createOrder(objectMapper.readValue(exchange.getRequestBody(), CreateOrderRequest.class));
+            case ORDER -> {
+                CreateOrderResponse order = orders.get(lastSegment(path));
+                yield order != null ? Reply.json(200, objectMapper.writeValueAsBytes(order))
+                        : error(404, "Order not found");
+            }
+            case QR -> {
+                String matchingId = lastSegment(path);
+                yield esims.containsKey(matchingId) ? qrCode(matchingId) : error(404, "eSIM not found");
+            }
+        };
+    }
+
+    /**
+     * {@code type: validate} only prices the order; {@code transaction} also assigns eSIMs and keeps the order
+     */
+    private Reply createOrder(CreateOrderRequest request) throws IOException {
+        if (request.getOrder() == null || request.getOrder().isEmpty()) {
+            return error(400, "Order must contain at least one item");
+        }
+        boolean transaction = !"validate".equalsIgnoreCase(request.getType());
+        boolean assign = !Boolean.FALSE.equals(request.getAssign());
+        List<CreateOrderResponse.OrderDetail> details = new ArrayList<>();
+        double total = 0;
+        for (CreateOrderRequest.OrderItem item : request.getOrder()) {
+            BundleResponse.Bundle bundle = catalogue.bundle(item.getItem());
+            if (bundle == null) {
+                return error(400, "Bundle " + item.getItem() + " not found");
+            }
+            int quantity = item.getQuantity() != null ? item.getQuantity() : 1;
+            CreateOrderResponse.OrderDetail detail = new CreateOrderResponse.OrderDetail();
+            detail.setType(item.getType() != null ? item.getType() : "bundle");
+            detail.setItem(bundle.getName());
+            detail.setQuantity(quantity);
+            detail.setPricePerUnit(bundle.getPrice());
+            detail.setSubTotal(Math.round(bundle.getPrice() * quantity * 100) / 100.0);
+            detail.setAllowReassign(item.getAllowReassign());
+            if (transaction && assign) {
+                List<CreateOrderResponse.EsimInfo> assigned = new ArrayList<>();
+                for (int i = 0; i < quantity; i++) {
+                    assigned.add(newEsim());
+                }
+                detail.setEsims(assigned);
+                detail.setIccids(assigned.stream().map(CreateOrderResponse.EsimInfo::getIccid).toList());
+            }
+            details.add(detail);
+            total += detail.getSubTotal();
+        }
+
+        CreateOrderResponse response = new CreateOrderResponse();
+        response.setOrder(details);
+        response.setTotal(Math.round(total * 100) / 100.0);
+        response.setCurrency("USD");
+        response.setCreatedDate(Instant.now().toString());
+        if (!transaction) {
+            response.setStatus("Validated");
+            response.setStatusMessage("Order is valid");
+            return Reply.json(200, objectMapper.writeValueAsBytes(response));
+        }
+        response.setStatus("Completed");
+        response.setStatusMessage("Order completed");
+        response.setOrderReference(UUID.randomUUID().toString());
+        response.setAssigned(assign);
+        orders.put(response.getOrderReference(), response);
+        for (CreateOrderResponse.OrderDetail detail : details) {
+            if (detail.getEsims() != null) {
+                detail.getEsims().forEach(esim -> esims.put(esim.getMatchingId(), esim));
+            }
+        }
+        return Reply.json(200, objectMapper.writeValueAsBytes(response));
+    }
+
+    private CreateOrderResponse.EsimInfo newEsim() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        CreateOrderResponse.EsimInfo esim = new CreateOrderResponse.EsimInfo();
+        esim.setIccid(String.format("894400%013d", iccidSequence.incrementAndGet()));
+        esim.setMatchingId(String.format("%04X-%04X-%04X-%04X",
+                random.nextInt(0x10000), random.nextInt(0x10000), random.nextInt(0x10000), random.nextInt(0x10000)));
+        esim.setSmdpAddress(SMDP_ADDRESS);
+        return esim;
+    }
+
+    private Reply qrCode(String matchingId) throws IOException {
+        byte[] png = qrImage("LPA:1$" + SMDP_ADDRESS + "$" + matchingId);
+        if (qrFormat == QrFormat.PNG) {
+            return new Reply(200, "image/png", png, Map.of());
+        }
+        ByteArrayOutputStream zip = new ByteArrayOutputStream(png.length + 256);
+        try (ZipOutputStream out = new ZipOutputStream(zip)) {
+            out.putNextEntry(new ZipEntry(matchingId + ".png"));
+            out.write(png);
+            out.closeEntry();
+        }
+        return new Reply(200, "application/zip", zip.toByteArray(), Map.of());
+    }
+
+    /**
+     * A PNG that looks like a QR code and is unique per activation code; it is not meant to be scanned
+     */
+    private static byte[] qrImage(String activationCode) throws IOException {
+        Random modules = new Random(activationCode.hashCode());
+        int size = (QR_MODULES + 8) * QR_SCALE;
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_BYTE_BINARY);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                image.setRGB(x, y, 0xFFFFFF);
+            }
+        }
+        for (int row = 0; row < QR_MODULES; row++) {
+            for (int col = 0; col < QR_MODULES; col++) {
+                if (!modules.nextBoolean()) {
+                    continue;
+                }
+                for (int dy = 0; dy < QR_SCALE; dy++) {
+                    for (int dx = 0; dx < QR_SCALE; dx++) {
+                        image.setRGB((col + 4) * QR_SCALE + dx, (row + 4) * QR_SCALE + dy, 0);
+                    }
+                }
+            }
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+
+    private Reply error(int status, String message) {
+        try {
+            return Reply.json(status, objectMapper.writeValueAsBytes(Map.of("message", String.valueOf(message))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void send(HttpExchange exchange, Reply reply) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", reply.contentType());
+            reply.headers().forEach(exchange.getResponseHeaders()::set);
+            exchange.sendResponseHeaders(reply.status(), reply.body().length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(reply.body());
+            }
+        } catch (IOException e) {
+            // The client gave up waiting
+            log.debug("eSIMGo simulator could not send response: {}", e.getMessage());
+        } finally {
+            exchange.close();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static Integer intParam(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String lastSegment(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static final class Builder {
+        private int port;
+        private int catalogueSize = 2000;
+        private long seed = 42;
+        private LatencyDistribution defaultLatency = LatencyDistribution.NONE;
+        private final Map<Endpoint, LatencyDistribution> latency = new EnumMap<>(Endpoint.class);
+        private double errorRate;
+        private double throttleRate;
+        private QrFormat qrFormat = QrFormat.PNG;
+        private String apiKey;
+
+        private Builder() {
+        }
+
+        /**
+         * Port to listen on; 0 (the default) picks a free one
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder catalogueSize(int catalogueSize) {
+            this.catalogueSize = catalogueSize;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Latency of every endpoint without its own, as a {@link LatencyDistribution} spec
+         */
+        public Builder latency(String spec) {
+            this.defaultLatency = LatencyDistribution.parse(spec);
+            return this;
+        }
+
+        /**
+         * Latency of one endpoint; a blank spec keeps the default
+         */
+        public Builder latency(Endpoint endpoint, String spec) {
+            if (spec != null && !spec.isBlank()) {
+                latency.put(endpoint, LatencyDistribution.parse(spec));
+            }
+            return this;
+        }
+
+        /**
+         * Share of calls (0..1) that fail with a 500 or 503
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Share of calls (0..1) that are throttled with a 429
+         */
+        public Builder throttleRate(double throttleRate) {
+            this.throttleRate = throttleRate;
+            return this;
+        }
+
+        public Builder qrFormat(QrFormat qrFormat) {
+            this.qrFormat = qrFormat;
+            return this;
+        }
+
+        /**
+         * Require this X-API-Key; null or blank accepts any
+         */
+        public Builder apiKey(String apiKey) {
+            this.apiKey = apiKey == null || apiKey.isBlank() ? null : apiKey;
+            return this;
+        }
+
+        public EsimGoSimulator build() {
+            return new EsimGoSimulator(this);
+        }
+    }
+}
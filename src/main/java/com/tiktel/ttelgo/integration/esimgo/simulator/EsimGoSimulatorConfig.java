@@ -0,0 +1,49 @@
+package com.tiktel.ttelgo.integration.esimgo.simulator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Locale;
+
+/**
+ * Runs the {@link EsimGoSimulator} inside the app under the {@code esimgo-simulator} profile;
+ * application-esimgo-simulator.yml points the eSIMGo client at it.
+ */
+@Configuration
+@Profile("esimgo-simulator")
+public class EsimGoSimulatorConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EsimGoSimulator esimGoSimulator(
+            @Value("${esimgo.simulator.port:8089}") int port,
+            @Value("${esimgo.simulator.catalogue-size:2000}") int catalogueSize,
+            @Value("${esimgo.simulator.seed:42}") long seed,
+            @Value("${esimgo.simulator.latency.default:none}") String latency,
+            @Value("${esimgo.simulator.latency.catalogue:}") String catalogueLatency,
+            @Value("${esimgo.simulator.latency.bundle:}") String bundleLatency,
+            @Value("${esimgo.simulator.latency.create-order:}") String createOrderLatency,
+            @Value("${esimgo.simulator.latency.order:}") String orderLatency,
+            @Value("${esimgo.simulator.latency.qr:}") String qrLatency,
+            @Value("${esimgo.simulator.error-rate:0}") double errorRate,
+            @Value("${esimgo.simulator.throttle-rate:0}") double throttleRate,
+            @Value("${esimgo.simulator.qr-format:png}") String qrFormat,
+            @Value("${esimgo.api.key:}") String apiKey) {
+        return EsimGoSimulator.builder()
+                .port(port)
+                .catalogueSize(catalogueSize)
+                .seed(seed)
+                .latency(latency)
+                .latency(EsimGoSimulator.Endpoint.CATALOGUE, catalogueLatency)
+                .latency(EsimGoSimulator.Endpoint.BUNDLE, bundleLatency)
+                .latency(EsimGoSimulator.Endpoint.CREATE_ORDER, createOrderLatency)
+                .latency(EsimGoSimulator.Endpoint.ORDER, orderLatency)
+                .latency(EsimGoSimulator.Endpoint.QR, qrLatency)
+                .errorRate(errorRate)
+                .throttleRate(throttleRate)
+                .qrFormat(EsimGoSimulator.QrFormat.valueOf(qrFormat.trim().toUpperCase(Locale.ROOT)))
+                .apiKey(apiKey)
+                .build();
+    }
+}
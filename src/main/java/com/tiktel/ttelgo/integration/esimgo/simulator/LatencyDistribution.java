@@ -0,0 +1,110 @@
+package com.tiktel.ttelgo.integration.esimgo.simulator;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Response delay of the {@link EsimGoSimulator}, parsed from a short spec:
+ * <ul>
+ *   <li>{@code none} or {@code fixed:0}: answer right away</li>
+ *   <li>{@code fixed:50}: always 50 ms</li>
+ *   <li>{@code uniform:20-200}: evenly spread between 20 and 200 ms</li>
+ *   <li>{@code lognormal:80,400}: median 80 ms, 99th percentile 400 ms (a long right tail, like real APIs)</li>
+ * </ul>
+ */
+public final class LatencyDistribution {
+
+    public static final LatencyDistribution NONE = new LatencyDistribution("none", Kind.FIXED, 0, 0);
+
+    // Standard normal quantile at 0.99
+    private static final double Z_99 = 2.3263;
+
+    private enum Kind { FIXED, UNIFORM, LOGNORMAL }
+
+    private final String spec;
+    private final Kind kind;
+    private final double a;
+    private final double b;
+
+    private LatencyDistribution(String spec, Kind kind, double a, double b) {
+        this.spec = spec;
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+    }
+
+    public static LatencyDistribution fixed(long millis) {
+        return new LatencyDistribution("fixed:" + millis, Kind.FIXED, requireNonNegative(millis), 0);
+    }
+
+    public static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("uniform latency max " + maxMillis + " is below min " + minMillis);
+        }
+        return new LatencyDistribution("uniform:" + minMillis + "-" + maxMillis, Kind.UNIFORM,
+                requireNonNegative(minMillis), maxMillis);
+    }
+
+    public static LatencyDistribution logNormal(long medianMillis, long p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("lognormal latency needs 0 < median <= p99, got "
+                    + medianMillis + "," + p99Millis);
+        }
+        double mu = Math.log(medianMillis);
+        double sigma = (Math.log(p99Millis) - mu) / Z_99;
+        return new LatencyDistribution("lognormal:" + medianMillis + "," + p99Millis, Kind.LOGNORMAL, mu, sigma);
+    }
+
+    /**
+     * Parse a spec as described on the class; blank means {@link #NONE}
+     */
+    public static LatencyDistribution parse(String spec) {
+        if (spec == null || spec.isBlank() || spec.trim().equalsIgnoreCase("none")) {
+            return NONE;
+        }
+        String trimmed = spec.trim();
+        int colon = trimmed.indexOf(':');
+        String kind = (colon < 0 ? "fixed" : trimmed.substring(0, colon)).toLowerCase(Locale.ROOT);
+        String args = colon < 0 ? trimmed : trimmed.substring(colon + 1);
+        try {
+            return switch (kind) {
+                case "fixed" -> fixed(Long.parseLong(args.trim()));
+                case "uniform" -> {
+                    String[] range = args.split("-", 2);
+                    yield uniform(Long.parseLong(range[0].trim()), Long.parseLong(range[1].trim()));
+                }
+                case "lognormal" -> {
+                    String[] quantiles = args.split(",", 2);
+                    yield logNormal(Long.parseLong(quantiles[0].trim()), Long.parseLong(quantiles[1].trim()));
+                }
+                default -> throw new IllegalArgumentException("Unknown latency distribution '" + spec + "'");
+            };
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed latency distribution '" + spec + "'", e);
+        }
+    }
+
+    /**
+     * One delay in milliseconds
+     */
+    public long sampleMillis(RandomGenerator random) {
+        return switch (kind) {
+            case FIXED -> (long) a;
+            case UNIFORM -> a == b ? (long) a : random.nextLong((long) a, (long) b + 1);
+            // Capped at 10x the p99, so a single sample can't stall a test run
+            case LOGNORMAL -> (long) Math.min(Math.exp(a + b * random.nextGaussian()), 10 * Math.exp(a + b * Z_99));
+        };
+    }
+
+    private static long requireNonNegative(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Latency must not be negative: " + millis);
+        }
+        return millis;
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,253 @@
+package com.tiktel.ttelgo.integration.esimgo.simulator;
+
+import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Made-up but realistic eSIMGo catalogue for the {@link EsimGoSimulator}: the same seed and size always give
+ * the same bundles.
+ *
+ * The mix follows the real catalogue: mostly single-country bundles (fixed data and unlimited), some
+ * regional bundles covering every country of a region, and a few global bundles covering all countries.
+ * Names and descriptions follow eSIMGo's scheme ({@code esim_5GB_30D_GB_V2}, "eSIM, 5GB, 30 Days, United
+ * Kingdom, V2"); when a combination repeats, the version suffix is bumped, so any size can be generated.
+ */
+public final class SyntheticCatalogue {
+
+    static final String LOCAL_GROUP = "Standard eSIM Bundles";
+    static final String UNLIMITED_GROUP = "Standard Unlimited Essential";
+    static final String REGIONAL_GROUP = "Regional Bundles";
+    static final String GLOBAL_GROUP = "Global Bundles";
+
+    private static final int[] DATA_GB = {1, 2, 3, 5, 10, 20, 50};
+    private static final int[] DURATION_DAYS = {7, 15, 30, 90};
+    private static final int[] UNLIMITED_DAYS = {1, 3, 5, 7, 10, 15, 30};
+
+    private record Country(String name, String region, String iso) {
+    }
+
+    private static final List<Country> COUNTRIES = List.of(
+            new Country("United Kingdom", "Europe", "GB"), new Country("France", "Europe", "FR"),
+            new Country("Germany", "Europe", "DE"), new Country("Spain", "Europe", "ES"),
+            new Country("Italy", "Europe", "IT"), new Country("Portugal", "Europe", "PT"),
+            new Country("Netherlands", "Europe", "NL"), new Country("Belgium", "Europe", "BE"),
+            new Country("Switzerland", "Europe", "CH"), new Country("Austria", "Europe", "AT"),
+            new Country("Ireland", "Europe", "IE"), new Country("Poland", "Europe", "PL"),
+            new Country("Greece", "Europe", "GR"), new Country("Sweden", "Europe", "SE"),
+            new Country("Norway", "Europe", "NO"), new Country("Denmark", "Europe", "DK"),
+            new Country("Finland", "Europe", "FI"), new Country("Czech Republic", "Europe", "CZ"),
+            new Country("Hungary", "Europe", "HU"), new Country("Romania", "Europe", "RO"),
+            new Country("Croatia", "Europe", "HR"), new Country("Iceland", "Europe", "IS"),
+            new Country("Albania", "Europe", "AL"), new Country("Serbia", "Europe", "RS"),
+            new Country("United States", "North America", "US"), new Country("Canada", "North America", "CA"),
+            new Country("Mexico", "North America", "MX"), new Country("Guatemala", "North America", "GT"),
+            new Country("Costa Rica", "North America", "CR"), new Country("Panama", "North America", "PA"),
+            new Country("Jamaica", "North America", "JM"), new Country("Dominican Republic", "North America", "DO"),
+            new Country("Brazil", "South America", "BR"), new Country("Argentina", "South America", "AR"),
+            new Country("Chile", "South America", "CL"), new Country("Colombia", "South America", "CO"),
+            new Country("Peru", "South America", "PE"), new Country("Ecuador", "South America", "EC"),
+            new Country("Uruguay", "South America", "UY"), new Country("Bolivia", "South America", "BO"),
+            new Country("Paraguay", "South America", "PY"),
+            new Country("Japan", "Asia", "JP"), new Country("China", "Asia", "CN"),
+            new Country("Hong Kong", "Asia", "HK"), new Country("Singapore", "Asia", "SG"),
+            new Country("Thailand", "Asia", "TH"), new Country("Vietnam", "Asia", "VN"),
+            new Country("Indonesia", "Asia", "ID"), new Country("Malaysia", "Asia", "MY"),
+            new Country("Philippines", "Asia", "PH"), new Country("South Korea", "Asia", "KR"),
+            new Country("Taiwan", "Asia", "TW"), new Country("India", "Asia", "IN"),
+            new Country("Pakistan", "Asia", "PK"), new Country("Sri Lanka", "Asia", "LK"),
+            new Country("Bangladesh", "Asia", "BD"), new Country("Cambodia", "Asia", "KH"),
+            new Country("Nepal", "Asia", "NP"),
+            new Country("United Arab Emirates", "Middle East", "AE"), new Country("Saudi Arabia", "Middle East", "SA"),
+            new Country("Qatar", "Middle East", "QA"), new Country("Kuwait", "Middle East", "KW"),
+            new Country("Bahrain", "Middle East", "BH"), new Country("Oman", "Middle East", "OM"),
+            new Country("Jordan", "Middle East", "JO"), new Country("Israel", "Middle East", "IL"),
+            new Country("Turkey", "Middle East", "TR"),
+            new Country("South Africa", "Africa", "ZA"), new Country("Egypt", "Africa", "EG"),
+            new Country("Morocco", "Africa", "MA"), new Country("Kenya", "Africa", "KE"),
+            new Country("Nigeria", "Africa", "NG"), new Country("Ghana", "Africa", "GH"),
+            new Country("Tanzania", "Africa", "TZ"), new Country("Tunisia", "Africa", "TN"),
+            new Country("Uganda", "Africa", "UG"), new Country("Senegal", "Africa", "SN"),
+            new Country("Australia", "Oceania", "AU"), new Country("New Zealand", "Oceania", "NZ"),
+            new Country("Fiji", "Oceania", "FJ"), new Country("Papua New Guinea", "Oceania", "PG"),
+            new Country("Samoa", "Oceania", "WS"), new Country("Tonga", "Oceania", "TO")
+    );
+
+    // Region codes used in regional bundle names (esim_5GB_30D_REU_V2)
+    private static final Map<String, String> REGION_CODES = Map.of(
+            "Europe", "EU", "North America", "NA", "South America", "SA", "Asia", "AS",
+            "Middle East", "ME", "Africa", "AF", "Oceania", "OC");
+
+    private static final Map<String, Comparator<BundleResponse.Bundle>> SORTS = Map.of(
+            "name", Comparator.comparing(BundleResponse.Bundle::getName),
+            "price", Comparator.comparing(BundleResponse.Bundle::getPrice),
+            "duration", Comparator.comparing(BundleResponse.Bundle::getDuration),
+            "dataamount", Comparator.comparing(BundleResponse.Bundle::getDataAmount),
+            "description", Comparator.comparing(BundleResponse.Bundle::getDescription));
+
+    private final List<BundleResponse.Bundle> bundles;
+    private final Map<String, BundleResponse.Bundle> byName;
+
+    private SyntheticCatalogue(List<BundleResponse.Bundle> bundles) {
+        this.bundles = Collections.unmodifiableList(bundles);
+        this.byName = new LinkedHashMap<>();
+        for (BundleResponse.Bundle bundle : bundles) {
+            byName.put(bundle.getName(), bundle);
+        }
+    }
+
+    /**
+     * Generate {@code size} bundles from the given seed
+     */
+    public static SyntheticCatalogue generate(int size, long seed) {
+        Random random = new Random(seed);
+        Map<String, List<Country>> regions = new LinkedHashMap<>();
+        for (Country country : COUNTRIES) {
+            regions.computeIfAbsent(country.region(), r -> new ArrayList<>()).add(country);
+        }
+        List<String> regionNames = new ArrayList<>(regions.keySet());
+        // Per-country price level, so countries differ the way real rates do
+        double[] priceLevel = new double[COUNTRIES.size()];
+        for (int i = 0; i < priceLevel.length; i++) {
+            priceLevel[i] = 0.6 + random.nextDouble() * 1.2;
+        }
+
+        List<BundleResponse.Bundle> bundles = new ArrayList<>(size);
+        Set<String> names = new HashSet<>();
+        while (bundles.size() < size) {
+            int kind = random.nextInt(100);
+            if (kind < 55) {
+                int c = random.nextInt(COUNTRIES.size());
+                Country country = COUNTRIES.get(c);
+                int gb = DATA_GB[random.nextInt(DATA_GB.length)];
+                int days = DURATION_DAYS[random.nextInt(DURATION_DAYS.length)];
+                bundles.add(bundle(names, "esim_" + gb + "GB_" + days + "D_" + country.iso(), gb + "GB", days,
+                        country.name(), List.of(country), gb, false, LOCAL_GROUP,
+                        priceLevel[c] * (1.5 + gb * 0.9 + days * 0.02), false));
+            } else if (kind < 75) {
+                int c = random.nextInt(COUNTRIES.size());
+                Country country = COUNTRIES.get(c);
+                int days = UNLIMITED_DAYS[random.nextInt(UNLIMITED_DAYS.length)];
+                bundles.add(bundle(names, "esim_UL_" + days + "D_" + country.iso(), "Unlimited", days,
+                        country.name(), List.of(country), 0, true, UNLIMITED_GROUP,
+                        priceLevel[c] * (2.0 + days * 2.4), false));
+            } else if (kind < 93) {
+                String region = regionNames.get(random.nextInt(regionNames.size()));
+                int gb = DATA_GB[random.nextInt(DATA_GB.length)];
+                int days = DURATION_DAYS[random.nextInt(DURATION_DAYS.length)];
+                bundles.add(bundle(names, "esim_" + gb + "GB_" + days + "D_R" + REGION_CODES.get(region), gb + "GB",
+                        days, region, regions.get(region), gb, false, REGIONAL_GROUP,
+                        1.5 * (2.0 + gb * 1.1 + days * 0.03), false));
+            } else {
+                int gb = DATA_GB[random.nextInt(DATA_GB.length)];
+                int days = DURATION_DAYS[random.nextInt(DURATION_DAYS.length)];
+                bundles.add(bundle(names, "esim_" + gb + "GB_" + days + "D_RGB", gb + "GB", days, "Global",
+                        COUNTRIES, gb, false, GLOBAL_GROUP, 2.5 * (2.0 + gb * 1.3 + days * 0.04), true));
+            }
+        }
+        return new SyntheticCatalogue(bundles);
+    }
+
+    private static BundleResponse.Bundle bundle(Set<String> names, String baseName, String allowance, int days,
+                                                String area, List<Country> countries, int gb, boolean unlimited,
+                                                String group, double price, boolean roaming) {
+        int version = 2;
+        while (!names.add(baseName + "_V" + version)) {
+            version++;
+        }
+        BundleResponse.Bundle bundle = new BundleResponse.Bundle();
+        bundle.setName(baseName + "_V" + version);
+        bundle.setDescription("eSIM, " + allowance + ", " + days + " Days, " + area + ", V" + version);
+        bundle.setCountries(countries.stream().map(SyntheticCatalogue::country).toList());
+        // eSIMGo reports data in MB, and -1 for unlimited bundles
+        bundle.setDataAmount(unlimited ? -1 : gb * 1000);
+        bundle.setDuration(days);
+        bundle.setAutostart(true);
+        bundle.setUnlimited(unlimited);
+        bundle.setRoamingEnabled(roaming);
+        bundle.setPrice(Math.round(price * 100) / 100.0);
+        bundle.setGroup(List.of(group));
+        bundle.setBillingType("FixedCost");
+        bundle.setPotentialSpeeds(List.of("3G", "4G", "5G"));
+        return bundle;
+    }
+
+    private static BundleResponse.Country country(Country country) {
+        BundleResponse.Country dto = new BundleResponse.Country();
+        dto.setName(country.name());
+        dto.setRegion(country.region());
+        dto.setIso(country.iso());
+        return dto;
+    }
+
+    public List<BundleResponse.Bundle> bundles() {
+        return bundles;
+    }
+
+    public int size() {
+        return bundles.size();
+    }
+
+    /**
+     * The bundle with the given name, or null
+     */
+    public BundleResponse.Bundle bundle(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * One page of GET /catalogue. Filters are optional and combined: {@code countries} is a comma-separated
+     * ISO list (a bundle matches if it covers any of them), {@code group} matches a group name, and
+     * {@code description} is a case-insensitive substring ({@code *} wildcards are ignored). Pages count from 1;
+     * without page and perPage the whole (filtered) catalogue is returned as one page.
+     */
+    public BundleResponse page(Integer page, Integer perPage, String direction, String orderBy,
+                               String description, String countries, String group) {
+        Predicate<BundleResponse.Bundle> filter = bundle -> true;
+        if (countries != null && !countries.isBlank()) {
+            Set<String> isos = new HashSet<>();
+            for (String iso : countries.split(",")) {
+                isos.add(iso.trim().toUpperCase(Locale.ROOT));
+            }
+            filter = filter.and(bundle -> bundle.getCountries().stream().anyMatch(c -> isos.contains(c.getIso())));
+        }
+        if (group != null && !group.isBlank()) {
+            filter = filter.and(bundle -> bundle.getGroup().stream().anyMatch(g -> g.equalsIgnoreCase(group.trim())));
+        }
+        if (description != null && !description.isBlank()) {
+            String term = description.replace("*", "").trim().toLowerCase(Locale.ROOT);
+            filter = filter.and(bundle -> bundle.getDescription().toLowerCase(Locale.ROOT).contains(term));
+        }
+        List<BundleResponse.Bundle> matching = new ArrayList<>(bundles.stream().filter(filter).toList());
+
+        Comparator<BundleResponse.Bundle> sort = orderBy == null ? null : SORTS.get(orderBy.toLowerCase(Locale.ROOT));
+        if (sort != null) {
+            matching.sort(sort);
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            Collections.reverse(matching);
+        }
+
+        int size = perPage != null && perPage > 0 ? perPage : (page == null ? Math.max(1, matching.size()) : 50);
+        int pageNumber = page != null && page > 0 ? page : 1;
+        int from = (int) Math.min((long) (pageNumber - 1) * size, matching.size());
+        int to = Math.min(from + size, matching.size());
+
+        BundleResponse response = new BundleResponse();
+        response.setBundles(matching.subList(from, to));
+        response.setRows(matching.size());
+        response.setPageSize(size);
+        response.setPageCount(Math.max(1, (matching.size() + size - 1) / size));
+        return response;
+    }
+}
@@ -0,0 +1,38 @@
+package com.tiktel.ttelgo.jobs;
+
+import com.tiktel.ttelgo.plan.application.PlanService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job to keep the bundle catalogue snapshot warm
+ * Warms the snapshot shortly after startup and then refreshes it before app.cache.plans-ttl expires,
+ * so user requests keep being served from memory and never pay the full eSIMGo pagination cost
+ */
+@Slf4j
+@Component
+public class CatalogueRefreshJob {
+    
+    private final PlanService planService;
+    
+    public CatalogueRefreshJob(PlanService planService) {
+        this.planService = planService;
+    }
+    
+    /**
+     * Reload the catalogue from eSIMGo and swap in the new snapshot
+     */
+    @Scheduled(initialDelayString = "${app.cache.catalogue-refresh-initial-delay:5000}",
+               fixedDelayString = "${app.cache.catalogue-refresh-interval:2700000}")
+    public void refreshCatalogue() {
+        log.info("Starting catalogue refresh job");
+        
+        try {
+            int bundles = planService.refreshCatalogue();
+            log.info("Catalogue refresh job completed: {} bundles in snapshot", bundles);
+        } catch (Exception e) {
+            log.error("Error during catalogue refresh job", e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.tiktel.ttelgo.jobs;
+
+import com.tiktel.ttelgo.common.exception.BusinessException;
+import com.tiktel.ttelgo.common.exception.ErrorCode;
+import com.tiktel.ttelgo.order.application.OrderService;
+import com.tiktel.ttelgo.order.application.port.ProvisioningJobPort;
+import com.tiktel.ttelgo.order.domain.ProvisioningJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker for the provisioning job queue.
+ * Polls every second for due jobs, claiming only as many as it has free threads, and provisions them
+ * with eSIMGo. Failed jobs are retried with exponential backoff up to app.order.max-retry-attempts,
+ * after which the order is marked FAILED. A job whose eSIMGo call failed is not retried: eSIMGo may have
+ * created the order anyway, so the order is left SYNC_FAILED for reconciliation instead of being bought twice.
+ * The same goes for a job claimed again after its worker died or its lease ran out during the eSIMGo call.
+ * Runs on every node; jobs are claimed with SKIP LOCKED, so nodes never run the same job at once.
+ */
+@Slf4j
+@Component
+public class OrderProvisioningWorker {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final ProvisioningJobPort provisioningJobPort;
+    private final OrderService orderService;
+    private final boolean enabled;
+    private final int concurrency;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+    private final String workerId;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService workerPool;
+
+    @Autowired
+    public OrderProvisioningWorker(ProvisioningJobPort provisioningJobPort,
+                                   OrderService orderService,
+                                   @Value("${app.order.provisioning.enabled:true}") boolean enabled,
+                                   @Value("${app.order.provisioning.concurrency:4}") int concurrency,
+                                   @Value("${app.order.provisioning.lease-seconds:300}") long leaseSeconds,
+                                   @Value("${app.order.provisioning.retry-backoff-seconds:30}") long retryBackoffSeconds,
+                                   @Value("${app.order.max-retry-attempts:5}") int maxAttempts) {
+        this.provisioningJobPort = provisioningJobPort;
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.concurrency = Math.max(1, concurrency);
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.retryBackoff = Duration.ofSeconds(Math.max(1, retryBackoffSeconds));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        // JVM name is pid@host; the suffix tells restarts of the same process apart
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "order-provision-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Jobs cut off here are claimed again once their lease expires
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * Claim due jobs up to the free capacity and hand them to the worker pool
+     */
+    @Scheduled(fixedDelayString = "${app.order.provisioning.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        int free = concurrency - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+
+        List<ProvisioningJob> jobs;
+        try {
+            jobs = provisioningJobPort.claim(workerId, free, lease);
+        } catch (Exception e) {
+            log.error("Failed to claim provisioning jobs", e);
+            return;
+        }
+
+        for (ProvisioningJob job : jobs) {
+            inFlight.incrementAndGet();
+            workerPool.execute(() -> {
+                try {
+                    process(job);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void process(ProvisioningJob job) {
+        log.info("Provisioning order from queue: orderId={}, jobId={}, attempt={}",
+                job.orderId(), job.id(), job.attempts());
+        try {
+            orderService.provisionOrder(job.orderId());
+            provisioningJobPort.complete(job.id(), workerId);
+
+        } catch (BusinessException e) {
+            if (e.getErrorCode() == ErrorCode.INVALID_ORDER_STATUS || e.getErrorCode() == ErrorCode.ORDER_NOT_FOUND) {
+                dropOrOrphan(job, e);
+            } else if (e.getErrorCode() == ErrorCode.ORDER_PROVISIONING_UNCONFIRMED) {
+                log.warn("Provisioning not confirmed, left for reconciliation: orderId={}, jobId={}: {}",
+                        job.orderId(), job.id(), e.getMessage());
+                provisioningJobPort.fail(job.id(), workerId, e.getMessage());
+            } else {
+                retryOrFail(job, e);
+            }
+        } catch (Exception e) {
+            retryOrFail(job, e);
+        }
+    }
+
+    /**
+     * The order can no longer be provisioned from this job. Usually there is nothing left to do (cancelled or
+     * provisioned elsewhere), but an order still PROVISIONING means an earlier attempt of this job was cut off
+     * during the eSIM Go call: the order is moved to SYNC_FAILED and the job failed, so it shows up for
+     * reconciliation instead of staying PROVISIONING unnoticed.
+     */
+    private void dropOrOrphan(ProvisioningJob job, BusinessException e) {
+        try {
+            if (e.getErrorCode() == ErrorCode.INVALID_ORDER_STATUS && orderService.markProvisioningInterrupted(job.orderId())) {
+                log.error("Earlier provisioning attempt was interrupted, order left SYNC_FAILED: orderId={}, jobId={}, attempt={}",
+                        job.orderId(), job.id(), job.attempts());
+                provisioningJobPort.fail(job.id(), workerId, "Interrupted during the eSIM Go call; order unconfirmed");
+                return;
+            }
+            // Nothing left to provision, e.g. the order was cancelled or provisioned elsewhere
+            log.warn("Dropping provisioning job: orderId={}, jobId={}: {}", job.orderId(), job.id(), e.getMessage());
+            provisioningJobPort.complete(job.id(), workerId);
+        } catch (Exception recordError) {
+            // The job is claimed again after its lease expires
+            log.error("Failed to record provisioning result: jobId={}", job.id(), recordError);
+        }
+    }
+
+    private void retryOrFail(ProvisioningJob job, Exception e) {
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        try {
+            if (job.attempts() >= maxAttempts) {
+                log.error("Provisioning failed permanently: orderId={}, jobId={}, attempts={}",
+                        job.orderId(), job.id(), job.attempts(), e);
+                orderService.markProvisioningFailed(job.orderId(), error);
+                provisioningJobPort.fail(job.id(), workerId, error);
+            } else {
+                Duration backoff = retryBackoff.multipliedBy(1L << Math.min(job.attempts() - 1, 16));
+                if (backoff.compareTo(MAX_BACKOFF) > 0) {
+                    backoff = MAX_BACKOFF;
+                }
+                log.warn("Provisioning failed, retrying in {}s: orderId={}, jobId={}, attempt={}: {}",
+                        backoff.toSeconds(), job.orderId(), job.id(), job.attempts(), error);
+                provisioningJobPort.retryLater(job.id(), workerId, error, LocalDateTime.now().plus(backoff));
+            }
+        } catch (Exception recordError) {
+            // The job is claimed again after its lease expires
+            log.error("Failed to record provisioning result: jobId={}", job.id(), recordError);
+        }
+    }
+}
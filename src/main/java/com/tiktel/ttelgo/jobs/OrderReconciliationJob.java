@@ -1,71 +1,159 @@
 package com.tiktel.ttelgo.jobs;
 
 import com.tiktel.ttelgo.order.application.OrderService;
-import com.tiktel.ttelgo.order.domain.Order;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Job to reconcile stale orders
- * Runs every 10 minutes to retry failed/stuck orders
+ * Runs every 10 minutes to provision paid orders whose provisioning never ran. Orders whose eSIMGo call failed
+ * (SYNC_FAILED) are not resubmitted here, as eSIMGo may have created them; see OrderService#retryProvisioning.
+ *
+ * Runs on every node: orders are claimed in chunks with FOR UPDATE SKIP LOCKED, each chunk only as large as
+ * the free threads of a bounded pool, so nodes split the backlog between them and one slow eSIMGo call holds
+ * up a single thread, not the sweep. A run stops claiming after reconciliation-max-run-seconds; what is left
+ * is picked up by the next run. Claiming counts an attempt. An attempt that fails before the order is submitted
+ * (e.g. the database is unavailable) leaves it PAID: it is claimed again after an exponential backoff, at most
+ * app.order.max-retry-attempts times in all. An attempt that reaches eSIMGo moves the order on, and it is not
+ * claimed again.
+ *
+ * Each run also publishes orders.provisioning.stuck: orders PROVISIONING or SYNC_FAILED for longer than the
+ * stale window, which need a check against eSIMGo and POST /api/v1/admin/orders/{id}/retry-provisioning.
  */
 @Slf4j
 @Component
 public class OrderReconciliationJob {
-    
+
     private final OrderService orderService;
-    
-    public OrderReconciliationJob(OrderService orderService) {
+    private final int concurrency;
+    private final int staleMinutes;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Duration maxRunTime;
+    private final ExecutorService reconcilePool;
+    private final AtomicLong stuckOrders = new AtomicLong();
+
+    @Autowired
+    public OrderReconciliationJob(OrderService orderService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.order.reconciliation-concurrency:4}") int concurrency,
+                                  @Value("${app.order.reconciliation-stale-minutes:10}") int staleMinutes,
+                                  @Value("${app.order.max-retry-attempts:5}") int maxRetries,
+                                  @Value("${app.order.reconciliation-backoff-seconds:60}") long retryBackoffSeconds,
+                                  @Value("${app.order.reconciliation-max-run-seconds:540}") long maxRunSeconds) {
         this.orderService = orderService;
+        this.concurrency = Math.max(1, concurrency);
+        this.staleMinutes = Math.max(0, staleMinutes);
+        this.maxRetries = Math.max(1, maxRetries);
+        this.retryBackoff = Duration.ofSeconds(Math.max(1, retryBackoffSeconds));
+        this.maxRunTime = Duration.ofSeconds(Math.max(1, maxRunSeconds));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.reconcilePool = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "order-reconcile-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("orders.provisioning.stuck", stuckOrders, AtomicLong::get)
+                .description("Orders PROVISIONING or SYNC_FAILED for longer than the reconciliation stale window")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconcilePool.shutdownNow();
     }
-    
+
     /**
      * Reconcile orders that are stuck in intermediate states
      */
     @Scheduled(cron = "${app.order.reconciliation-cron:0 */10 * * * *}")
     public void reconcileStaleOrders() {
         log.info("Starting order reconciliation job");
-        
+        reportStuckOrders();
+
+        long deadline = System.nanoTime() + maxRunTime.toNanos();
+        Semaphore freeThreads = new Semaphore(concurrency);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+        int claimed = 0;
+
         try {
-            // Find orders that are older than 10 minutes and need attention
-            List<Order> staleOrders = orderService.findStaleOrders(10);
-            
-            if (staleOrders.isEmpty()) {
+            while (System.nanoTime() < deadline) {
+                // Wait for at least one free thread, then claim as many orders as there are free threads
+                if (!freeThreads.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                int chunk = 1 + freeThreads.drainPermits();
+                List<Long> orderIds = orderService.claimStaleOrders(staleMinutes, maxRetries, retryBackoff, chunk);
+                freeThreads.release(chunk - orderIds.size());
+                if (orderIds.isEmpty()) {
+                    break;
+                }
+                claimed += orderIds.size();
+
+                for (Long orderId : orderIds) {
+                    reconcilePool.execute(() -> {
+                        try {
+                            orderService.reconcileOrder(orderId);
+                            successCount.incrementAndGet();
+                        } catch (Exception e) {
+                            log.error("Failed to reconcile order: orderId={}", orderId, e);
+                            failureCount.incrementAndGet();
+                        } finally {
+                            freeThreads.release();
+                        }
+                    });
+                }
+            }
+
+            if (claimed == 0) {
                 log.info("No stale orders found");
                 return;
             }
-            
-            log.info("Found {} stale orders to reconcile", staleOrders.size());
-            
-            int successCount = 0;
-            int failureCount = 0;
-            
-            for (Order order : staleOrders) {
-                try {
-                    log.info("Reconciling order: orderId={}, status={}",
-                            order.getId(), order.getStatus());
-                    
-                    // Retry provisioning if order is in failed state
-                    if (order.needsProvisioning()) {
-                        orderService.provisionOrder(order.getId());
-                        successCount++;
-                    }
-                    
-                } catch (Exception e) {
-                    log.error("Failed to reconcile order: orderId={}", order.getId(), e);
-                    failureCount++;
-                }
+
+            // Let running reconciliations finish before reporting; they keep going if this times out
+            if (freeThreads.tryAcquire(concurrency, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                freeThreads.release(concurrency);
             }
-            
-            log.info("Order reconciliation completed: success={}, failed={}", 
-                    successCount, failureCount);
-            
+
+            log.info("Order reconciliation completed: claimed={}, success={}, failed={}",
+                    claimed, successCount.get(), failureCount.get());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("Error during order reconciliation job", e);
         }
     }
-}
 
+    /**
+     * Refresh the stuck orders gauge; these are not provisioned automatically, so they are also logged
+     */
+    private void reportStuckOrders() {
+        try {
+            long stuck = orderService.countStuckOrders(staleMinutes);
+            stuckOrders.set(stuck);
+            if (stuck > 0) {
+                log.warn("{} orders PROVISIONING or SYNC_FAILED for over {} minutes, check them against eSIMGo and retry",
+                        stuck, staleMinutes);
+            }
+        } catch (Exception e) {
+            log.error("Failed to count stuck orders", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.tiktel.ttelgo.jobs;
+
+import com.tiktel.ttelgo.common.outbox.application.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Job to relay outbox events to their listeners
+ * Polls every 500ms and keeps relaying while full batches come back; runs on every node
+ */
+@Slf4j
+@Component
+public class OutboxRelayJob {
+    
+    private final OutboxService outboxService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration retention;
+    
+    public OutboxRelayJob(OutboxService outboxService,
+                          @Value("${app.outbox.relay-enabled:true}") boolean enabled,
+                          @Value("${app.outbox.batch-size:100}") int batchSize,
+                          @Value("${app.outbox.retention-days:7}") int retentionDays) {
+        this.outboxService = outboxService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.retention = Duration.ofDays(Math.max(1, retentionDays));
+    }
+    
+    /**
+     * Relay due events until the backlog is drained
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            while (outboxService.relayBatch() >= batchSize) {
+                // Full batch: more may be waiting
+            }
+        } catch (Exception e) {
+            log.error("Error during outbox relay", e);
+        }
+    }
+    
+    /**
+     * Delete published events past retention
+     */
+    @Scheduled(cron = "0 30 * * * *") // Every hour
+    public void cleanupPublishedEvents() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int deleted = outboxService.cleanupPublished(retention);
+            if (deleted > 0) {
+                log.info("Cleaned up {} published outbox events", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Error during outbox cleanup job", e);
+        }
+    }
+}
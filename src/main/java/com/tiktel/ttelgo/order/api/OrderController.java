@@ -1,7 +1,11 @@
 package com.tiktel.ttelgo.order.api;
 
 import com.tiktel.ttelgo.common.dto.ApiResponse;
+import com.tiktel.ttelgo.common.dto.Cursor;
+import com.tiktel.ttelgo.common.dto.CursorPage;
 import com.tiktel.ttelgo.common.dto.PaginationMeta;
+import com.tiktel.ttelgo.common.exception.BusinessException;
+import com.tiktel.ttelgo.common.exception.ErrorCode;
 import com.tiktel.ttelgo.esim.infrastructure.repository.EsimJpaEntity;
 import com.tiktel.ttelgo.esim.infrastructure.repository.EsimRepository;
 import com.tiktel.ttelgo.order.api.dto.CreateOrderRequest;
@@ -11,18 +15,19 @@ import com.tiktel.ttelgo.security.RoleScopeResolver;
 import com.tiktel.ttelgo.security.UserPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/orders")
 public class OrderController {
     
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+    
     private final OrderService orderService;
     private final RoleScopeResolver roleScopeResolver;
     private final EsimRepository esimRepository;
@@ -117,11 +122,15 @@ public class OrderController {
      * Examples:
      * - GET /api/v1/orders?reference=abc-uuid
      * - GET /api/v1/orders?userId=123
+     * - GET /api/v1/orders?userId=123&paging=cursor, then &cursor={meta.pagination.nextCursor}
      */
     @GetMapping
     public ResponseEntity<ApiResponse<?>> findOrders(
             @RequestParam(required = false) String reference,
             @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) Boolean includeTotal,
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "50") Integer size,
             @RequestParam(required = false, defaultValue = "createdAt,desc") String sort
@@ -131,57 +140,36 @@ public class OrderController {
             return ResponseEntity.ok(ApiResponse.success(response));
         }
         if (userId != null) {
-            List<OrderResponse> response = orderService.getOrdersByUserId(userId);
-            List<OrderResponse> sorted = applySort(response, sort);
-            List<OrderResponse> paged = slice(sorted, page, size);
-            return ResponseEntity.ok(ApiResponse.success(paged, "Success", PaginationMeta.simple(page, size, sorted.size())));
+            Sort sortOrder = parseSort(sort);
+            if (cursor != null || "cursor".equals(paging)) {
+                // Keyset paging: follow meta.pagination.nextCursor; counted on the first page unless asked otherwise
+                if (!NEWEST_FIRST.equals(sortOrder)) {
+                    throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Cursor paging only supports sort=createdAt,desc");
+                }
+                boolean withTotal = includeTotal != null ? includeTotal : cursor == null;
+                CursorPage<OrderResponse> orders = orderService.getOrdersByUserId(userId, Cursor.decode(cursor), size, withTotal);
+                return ResponseEntity.ok(ApiResponse.success(orders.content(), "Success", PaginationMeta.fromCursorPage(orders, size)));
+            }
+            Page<OrderResponse> orders = orderService.getOrdersByUserId(userId, PageRequest.of(page, size, sortOrder));
+            return ResponseEntity.ok(ApiResponse.success(orders.getContent(), "Success", PaginationMeta.fromPage(orders)));
         }
         return ResponseEntity.badRequest().body(ApiResponse.error("Provide either 'reference' or 'userId' query parameter."));
     }
 
-    private List<OrderResponse> slice(List<OrderResponse> items, int page, int size) {
-        if (items == null || items.isEmpty()) return items;
-        if (size <= 0) return items;
-        int from = Math.max(0, page) * size;
-        if (from >= items.size()) return List.of();
-        int to = Math.min(items.size(), from + size);
-        return items.subList(from, to);
-    }
-
-    private List<OrderResponse> applySort(List<OrderResponse> items, String sort) {
-        if (items == null) return List.of();
-        if (sort == null || sort.isBlank()) return items;
-
+    /**
+     * Sort by createdAt (default) or status; only newest first is paged by cursor
+     */
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return NEWEST_FIRST;
+        }
         String[] parts = sort.split(",", 2);
         String field = parts[0].trim();
+        if (!"createdAt".equals(field) && !"status".equals(field)) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Cannot sort orders by: " + field);
+        }
         String dir = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
-        boolean desc = "desc".equals(dir);
-
-        return items.stream().sorted((a, b) -> {
-            int cmp = 0;
-            if ("createdAt".equals(field)) {
-                LocalDateTime av = a.getCreatedAt();
-                LocalDateTime bv = b.getCreatedAt();
-                if (av == null && bv == null) cmp = 0;
-                else if (av == null) cmp = 1;
-                else if (bv == null) cmp = -1;
-                else cmp = av.compareTo(bv);
-            } else if ("status".equals(field)) {
-                String av = a.getStatus() != null ? a.getStatus().name() : null;
-                String bv = b.getStatus() != null ? b.getStatus().name() : null;
-                if (av == null && bv == null) cmp = 0;
-                else if (av == null) cmp = 1;
-                else if (bv == null) cmp = -1;
-                else cmp = av.compareToIgnoreCase(bv);
-            } else {
-                LocalDateTime av = a.getCreatedAt();
-                LocalDateTime bv = b.getCreatedAt();
-                if (av == null && bv == null) cmp = 0;
-                else if (av == null) cmp = 1;
-                else if (bv == null) cmp = -1;
-                else cmp = av.compareTo(bv);
-            }
-            return desc ? -cmp : cmp;
-        }).collect(Collectors.toList());
+        Sort.Direction direction = "desc".equals(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, field);
     }
 }
@@ -0,0 +1,21 @@
+package com.tiktel.ttelgo.order.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResponse {
+    private String batchId;
+    private Integer itemCount;
+    private BigDecimal totalAmount;
+    private Boolean complete; // false while some orders are still provisioning; poll GET /batch/{batchId}
+    private List<OrderResponse> items;
+}
@@ -0,0 +1,23 @@
+package com.tiktel.ttelgo.order.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateBatchOrderRequest {
+    
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 500, message = "A batch cannot exceed 500 items")
+    @Valid
+    private List<CreateOrderRequest> items;
+}
@@ -34,6 +34,7 @@ public class OrderResponse {
     private String errorMessage;
     private String esimgoOrderId; // eSIMGo orderReference (UUID) for QR code - also exposed as orderReference for frontend compatibility
     private String orderReference; // Alias for esimgoOrderId for frontend compatibility
+    private String batchId; // Set for orders placed through the vendor batch order API
     // eSIM-level status (from esims table) — allows frontend to show EXPIRED/ACTIVE state
     private String esimStatus;
     private LocalDateTime esimValidUntil;
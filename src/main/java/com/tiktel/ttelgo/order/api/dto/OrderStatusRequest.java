@@ -0,0 +1,22 @@
+package com.tiktel.ttelgo.order.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusRequest {
+    
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 500, message = "Cannot look up more than 500 orders at once")
+    private List<@NotNull Long> orderIds;
+}
@@ -0,0 +1,30 @@
+package com.tiktel.ttelgo.order.api.dto;
+
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResponse {
+    private Long orderId;
+    private String orderNumber;
+    private OrderStatus status;
+    private List<Esim> esims;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Esim {
+        private String iccid;
+        private String matchingId;
+        private String status;
+    }
+}
@@ -2,10 +2,17 @@ package com.tiktel.ttelgo.order.api.mapper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiktel.ttelgo.order.api.dto.BatchOrderResponse;
 import com.tiktel.ttelgo.order.api.dto.OrderResponse;
+import com.tiktel.ttelgo.order.api.dto.OrderStatusResponse;
 import com.tiktel.ttelgo.order.domain.Order;
+import com.tiktel.ttelgo.order.domain.OrderStatusView;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class OrderApiMapper {
     
@@ -40,6 +47,48 @@ public class OrderApiMapper {
                 .errorMessage(order.getErrorMessage())
                 .esimgoOrderId(order.getEsimgoOrderId())
                 .orderReference(order.getEsimgoOrderId()) // Alias for frontend compatibility
+                .batchId(order.getBatchId())
+                .build();
+    }
+    
+    /**
+     * @param errors provisioning errors by order ID, shown for orders that have no error of their own
+     */
+    public BatchOrderResponse toBatchResponse(String batchId, List<Order> orders, Map<Long, String> errors,
+                                              boolean complete) {
+        List<OrderResponse> items = orders.stream()
+                .map(order -> {
+                    OrderResponse response = toResponse(order);
+                    if (response.getErrorMessage() == null) {
+                        response.setErrorMessage(errors.get(order.getId()));
+                    }
+                    return response;
+                })
+                .toList();
+        
+        return BatchOrderResponse.builder()
+                .batchId(batchId)
+                .itemCount(items.size())
+                .totalAmount(orders.stream()
+                        .map(Order::getTotalAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .complete(complete)
+                .items(items)
+                .build();
+    }
+    
+    public OrderStatusResponse toStatusResponse(OrderStatusView view) {
+        return OrderStatusResponse.builder()
+                .orderId(view.orderId())
+                .orderNumber(view.orderNumber())
+                .status(view.status())
+                .esims(view.esims().stream()
+                        .map(esim -> OrderStatusResponse.Esim.builder()
+                                .iccid(esim.iccid())
+                                .matchingId(esim.matchingId())
+                                .status(esim.status())
+                                .build())
+                        .toList())
                 .build();
     }
     
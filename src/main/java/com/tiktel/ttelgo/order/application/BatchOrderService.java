@@ -0,0 +1,217 @@
+package com.tiktel.ttelgo.order.application;
+
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+import com.tiktel.ttelgo.common.domain.enums.PaymentStatus;
+import com.tiktel.ttelgo.common.exception.BusinessException;
+import com.tiktel.ttelgo.common.exception.ErrorCode;
+import com.tiktel.ttelgo.common.outbox.application.OutboxService;
+import com.tiktel.ttelgo.common.outbox.domain.OutboxEventType;
+import com.tiktel.ttelgo.order.application.port.EsimProvisioningPort;
+import com.tiktel.ttelgo.order.application.port.OrderRepositoryPort;
+import com.tiktel.ttelgo.order.application.port.ProvisioningJobPort;
+import com.tiktel.ttelgo.order.domain.Order;
+import com.tiktel.ttelgo.order.domain.OrderBundle;
+import com.tiktel.ttelgo.vendor.application.VendorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * B2B orders placed as one batch.
+ *
+ * The whole batch is charged to the vendor with a single ledger debit and its orders are inserted in
+ * one JDBC batch, in the same transaction, so a batch is either fully paid and recorded or not at all.
+ * The same transaction queues a provisioning job per order, so the orders are provisioned by the queue
+ * workers of all nodes and survive a restart. The caller waits up to {@code response-timeout-ms} for
+ * provisioning; orders still waiting after that keep going and can be followed with the batch id.
+ * Orders that fail are left to the usual retry and reconciliation.
+ */
+@Slf4j
+@Service
+public class BatchOrderService {
+
+    private final OrderRepositoryPort orderRepositoryPort;
+    private final ProvisioningJobPort provisioningJobPort;
+    private final EsimProvisioningPort esimProvisioningPort;
+    private final VendorService vendorService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+    private final long responseTimeoutMs;
+    private final long pollIntervalMs;
+
+    @Autowired
+    public BatchOrderService(OrderRepositoryPort orderRepositoryPort,
+                             ProvisioningJobPort provisioningJobPort,
+                             EsimProvisioningPort esimProvisioningPort,
+                             VendorService vendorService,
+                             OutboxService outboxService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.order.batch.max-items:500}") int maxItems,
+                             @Value("${app.order.batch.response-timeout-ms:10000}") long responseTimeoutMs,
+                             @Value("${app.order.batch.poll-interval-ms:250}") long pollIntervalMs) {
+        this.orderRepositoryPort = orderRepositoryPort;
+        this.provisioningJobPort = provisioningJobPort;
+        this.esimProvisioningPort = esimProvisioningPort;
+        this.vendorService = vendorService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = Math.max(1, maxItems);
+        this.responseTimeoutMs = Math.max(0, responseTimeoutMs);
+        this.pollIntervalMs = Math.max(10, pollIntervalMs);
+    }
+
+    /**
+     * One line of a batch
+     */
+    public record BatchItem(String bundleCode, int quantity) {
+    }
+
+    /**
+     * Outcome of a batch
+     * @param orders the batch's orders, in item order, as of the end of the wait
+     * @param errors provisioning error per order ID, for orders that failed
+     * @param complete false if some orders were still provisioning when the wait ended
+     */
+    public record BatchOrderResult(String batchId, List<Order> orders, Map<Long, String> errors, boolean complete) {
+    }
+
+    /**
+     * Charge, record and provision a batch of orders for a vendor
+     */
+    public BatchOrderResult createBatch(Long vendorId, List<BatchItem> items, String ipAddress, String userAgent) {
+        if (items == null || items.isEmpty()) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Batch must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "Batch must not contain more than " + maxItems + " items");
+        }
+
+        String batchId = UUID.randomUUID().toString();
+        log.info("Creating B2B batch: vendorId={}, batchId={}, items={}", vendorId, batchId, items.size());
+
+        // Look each bundle up once, however many items use it
+        Map<String, OrderBundle> bundles = new LinkedHashMap<>();
+        for (BatchItem item : items) {
+            if (!bundles.containsKey(item.bundleCode())) {
+                OrderBundle bundle = esimProvisioningPort.findBundle(item.bundleCode())
+                        .orElseThrow(() -> new BusinessException(ErrorCode.BUNDLE_NOT_FOUND,
+                                "Bundle not found: " + item.bundleCode()));
+                bundles.put(item.bundleCode(), bundle);
+            }
+        }
+
+        List<Order> orders = new ArrayList<>(items.size());
+        BigDecimal batchTotal = BigDecimal.ZERO;
+        LocalDateTime paidAt = LocalDateTime.now();
+        for (BatchItem item : items) {
+            OrderBundle bundle = bundles.get(item.bundleCode());
+            BigDecimal totalAmount = bundle.price().multiply(BigDecimal.valueOf(item.quantity()));
+            batchTotal = batchTotal.add(totalAmount);
+            orders.add(Order.builder()
+                    .orderNumber(OrderService.generateOrderNumber())
+                    .vendorId(vendorId)
+                    .batchId(batchId)
+                    .bundleCode(item.bundleCode())
+                    .bundleName(bundle.name())
+                    .quantity(item.quantity())
+                    .unitPrice(bundle.price())
+                    .totalAmount(totalAmount)
+                    .currency(bundle.currency())
+                    .status(OrderStatus.PAID) // Vendor orders are pre-paid
+                    .paymentStatus(PaymentStatus.SUCCEEDED)
+                    .countryIso(bundle.countryCode())
+                    .dataAmount(bundle.dataAmount())
+                    .validityDays(bundle.validityDays())
+                    .ipAddress(ipAddress)
+                    .userAgent(userAgent)
+                    .paidAt(paidAt)
+                    .retryCount(0)
+                    .build());
+        }
+
+        // Debit, insert and queue together: a batch that can't be paid leaves no orders behind, and every
+        // recorded order is provisioned
+        BigDecimal amount = batchTotal;
+        List<Order> saved = transactionTemplate.execute(status -> {
+            vendorService.debitForBatch(vendorId, amount,
+                    "Batch order payment: " + batchId + " (" + items.size() + " items)", null);
+            List<Order> inserted = orderRepositoryPort.insertAll(orders);
+            for (Order order : inserted) {
+                outboxService.append(OutboxEventType.ORDER_CREATED, order.getId(), OutboxService.payload(
+                        "orderId", order.getId(),
+                        "orderNumber", order.getOrderNumber(),
+                        "vendorId", vendorId,
+                        "batchId", batchId,
+                        "status", order.getStatus().name(),
+                        "totalAmount", order.getTotalAmount(),
+                        "currency", order.getCurrency()));
+            }
+            provisioningJobPort.enqueueAll(inserted.stream().map(Order::getId).toList());
+            return inserted;
+        });
+        log.info("B2B batch recorded: batchId={}, orders={}, totalAmount={}", batchId, saved.size(), amount);
+
+        List<Order> current = awaitProvisioning(batchId);
+        boolean complete = current.stream().noneMatch(BatchOrderService::awaitingProvisioning);
+        if (!complete) {
+            log.info("B2B batch still provisioning after {} ms: batchId={}", responseTimeoutMs, batchId);
+        }
+        Map<Long, String> errors = new LinkedHashMap<>();
+        for (Order order : current) {
+            if (order.getStatus() == OrderStatus.SYNC_FAILED || order.getStatus() == OrderStatus.FAILED) {
+                errors.put(order.getId(), order.getErrorMessage() != null ? order.getErrorMessage() : order.getStatus().name());
+            }
+        }
+
+        return new BatchOrderResult(batchId, current, errors, complete);
+    }
+
+    /**
+     * Orders of a batch, for following up on a batch that was still provisioning
+     */
+    public List<Order> getBatchOrders(String batchId) {
+        return orderRepositoryPort.findByBatchId(batchId);
+    }
+
+    /**
+     * Re-read the batch's orders until none is waiting for provisioning, or up to the response timeout
+     * @return the orders as of the end of the wait
+     */
+    private List<Order> awaitProvisioning(String batchId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(responseTimeoutMs);
+        while (true) {
+            List<Order> orders = orderRepositoryPort.findByBatchId(batchId);
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0 || orders.stream().noneMatch(BatchOrderService::awaitingProvisioning)) {
+                return orders;
+            }
+            try {
+                Thread.sleep(Math.min(pollIntervalMs, remainingMs));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return orders;
+            }
+        }
+    }
+
+    /**
+     * Queued or being provisioned; a retry after a failed attempt also counts
+     */
+    private static boolean awaitingProvisioning(Order order) {
+        return order.getStatus() == OrderStatus.PAID || order.getStatus() == OrderStatus.PROVISIONING;
+    }
+}
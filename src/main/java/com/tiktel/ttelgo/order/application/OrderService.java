@@ -2,58 +2,92 @@ package com.tiktel.ttelgo.order.application;
 
 import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
 import com.tiktel.ttelgo.common.domain.enums.PaymentStatus;
+import com.tiktel.ttelgo.common.dto.Cursor;
+import com.tiktel.ttelgo.common.dto.CursorPage;
 import com.tiktel.ttelgo.common.exception.BusinessException;
 import com.tiktel.ttelgo.common.exception.ErrorCode;
 import com.tiktel.ttelgo.common.exception.ResourceNotFoundException;
+import com.tiktel.ttelgo.common.outbox.application.OutboxService;
+import com.tiktel.ttelgo.common.outbox.domain.OutboxEventType;
 import com.tiktel.ttelgo.integration.esimgo.EsimGoService;
 import com.tiktel.ttelgo.integration.esimgo.domain.Bundle;
 import com.tiktel.ttelgo.integration.esimgo.domain.OrderResult;
 import com.tiktel.ttelgo.order.api.dto.OrderResponse;
 import com.tiktel.ttelgo.order.api.mapper.OrderApiMapper;
+import com.tiktel.ttelgo.order.application.port.OrderRepositoryPort;
+import com.tiktel.ttelgo.order.application.port.ProvisioningJobPort;
 import com.tiktel.ttelgo.order.domain.Order;
+import com.tiktel.ttelgo.order.domain.OrderStatusView;
+import com.tiktel.ttelgo.order.domain.OrderTransition;
 import com.tiktel.ttelgo.order.infrastructure.mapper.OrderMapper;
 import com.tiktel.ttelgo.order.infrastructure.repository.OrderJpaEntity;
 import com.tiktel.ttelgo.order.infrastructure.repository.OrderRepository;
+import com.tiktel.ttelgo.order.infrastructure.repository.OrderSpecifications;
 import com.tiktel.ttelgo.vendor.application.VendorService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
- * Order service with state machine and provisioning logic
+ * Order service with state machine and provisioning logic.
+ * Status changes go through {@link OrderTransition}: each is one conditional update, never a read-modify-write,
+ * so a webhook, the reconciliation job and an admin racing on the same order cannot overwrite each other.
  */
 @Slf4j
 @Service
 public class OrderService {
     
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    
     private final OrderRepository orderRepository;
+    private final OrderRepositoryPort orderRepositoryPort;
+    private final ProvisioningJobPort provisioningJobPort;
     private final OrderMapper orderMapper;
     private final OrderApiMapper orderApiMapper;
     private final EsimGoService esimGoService;
     private final VendorService vendorService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
     
     @PersistenceContext
     private EntityManager entityManager;
     
     public OrderService(OrderRepository orderRepository,
+                       OrderRepositoryPort orderRepositoryPort,
+                       ProvisioningJobPort provisioningJobPort,
                        OrderMapper orderMapper,
                        OrderApiMapper orderApiMapper,
                        EsimGoService esimGoService,
-                       VendorService vendorService) {
+                       VendorService vendorService,
+                       OutboxService outboxService,
+                       PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
+        this.orderRepositoryPort = orderRepositoryPort;
+        this.provisioningJobPort = provisioningJobPort;
         this.orderMapper = orderMapper;
         this.orderApiMapper = orderApiMapper;
         this.esimGoService = esimGoService;
         this.vendorService = vendorService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
     /**
@@ -93,14 +127,19 @@ public class OrderService {
     }
     
     /**
-     * Get orders by user ID as list of OrderResponse
+     * Get orders by user ID as OrderResponse, newest first, one keyset page after the cursor
+     * @param after cursor of the previous page, null for the first page
+     * @param includeTotal also count all orders of the user (one more query)
      */
-    public List<OrderResponse> getOrdersByUserId(Long userId) {
-        List<OrderJpaEntity> entities = orderRepository.findByUserId(userId, org.springframework.data.domain.Pageable.unpaged()).getContent();
-        return entities.stream()
-                .map(orderMapper::toDomain)
-                .map(orderApiMapper::toResponse)
-                .collect(java.util.stream.Collectors.toList());
+    public CursorPage<OrderResponse> getOrdersByUserId(Long userId, Cursor after, int size, boolean includeTotal) {
+        return getUserOrders(userId, after, size, includeTotal).map(orderApiMapper::toResponse);
+    }
+    
+    /**
+     * Get orders by user ID as OrderResponse, by offset; for sort orders other than newest first
+     */
+    public Page<OrderResponse> getOrdersByUserId(Long userId, Pageable pageable) {
+        return getUserOrders(userId, pageable).map(orderApiMapper::toResponse);
     }
     
     /**
@@ -111,6 +150,17 @@ public class OrderService {
                 .map(orderMapper::toDomain);
     }
     
+    /**
+     * Get orders for user (B2C), newest first, one keyset page after the cursor
+     */
+    public CursorPage<Order> getUserOrders(Long userId, Cursor after, int size, boolean includeTotal) {
+        Pageable limit = keysetLimit(size);
+        List<OrderJpaEntity> rows = after == null
+                ? orderRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : orderRepository.findByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        return toCursorPage(rows, limit, includeTotal ? orderRepository.countByUserId(userId) : null);
+    }
+    
     /**
      * Get orders for vendor (B2B)
      */
@@ -120,15 +170,40 @@ public class OrderService {
     }
     
     /**
-     * Search orders with filters
+     * Status of many vendor orders at once (B2B polling); orders of other vendors are left out
+     */
+    public List<OrderStatusView> getVendorOrderStatuses(Long vendorId, List<Long> orderIds) {
+        return orderRepositoryPort.findStatusViews(vendorId, new LinkedHashSet<>(orderIds));
+    }
+    
+    /**
+     * Search orders with filters; null filters are left out of the query
      */
     public Page<Order> searchOrders(Long userId, Long vendorId, OrderStatus status,
                                     LocalDateTime startDate, LocalDateTime endDate,
                                     Pageable pageable) {
-        return orderRepository.findByFilters(userId, vendorId, status, startDate, endDate, pageable)
+        return orderRepository.findAll(OrderSpecifications.matching(userId, vendorId, status, startDate, endDate), pageable)
                 .map(orderMapper::toDomain);
     }
     
+    /**
+     * Search orders with filters, newest first, one keyset page after the cursor; null filters are left out of the query
+     */
+    public CursorPage<Order> searchOrders(Long userId, Long vendorId, OrderStatus status,
+                                          LocalDateTime startDate, LocalDateTime endDate,
+                                          Cursor after, int size, boolean includeTotal) {
+        Pageable limit = keysetLimit(size);
+        Specification<OrderJpaEntity> filters = OrderSpecifications.matching(userId, vendorId, status, startDate, endDate);
+        Specification<OrderJpaEntity> page = after == null
+                ? filters
+                : filters.and(OrderSpecifications.createdBefore(after.createdAt(), after.id()));
+        // A plain limited list: findAll(spec, pageable) would add a count query to every full page
+        List<OrderJpaEntity> rows = orderRepository.findBy(page,
+                query -> query.sortBy(NEWEST_FIRST).limit(limit.getPageSize()).all());
+        Long total = includeTotal ? orderRepository.count(filters) : null;
+        return toCursorPage(rows, limit, total);
+    }
+    
     /**
      * Create B2C order (customer order)
      */
@@ -219,18 +294,35 @@ public class OrderService {
         OrderJpaEntity saved = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Failed to retrieve saved order"));
         
+        Order created = orderMapper.toDomain(saved);
+        outboxService.append(OutboxEventType.ORDER_CREATED, created.getId(), eventPayload(created));
         log.info("B2C order created: orderId={}, orderNumber={}, totalAmount={}",
                 saved.getId(), saved.getOrderNumber(), totalAmount);
         
-        return orderMapper.toDomain(saved);
+        return created;
     }
     
     /**
      * Create B2B order (vendor order)
+     * The order is committed before it is provisioned, so the eSIM Go call runs outside its transaction.
      */
-    @Transactional
     public Order createB2BOrder(Long vendorId, String bundleCode, int quantity,
                                String ipAddress, String userAgent) {
+        Order created = transactionTemplate.execute(status ->
+                recordB2BOrder(vendorId, bundleCode, quantity, ipAddress, userAgent));
+        
+        // Start provisioning immediately for B2B orders
+        try {
+            return provisionOrder(created.getId());
+        } catch (Exception e) {
+            log.error("Failed to provision B2B order immediately: orderId={}", created.getId(), e);
+            // Order is still created: SYNC_FAILED for reconciliation, or still PAID and picked up by the reconciliation job
+            return created;
+        }
+    }
+    
+    private Order recordB2BOrder(Long vendorId, String bundleCode, int quantity,
+                                 String ipAddress, String userAgent) {
         log.info("Creating B2B order: vendorId={}, bundleCode={}, quantity={}",
                 vendorId, bundleCode, quantity);
         
@@ -279,18 +371,12 @@ public class OrderService {
         vendorService.debitForOrder(vendorId, totalAmount, saved.getId(),
                 "Order payment: " + bundleCode + " x " + quantity, null);
         
+        Order created = orderMapper.toDomain(saved);
+        outboxService.append(OutboxEventType.ORDER_CREATED, created.getId(), eventPayload(created));
         log.info("B2B order created: orderId={}, orderNumber={}, totalAmount={}",
                 saved.getId(), saved.getOrderNumber(), totalAmount);
         
-        // Start provisioning immediately for B2B orders
-        try {
-            provisionOrder(saved.getId());
-        } catch (Exception e) {
-            log.error("Failed to provision B2B order immediately: orderId={}", saved.getId(), e);
-            // Order is still created, will be retried by reconciliation job
-        }
-        
-        return orderMapper.toDomain(saved);
+        return created;
     }
     
     /**
@@ -300,101 +386,143 @@ public class OrderService {
     public Order markOrderAsPaid(Long orderId, Long paymentId) {
         log.info("Marking order as paid: orderId={}, paymentId={}", orderId, paymentId);
         
-        OrderJpaEntity order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.ORDER_NOT_FOUND,
-                        "Order not found: " + orderId));
-        
-        if (order.getStatus() != OrderStatus.ORDER_CREATED &&
-            order.getStatus() != OrderStatus.PAYMENT_PENDING) {
-            throw new BusinessException(ErrorCode.INVALID_ORDER_STATUS,
-                    "Order cannot be marked as paid in current status: " + order.getStatus());
-        }
-        
-        order.setStatus(OrderStatus.PAID);
-        order.setPaymentStatus(PaymentStatus.SUCCEEDED);
-        order.setPaidAt(LocalDateTime.now());
+        Order order = applyTransition(orderId, OrderTransition.MARK_PAID, OrderTransition.Details.NONE,
+                ErrorCode.INVALID_ORDER_STATUS, "Order cannot be marked as paid in current status: ");
         
-        OrderJpaEntity saved = orderRepository.save(order);
-        log.info("Order marked as paid: orderId={}", orderId);
+        // Queue provisioning in the same transaction; OrderProvisioningWorker calls eSIMGo
+        // after commit, so the caller (e.g. the Stripe webhook) doesn't wait for it
+        provisioningJobPort.enqueue(orderId);
+        outboxService.append(OutboxEventType.ORDER_PAID, orderId, eventPayload(order));
+        log.info("Order marked as paid, provisioning queued: orderId={}", orderId);
         
-        // Start provisioning
-        try {
-            provisionOrder(orderId);
-        } catch (Exception e) {
-            log.error("Failed to provision order after payment: orderId={}", orderId, e);
-            // Order is still paid, will be retried by reconciliation job
-        }
-        
-        return orderMapper.toDomain(saved);
+        return order;
     }
     
     /**
-     * Provision order with eSIM Go
+     * Provision order with eSIM Go.
+     * Not transactional: the PROVISIONING claim commits before eSIM Go is called, the call holds no row lock
+     * or connection, and its outcome is recorded in a second short transaction. Callers must not run it
+     * inside a transaction of their own.
+     * eSIM Go orders have no idempotency key, so a failed call is never resubmitted automatically: it may have
+     * created the order anyway (e.g. a timeout after the request was sent). The order becomes SYNC_FAILED and
+     * this throws {@link ErrorCode#ORDER_PROVISIONING_UNCONFIRMED}; see {@link #retryProvisioning(Long)}.
      */
-    @Transactional
     public Order provisionOrder(Long orderId) {
         log.info("Provisioning order with eSIM Go: orderId={}", orderId);
         
-        OrderJpaEntity order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.ORDER_NOT_FOUND,
-                        "Order not found: " + orderId));
-        
-        if (order.getStatus() != OrderStatus.PAID) {
-            throw new BusinessException(ErrorCode.INVALID_ORDER_STATUS,
-                    "Order must be paid before provisioning: " + order.getStatus());
-        }
-        
-        if (order.getProvisionedAt() != null) {
-            log.warn("Order already provisioned: orderId={}", orderId);
-            return orderMapper.toDomain(order);
-        }
+        // Only one caller can move the order out of PAID
+        Order order = transactionTemplate.execute(status -> applyTransition(orderId,
+                OrderTransition.START_PROVISIONING, OrderTransition.Details.NONE,
+                ErrorCode.INVALID_ORDER_STATUS, "Order must be paid before provisioning: "));
         
+        OrderResult result;
         try {
-            // Update status to provisioning
-            order.setStatus(OrderStatus.PROVISIONING);
-            orderRepository.save(order);
-            
             // Call eSIM Go to create order
-            OrderResult result = esimGoService.createOrder(order.getBundleCode(), order.getQuantity());
-            
-            // Update order with eSIM Go reference
-            order.setEsimgoOrderId(result.getOrderId());
-            order.setProvisionedAt(LocalDateTime.now());
-            order.setStatus(OrderStatus.COMPLETED);
-            order.setCompletedAt(LocalDateTime.now());
-            
-            OrderJpaEntity saved = orderRepository.save(order);
-            log.info("Order provisioned successfully: orderId={}, esimgoOrderId={}",
-                    orderId, result.getOrderId());
-            
-            // TODO: Create eSIM records in database
-            // TODO: Send notification to customer/vendor
-            
-            return orderMapper.toDomain(saved);
-            
-        } catch (BusinessException e) {
-            log.error("eSIM Go error provisioning order: orderId={}", orderId, e);
-            
-            order.setStatus(OrderStatus.SYNC_FAILED);
-            order.setErrorCode(e.getErrorCode().getCode());
-            order.setErrorMessage(e.getMessage());
-            order.setRetryCount(order.getRetryCount() + 1);
-            order.setLastRetryAt(LocalDateTime.now());
-            orderRepository.save(order);
-            
-            throw e;
+            result = esimGoService.createOrder(order.getBundleCode(), order.getQuantity());
             
         } catch (Exception e) {
-            log.error("Unexpected error provisioning order: orderId={}", orderId, e);
+            log.error("eSIM Go order not confirmed, left for reconciliation: orderId={}", orderId, e);
             
-            order.setStatus(OrderStatus.FAILED);
-            order.setErrorMessage(e.getMessage());
-            order.setFailedAt(LocalDateTime.now());
-            orderRepository.save(order);
+            String errorCode = e instanceof BusinessException be ? be.getErrorCode().getCode() : null;
+            recordProvisioningFailure(orderId, OrderTransition.SYNC_FAIL,
+                    OrderTransition.Details.error(errorCode, e.getMessage()));
             
-            throw new BusinessException(ErrorCode.ORDER_PROVISIONING_FAILED,
-                    "Failed to provision order", e);
+            throw new BusinessException(ErrorCode.ORDER_PROVISIONING_UNCONFIRMED,
+                    "eSIM Go did not confirm the order: " + e.getMessage(), e);
+        }
+        
+        // Update order with eSIM Go reference
+        Order completed;
+        try {
+            completed = transactionTemplate.execute(status -> {
+                Order provisioned = applyTransition(orderId, OrderTransition.COMPLETE_PROVISIONING,
+                        OrderTransition.Details.esimgoOrder(result.getOrderId()),
+                        ErrorCode.INVALID_ORDER_STATUS, "Order left provisioning during the eSIM Go call: ");
+                outboxService.append(OutboxEventType.ORDER_PROVISIONED, orderId, eventPayload(provisioned));
+                return provisioned;
+            });
+        } catch (RuntimeException e) {
+            // eSIM Go has the order, so it must not be submitted again: the order stays PROVISIONING,
+            // which nothing provisions automatically; it is counted in orders.provisioning.stuck
+            log.error("eSIM Go order created but not recorded: orderId={}, esimgoOrderId={}",
+                    orderId, result.getOrderId(), e);
+            throw new BusinessException(ErrorCode.ORDER_PROVISIONING_UNCONFIRMED,
+                    "eSIM Go order " + result.getOrderId() + " could not be recorded", e);
         }
+        log.info("Order provisioned successfully: orderId={}, esimgoOrderId={}",
+                orderId, result.getOrderId());
+        
+        // TODO: Create eSIM records in database
+        // Notifications: listen for ORDER_PROVISIONED outbox events
+        
+        return completed;
+    }
+    
+    /**
+     * Claim a chunk of stale orders for this node to reconcile.
+     * Only PAID orders, which were never submitted to eSIMGo. PROVISIONING and SYNC_FAILED orders are left alone:
+     * eSIMGo may have fulfilled the call that failed or never returned.
+     */
+    @Transactional
+    public List<Long> claimStaleOrders(int minutesOld, int maxRetries, Duration baseBackoff, int limit) {
+        return orderRepositoryPort.claimForReconciliation(
+                List.of(OrderStatus.PAID),
+                LocalDateTime.now().minusMinutes(minutesOld),
+                maxRetries,
+                baseBackoff,
+                limit);
+    }
+    
+    /**
+     * Provision a claimed stale order again; not transactional, like {@link #provisionOrder(Long)}
+     */
+    public Order reconcileOrder(Long orderId) {
+        return provisionOrder(orderId);
+    }
+    
+    /**
+     * Give up provisioning after the last retry: the order becomes FAILED
+     */
+    @Transactional
+    public Order markProvisioningFailed(Long orderId, String errorMessage) {
+        Optional<Order> failed = orderRepositoryPort.transition(orderId, OrderTransition.FAIL,
+                OrderTransition.Details.error(null, errorMessage));
+        if (failed.isEmpty()) {
+            // e.g. provisioned by the reconciliation job in the meantime
+            Order order = getOrderById(orderId);
+            log.warn("Order no longer awaiting provisioning, not marking as failed: orderId={}, status={}",
+                    orderId, order.getStatus());
+            return order;
+        }
+        outboxService.append(OutboxEventType.ORDER_FAILED, orderId, eventPayload(failed.get()));
+        
+        log.warn("Order provisioning failed permanently: orderId={}", orderId);
+        return failed.get();
+    }
+    
+    /**
+     * Record a provisioning attempt that was cut off during the eSIM Go call (its worker died or its lease
+     * expired): the order moves from PROVISIONING to SYNC_FAILED, as eSIM Go may have created it.
+     * @return whether the order was still PROVISIONING
+     */
+    @Transactional
+    public boolean markProvisioningInterrupted(Long orderId) {
+        Optional<Order> failed = orderRepositoryPort.transition(orderId, OrderTransition.SYNC_FAIL,
+                OrderTransition.Details.error(ErrorCode.ORDER_PROVISIONING_UNCONFIRMED.getCode(),
+                        "Provisioning interrupted before eSIM Go confirmed the order"));
+        failed.ifPresent(order -> log.warn("Interrupted provisioning left unconfirmed, check eSIM Go before retrying: orderId={}",
+                orderId));
+        return failed.isPresent();
+    }
+    
+    /**
+     * Count orders stuck in PROVISIONING or SYNC_FAILED for longer than minutesOld. Nothing moves them on
+     * automatically: each needs a check against eSIM Go and then {@link #retryProvisioning(Long)} or a FAIL.
+     */
+    @Transactional(readOnly = true)
+    public long countStuckOrders(int minutesOld) {
+        return orderRepositoryPort.countStale(List.of(OrderStatus.PROVISIONING, OrderStatus.SYNC_FAILED),
+                LocalDateTime.now().minusMinutes(minutesOld));
     }
     
     /**
@@ -404,51 +532,26 @@ public class OrderService {
     public Order cancelOrder(Long orderId, String reason) {
         log.info("Canceling order: orderId={}, reason={}", orderId, reason);
         
-        OrderJpaEntity order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.ORDER_NOT_FOUND,
-                        "Order not found: " + orderId));
-        
-        Order domainOrder = orderMapper.toDomain(order);
-        if (!domainOrder.canBeCanceled()) {
-            throw new BusinessException(ErrorCode.ORDER_CANNOT_BE_CANCELED,
-                    "Order cannot be canceled in current status: " + order.getStatus());
-        }
-        
-        order.setStatus(OrderStatus.CANCELED);
-        order.setCanceledAt(LocalDateTime.now());
-        order.setErrorMessage(reason);
-        
-        OrderJpaEntity saved = orderRepository.save(order);
+        Order order = applyTransition(orderId, OrderTransition.CANCEL, OrderTransition.Details.error(null, reason),
+                ErrorCode.ORDER_CANNOT_BE_CANCELED, "Order cannot be canceled in current status: ");
         log.info("Order canceled: orderId={}", orderId);
         
         // TODO: Refund payment if applicable
         // TODO: Refund vendor if B2B order
         
-        return orderMapper.toDomain(saved);
+        return order;
     }
     
     /**
-     * Retry failed order provisioning
+     * Retry failed order provisioning; not transactional, like {@link #provisionOrder(Long)}
+     * Submits the order to eSIM Go again. For a SYNC_FAILED order, only once eSIM Go is known not to have it.
      */
-    @Transactional
     public Order retryProvisioning(Long orderId) {
         log.info("Retrying order provisioning: orderId={}", orderId);
         
-        OrderJpaEntity order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.ORDER_NOT_FOUND,
-                        "Order not found: " + orderId));
-        
-        if (order.getStatus() != OrderStatus.SYNC_FAILED &&
-            order.getStatus() != OrderStatus.FAILED) {
-            throw new BusinessException(ErrorCode.INVALID_ORDER_STATUS,
-                    "Order cannot be retried in current status: " + order.getStatus());
-        }
-        
         // Reset to PAID status
-        order.setStatus(OrderStatus.PAID);
-        order.setErrorCode(null);
-        order.setErrorMessage(null);
-        orderRepository.save(order);
+        applyTransition(orderId, OrderTransition.RETRY, OrderTransition.Details.NONE,
+                ErrorCode.INVALID_ORDER_STATUS, "Order cannot be retried in current status: ");
         
         // Retry provisioning
         return provisionOrder(orderId);
@@ -470,10 +573,65 @@ public class OrderService {
                 .toList();
     }
     
+    /**
+     * Record a failed eSIM Go call in its own transaction; a failure to record it is logged, not thrown,
+     * so the caller still sees the eSIM Go error
+     */
+    private void recordProvisioningFailure(Long orderId, OrderTransition transition, OrderTransition.Details details) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderRepositoryPort.transition(orderId, transition, details));
+        } catch (Exception e) {
+            log.error("Failed to record provisioning failure: orderId={}, transition={}", orderId, transition, e);
+        }
+    }
+    
+    /**
+     * Apply a state machine transition; if the order is not in one of its source statuses, throw
+     * the given error with the current status appended
+     */
+    private Order applyTransition(Long orderId, OrderTransition transition, OrderTransition.Details details,
+                                  ErrorCode rejectedCode, String rejectedMessage) {
+        Optional<Order> updated = orderRepositoryPort.transition(orderId, transition, details);
+        if (updated.isPresent()) {
+            return updated.get();
+        }
+        // Rejected: only now read the order, to tell a missing order from one in another status
+        Order current = getOrderById(orderId);
+        throw new BusinessException(rejectedCode, rejectedMessage + current.getStatus());
+    }
+    
+    /**
+     * Page request for a keyset query: one row more than the page size, to tell whether a next page exists
+     */
+    private static Pageable keysetLimit(int size) {
+        return PageRequest.of(0, Math.max(1, size) + 1);
+    }
+    
+    private CursorPage<Order> toCursorPage(List<OrderJpaEntity> rows, Pageable limit, Long total) {
+        return CursorPage.of(rows, limit.getPageSize() - 1, row -> new Cursor(row.getCreatedAt(), row.getId()), total)
+                .map(orderMapper::toDomain);
+    }
+    
+    /**
+     * Outbox payload for order lifecycle events
+     */
+    private static Map<String, Object> eventPayload(Order order) {
+        return OutboxService.payload(
+                "orderId", order.getId(),
+                "orderNumber", order.getOrderNumber(),
+                "userId", order.getUserId(),
+                "vendorId", order.getVendorId(),
+                "customerEmail", order.getCustomerEmail(),
+                "status", order.getStatus() != null ? order.getStatus().name() : null,
+                "totalAmount", order.getTotalAmount(),
+                "currency", order.getCurrency(),
+                "esimgoOrderId", order.getEsimgoOrderId());
+    }
+    
     /**
      * Generate unique order number
      */
-    private String generateOrderNumber() {
+    static String generateOrderNumber() {
         String timestamp = String.valueOf(System.currentTimeMillis());
         String uuid = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
         return "ORD-" + timestamp + "-" + uuid;
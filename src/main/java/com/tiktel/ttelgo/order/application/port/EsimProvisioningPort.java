@@ -1,6 +1,13 @@
 package com.tiktel.ttelgo.order.application.port;
 
+import com.tiktel.ttelgo.order.domain.OrderBundle;
+
+import java.util.Optional;
+
 public interface EsimProvisioningPort {
-    // TODO: Define eSIM provisioning port interface
+    
+    /**
+     * Details of a bundle, empty if eSIM Go has no such bundle
+     */
+    Optional<OrderBundle> findBundle(String bundleCode);
 }
-
@@ -1,7 +1,13 @@
 package com.tiktel.ttelgo.order.application.port;
 
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
 import com.tiktel.ttelgo.order.domain.Order;
+import com.tiktel.ttelgo.order.domain.OrderStatusView;
+import com.tiktel.ttelgo.order.domain.OrderTransition;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,5 +16,37 @@ public interface OrderRepositoryPort {
     Optional<Order> findById(Long id);
     Optional<Order> findByOrderReference(String orderReference);
     List<Order> findByUserId(Long userId);
+    List<Order> findByBatchId(String batchId);
+    
+    /**
+     * Insert new orders in one JDBC batch; returns them with their IDs, in the given order
+     */
+    List<Order> insertAll(List<Order> orders);
+    
+    /**
+     * Status of the given orders of a vendor, in one query; IDs of other vendors' or unknown orders are skipped
+     */
+    List<OrderStatusView> findStatusViews(Long vendorId, Collection<Long> orderIds);
+    
+    /**
+     * Claim up to limit stale orders for a reconciliation attempt, skipping rows other nodes hold.
+     * Eligible: in one of the statuses, not updated since staleBefore, fewer than maxRetries attempts,
+     * past their backoff (baseBackoff doubled per attempt since last_retry_at) and not queued for provisioning.
+     * Claiming counts the attempt (retry_count, last_retry_at), which also keeps other nodes off the order.
+     * @return IDs of the claimed orders
+     */
+    List<Long> claimForReconciliation(List<OrderStatus> statuses, LocalDateTime staleBefore, int maxRetries,
+                                      Duration baseBackoff, int limit);
+    
+    /**
+     * Count orders in one of the statuses that have not been updated since updatedBefore
+     */
+    long countStale(List<OrderStatus> statuses, LocalDateTime updatedBefore);
+    
+    /**
+     * Apply a state machine transition in one conditional update: the order moves to the transition's target
+     * only if its status is still one of the transition's sources.
+     * @return the updated order, empty if the order does not exist or is in another status
+     */
+    Optional<Order> transition(Long orderId, OrderTransition transition, OrderTransition.Details details);
 }
-
@@ -0,0 +1,36 @@
+package com.tiktel.ttelgo.order.application.port;
+
+import com.tiktel.ttelgo.order.domain.ProvisioningJob;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Durable queue of order provisioning jobs, shared by all nodes
+ */
+public interface ProvisioningJobPort {
+    
+    /**
+     * Queue provisioning of a paid order, in the caller's transaction. No-op if the order already has a job.
+     */
+    void enqueue(Long orderId);
+    
+    /**
+     * {@link #enqueue(Long)} for many orders, sent in one JDBC batch
+     */
+    void enqueueAll(List<Long> orderIds);
+    
+    /**
+     * Claim up to limit due jobs for a worker. Jobs locked by other workers are skipped, not waited for;
+     * a claim is held for the lease, after which the job can be claimed again.
+     */
+    List<ProvisioningJob> claim(String workerId, int limit, Duration lease);
+    
+    /**
+     * The following only apply while the job is still claimed by the given worker
+     */
+    void complete(Long jobId, String workerId);
+    void retryLater(Long jobId, String workerId, String error, LocalDateTime nextAttemptAt);
+    void fail(Long jobId, String workerId, String error);
+}
@@ -32,6 +32,9 @@ public class Order {
     // eSIM Go reference
     private String esimgoOrderId;
     
+    // Batch the order was placed in (vendor batch orders only)
+    private String batchId;
+    
     // Status
     private OrderStatus status;
     private PaymentStatus paymentStatus;
@@ -78,9 +81,7 @@ public class Order {
      * Check if order can be canceled
      */
     public boolean canBeCanceled() {
-        return status == OrderStatus.ORDER_CREATED || 
-               status == OrderStatus.PAYMENT_PENDING ||
-               status == OrderStatus.PENDING_SYNC;
+        return OrderTransition.CANCEL.allowsFrom(status);
     }
     
     /**
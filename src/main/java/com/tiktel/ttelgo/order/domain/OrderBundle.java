@@ -0,0 +1,11 @@
+package com.tiktel.ttelgo.order.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * The details of an eSIM Go bundle an order is priced and described from
+ * @param price unit price
+ */
+public record OrderBundle(String code, String name, BigDecimal price, String currency, String countryCode,
+                          String dataAmount, Integer validityDays) {
+}
@@ -0,0 +1,17 @@
+package com.tiktel.ttelgo.order.domain;
+
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Provisioning status of an order with the identifiers of its eSIMs, for status polling
+ */
+public record OrderStatusView(Long orderId, String orderNumber, OrderStatus status, List<EsimRef> esims) {
+    
+    /**
+     * @param status eSIM status name
+     */
+    public record EsimRef(String iccid, String matchingId, String status) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.tiktel.ttelgo.order.domain;
+
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order state machine: each transition with the statuses it may start from and the status it leads to.
+ * Transitions are applied as one conditional update on the order row, so of several callers racing on
+ * the same order only the first can move it out of a source status.
+ */
+public enum OrderTransition {
+    MARK_PAID(OrderStatus.PAID, OrderStatus.ORDER_CREATED, OrderStatus.PAYMENT_PENDING),
+    START_PROVISIONING(OrderStatus.PROVISIONING, OrderStatus.PAID),
+    // From SYNC_FAILED too: an eSIM Go call that outlived its worker's lease may still confirm the order
+    COMPLETE_PROVISIONING(OrderStatus.COMPLETED, OrderStatus.PROVISIONING, OrderStatus.SYNC_FAILED),
+    SYNC_FAIL(OrderStatus.SYNC_FAILED, OrderStatus.PROVISIONING),
+    FAIL(OrderStatus.FAILED, OrderStatus.PAID, OrderStatus.PROVISIONING, OrderStatus.SYNC_FAILED),
+    RETRY(OrderStatus.PAID, OrderStatus.SYNC_FAILED, OrderStatus.FAILED),
+    CANCEL(OrderStatus.CANCELED, OrderStatus.ORDER_CREATED, OrderStatus.PAYMENT_PENDING, OrderStatus.PENDING_SYNC);
+    
+    private final OrderStatus target;
+    private final Set<OrderStatus> sources;
+    
+    OrderTransition(OrderStatus target, OrderStatus source, OrderStatus... moreSources) {
+        this.target = target;
+        this.sources = EnumSet.of(source, moreSources);
+    }
+    
+    public OrderStatus getTarget() {
+        return target;
+    }
+    
+    public Set<OrderStatus> getSources() {
+        return Set.copyOf(sources);
+    }
+    
+    /**
+     * Check if the transition may start from the given status
+     */
+    public boolean allowsFrom(OrderStatus status) {
+        return status != null && sources.contains(status);
+    }
+    
+    /**
+     * Values written along with the status; which ones a transition uses depends on the transition
+     */
+    public record Details(String esimgoOrderId, String errorCode, String errorMessage) {
+        
+        public static final Details NONE = new Details(null, null, null);
+        
+        public static Details esimgoOrder(String esimgoOrderId) {
+            return new Details(esimgoOrderId, null, null);
+        }
+        
+        public static Details error(String errorCode, String errorMessage) {
+            return new Details(null, errorCode, errorMessage);
+        }
+    }
+}
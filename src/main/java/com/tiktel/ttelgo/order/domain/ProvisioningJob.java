@@ -0,0 +1,8 @@
+package com.tiktel.ttelgo.order.domain;
+
+/**
+ * A claimed provisioning job
+ * @param attempts attempts so far, including the current one
+ */
+public record ProvisioningJob(Long id, Long orderId, int attempts) {
+}
@@ -1,10 +1,24 @@
 package com.tiktel.ttelgo.order.infrastructure.adapter;
 
+import com.tiktel.ttelgo.integration.esimgo.EsimGoService;
 import com.tiktel.ttelgo.order.application.port.EsimProvisioningPort;
+import com.tiktel.ttelgo.order.domain.OrderBundle;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
+@RequiredArgsConstructor
 public class EsimProvisioningAdapter implements EsimProvisioningPort {
-    // TODO: Implement eSIM provisioning adapter
+    
+    private final EsimGoService esimGoService;
+    
+    @Override
+    public Optional<OrderBundle> findBundle(String bundleCode) {
+        return Optional.ofNullable(esimGoService.getBundleDetails(bundleCode))
+                .map(bundle -> new OrderBundle(bundle.getCode(), bundle.getName(), bundle.getPrice(),
+                        bundle.getCurrency(), bundle.getCountryCode(), bundle.getDataAmount(),
+                        bundle.getValidityDays()));
+    }
 }
-
@@ -1,32 +1,69 @@
 package com.tiktel.ttelgo.order.infrastructure.adapter;
 
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+import com.tiktel.ttelgo.common.domain.enums.PaymentStatus;
 import com.tiktel.ttelgo.order.application.port.OrderRepositoryPort;
 import com.tiktel.ttelgo.order.domain.Order;
+import com.tiktel.ttelgo.order.domain.OrderStatusView;
+import com.tiktel.ttelgo.order.domain.OrderTransition;
 import com.tiktel.ttelgo.order.infrastructure.mapper.OrderMapper;
 import com.tiktel.ttelgo.order.infrastructure.repository.OrderRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 public class OrderRepositoryAdapter implements OrderRepositoryPort {
     
+    private static final String ORDER_COLUMNS = "id, order_number, user_id, vendor_id, customer_email, bundle_code, bundle_name, quantity, unit_price, total_amount, currency, esimgo_order_id, batch_id, status, payment_status, country_iso, data_amount, validity_days, ip_address, user_agent, created_at, paid_at, provisioned_at, completed_at, failed_at, canceled_at, updated_at, error_code, error_message, retry_count, last_retry_at";
+    
+    // Columns each transition writes besides status and updated_at
+    private static final Map<OrderTransition, String> TRANSITION_CHANGES = new EnumMap<>(Map.of(
+            OrderTransition.MARK_PAID, "payment_status = '" + PaymentStatus.SUCCEEDED.name() + "', paid_at = :now",
+            OrderTransition.START_PROVISIONING, "",
+            OrderTransition.COMPLETE_PROVISIONING, "esimgo_order_id = :esimgoOrderId, provisioned_at = :now, completed_at = :now",
+            OrderTransition.SYNC_FAIL, "error_code = :errorCode, error_message = :errorMessage, retry_count = COALESCE(retry_count, 0) + 1, last_retry_at = :now",
+            OrderTransition.FAIL, "error_message = :errorMessage, failed_at = :now",
+            OrderTransition.RETRY, "error_code = NULL, error_message = NULL",
+            OrderTransition.CANCEL, "error_message = :errorMessage, canceled_at = :now"));
+    
+    private static final Map<OrderTransition, String> TRANSITION_SQL = transitionStatements();
+    
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
     
     @PersistenceContext
     private EntityManager entityManager;
     
     @Autowired
-    public OrderRepositoryAdapter(OrderRepository orderRepository, OrderMapper orderMapper) {
+    public OrderRepositoryAdapter(OrderRepository orderRepository, OrderMapper orderMapper, JdbcTemplate jdbcTemplate) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
     }
     
     @Override
@@ -149,5 +186,204 @@ public class OrderRepositoryAdapter implements OrderRepositoryPort {
                 .map(orderMapper::toDomain)
                 .collect(Collectors.toList());
     }
+    
+    @Override
+    public List<Order> findByBatchId(String batchId) {
+        return orderRepository.findByBatchIdOrderByIdAsc(batchId).stream()
+                .map(orderMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional
+    public List<Order> insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        String insertSql = "INSERT INTO orders (order_number, user_id, vendor_id, customer_email, bundle_code, bundle_name, quantity, unit_price, total_amount, currency, batch_id, status, payment_status, country_iso, data_amount, validity_days, ip_address, user_agent, created_at, updated_at, paid_at, retry_count) " +
+                          "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS order_status), CAST(? AS payment_status), ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        // One statement per order, sent to the database in JDBC batches
+        jdbcTemplate.batchUpdate(insertSql, orders, orders.size(), (ps, order) -> {
+            ps.setString(1, order.getOrderNumber());
+            ps.setObject(2, order.getUserId());
+            ps.setObject(3, order.getVendorId());
+            ps.setString(4, order.getCustomerEmail());
+            ps.setString(5, order.getBundleCode());
+            ps.setString(6, order.getBundleName());
+            ps.setObject(7, order.getQuantity());
+            ps.setBigDecimal(8, order.getUnitPrice());
+            ps.setBigDecimal(9, order.getTotalAmount());
+            ps.setString(10, order.getCurrency());
+            ps.setString(11, order.getBatchId());
+            ps.setString(12, order.getStatus() != null ? order.getStatus().name() : "ORDER_CREATED");
+            ps.setString(13, order.getPaymentStatus() != null ? order.getPaymentStatus().name() : "CREATED");
+            ps.setString(14, order.getCountryIso());
+            ps.setString(15, order.getDataAmount());
+            ps.setObject(16, order.getValidityDays());
+            ps.setString(17, order.getIpAddress());
+            ps.setString(18, order.getUserAgent());
+            ps.setTimestamp(19, now);
+            ps.setTimestamp(20, now);
+            ps.setTimestamp(21, order.getPaidAt() != null ? Timestamp.valueOf(order.getPaidAt()) : null);
+            ps.setInt(22, order.getRetryCount() != null ? order.getRetryCount() : 0);
+        });
+        
+        Map<String, Order> inserted = orderRepository.findByOrderNumberIn(
+                        orders.stream().map(Order::getOrderNumber).toList()).stream()
+                .map(orderMapper::toDomain)
+                .collect(Collectors.toMap(Order::getOrderNumber, Function.identity()));
+        return orders.stream()
+                .map(order -> inserted.get(order.getOrderNumber()))
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<OrderStatusView> findStatusViews(Long vendorId, Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        // One round trip for the whole list: ANY(array) instead of an IN list of varying length,
+        // answered from idx_orders_vendor_status_lookup and idx_esims_order_status_lookup
+        String sql = "SELECT o.id, o.order_number, o.status, e.iccid, e.matching_id, e.status AS esim_status " +
+                     "FROM orders o " +
+                     "LEFT JOIN esims e ON e.order_id = o.id AND e.deleted_at IS NULL " +
+                     "WHERE o.vendor_id = ? AND o.id = ANY(?) AND o.deleted_at IS NULL " +
+                     "ORDER BY o.id, e.id";
+        
+        Map<Long, OrderStatusView> views = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, ps -> {
+            ps.setLong(1, vendorId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", orderIds.toArray()));
+        }, rs -> {
+            long orderId = rs.getLong("id");
+            OrderStatusView view = views.get(orderId);
+            if (view == null) {
+                view = new OrderStatusView(orderId, rs.getString("order_number"),
+                        OrderStatus.valueOf(rs.getString("status")), new ArrayList<>());
+                views.put(orderId, view);
+            }
+            String iccid = rs.getString("iccid");
+            String matchingId = rs.getString("matching_id");
+            if (iccid != null || matchingId != null) {
+                view.esims().add(new OrderStatusView.EsimRef(iccid, matchingId, rs.getString("esim_status")));
+            }
+        });
+        return new ArrayList<>(views.values());
+    }
+    
+    @Override
+    public List<Long> claimForReconciliation(List<OrderStatus> statuses, LocalDateTime staleBefore, int maxRetries,
+                                             Duration baseBackoff, int limit) {
+        String sql = "UPDATE orders SET retry_count = retry_count + 1, last_retry_at = ?, updated_at = ? " +
+                     "WHERE id IN (" +
+                     "  SELECT o.id FROM orders o " +
+                     "  WHERE o.status = ANY(CAST(? AS order_status[])) " +
+                     "  AND o.updated_at < ? " +
+                     "  AND o.retry_count < ? " +
+                     "  AND (o.last_retry_at IS NULL " +
+                     "       OR o.last_retry_at + ? * power(2, LEAST(o.retry_count, 10)) * INTERVAL '1 second' <= ?) " +
+                     "  AND o.deleted_at IS NULL " +
+                     "  AND NOT EXISTS (SELECT 1 FROM provisioning_jobs j " +
+                     "                  WHERE j.order_id = o.id AND j.status IN ('PENDING', 'RUNNING')) " +
+                     "  ORDER BY o.id " +
+                     "  LIMIT ? " +
+                     "  FOR UPDATE OF o SKIP LOCKED) " +
+                     "RETURNING id";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setArray(3, con.createArrayOf("varchar", statuses.stream().map(Enum::name).toArray()));
+            ps.setTimestamp(4, Timestamp.valueOf(staleBefore));
+            ps.setInt(5, maxRetries);
+            ps.setLong(6, baseBackoff.toSeconds());
+            ps.setTimestamp(7, now);
+            ps.setInt(8, limit);
+            return ps;
+        }, (rs, rowNum) -> rs.getLong("id"));
+    }
+    
+    @Override
+    public long countStale(List<OrderStatus> statuses, LocalDateTime updatedBefore) {
+        return orderRepository.countByStatusInAndUpdatedAtBeforeAndDeletedAtIsNull(statuses, updatedBefore);
+    }
+    
+    @Override
+    public Optional<Order> transition(Long orderId, OrderTransition transition, OrderTransition.Details details) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", orderId)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("esimgoOrderId", details.esimgoOrderId())
+                .addValue("errorCode", details.errorCode())
+                .addValue("errorMessage", details.errorMessage());
+        List<Order> updated = namedJdbcTemplate.query(TRANSITION_SQL.get(transition), params,
+                (rs, rowNum) -> mapOrder(rs));
+        return updated.stream().findFirst();
+    }
+    
+    /**
+     * One conditional UPDATE per transition. Statuses come from the enums, so they are written as literals:
+     * the statement text is fixed per transition and needs no casts to the order_status type.
+     */
+    private static Map<OrderTransition, String> transitionStatements() {
+        Map<OrderTransition, String> statements = new EnumMap<>(OrderTransition.class);
+        for (OrderTransition transition : OrderTransition.values()) {
+            String sources = transition.getSources().stream()
+                    .sorted()
+                    .map(status -> "'" + status.name() + "'")
+                    .collect(Collectors.joining(", "));
+            String changes = TRANSITION_CHANGES.get(transition);
+            statements.put(transition, "UPDATE orders SET status = '" + transition.getTarget().name() + "', " +
+                                       (changes.isEmpty() ? "" : changes + ", ") +
+                                       "updated_at = :now " +
+                                       "WHERE id = :id AND status IN (" + sources + ") AND deleted_at IS NULL " +
+                                       "RETURNING " + ORDER_COLUMNS);
+        }
+        return statements;
+    }
+    
+    private static Order mapOrder(ResultSet rs) throws SQLException {
+        String paymentStatus = rs.getString("payment_status");
+        return Order.builder()
+                .id(rs.getLong("id"))
+                .orderNumber(rs.getString("order_number"))
+                .userId(rs.getObject("user_id", Long.class))
+                .vendorId(rs.getObject("vendor_id", Long.class))
+                .customerEmail(rs.getString("customer_email"))
+                .bundleCode(rs.getString("bundle_code"))
+                .bundleName(rs.getString("bundle_name"))
+                .quantity(rs.getObject("quantity", Integer.class))
+                .unitPrice(rs.getBigDecimal("unit_price"))
+                .totalAmount(rs.getBigDecimal("total_amount"))
+                .currency(rs.getString("currency"))
+                .esimgoOrderId(rs.getString("esimgo_order_id"))
+                .batchId(rs.getString("batch_id"))
+                .status(OrderStatus.valueOf(rs.getString("status")))
+                .paymentStatus(paymentStatus != null ? PaymentStatus.valueOf(paymentStatus) : null)
+                .countryIso(rs.getString("country_iso"))
+                .dataAmount(rs.getString("data_amount"))
+                .validityDays(rs.getObject("validity_days", Integer.class))
+                .ipAddress(rs.getString("ip_address"))
+                .userAgent(rs.getString("user_agent"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .paidAt(toLocalDateTime(rs.getTimestamp("paid_at")))
+                .provisionedAt(toLocalDateTime(rs.getTimestamp("provisioned_at")))
+                .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+                .failedAt(toLocalDateTime(rs.getTimestamp("failed_at")))
+                .canceledAt(toLocalDateTime(rs.getTimestamp("canceled_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .errorCode(rs.getString("error_code"))
+                .errorMessage(rs.getString("error_message"))
+                .retryCount(rs.getObject("retry_count", Integer.class))
+                .lastRetryAt(toLocalDateTime(rs.getTimestamp("last_retry_at")))
+                .build();
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
 }
-
@@ -0,0 +1,91 @@
+package com.tiktel.ttelgo.order.infrastructure.adapter;
+
+import com.tiktel.ttelgo.order.application.port.ProvisioningJobPort;
+import com.tiktel.ttelgo.order.domain.ProvisioningJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * provisioning_jobs through plain JDBC: claiming needs FOR UPDATE SKIP LOCKED and UPDATE ... RETURNING
+ */
+@Component
+public class ProvisioningJobRepositoryAdapter implements ProvisioningJobPort {
+    
+    private static final String ENQUEUE_SQL =
+            "INSERT INTO provisioning_jobs (order_id, status, attempts, next_attempt_at, created_at, updated_at) " +
+            "VALUES (?, 'PENDING', 0, ?, ?, ?) ON CONFLICT DO NOTHING";
+    
+    private static final String CLAIM_SQL =
+            "UPDATE provisioning_jobs j SET status = 'RUNNING', locked_by = ?, locked_at = ?, " +
+            "attempts = j.attempts + 1, updated_at = ? " +
+            "WHERE j.id IN (" +
+            "  SELECT id FROM provisioning_jobs " +
+            "  WHERE (status = 'PENDING' AND next_attempt_at <= ?) OR (status = 'RUNNING' AND locked_at < ?) " +
+            "  ORDER BY next_attempt_at, id " +
+            "  LIMIT ? " +
+            "  FOR UPDATE SKIP LOCKED) " +
+            "RETURNING j.id, j.order_id, j.attempts";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public ProvisioningJobRepositoryAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public void enqueue(Long orderId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(ENQUEUE_SQL, orderId, now, now, now);
+    }
+    
+    @Override
+    public void enqueueAll(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(ENQUEUE_SQL, orderIds, orderIds.size(), (ps, orderId) -> {
+            ps.setLong(1, orderId);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+        });
+    }
+    
+    @Override
+    public List<ProvisioningJob> claim(String workerId, int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        return jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new ProvisioningJob(rs.getLong("id"), rs.getLong("order_id"), rs.getInt("attempts")),
+                workerId, nowTs, nowTs, nowTs, Timestamp.valueOf(now.minus(lease)), limit);
+    }
+    
+    @Override
+    public void complete(Long jobId, String workerId) {
+        jdbcTemplate.update("UPDATE provisioning_jobs SET status = 'DONE', locked_by = NULL, locked_at = NULL, " +
+                            "last_error = NULL, updated_at = ? WHERE id = ? AND locked_by = ?",
+                Timestamp.valueOf(LocalDateTime.now()), jobId, workerId);
+    }
+    
+    @Override
+    public void retryLater(Long jobId, String workerId, String error, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("UPDATE provisioning_jobs SET status = 'PENDING', locked_by = NULL, locked_at = NULL, " +
+                            "next_attempt_at = ?, last_error = ?, updated_at = ? WHERE id = ? AND locked_by = ?",
+                Timestamp.valueOf(nextAttemptAt), error, Timestamp.valueOf(LocalDateTime.now()), jobId, workerId);
+    }
+    
+    @Override
+    public void fail(Long jobId, String workerId, String error) {
+        jdbcTemplate.update("UPDATE provisioning_jobs SET status = 'FAILED', locked_by = NULL, locked_at = NULL, " +
+                            "last_error = ?, updated_at = ? WHERE id = ? AND locked_by = ?",
+                error, Timestamp.valueOf(LocalDateTime.now()), jobId, workerId);
+    }
+}
@@ -25,6 +25,7 @@ public class OrderMapper {
                 .totalAmount(entity.getTotalAmount())
                 .currency(entity.getCurrency())
                 .esimgoOrderId(entity.getEsimgoOrderId())
+                .batchId(entity.getBatchId())
                 .status(entity.getStatus())
                 .paymentStatus(entity.getPaymentStatus())
                 .countryIso(entity.getCountryIso())
@@ -64,6 +65,7 @@ public class OrderMapper {
                 .totalAmount(domain.getTotalAmount())
                 .currency(domain.getCurrency())
                 .esimgoOrderId(domain.getEsimgoOrderId())
+                .batchId(domain.getBatchId())
                 .status(domain.getStatus())
                 .paymentStatus(domain.getPaymentStatus())
                 .countryIso(domain.getCountryIso())
@@ -64,6 +64,10 @@ public class OrderJpaEntity {
     @Column(name = "esimgo_order_id")
     private String esimgoOrderId;
     
+    // Batch the order was placed in (vendor batch orders only)
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+    
     // Status and lifecycle
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -4,17 +4,19 @@ import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<OrderJpaEntity, Long> {
+public interface OrderRepository extends JpaRepository<OrderJpaEntity, Long>, JpaSpecificationExecutor<OrderJpaEntity> {
     
     Optional<OrderJpaEntity> findByOrderNumber(String orderNumber);
     
@@ -30,18 +32,23 @@ public interface OrderRepository extends JpaRepository<OrderJpaEntity, Long> {
     List<OrderJpaEntity> findStaleOrders(@Param("statuses") List<OrderStatus> statuses,
                                          @Param("beforeTime") LocalDateTime beforeTime);
     
-    @Query("SELECT o FROM OrderJpaEntity o WHERE " +
-           "(:userId IS NULL OR o.userId = :userId) AND " +
-           "(:vendorId IS NULL OR o.vendorId = :vendorId) AND " +
-           "(:status IS NULL OR o.status = :status) AND " +
-           "(:startDate IS NULL OR o.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR o.createdAt <= :endDate)")
-    Page<OrderJpaEntity> findByFilters(@Param("userId") Long userId,
-                                        @Param("vendorId") Long vendorId,
-                                        @Param("status") OrderStatus status,
-                                        @Param("startDate") LocalDateTime startDate,
-                                        @Param("endDate") LocalDateTime endDate,
-                                        Pageable pageable);
+    // Keyset pages, newest first. Callers pass an unsorted Pageable of size + 1; as the results are lists,
+    // no count query runs. Each "After" query continues below the (createdAt, id) of the previous page's last
+    // row; the redundant createdAt bound lets the (..., created_at DESC, id DESC) indexes seek straight to it.
+    
+    List<OrderJpaEntity> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+    
+    @Query("SELECT o FROM OrderJpaEntity o WHERE o.userId = :userId AND " +
+           "o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderJpaEntity> findByUserIdAfter(@Param("userId") Long userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+    
+    long countByUserId(Long userId);
+    
+    long countByStatusInAndUpdatedAtBeforeAndDeletedAtIsNull(Collection<OrderStatus> statuses, LocalDateTime updatedBefore);
     
     @Query("SELECT COUNT(o) FROM OrderJpaEntity o WHERE " +
            "o.vendorId = :vendorId AND " +
@@ -52,4 +59,8 @@ public interface OrderRepository extends JpaRepository<OrderJpaEntity, Long> {
                                     @Param("endDate") LocalDateTime endDate);
     
     boolean existsByOrderNumber(String orderNumber);
+    
+    List<OrderJpaEntity> findByBatchIdOrderByIdAsc(String batchId);
+    
+    List<OrderJpaEntity> findByOrderNumberIn(Collection<String> orderNumbers);
 }
@@ -0,0 +1,56 @@
+package com.tiktel.ttelgo.order.infrastructure.repository;
+
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order search predicates.
+ * Only the filters actually given end up in the SQL, so Postgres plans each filter combination
+ * against its own index instead of one generic plan for "(:param IS NULL OR ...)" over every filter.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    /**
+     * Orders matching every non-null filter; no filter matches all orders
+     */
+    public static Specification<OrderJpaEntity> matching(Long userId, Long vendorId, OrderStatus status,
+                                                         LocalDateTime startDate, LocalDateTime endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("userId"), userId));
+            }
+            if (vendorId != null) {
+                predicates.add(cb.equal(root.get("vendorId"), vendorId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Orders after (createdAt, id) in newest-first order; the redundant createdAt bound lets
+     * the (..., created_at DESC, id DESC) indexes seek straight to the position, as in OrderRepository
+     */
+    public static Specification<OrderJpaEntity> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(cb.lessThan(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+}
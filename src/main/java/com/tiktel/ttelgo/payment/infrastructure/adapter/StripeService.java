@@ -9,6 +9,8 @@ import com.tiktel.ttelgo.common.domain.enums.PaymentStatus;
 import com.tiktel.ttelgo.common.domain.enums.PaymentType;
 import com.tiktel.ttelgo.common.exception.BusinessException;
 import com.tiktel.ttelgo.common.exception.ErrorCode;
+import com.tiktel.ttelgo.common.outbox.application.OutboxService;
+import com.tiktel.ttelgo.common.outbox.domain.OutboxEventType;
 import com.tiktel.ttelgo.integration.stripe.StripeConfig;
 import com.tiktel.ttelgo.payment.domain.Payment;
 import com.tiktel.ttelgo.payment.infrastructure.mapper.PaymentMapper;
@@ -36,16 +38,19 @@ public class StripeService {
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
     private final StripeConfig stripeConfig;
+    private final OutboxService outboxService;
     
     @PersistenceContext
     private EntityManager entityManager;
     
     public StripeService(PaymentRepository paymentRepository,
                         PaymentMapper paymentMapper,
-                        StripeConfig stripeConfig) {
+                        StripeConfig stripeConfig,
+                        OutboxService outboxService) {
         this.paymentRepository = paymentRepository;
         this.paymentMapper = paymentMapper;
         this.stripeConfig = stripeConfig;
+        this.outboxService = outboxService;
     }
     
     /**
@@ -336,6 +341,17 @@ public class StripeService {
             }
             
             PaymentJpaEntity saved = paymentRepository.save(payment);
+            if (saved.getOrderId() != null) {
+                outboxService.append(OutboxEventType.ORDER_REFUNDED, saved.getOrderId(), OutboxService.payload(
+                        "orderId", saved.getOrderId(),
+                        "paymentId", paymentId,
+                        "refundId", refund.getId(),
+                        "amount", amount,
+                        "refundedAmount", saved.getRefundedAmount(),
+                        "currency", saved.getCurrency(),
+                        "paymentStatus", saved.getStatus().name(),
+                        "reason", reason));
+            }
             log.info("Refund created: refundId={}, paymentId={}, amount={}",
                     refund.getId(), paymentId, amount);
             
@@ -0,0 +1,112 @@
+package com.tiktel.ttelgo.plan.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tiktel.ttelgo.common.api.EnvelopedBody;
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes full bundle listings straight to the response with a {@link JsonGenerator}.
+ *
+ * The output is the same {@code ApiResponse<ListBundlesResponse>} envelope the configured {@link ObjectMapper}
+ * would produce for the materialized response (including its null-field inclusion), but the bundles are
+ * serialized one by one from the (cached, immutable) list, so no response object graph or intermediate buffer
+ * proportional to the catalogue is built per request.
+ *
+ * Listings are returned as {@link Listing} bodies and written by this class as a message converter (registered
+ * by Spring Boot as a converter bean), so they can be returned from any handler, synchronous or asynchronous,
+ * whatever its declared {@code ResponseEntity} type.
+ */
+@Component
+public class BundleListingStreamer extends AbstractHttpMessageConverter<BundleListingStreamer.Listing> {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter bundleWriter;
+    private final ObjectWriter metaWriter;
+    private final boolean writeNulls;
+
+    public BundleListingStreamer(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        // Flushing after every bundle would turn each one into a separate write to the socket
+        this.bundleWriter = objectMapper.writerFor(ListBundlesResponse.BundleDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.metaWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonInclude.Include inclusion = objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion();
+        this.writeNulls = inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    /**
+     * @param bundles listing to write; must not be modified while the response is being written
+     * @param meta envelope meta (e.g. pagination), may be {@code null}
+     */
+    public ResponseEntity<Listing> stream(List<ListBundlesResponse.BundleDto> bundles, String message, Object meta) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new Listing(bundles != null ? bundles : List.of(), message != null ? message : "Success", meta));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Listing.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Listing readInternal(Class<? extends Listing> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Bundle listings are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Listing listing, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputMessage.getBody())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Same field order as ApiResponse: success, message, data, errors, meta
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeStringField("message", listing.message());
+            generator.writeFieldName("data");
+            generator.writeStartObject();
+            generator.writeFieldName("bundles");
+            generator.writeStartArray();
+            for (ListBundlesResponse.BundleDto bundle : listing.bundles()) {
+                bundleWriter.writeValue(generator, bundle);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            // A streamed listing never has errors
+            if (writeNulls) {
+                generator.writeNullField("errors");
+            }
+            if (listing.meta() != null || writeNulls) {
+                generator.writeFieldName("meta");
+                metaWriter.writeValue(generator, listing.meta());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * A full bundle listing response body, written by {@link BundleListingStreamer}
+     */
+    public record Listing(List<ListBundlesResponse.BundleDto> bundles, String message, Object meta)
+            implements EnvelopedBody {
+    }
+}
@@ -3,15 +3,18 @@ package com.tiktel.ttelgo.plan.api;
 import com.tiktel.ttelgo.common.dto.ApiResponse;
 import com.tiktel.ttelgo.common.dto.PaginationMeta;
 import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import com.tiktel.ttelgo.plan.application.BundleSearchIndex;
+import com.tiktel.ttelgo.plan.application.BundleSort;
+import com.tiktel.ttelgo.plan.application.CatalogueIndex;
 import com.tiktel.ttelgo.plan.application.PlanService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -19,17 +22,22 @@ import java.util.stream.Collectors;
 public class PlanController {
     
     private final PlanService planService;
+    private final PreparedBundleListings preparedListings;
+    private final BundleListingStreamer listingStreamer;
     
     @Autowired
-    public PlanController(PlanService planService) {
+    public PlanController(PlanService planService, PreparedBundleListings preparedListings,
+                          BundleListingStreamer listingStreamer) {
         this.planService = planService;
+        this.preparedListings = preparedListings;
+        this.listingStreamer = listingStreamer;
     }
     
     /**
      * List all available bundles
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<ListBundlesResponse>> listBundles(
+    public CompletableFuture<ResponseEntity<?>> listBundles(
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "50") Integer size,
             @RequestParam(required = false, defaultValue = "name,asc") String sort,
@@ -39,11 +47,27 @@ public class PlanController {
             @RequestParam(required = false) String orderBy,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String countryIso,
-            @RequestParam(required = false) String type
+            @RequestParam(required = false) String type,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
         log.info("=== BUNDLES API CALL START ===");
         log.info("Request params - page: {}, size: {}, type: {}, countryIso: {}, search: {}", 
                 page, size, type, countryIso, search);
+        ResponseEntity<?> filtered = filteredListing(page, size, sort, search, countryIso, type, ifNoneMatch, acceptEncoding);
+        if (filtered != null) {
+            // Served from the catalogue snapshot, without waiting on eSIMGo
+            return CompletableFuture.completedFuture(filtered);
+        }
+        // Only blank filters: the upstream page, as without any filter, without holding the request thread
+        return upstreamPage(page != null ? page : 0, size, sort, perPage, direction, orderBy);
+    }
+    
+    /**
+     * Listing for a type, country or search filter, or null if every filter is blank
+     */
+    private ResponseEntity<?> filteredListing(Integer page, Integer size, String sort, String search, String countryIso,
+                                              String type, String ifNoneMatch, String acceptEncoding) {
         try {
             // RESTful filtering via query params:
             // - type=local|regional|global
@@ -56,13 +80,17 @@ public class PlanController {
 
             if (type != null && !type.trim().isEmpty()) {
                 try {
-                    String t = type.trim().toLowerCase();
-                    response = switch (t) {
-                        case "local" -> planService.listLocalBundles();
-                        case "regional" -> planService.listRegionalBundles();
-                        case "global" -> planService.listGlobalBundles();
-                        default -> planService.listAllBundles();
-                    };
+                    // Full listings are written from bytes pre-serialized once per catalogue snapshot (ETag / 304)
+                    if (!(s > 0 && s < 1000)) {
+                        ResponseEntity<byte[]> prepared = preparedListings.respond(
+                                CatalogueIndex.Type.from(type), BundleSort.parse(sort), ifNoneMatch, acceptEncoding);
+                        if (prepared != null) {
+                            return prepared;
+                        }
+                    }
+                    
+                    // Served from the pre-partitioned, pre-sorted catalogue index
+                    response = planService.listBundlesByType(CatalogueIndex.Type.from(type), BundleSort.parse(sort));
                     
                     if (response == null) {
                         response = new ListBundlesResponse();
@@ -72,13 +100,13 @@ public class PlanController {
                     // If size is explicitly set to a small value, paginate. Otherwise return all bundles
                     // This allows frontend to get all bundles by not specifying size or using a large size
                     if (s > 0 && s < 1000) {
-                        ListBundlesResponse paged = paginateInMemory(response, p, s, sort);
+                        ListBundlesResponse paged = new ListBundlesResponse();
+                        paged.setBundles(slice(response.getBundles(), p, s));
                         return ResponseEntity.ok(ApiResponse.success(paged, "Success", PaginationMeta.simple(p, s, totalBundles(response))));
                     } else {
-                        // Return all bundles (apply sorting only)
-                        ListBundlesResponse sorted = applySortOnly(response, sort);
-                        long total = totalBundles(sorted);
-                        return ResponseEntity.ok(ApiResponse.success(sorted, "Success", PaginationMeta.simple(0, (int)total, total)));
+                        // Return all bundles (already sorted), streamed from the snapshot
+                        long total = totalBundles(response);
+                        return listingStreamer.stream(response.getBundles(), "Success", PaginationMeta.simple(0, (int)total, total));
                     }
                 } catch (Exception e) {
                     log.error("Error loading bundles by type {}: {}", type, e.getMessage(), e);
@@ -91,20 +119,21 @@ public class PlanController {
 
             if (countryIso != null && !countryIso.trim().isEmpty()) {
                 try {
-                    response = planService.listBundlesByCountry(countryIso.trim());
+                    // Served pre-sorted from the country index of the catalogue snapshot
+                    response = planService.listBundlesByCountry(countryIso.trim(), BundleSort.parse(sort));
                     if (response == null) {
                         response = new ListBundlesResponse();
                         response.setBundles(new java.util.ArrayList<>());
                     }
                     // If size is explicitly set to a small value, paginate. Otherwise return all bundles
                     if (s > 0 && s < 1000) {
-                        ListBundlesResponse paged = paginateInMemory(response, p, s, sort);
+                        ListBundlesResponse paged = new ListBundlesResponse();
+                        paged.setBundles(slice(response.getBundles(), p, s));
                         return ResponseEntity.ok(ApiResponse.success(paged, "Success", PaginationMeta.simple(p, s, totalBundles(response))));
                     } else {
-                        // Return all bundles (apply sorting only)
-                        ListBundlesResponse sorted = applySortOnly(response, sort);
-                        long total = totalBundles(sorted);
-                        return ResponseEntity.ok(ApiResponse.success(sorted, "Success", PaginationMeta.simple(0, (int)total, total)));
+                        // Return all bundles (already sorted), streamed from the snapshot
+                        long total = totalBundles(response);
+                        return listingStreamer.stream(response.getBundles(), "Success", PaginationMeta.simple(0, (int)total, total));
                     }
                 } catch (Exception e) {
                     log.error("Error loading bundles by country {}: {}", countryIso, e.getMessage(), e);
@@ -114,61 +143,22 @@ public class PlanController {
                 }
             }
 
-            // Prefer Spring-style pagination params: page (0-based) + size
-            // The EsimGo pagination is 1-based page, so we adapt.
-            if (page != null || size != null || orderBy != null || search != null || perPage != null) {
+            if (search != null && !search.isBlank()) {
                 try {
-                    int effectivePerPage = perPage != null ? perPage : (size != null ? size : 50);
-                    SortParts sortParts = parseSort(sort);
-                    String effectiveOrderBy = orderBy != null ? orderBy : sortParts.field;
-                    String effectiveDirection = direction != null ? direction : sortParts.direction;
-
-                    response = planService.listAllBundlesPaginated(
-                            p + 1,
-                            effectivePerPage,
-                            effectiveDirection,
-                            effectiveOrderBy,
-                            search
-                    );
-                    if (response == null) {
-                        response = new ListBundlesResponse();
-                        response.setBundles(new java.util.ArrayList<>());
-                    }
-                    // We don't know total count from upstream; expose current page size as totalElements for consistency.
-                    return ResponseEntity.ok(ApiResponse.success(response, "Success", PaginationMeta.simple(p, effectivePerPage, totalBundles(response))));
+                    // Ranked matches from the in-memory search index of the catalogue snapshot
+                    response = planService.searchBundles(search.trim());
+                    ListBundlesResponse paged = new ListBundlesResponse();
+                    paged.setBundles(slice(response.getBundles(), p, s));
+                    return ResponseEntity.ok(ApiResponse.success(paged, "Success", PaginationMeta.simple(p, s, totalBundles(response))));
                 } catch (Exception e) {
-                    log.error("Error loading paginated bundles: {}", e.getMessage(), e);
+                    log.error("Error searching bundles for '{}': {}", search, e.getMessage(), e);
                     response = new ListBundlesResponse();
                     response.setBundles(new java.util.ArrayList<>());
                     return ResponseEntity.ok(ApiResponse.success(response, "No bundles available", PaginationMeta.simple(0, 0, 0)));
                 }
             }
 
-            try {
-                response = planService.listAllBundles();
-                
-                if (response == null) {
-                    response = new ListBundlesResponse();
-                    response.setBundles(new java.util.ArrayList<>());
-                }
-                
-                // If size is explicitly set to a small value, paginate. Otherwise return all bundles
-                if (s > 0 && s < 1000) {
-                    ListBundlesResponse paged = paginateInMemory(response, p, s, sort);
-                    return ResponseEntity.ok(ApiResponse.success(paged, "Success", PaginationMeta.simple(p, s, totalBundles(response))));
-                } else {
-                    // Return all bundles (apply sorting only)
-                    ListBundlesResponse sorted = applySortOnly(response, sort);
-                    long total = totalBundles(sorted);
-                    return ResponseEntity.ok(ApiResponse.success(sorted, "Success", PaginationMeta.simple(0, (int)total, total)));
-                }
-            } catch (Exception e) {
-                log.error("Error loading all bundles: {}", e.getMessage(), e);
-                // Return empty response instead of 500
-                response = new ListBundlesResponse();
-                response.setBundles(new java.util.ArrayList<>());
-                return ResponseEntity.ok(ApiResponse.success(response, "No bundles available", PaginationMeta.simple(0, 0, 0)));
-            }
+            return null;
         } catch (Exception e) {
             log.error("=== CRITICAL ERROR in listBundles endpoint ===");
             log.error("Error message: {}", e.getMessage());
@@ -186,14 +176,105 @@ public class PlanController {
         }
     }
     
+    /**
+     * Page of the upstream catalogue, for listings without a type, country or search filter.
+     * eSIMGo is called without holding the request thread: the response is completed asynchronously.
+     * With size=0 or a size of 1000 or more (and no perPage), all bundles are streamed from the catalogue snapshot.
+     */
+    @GetMapping(params = {"!type", "!countryIso", "!search"})
+    public CompletableFuture<ResponseEntity<?>> listBundlesPage(
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "50") Integer size,
+            @RequestParam(required = false, defaultValue = "name,asc") String sort,
+            @RequestParam(required = false) Integer perPage,
+            @RequestParam(required = false, defaultValue = "asc") String direction,
+            @RequestParam(required = false) String orderBy
+    ) {
+        log.info("Request params - page: {}, size: {}, perPage: {}, orderBy: {}", page, size, perPage, orderBy);
+        int s = size != null ? size : 50;
+        if (perPage == null && !(s > 0 && s < 1000)) {
+            return CompletableFuture.completedFuture(allBundles(sort));
+        }
+        return upstreamPage(page != null ? page : 0, size, sort, perPage, direction, orderBy);
+    }
+    
+    // All bundles, streamed from the memoized sorted view of the snapshot
+    private ResponseEntity<?> allBundles(String sort) {
+        try {
+            List<ListBundlesResponse.BundleDto> sorted =
+                    planService.listBundlesByType(CatalogueIndex.Type.ALL, BundleSort.parse(sort)).getBundles();
+            long total = sorted.size();
+            return listingStreamer.stream(sorted, "Success", PaginationMeta.simple(0, (int)total, total));
+        } catch (Exception e) {
+            log.error("Error loading all bundles: {}", e.getMessage(), e);
+            // Return empty response instead of 500
+            ListBundlesResponse response = new ListBundlesResponse();
+            response.setBundles(new java.util.ArrayList<>());
+            return ResponseEntity.ok(ApiResponse.success(response, "No bundles available", PaginationMeta.simple(0, 0, 0)));
+        }
+    }
+    
+    // Spring-style page (0-based) + size; the EsimGo pagination is 1-based page, so we adapt.
+    private CompletableFuture<ResponseEntity<?>> upstreamPage(int p, Integer size, String sort, Integer perPage,
+                                                              String direction, String orderBy) {
+        int effectivePerPage = perPage != null ? perPage : (size != null ? size : 50);
+        SortParts sortParts = parseSort(sort);
+        String effectiveOrderBy = orderBy != null ? orderBy : sortParts.field;
+        String effectiveDirection = direction != null ? direction : sortParts.direction;
+
+        return planService.listAllBundlesPaginatedAsync(p + 1, effectivePerPage, effectiveDirection, effectiveOrderBy, null)
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response == null) {
+                        response = new ListBundlesResponse();
+                        response.setBundles(new java.util.ArrayList<>());
+                    }
+                    // We don't know total count from upstream; expose current page size as totalElements for consistency.
+                    return ResponseEntity.ok(ApiResponse.success(response, "Success", PaginationMeta.simple(p, effectivePerPage, totalBundles(response))));
+                })
+                .exceptionally(e -> {
+                    log.error("Error loading paginated bundles: {}", e.getMessage(), e);
+                    ListBundlesResponse response = new ListBundlesResponse();
+                    response.setBundles(new java.util.ArrayList<>());
+                    return ResponseEntity.ok(ApiResponse.success(response, "No bundles available", PaginationMeta.simple(0, 0, 0)));
+                });
+    }
+    
+    /**
+     * Search bundles by name, description, country, ISO code or region (best match first).
+     * The last word also matches as a prefix, so the shop search box can query on every keystroke.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ListBundlesResponse>> searchBundles(
+            @RequestParam("q") String query,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "50") Integer size) {
+        int p = page != null ? page : 0;
+        int s = size != null ? size : 50;
+        ListBundlesResponse matches = planService.searchBundles(query);
+        ListBundlesResponse paged = new ListBundlesResponse();
+        paged.setBundles(slice(matches.getBundles(), p, s));
+        return ResponseEntity.ok(ApiResponse.success(paged, "Success", PaginationMeta.simple(p, s, totalBundles(matches))));
+    }
+    
+    /**
+     * Autocomplete: countries and regions matching a partially typed search, most bundles first
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<BundleSearchIndex.Suggestion>>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        int effectiveLimit = limit != null ? Math.max(1, Math.min(limit, 50)) : 10;
+        return ResponseEntity.ok(ApiResponse.success(planService.suggest(query, effectiveLimit)));
+    }
+    
     /**
      * Get bundle details by bundle name
      */
     @GetMapping("/{bundleName}")
-    public ResponseEntity<ApiResponse<ListBundlesResponse.BundleDto>> getBundleDetails(
+    public CompletableFuture<ResponseEntity<ApiResponse<ListBundlesResponse.BundleDto>>> getBundleDetails(
             @PathVariable String bundleName) {
-        ListBundlesResponse.BundleDto bundle = planService.getBundleDetails(bundleName);
-        return ResponseEntity.ok(ApiResponse.success(bundle));
+        // Completes right away from the snapshot; bundles missing from it are looked up in eSIMGo asynchronously
+        return planService.getBundleDetailsAsync(bundleName).thenApply(bundle -> ResponseEntity.ok(ApiResponse.success(bundle)));
     }
 
     private long totalBundles(ListBundlesResponse response) {
@@ -201,16 +282,6 @@ public class PlanController {
         return response.getBundles().size();
     }
 
-    private ListBundlesResponse paginateInMemory(ListBundlesResponse response, int page, int size, String sort) {
-        if (response == null || response.getBundles() == null) return response;
-        List<ListBundlesResponse.BundleDto> bundles = response.getBundles();
-        List<ListBundlesResponse.BundleDto> sorted = applySort(bundles, sort);
-        List<ListBundlesResponse.BundleDto> paged = slice(sorted, page, size);
-        ListBundlesResponse out = new ListBundlesResponse();
-        out.setBundles(paged);
-        return out;
-    }
-
     private List<ListBundlesResponse.BundleDto> slice(List<ListBundlesResponse.BundleDto> items, int page, int size) {
         if (items == null || items.isEmpty()) return items;
         if (size <= 0) return items;
@@ -220,39 +291,6 @@ public class PlanController {
         return items.subList(from, to);
     }
 
-    private List<ListBundlesResponse.BundleDto> applySort(List<ListBundlesResponse.BundleDto> items, String sort) {
-        if (items == null) return List.of();
-        SortParts parts = parseSort(sort);
-
-        Comparator<ListBundlesResponse.BundleDto> comparator = Comparator.comparing(
-                b -> b.getName() != null ? b.getName() : "",
-                String.CASE_INSENSITIVE_ORDER
-        );
-
-        if ("price".equals(parts.field)) {
-            comparator = Comparator.comparing(ListBundlesResponse.BundleDto::getPrice, Comparator.nullsLast(Double::compareTo));
-        } else if ("duration".equals(parts.field)) {
-            comparator = Comparator.comparing(ListBundlesResponse.BundleDto::getDuration, Comparator.nullsLast(Integer::compareTo));
-        } else if ("dataAmount".equals(parts.field)) {
-            comparator = Comparator.comparing(ListBundlesResponse.BundleDto::getDataAmount, Comparator.nullsLast(Integer::compareTo));
-        }
-
-        if ("desc".equals(parts.direction)) comparator = comparator.reversed();
-
-        return items.stream().sorted(comparator).collect(Collectors.toList());
-    }
-    
-    /**
-     * Apply sorting only (no pagination) - used when returning all bundles
-     */
-    private ListBundlesResponse applySortOnly(ListBundlesResponse response, String sort) {
-        if (response == null || response.getBundles() == null) return response;
-        List<ListBundlesResponse.BundleDto> sorted = applySort(response.getBundles(), sort);
-        ListBundlesResponse out = new ListBundlesResponse();
-        out.setBundles(sorted);
-        return out;
-    }
-
     private SortParts parseSort(String sort) {
         if (sort == null || sort.isBlank()) {
             return new SortParts("name", "asc");
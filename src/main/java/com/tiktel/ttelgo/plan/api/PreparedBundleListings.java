@@ -0,0 +1,239 @@
+package com.tiktel.ttelgo.plan.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiktel.ttelgo.common.dto.ApiResponse;
+import com.tiktel.ttelgo.common.dto.PaginationMeta;
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import com.tiktel.ttelgo.plan.application.BundleSort;
+import com.tiktel.ttelgo.plan.application.CatalogueIndex;
+import com.tiktel.ttelgo.plan.application.CatalogueSnapshotPublishedEvent;
+import com.tiktel.ttelgo.plan.application.PlanService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full bundle listings by type ({@code GET /api/v1/bundles?type=...} without a page size), serialized once
+ * per catalogue snapshot as UTF-8 JSON and gzip bytes and written straight from those bytes.
+ *
+ * Each listing carries a strong ETag derived from the snapshot tag, type and sort, so unchanged listings
+ * are answered with 304. The common sorts are rendered as soon as a snapshot is published; other sorts
+ * on first request.
+ */
+@Slf4j
+@Component
+public class PreparedBundleListings {
+
+    private static final List<CatalogueIndex.Type> PRERENDERED_TYPES =
+            List.of(CatalogueIndex.Type.LOCAL, CatalogueIndex.Type.REGIONAL, CatalogueIndex.Type.GLOBAL);
+    private static final List<BundleSort> PRERENDERED_SORTS =
+            List.of(BundleSort.DEFAULT, BundleSort.parse("price,asc"), BundleSort.parse("price,desc"));
+    // Types x supported sorts is small, but cap it anyway since every entry holds a full listing
+    private static final int MAX_LISTINGS = 32;
+
+    private final PlanService planService;
+    private final ObjectMapper objectMapper;
+    private volatile Listings listings = new Listings(null);
+
+    public PreparedBundleListings(PlanService planService, ObjectMapper objectMapper) {
+        this.planService = planService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Serialized bodies of one listing; {@code etag} belongs to the identity encoding, the gzip
+     * representation uses {@code etag} with a "-gz" suffix
+     */
+    record PreparedListing(String etag, String gzipEtag, byte[] json, byte[] gzip) {
+    }
+
+    private record Listings(String tag, Map<String, PreparedListing> byKey) {
+        Listings(String tag) {
+            this(tag, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Respond with the prepared listing, or 304 if the client already has it.
+     * @return {@code null} while no catalogue snapshot is available (the caller takes the regular path)
+     */
+    public ResponseEntity<byte[]> respond(CatalogueIndex.Type type, BundleSort sort,
+                                          String ifNoneMatch, String acceptEncoding) {
+        String tag = planService.catalogueTag();
+        if (tag == null) {
+            return null;
+        }
+        String etag = etag(tag, type, sort);
+        String gzipEtag = gzipEtag(etag);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.noCache().cachePublic());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (matches(ifNoneMatch, etag, gzipEtag)) {
+            headers.setETag(gzip ? gzipEtag : etag);
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        PreparedListing listing = listing(tag, type, sort);
+        if (listing == null) {
+            return null;
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.setETag(listing.gzipEtag());
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(listing.gzip().length);
+            return new ResponseEntity<>(listing.gzip(), headers, HttpStatus.OK);
+        }
+        headers.setETag(listing.etag());
+        headers.setContentLength(listing.json().length);
+        return new ResponseEntity<>(listing.json(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Render the common listings of a newly published snapshot off the request path
+     */
+    @Async
+    @EventListener
+    public void onSnapshotPublished(CatalogueSnapshotPublishedEvent event) {
+        long start = System.nanoTime();
+        int rendered = 0;
+        for (CatalogueIndex.Type type : PRERENDERED_TYPES) {
+            for (BundleSort sort : PRERENDERED_SORTS) {
+                if (listing(event.tag(), type, sort) != null) {
+                    rendered++;
+                }
+            }
+        }
+        log.info("Pre-rendered {} bundle listings for catalogue snapshot {} in {} ms",
+                rendered, event.tag(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private PreparedListing listing(String tag, CatalogueIndex.Type type, BundleSort sort) {
+        Listings current = currentListings(tag);
+        if (current == null) {
+            return null;
+        }
+        String key = type.name() + "|" + sort.key();
+        PreparedListing cached = current.byKey().get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        ListBundlesResponse response = planService.listBundlesByType(type, sort);
+        if (!tag.equals(planService.catalogueTag())) {
+            // The snapshot changed while we were reading it; don't cache under the old tag
+            return null;
+        }
+        PreparedListing listing = render(etag(tag, type, sort), response);
+        if (current.byKey().size() < MAX_LISTINGS) {
+            PreparedListing existing = current.byKey().putIfAbsent(key, listing);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return listing;
+    }
+
+    /**
+     * Listings of the given snapshot, starting a new set when the snapshot changed.
+     * {@code null} if the tag belongs to a snapshot that has already been replaced.
+     */
+    private Listings currentListings(String tag) {
+        Listings current = listings;
+        if (tag.equals(current.tag())) {
+            return current;
+        }
+        synchronized (this) {
+            current = listings;
+            if (tag.equals(current.tag())) {
+                return current;
+            }
+            if (!tag.equals(planService.catalogueTag())) {
+                return null;
+            }
+            listings = new Listings(tag);
+            return listings;
+        }
+    }
+
+    private PreparedListing render(String etag, ListBundlesResponse response) {
+        List<ListBundlesResponse.BundleDto> bundles =
+                response != null && response.getBundles() != null ? response.getBundles() : List.of();
+        long total = bundles.size();
+        ApiResponse<ListBundlesResponse> body =
+                ApiResponse.success(response, "Success", PaginationMeta.simple(0, (int) total, total));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new PreparedListing(etag, gzipEtag(etag), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize bundle listing", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(1024, json.length / 6));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes, 64 * 1024)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String etag(String tag, CatalogueIndex.Type type, BundleSort sort) {
+        return "\"bundles-" + tag + "-" + type.name().toLowerCase(Locale.ROOT) + "-"
+                + sort.field() + (sort.isDescending() ? "-desc" : "-asc") + "\"";
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag, String gzipEtag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag) || value.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,364 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable full-text index over one catalogue snapshot ({@link CompactCatalogue}), built alongside the
+ * {@link CatalogueIndex}.
+ *
+ * Bundle name, description, country names, ISO codes and region names are split into lowercase,
+ * accent-free tokens. An inverted index maps each token to the bundles containing it (with a per-field
+ * weight), and a prefix trie over all tokens expands the last, possibly incomplete, query token and serves
+ * autocomplete suggestions (countries and regions) precomputed per prefix. A query is an AND over its
+ * tokens, ranked by the summed field weights.
+ */
+public final class BundleSearchIndex {
+
+    public enum SuggestionKind { COUNTRY, REGION }
+
+    /**
+     * @param text display text, e.g. "United Kingdom"
+     * @param countryIso ISO code for country suggestions, {@code null} for regions
+     * @param bundleCount number of bundles covering the country / region
+     */
+    public record Suggestion(String text, SuggestionKind kind, String countryIso, int bundleCount) {
+    }
+
+    // Field weights: a hit on the ISO code or country name says more than one in the description
+    private static final int ISO_WEIGHT = 5;
+    private static final int COUNTRY_WEIGHT = 4;
+    private static final int NAME_WEIGHT = 3;
+    private static final int REGION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Exact token matches rank above prefix matches of the same field
+    private static final int EXACT_MATCH_FACTOR = 2;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 32;
+    private static final int MAX_NODE_SUGGESTIONS = 10;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final BundleSearchIndex EMPTY = build(CompactCatalogue.empty());
+
+    private final CompactCatalogue catalogue;
+    // Position of each bundle in the default (name) order, used to break score ties, and its inverse
+    private final int[] nameRank;
+    private final int[] idsByNameRank;
+    private final Map<String, Integer> tokenIds;
+    private final int[][] postingIds;
+    private final int[][] postingWeights;
+    private final TrieNode root;
+
+    private BundleSearchIndex(CompactCatalogue catalogue, Map<String, Integer> tokenIds,
+                              int[][] postingIds, int[][] postingWeights, TrieNode root) {
+        this.catalogue = catalogue;
+        this.nameRank = new int[catalogue.size()];
+        Integer[] byName = new Integer[catalogue.size()];
+        Arrays.setAll(byName, i -> i);
+        Arrays.sort(byName, Comparator.comparing(catalogue::bundle, BundleSort.DEFAULT.compactComparator()));
+        this.idsByNameRank = new int[catalogue.size()];
+        for (int rank = 0; rank < byName.length; rank++) {
+            nameRank[byName[rank]] = rank;
+            idsByNameRank[rank] = byName[rank];
+        }
+        this.tokenIds = tokenIds;
+        this.postingIds = postingIds;
+        this.postingWeights = postingWeights;
+        this.root = root;
+    }
+
+    public static BundleSearchIndex empty() {
+        return EMPTY;
+    }
+
+    public static BundleSearchIndex build(CompactCatalogue catalogue) {
+        Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+        Map<String, String> countryNames = new LinkedHashMap<>();
+        Map<String, Integer> countryCounts = new HashMap<>();
+        Map<String, Integer> regionCounts = new TreeMap<>();
+        // Countries are shared flyweights: tokenize each one once, not once per bundle covering it
+        Map<CatalogueCountry, CountryTokens> countryTokens = new HashMap<>();
+
+        for (int id = 0; id < catalogue.size(); id++) {
+            CompactBundle bundle = catalogue.bundle(id);
+            index(postings, id, tokenize(bundle.name()), NAME_WEIGHT);
+            index(postings, id, tokenize(bundle.description()), DESCRIPTION_WEIGHT);
+            Set<String> bundleIsos = new LinkedHashSet<>();
+            Set<String> bundleRegions = new LinkedHashSet<>();
+            for (CatalogueCountry country : bundle.countries()) {
+                CountryTokens tokens = countryTokens.computeIfAbsent(country, CountryTokens::of);
+                index(postings, id, tokens.name(), COUNTRY_WEIGHT);
+                index(postings, id, tokens.iso(), ISO_WEIGHT);
+                index(postings, id, tokens.region(), REGION_WEIGHT);
+                if (country.iso() != null && !country.iso().isBlank()) {
+                    String iso = country.iso().trim().toUpperCase(Locale.ROOT);
+                    bundleIsos.add(iso);
+                    if (country.name() != null && !country.name().isBlank()) {
+                        countryNames.putIfAbsent(iso, country.name().trim());
+                    }
+                }
+                if (country.region() != null && !country.region().isBlank()) {
+                    bundleRegions.add(CatalogueIndex.normalizeRegionName(country.region()));
+                }
+            }
+            bundleIsos.forEach(iso -> countryCounts.merge(iso, 1, Integer::sum));
+            bundleRegions.forEach(region -> regionCounts.merge(region, 1, Integer::sum));
+        }
+
+        // Freeze postings into id-sorted parallel arrays
+        String[] tokens = postings.keySet().stream().sorted().toArray(String[]::new);
+        Map<String, Integer> tokenIds = new HashMap<>(tokens.length * 2);
+        int[][] postingIds = new int[tokens.length][];
+        int[][] postingWeights = new int[tokens.length][];
+        for (int t = 0; t < tokens.length; t++) {
+            tokenIds.put(tokens[t], t);
+            Map<Integer, Integer> posting = postings.get(tokens[t]);
+            int[] ids = posting.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] weights = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                weights[i] = posting.get(ids[i]);
+            }
+            postingIds[t] = ids;
+            postingWeights[t] = weights;
+        }
+
+        // Trie over all tokens, with countries and regions attached to the tokens that name them
+        MutableNode trie = new MutableNode();
+        for (int t = 0; t < tokens.length; t++) {
+            trie.insert(tokens[t]).tokenId = t;
+        }
+        countryNames.forEach((iso, name) -> {
+            Suggestion suggestion = new Suggestion(name, SuggestionKind.COUNTRY, iso, countryCounts.getOrDefault(iso, 0));
+            attach(trie, suggestion, name);
+            attach(trie, suggestion, iso);
+        });
+        regionCounts.forEach((region, count) ->
+                attach(trie, new Suggestion(region, SuggestionKind.REGION, null, count), region));
+
+        int[] documentFrequency = Arrays.stream(postingIds).mapToInt(ids -> ids.length).toArray();
+        return new BundleSearchIndex(catalogue, Map.copyOf(tokenIds), postingIds, postingWeights,
+                trie.freeze(documentFrequency));
+    }
+
+    public int size() {
+        return catalogue.size();
+    }
+
+    /**
+     * Bundles matching every token of the query, best match first. The last token also matches as a prefix,
+     * so results update while the user is still typing.
+     */
+    public List<ListBundlesResponse.BundleDto> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || catalogue.size() == 0 || limit <= 0) {
+            return List.of();
+        }
+        int[] matched = new int[catalogue.size()];
+        int[] scores = new int[catalogue.size()];
+        for (int q = 0; q < queryTokens.size(); q++) {
+            String token = queryTokens.get(q);
+            boolean last = q == queryTokens.size() - 1;
+            Integer exact = tokenIds.get(token);
+            if (exact != null) {
+                accumulate(exact, EXACT_MATCH_FACTOR, q, matched, scores);
+            }
+            if (last || exact == null) {
+                TrieNode node = root.find(token);
+                if (node != null) {
+                    for (int expansion : node.expansions) {
+                        accumulate(expansion, 1, q, matched, scores);
+                    }
+                }
+            }
+        }
+
+        // Rank by score (descending), then name: pack both into one long and sort primitives
+        int required = queryTokens.size();
+        long[] hits = new long[matched.length];
+        int hitCount = 0;
+        for (int id = 0; id < matched.length; id++) {
+            if (matched[id] == required) {
+                hits[hitCount++] = ((long) (Integer.MAX_VALUE - scores[id]) << 32) | nameRank[id];
+            }
+        }
+        Arrays.sort(hits, 0, hitCount);
+        int[] results = new int[Math.min(limit, hitCount)];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = idsByNameRank[(int) hits[i]];
+        }
+        return catalogue.view(results);
+    }
+
+    /**
+     * Countries and regions whose name (or ISO code) has a word starting with the given prefix,
+     * most bundles first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        List<String> queryTokens = tokenize(prefix);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Multi-word prefixes ("united ki") narrow by the last word, then keep suggestions containing the rest
+        TrieNode node = root.find(queryTokens.get(queryTokens.size() - 1));
+        if (node == null) {
+            return List.of();
+        }
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (Suggestion suggestion : node.suggestions) {
+            if (suggestions.size() >= limit) {
+                break;
+            }
+            if (queryTokens.size() == 1 || containsAll(tokenize(suggestion.text()), queryTokens.subList(0, queryTokens.size() - 1))) {
+                suggestions.add(suggestion);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Lowercase, accent-free alphanumeric words of the text
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void accumulate(int tokenId, int factor, int queryPosition, int[] matched, int[] scores) {
+        int[] ids = postingIds[tokenId];
+        int[] weights = postingWeights[tokenId];
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            // Count each query token once per bundle, scored by its first (best) matching index token
+            if (matched[id] == queryPosition) {
+                matched[id] = queryPosition + 1;
+                scores[id] += weights[i] * factor;
+            }
+        }
+    }
+
+    private static boolean containsAll(List<String> words, List<String> required) {
+        for (String token : required) {
+            if (words.stream().noneMatch(word -> word.startsWith(token))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void index(Map<String, Map<Integer, Integer>> postings, int id, List<String> tokens, int weight) {
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, k -> new HashMap<>()).merge(id, weight, Math::max);
+        }
+    }
+
+    private static void attach(MutableNode trie, Suggestion suggestion, String text) {
+        for (String token : tokenize(text)) {
+            trie.insert(token).suggestions.add(suggestion);
+        }
+    }
+
+    private record CountryTokens(List<String> name, List<String> iso, List<String> region) {
+        static CountryTokens of(CatalogueCountry country) {
+            return new CountryTokens(tokenize(country.name()), tokenize(country.iso()), tokenize(country.region()));
+        }
+    }
+
+    // ==================== Prefix trie ====================
+
+    private static final class MutableNode {
+        final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        final Set<Suggestion> suggestions = new LinkedHashSet<>();
+        int tokenId = -1;
+
+        MutableNode insert(String token) {
+            MutableNode node = this;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new MutableNode());
+            }
+            return node;
+        }
+
+        /**
+         * Compact, immutable copy. Every node stores the most frequent tokens and the top suggestions of its
+         * subtree, so a prefix lookup is a walk down the prefix with no subtree traversal at query time.
+         */
+        TrieNode freeze(int[] documentFrequency) {
+            char[] keys = new char[children.size()];
+            TrieNode[] frozenChildren = new TrieNode[children.size()];
+            List<Integer> expansions = new ArrayList<>();
+            Set<Suggestion> subtreeSuggestions = new LinkedHashSet<>(suggestions);
+            if (tokenId >= 0) {
+                expansions.add(tokenId);
+            }
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> child : children.entrySet()) {
+                keys[i] = child.getKey();
+                frozenChildren[i] = child.getValue().freeze(documentFrequency);
+                for (int expansion : frozenChildren[i].expansions) {
+                    expansions.add(expansion);
+                }
+                subtreeSuggestions.addAll(Arrays.asList(frozenChildren[i].suggestions));
+                i++;
+            }
+            int[] topExpansions = expansions.stream()
+                    .sorted(Comparator.comparingInt((Integer t) -> -documentFrequency[t]))
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            Suggestion[] topSuggestions = subtreeSuggestions.stream()
+                    .sorted(Comparator.comparingInt(Suggestion::bundleCount).reversed()
+                            .thenComparing(Suggestion::text, String.CASE_INSENSITIVE_ORDER))
+                    .limit(MAX_NODE_SUGGESTIONS)
+                    .toArray(Suggestion[]::new);
+            return new TrieNode(keys, frozenChildren, topExpansions, topSuggestions);
+        }
+    }
+
+    private static final class TrieNode {
+        final char[] keys;
+        final TrieNode[] children;
+        final int[] expansions;
+        final Suggestion[] suggestions;
+
+        TrieNode(char[] keys, TrieNode[] children, int[] expansions, Suggestion[] suggestions) {
+            this.keys = keys;
+            this.children = children;
+            this.expansions = expansions;
+            this.suggestions = suggestions;
+        }
+
+        TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                int child = Arrays.binarySearch(node.keys, prefix.charAt(i));
+                node = child >= 0 ? node.children[child] : null;
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Supported sort orders for bundle listings, parsed from the public {@code sort=field,direction} parameter.
+ * Unknown fields fall back to {@code name} so that equivalent requests share the same pre-sorted view.
+ */
+public final class BundleSort {
+
+    public static final BundleSort DEFAULT = new BundleSort("name", false);
+
+    private final String field;
+    private final boolean descending;
+
+    private BundleSort(String field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+    }
+
+    public static BundleSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return DEFAULT;
+        }
+        String[] parts = sort.split(",", 2);
+        String field = switch (parts[0].trim()) {
+            case "price" -> "price";
+            case "duration" -> "duration";
+            case "dataAmount" -> "dataAmount";
+            default -> "name";
+        };
+        boolean descending = parts.length > 1 && "desc".equals(parts[1].trim().toLowerCase(Locale.ROOT));
+        return new BundleSort(field, descending);
+    }
+
+    public String field() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Stable key used to memoize sorted views, e.g. {@code price,desc}
+     */
+    public String key() {
+        return field + (descending ? ",desc" : ",asc");
+    }
+
+    public Comparator<ListBundlesResponse.BundleDto> comparator() {
+        Comparator<ListBundlesResponse.BundleDto> comparator = switch (field) {
+            case "price" -> Comparator.comparing(ListBundlesResponse.BundleDto::getPrice,
+                    Comparator.nullsLast(Double::compareTo));
+            case "duration" -> Comparator.comparing(ListBundlesResponse.BundleDto::getDuration,
+                    Comparator.nullsLast(Integer::compareTo));
+            case "dataAmount" -> Comparator.comparing(ListBundlesResponse.BundleDto::getDataAmount,
+                    Comparator.nullsLast(Integer::compareTo));
+            default -> Comparator.comparing(
+                    (ListBundlesResponse.BundleDto b) -> b.getName() != null ? b.getName() : "",
+                    String.CASE_INSENSITIVE_ORDER);
+        };
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * The same order over the compact catalogue model (missing numbers sort last, as for DTOs)
+     */
+    Comparator<CompactBundle> compactComparator() {
+        Comparator<CompactBundle> comparator = switch (field) {
+            case "price" -> present(CompactBundle.HAS_PRICE).thenComparingDouble(CompactBundle::price);
+            case "duration" -> present(CompactBundle.HAS_DURATION).thenComparingInt(CompactBundle::duration);
+            case "dataAmount" -> present(CompactBundle.HAS_DATA_AMOUNT).thenComparingInt(CompactBundle::dataAmount);
+            default -> Comparator.comparing((CompactBundle b) -> b.name() != null ? b.name() : "",
+                    String.CASE_INSENSITIVE_ORDER);
+        };
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    private static Comparator<CompactBundle> present(int flag) {
+        // Bundles without the value after those with it
+        return Comparator.comparingInt(b -> b.has(flag) ? 0 : 1);
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
@@ -0,0 +1,46 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+
+/**
+ * A country as it appears in the catalogue. One shared instance per distinct (name, region, ISO) in a
+ * {@link CompactCatalogue}, referenced by id from every bundle that covers it.
+ */
+public final class CatalogueCountry {
+
+    private final int id;
+    private final String name;
+    private final String region;
+    private final String iso;
+
+    CatalogueCountry(int id, String name, String region, String iso) {
+        this.id = id;
+        this.name = name;
+        this.region = region;
+        this.iso = iso;
+    }
+
+    int id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String region() {
+        return region;
+    }
+
+    public String iso() {
+        return iso;
+    }
+
+    ListBundlesResponse.CountryDto toDto() {
+        ListBundlesResponse.CountryDto dto = new ListBundlesResponse.CountryDto();
+        dto.setName(name);
+        dto.setRegion(region);
+        dto.setIso(iso);
+        return dto;
+    }
+}
@@ -0,0 +1,415 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.tiktel.ttelgo.common.util.WeightedLruCache;
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable, pre-partitioned view over one catalogue snapshot.
+ *
+ * Built once per cache refresh: every bundle is classified (local / regional / global) in a single pass and
+ * grouped by country ISO and by region, so listing endpoints become map lookups instead of re-filtering the
+ * full catalogue on every request. Partitions and sorted views are arrays of bundle ids into the snapshot's
+ * {@link CompactCatalogue}, exposed as read-only DTO views. Sorted views are computed on first use and
+ * memoized for the lifetime of the snapshot, in an LRU bounded by the number of ids it holds (a few times
+ * the catalogue size), so rarely used country/sort combinations don't pin memory.
+ */
+public final class CatalogueIndex {
+
+    public enum Type {
+        ALL, LOCAL, REGIONAL, GLOBAL;
+
+        public static Type from(String type) {
+            if (type == null) {
+                return ALL;
+            }
+            return switch (type.trim().toLowerCase(Locale.ROOT)) {
+                case "local" -> LOCAL;
+                case "regional" -> REGIONAL;
+                case "global" -> GLOBAL;
+                default -> ALL;
+            };
+        }
+    }
+
+    // Region names that eSIMGo sometimes puts in the ISO field; these are never local bundles
+    private static final Set<String> REGION_NAMES = Set.of(
+            "Asia", "Global", "Europe", "Africa", "Oceania", "Middle East",
+            "North America", "South America", "Caribbean", "CENAM", "CIS",
+            "Europe Lite", "Europe+", "LATAM", "Balkans", "Global - Light",
+            "Europe + USA"
+    );
+
+    // 2-3 letters, optionally followed by a hyphen and more letters/numbers ("GB", "US-HI", ...)
+    private static final Pattern COUNTRY_ISO = Pattern.compile("^[A-Z]{2,3}(-[A-Z0-9]+)?$");
+
+    private static final int[] NO_IDS = new int[0];
+
+    // Memoized sorted views may hold up to this many times the catalogue size in bundle ids
+    private static final int VIEW_BUDGET_FACTOR = 8;
+    private static final int MIN_VIEW_BUDGET = 10_000;
+
+    private static final CatalogueIndex EMPTY = build(CompactCatalogue.empty());
+
+    private final CompactCatalogue catalogue;
+    private final int[] all;
+    private final int[] local;
+    private final int[] regional;
+    private final int[] global;
+    private final Map<String, int[]> byCountry;
+    private final Map<String, int[]> byRegion;
+    private final Map<String, Integer> byName;
+    private final List<String> regions;
+    private final WeightedLruCache<String, int[]> sortedViews;
+
+    private CatalogueIndex(CompactCatalogue catalogue,
+                           int[] all,
+                           int[] local,
+                           int[] regional,
+                           int[] global,
+                           Map<String, int[]> byCountry,
+                           Map<String, int[]> byRegion,
+                           Map<String, Integer> byName,
+                           List<String> regions) {
+        this.catalogue = catalogue;
+        this.all = all;
+        this.local = local;
+        this.regional = regional;
+        this.global = global;
+        this.byCountry = byCountry;
+        this.byRegion = byRegion;
+        this.byName = byName;
+        this.regions = regions;
+        this.sortedViews = new WeightedLruCache<>(
+                Math.max(MIN_VIEW_BUDGET, (long) VIEW_BUDGET_FACTOR * all.length), ids -> ids.length);
+    }
+
+    public static CatalogueIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compact the bundles and index them
+     */
+    public static CatalogueIndex build(List<ListBundlesResponse.BundleDto> bundles) {
+        return build(CompactCatalogue.of(bundles));
+    }
+
+    /**
+     * Classify and group all bundles in a single pass
+     */
+    public static CatalogueIndex build(CompactCatalogue catalogue) {
+        IdList local = new IdList();
+        IdList regional = new IdList();
+        IdList global = new IdList();
+        Map<String, IdList> byCountry = new HashMap<>();
+        Map<String, IdList> byRegion = new HashMap<>();
+        Map<String, Integer> byName = new HashMap<>();
+        Set<String> regions = new TreeSet<>();
+
+        int[] all = new int[catalogue.size()];
+        for (int id = 0; id < catalogue.size(); id++) {
+            CompactBundle bundle = catalogue.bundle(id);
+            all[id] = id;
+            if (bundle.name() != null) {
+                byName.putIfAbsent(bundle.name(), id);
+            }
+
+            List<CatalogueCountry> countries = bundle.countries();
+            int countryCount = countries.size();
+            boolean regionalByCount = countryCount >= 2 && countryCount < 50;
+
+            if (isLocal(countries)) {
+                local.add(id);
+            }
+            if (bundle.hasCountries() && (regionalByCount || groupContains(bundle, "regional", "region"))) {
+                regional.add(id);
+            }
+            if (isGlobal(bundle, countries)) {
+                global.add(id);
+            }
+
+            Set<String> bundleRegions = new LinkedHashSet<>();
+            Set<String> bundleIsos = new LinkedHashSet<>();
+            for (CatalogueCountry country : countries) {
+                if (country.iso() != null && !country.iso().isBlank()) {
+                    bundleIsos.add(country.iso().trim().toUpperCase(Locale.ROOT));
+                }
+                if (regionalByCount && country.region() != null && !country.region().trim().isEmpty()) {
+                    bundleRegions.add(normalizeRegionName(country.region()));
+                }
+            }
+            for (String iso : bundleIsos) {
+                byCountry.computeIfAbsent(iso, k -> new IdList()).add(id);
+            }
+            for (String region : bundleRegions) {
+                regions.add(region);
+                byRegion.computeIfAbsent(regionKey(region), k -> new IdList()).add(id);
+            }
+        }
+
+        return new CatalogueIndex(
+                catalogue,
+                all,
+                local.toArray(),
+                regional.toArray(),
+                global.toArray(),
+                freeze(catalogue, byCountry, BundleSort.DEFAULT),
+                freeze(catalogue, byRegion, null),
+                Map.copyOf(byName),
+                List.copyOf(regions));
+    }
+
+    public int size() {
+        return all.length;
+    }
+
+    /**
+     * The compact bundles this index was built over
+     */
+    public CompactCatalogue catalogue() {
+        return catalogue;
+    }
+
+    public List<ListBundlesResponse.BundleDto> all() {
+        return catalogue.all();
+    }
+
+    public List<ListBundlesResponse.BundleDto> local() {
+        return catalogue.view(local);
+    }
+
+    /**
+     * Regional bundles; falls back to the full catalogue when nothing qualifies so the frontend can
+     * still group by region.
+     */
+    public List<ListBundlesResponse.BundleDto> regional() {
+        return catalogue.view(regionalIds());
+    }
+
+    public List<ListBundlesResponse.BundleDto> global() {
+        return catalogue.view(global);
+    }
+
+    public List<ListBundlesResponse.BundleDto> ofType(Type type) {
+        return catalogue.view(idsOfType(type));
+    }
+
+    /**
+     * All bundles covering the given country ISO code (case-insensitive), sorted by name
+     */
+    public List<ListBundlesResponse.BundleDto> byCountry(String countryIso) {
+        return catalogue.view(countryIds(countryIso));
+    }
+
+    /**
+     * Regional (2-49 country) bundles with at least one country in the given region
+     */
+    public List<ListBundlesResponse.BundleDto> byRegion(String regionName) {
+        if (regionName == null) {
+            return List.of();
+        }
+        return catalogue.view(byRegion.getOrDefault(regionKey(normalizeRegionName(regionName)), NO_IDS));
+    }
+
+    /**
+     * The bundle with the given (exact) name, if it is part of the catalogue
+     */
+    public Optional<ListBundlesResponse.BundleDto> byName(String bundleName) {
+        Integer id = bundleName != null ? byName.get(bundleName) : null;
+        return id != null ? Optional.of(catalogue.toDto(id)) : Optional.empty();
+    }
+
+    /**
+     * Distinct, sorted region names of all regional bundles
+     */
+    public List<String> regions() {
+        return regions;
+    }
+
+    public List<ListBundlesResponse.BundleDto> sorted(Type type, BundleSort sort) {
+        return catalogue.view(sortedView("type:" + type.name(), idsOfType(type), sort));
+    }
+    
+    /**
+     * Bundles covering the given country, in the given sort order. Country lists are stored
+     * pre-sorted by the default order; other orders are sorted once per snapshot and memoized.
+     */
+    public List<ListBundlesResponse.BundleDto> sortedByCountry(String countryIso, BundleSort sort) {
+        int[] ids = countryIds(countryIso);
+        if (sort == null || BundleSort.DEFAULT.key().equals(sort.key())) {
+            return catalogue.view(ids);
+        }
+        return catalogue.view(sortedView("country:" + countryIso.trim().toUpperCase(Locale.ROOT), ids, sort));
+    }
+
+    private int[] idsOfType(Type type) {
+        return switch (type) {
+            case LOCAL -> local;
+            case REGIONAL -> regionalIds();
+            case GLOBAL -> global;
+            case ALL -> all;
+        };
+    }
+
+    private int[] regionalIds() {
+        return regional.length == 0 ? all : regional;
+    }
+
+    private int[] countryIds(String countryIso) {
+        if (countryIso == null) {
+            return NO_IDS;
+        }
+        return byCountry.getOrDefault(countryIso.trim().toUpperCase(Locale.ROOT), NO_IDS);
+    }
+
+    private int[] sortedView(String viewKey, int[] source, BundleSort sort) {
+        if (source.length < 2) {
+            return source;
+        }
+        BundleSort effectiveSort = sort != null ? sort : BundleSort.DEFAULT;
+        return sortedViews.get(viewKey + "|" + effectiveSort.key(), k -> sortIds(catalogue, source, effectiveSort));
+    }
+
+    private static int[] sortIds(CompactCatalogue catalogue, int[] ids, BundleSort sort) {
+        Comparator<CompactBundle> comparator = sort.compactComparator();
+        return Arrays.stream(ids).boxed()
+                .sorted((a, b) -> comparator.compare(catalogue.bundle(a), catalogue.bundle(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Normalize region names to standard format
+     */
+    static String normalizeRegionName(String region) {
+        if (region == null) return "";
+        String normalized = region.trim();
+        // Map common variations to standard names
+        if (normalized.equalsIgnoreCase("Middle East")) return "Middle East";
+        if (normalized.equalsIgnoreCase("North America")) return "North America";
+        if (normalized.equalsIgnoreCase("South America")) return "South America";
+        if (normalized.equalsIgnoreCase("Oceania")) return "Oceania";
+        if (normalized.equalsIgnoreCase("Africa")) return "Africa";
+        if (normalized.equalsIgnoreCase("Asia")) return "Asia";
+        if (normalized.equalsIgnoreCase("Europe")) return "Europe";
+        return normalized;
+    }
+
+    private static String regionKey(String normalizedRegion) {
+        return normalizedRegion.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A bundle is "local" if it covers exactly one real country (not a region name in the ISO field)
+     */
+    private static boolean isLocal(List<CatalogueCountry> countries) {
+        if (countries.size() != 1) {
+            return false;
+        }
+        String iso = countries.get(0).iso();
+        if (iso == null) {
+            return false;
+        }
+        iso = iso.trim();
+        if (iso.length() < 2 || iso.length() > 6 || REGION_NAMES.contains(iso)) {
+            return false;
+        }
+        return COUNTRY_ISO.matcher(iso).matches();
+    }
+
+    /**
+     * Global bundles are identified by a global-looking first country name/ISO, 80+ countries,
+     * roaming enabled, or a global / long-duration group
+     */
+    private static boolean isGlobal(CompactBundle bundle, List<CatalogueCountry> countries) {
+        if (countries.isEmpty()) {
+            return false;
+        }
+        CatalogueCountry first = countries.get(0);
+        String firstCountryName = first.name();
+        String firstCountryIso = first.iso();
+
+        boolean isGlobalByName = firstCountryName != null && (
+                firstCountryName.contains("Global") ||
+                firstCountryName.contains("Europe + USA") ||
+                firstCountryName.equalsIgnoreCase("Asia") ||
+                firstCountryName.equalsIgnoreCase("Oceania") ||
+                firstCountryName.equalsIgnoreCase("North America") ||
+                firstCountryName.equalsIgnoreCase("Middle East") ||
+                firstCountryName.equalsIgnoreCase("CENAM") ||
+                firstCountryName.equalsIgnoreCase("CIS") ||
+                firstCountryName.equalsIgnoreCase("Europe Lite") ||
+                firstCountryName.equalsIgnoreCase("Europe+")
+        );
+
+        boolean isGlobalByIso = firstCountryIso != null && (
+                firstCountryIso.equalsIgnoreCase("Global - Light") ||
+                firstCountryIso.equalsIgnoreCase("Global") ||
+                firstCountryIso.equalsIgnoreCase("Europe + USA") ||
+                firstCountryIso.equalsIgnoreCase("Asia") ||
+                firstCountryIso.equalsIgnoreCase("Oceania")
+        );
+
+        return isGlobalByName
+                || isGlobalByIso
+                || countries.size() >= 80
+                || bundle.isRoamingEnabled()
+                || groupContains(bundle, "global", "long duration", "worldwide", "world");
+    }
+
+    private static boolean groupContains(CompactBundle bundle, String... keywords) {
+        if (bundle.group() == null) {
+            return false;
+        }
+        for (String group : bundle.group()) {
+            if (group == null) {
+                continue;
+            }
+            String groupLower = group.toLowerCase(Locale.ROOT);
+            for (String keyword : keywords) {
+                if (groupLower.contains(keyword)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, int[]> freeze(CompactCatalogue catalogue, Map<String, IdList> source, BundleSort presort) {
+        Map<String, int[]> frozen = new HashMap<>(source.size() * 2);
+        source.forEach((key, ids) -> frozen.put(key,
+                presort != null ? sortIds(catalogue, ids.toArray(), presort) : ids.toArray()));
+        return Map.copyOf(frozen);
+    }
+
+    /**
+     * Growable list of bundle ids used while building
+     */
+    private static final class IdList {
+        private int[] ids = new int[8];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
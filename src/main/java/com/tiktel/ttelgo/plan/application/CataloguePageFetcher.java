@@ -0,0 +1,225 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.tiktel.ttelgo.integration.esimgo.dto.CataloguePage;
+import com.tiktel.ttelgo.plan.application.port.EsimGoPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the complete eSIMGo catalogue by fanning out page requests in parallel.
+ *
+ * The first page is fetched on its own to learn the page count (from {@code pageCount}/{@code rows}
+ * when eSIMGo returns them). Remaining pages are then requested concurrently on a bounded pool and
+ * reassembled in page order. When the total is unknown, pages are fetched in waves of
+ * {@code fetch-concurrency} until a short or empty page marks the end of the catalogue.
+ * Each page is retried individually before the load is reported as incomplete.
+ *
+ * Pages are streamed from the response body straight into a {@link CompactCatalogue.Builder}, so no
+ * per-page response object graph is built; each attempt fills a fresh page, and only pages that loaded
+ * completely are assembled into the catalogue.
+ */
+@Slf4j
+@Component
+public class CataloguePageFetcher {
+    
+    private static final int MAX_PAGES = 1000; // Safety limit to prevent infinite loops
+    
+    private final EsimGoPort esimGoPort;
+    private final int concurrency;
+    private final int pageRetries;
+    private final long retryBackoffMs;
+    private final ExecutorService pagePool;
+    
+    @Autowired
+    public CataloguePageFetcher(EsimGoPort esimGoPort,
+                                @Value("${esimgo.catalogue.fetch-concurrency:4}") int concurrency,
+                                @Value("${esimgo.catalogue.page-retries:2}") int pageRetries,
+                                @Value("${esimgo.catalogue.retry-backoff-ms:250}") long retryBackoffMs) {
+        this.esimGoPort = esimGoPort;
+        this.concurrency = Math.max(1, concurrency);
+        this.pageRetries = Math.max(0, pageRetries);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pagePool = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "catalogue-fetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Result of paging through the upstream catalogue
+     * @param catalogue all bundles, in upstream page order
+     * @param complete false if a page could not be loaded and the catalogue may be partial
+     * @param pages number of pages that were requested
+     */
+    public record CatalogueFetch(CompactCatalogue catalogue, boolean complete, int pages) {
+    }
+    
+    /**
+     * One completely loaded page
+     */
+    private record FetchedPage(CompactCatalogue.Builder.Page bundles, CataloguePage info) {
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pagePool.shutdownNow();
+    }
+    
+    /**
+     * Fetch every catalogue page of the given size
+     */
+    public CatalogueFetch fetchAll(int perPage) {
+        long start = System.nanoTime();
+        CompactCatalogue.Builder builder = CompactCatalogue.builder();
+        List<CompactCatalogue.Builder.Page> pages = new ArrayList<>();
+        
+        FetchedPage first = fetchPage(builder, 1, perPage);
+        if (first == null) {
+            return new CatalogueFetch(builder.build(pages), false, 1);
+        }
+        if (!addPage(pages, first)) {
+            return new CatalogueFetch(builder.build(pages), true, 1);
+        }
+        
+        int requested = 1;
+        boolean complete = true;
+        boolean hasMore = isFull(first, perPage);
+        int knownPages = Math.min(totalPages(first, perPage), MAX_PAGES);
+        
+        // Known page count: request all remaining pages at once (the pool bounds concurrency)
+        if (hasMore && knownPages > 1) {
+            List<CompletableFuture<FetchedPage>> remaining = new ArrayList<>();
+            for (int page = 2; page <= knownPages; page++) {
+                remaining.add(submit(builder, page, perPage));
+            }
+            requested = knownPages;
+            for (CompletableFuture<FetchedPage> future : remaining) {
+                FetchedPage response = future.join();
+                if (response == null) {
+                    complete = false;
+                    hasMore = false;
+                    break;
+                }
+                hasMore = addPage(pages, response) && isFull(response, perPage);
+                if (!hasMore) {
+                    break;
+                }
+            }
+            // Trust the reported page count; a full last page is simply an exact multiple of perPage
+            hasMore = false;
+        }
+        
+        // Unknown page count: speculative waves until a short or empty page is seen
+        while (hasMore && requested < MAX_PAGES) {
+            int firstPage = requested + 1;
+            int lastPage = Math.min(requested + concurrency, MAX_PAGES);
+            List<CompletableFuture<FetchedPage>> wave = new ArrayList<>();
+            for (int page = firstPage; page <= lastPage; page++) {
+                wave.add(submit(builder, page, perPage));
+            }
+            requested = lastPage;
+            for (CompletableFuture<FetchedPage> future : wave) {
+                FetchedPage response = future.join();
+                if (response == null) {
+                    complete = false;
+                    hasMore = false;
+                    break;
+                }
+                hasMore = addPage(pages, response) && isFull(response, perPage);
+                if (!hasMore) {
+                    break;
+                }
+            }
+        }
+        
+        if (hasMore && requested >= MAX_PAGES) {
+            log.warn("Reached maximum page limit ({}), stopping pagination", MAX_PAGES);
+        }
+        
+        CompactCatalogue catalogue = builder.build(pages);
+        log.info("Fetched {} bundles across {} catalogue pages in {} ms (concurrency {}, complete={})",
+                catalogue.size(), requested, (System.nanoTime() - start) / 1_000_000, concurrency, complete);
+        return new CatalogueFetch(catalogue, complete, requested);
+    }
+    
+    private CompletableFuture<FetchedPage> submit(CompactCatalogue.Builder builder, int page, int perPage) {
+        return CompletableFuture.supplyAsync(() -> fetchPage(builder, page, perPage), pagePool);
+    }
+    
+    /**
+     * Fetch one page with retries; null if it still fails after the last attempt
+     */
+    private FetchedPage fetchPage(CompactCatalogue.Builder builder, int page, int perPage) {
+        for (int attempt = 0; attempt <= pageRetries; attempt++) {
+            if (attempt > 0) {
+                log.warn("Retrying catalogue page {} (attempt {}/{})", page, attempt + 1, pageRetries + 1);
+                if (!sleep(retryBackoffMs * attempt)) {
+                    return null;
+                }
+            }
+            try {
+                // A fresh page per attempt: bundles streamed before a failure are discarded with it
+                CompactCatalogue.Builder.Page bundles = builder.page();
+                CataloguePage response = esimGoPort.streamCatalogue(page, perPage, bundles::add);
+                if (response != null) {
+                    return new FetchedPage(bundles, response);
+                }
+                log.warn("Received no complete response from eSIMGo API at page {}", page);
+            } catch (Exception e) {
+                log.error("Exception calling eSIMGo API at page {}: {}", page, e.getMessage(), e);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Append a page's bundles; false if the page was empty
+     */
+    private boolean addPage(List<CompactCatalogue.Builder.Page> pages, FetchedPage response) {
+        if (response.bundles().size() == 0) {
+            return false;
+        }
+        pages.add(response.bundles());
+        return true;
+    }
+    
+    private boolean isFull(FetchedPage response, int perPage) {
+        return response.info().bundleCount() >= perPage;
+    }
+    
+    /**
+     * Total number of pages as reported by eSIMGo, or 0 if unknown
+     */
+    private int totalPages(FetchedPage first, int perPage) {
+        CataloguePage info = first.info();
+        if (info.pageCount() != null && info.pageCount() > 0) {
+            return info.pageCount();
+        }
+        if (info.rows() != null && info.rows() > 0) {
+            return (info.rows() + perPage - 1) / perPage;
+        }
+        return 0;
+    }
+    
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
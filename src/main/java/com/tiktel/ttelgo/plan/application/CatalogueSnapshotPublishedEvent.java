@@ -0,0 +1,9 @@
+package com.tiktel.ttelgo.plan.application;
+
+/**
+ * Published whenever a new catalogue snapshot starts being served on this node
+ * @param tag identifies the snapshot (see {@link PlanService#catalogueTag()})
+ * @param bundleCount number of bundles in the snapshot
+ */
+public record CatalogueSnapshotPublishedEvent(String tag, int bundleCount) {
+}
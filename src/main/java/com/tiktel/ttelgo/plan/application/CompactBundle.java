@@ -0,0 +1,173 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Memory-compact, immutable form of a catalogue bundle.
+ *
+ * Strings and string lists are shared across the catalogue, numeric fields are primitives with presence
+ * flags, and the covered countries are a bitset over the catalogue's shared {@link CatalogueCountry} table.
+ * The upstream country order is kept separately only for the rare bundles where it differs from the
+ * table order (or lists a country twice).
+ */
+public final class CompactBundle {
+
+    static final int HAS_DATA_AMOUNT = 1;
+    static final int HAS_DURATION = 1 << 1;
+    static final int HAS_PRICE = 1 << 2;
+    static final int HAS_AUTOSTART = 1 << 3;
+    static final int AUTOSTART = 1 << 4;
+    static final int HAS_UNLIMITED = 1 << 5;
+    static final int UNLIMITED = 1 << 6;
+    static final int HAS_ROAMING_ENABLED = 1 << 7;
+    static final int ROAMING_ENABLED = 1 << 8;
+
+    private final String name;
+    private final String description;
+    private final String imageUrl;
+    private final String billingType;
+    private final List<String> group;
+    private final List<String> potentialSpeeds;
+    private final int dataAmount;
+    private final int duration;
+    private final double price;
+    private final short flags;
+    private final CatalogueCountry[] countryTable;
+    // null when the bundle has no country list at all (as opposed to an empty one)
+    private final long[] countryBits;
+    // Upstream order as country ids; null when it is the table order
+    private final char[] countryOrder;
+
+    CompactBundle(String name, String description, String imageUrl, String billingType,
+                  List<String> group, List<String> potentialSpeeds,
+                  int dataAmount, int duration, double price, int flags,
+                  CatalogueCountry[] countryTable, long[] countryBits, char[] countryOrder) {
+        this.name = name;
+        this.description = description;
+        this.imageUrl = imageUrl;
+        this.billingType = billingType;
+        this.group = group;
+        this.potentialSpeeds = potentialSpeeds;
+        this.dataAmount = dataAmount;
+        this.duration = duration;
+        this.price = price;
+        this.flags = (short) flags;
+        this.countryTable = countryTable;
+        this.countryBits = countryBits;
+        this.countryOrder = countryOrder;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public List<String> group() {
+        return group;
+    }
+
+    public boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    public int dataAmount() {
+        return dataAmount;
+    }
+
+    public int duration() {
+        return duration;
+    }
+
+    public double price() {
+        return price;
+    }
+
+    public boolean isRoamingEnabled() {
+        return has(ROAMING_ENABLED);
+    }
+
+    /**
+     * Whether the bundle has a country list (possibly empty)
+     */
+    public boolean hasCountries() {
+        return countryBits != null;
+    }
+
+    public int countryCount() {
+        if (countryOrder != null) {
+            return countryOrder.length;
+        }
+        if (countryBits == null) {
+            return 0;
+        }
+        int count = 0;
+        for (long word : countryBits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Covered countries in upstream order
+     */
+    public List<CatalogueCountry> countries() {
+        if (countryOrder != null) {
+            List<CatalogueCountry> countries = new ArrayList<>(countryOrder.length);
+            for (char id : countryOrder) {
+                countries.add(countryTable[id]);
+            }
+            return countries;
+        }
+        if (countryBits == null) {
+            return List.of();
+        }
+        List<CatalogueCountry> countries = new ArrayList<>();
+        for (int word = 0; word < countryBits.length; word++) {
+            long bits = countryBits[word];
+            while (bits != 0) {
+                countries.add(countryTable[word * 64 + Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+        return countries;
+    }
+
+    public boolean coversCountry(int countryId) {
+        int word = countryId >>> 6;
+        return countryBits != null && word < countryBits.length && (countryBits[word] & (1L << countryId)) != 0;
+    }
+
+    /**
+     * Fresh DTO for the serialization edge; callers may modify it without affecting the catalogue
+     */
+    ListBundlesResponse.BundleDto toDto() {
+        ListBundlesResponse.BundleDto dto = new ListBundlesResponse.BundleDto();
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setImageUrl(imageUrl);
+        dto.setBillingType(billingType);
+        dto.setGroup(group);
+        dto.setPotentialSpeeds(potentialSpeeds);
+        dto.setDataAmount(has(HAS_DATA_AMOUNT) ? dataAmount : null);
+        dto.setDuration(has(HAS_DURATION) ? duration : null);
+        dto.setPrice(has(HAS_PRICE) ? price : null);
+        dto.setAutostart(has(HAS_AUTOSTART) ? has(AUTOSTART) : null);
+        dto.setUnlimited(has(HAS_UNLIMITED) ? has(UNLIMITED) : null);
+        dto.setRoamingEnabled(has(HAS_ROAMING_ENABLED) ? has(ROAMING_ENABLED) : null);
+        if (countryBits != null) {
+            List<CatalogueCountry> countries = countries();
+            List<ListBundlesResponse.CountryDto> countryDtos = new ArrayList<>(countries.size());
+            for (CatalogueCountry country : countries) {
+                countryDtos.add(country.toDto());
+            }
+            dto.setCountries(countryDtos);
+        }
+        return dto;
+    }
+}
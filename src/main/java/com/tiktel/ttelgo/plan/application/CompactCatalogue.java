@@ -0,0 +1,362 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The bundles of one catalogue snapshot in compact form (see {@link CompactBundle}).
+ *
+ * Upstream responses repeat the same ~200 countries, regions, groups and speed lists across thousands of
+ * bundles, each as freshly allocated strings and DTOs. Here every distinct country exists once, every
+ * repeated string / string list is shared, and DTOs are only created at the serialization edge through
+ * the read-only list views returned by {@link #view(int[])}.
+ */
+public final class CompactCatalogue {
+
+    private static final CompactCatalogue EMPTY = of(List.of());
+
+    private final CatalogueCountry[] countries;
+    private final CompactBundle[] bundles;
+    private final List<ListBundlesResponse.BundleDto> all;
+
+    private CompactCatalogue(CatalogueCountry[] countries, CompactBundle[] bundles) {
+        this.countries = countries;
+        this.bundles = bundles;
+        this.all = new BundleView(this, null);
+    }
+
+    public static CompactCatalogue empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compact copy of the given bundles (null entries are skipped)
+     */
+    public static CompactCatalogue of(List<ListBundlesResponse.BundleDto> source) {
+        Builder builder = builder();
+        Builder.Page page = builder.page();
+        if (source != null) {
+            for (ListBundlesResponse.BundleDto dto : source) {
+                if (dto != null) {
+                    page.add(dto);
+                }
+            }
+        }
+        return builder.build(List.of(page));
+    }
+
+    /**
+     * Builder for catalogues assembled page by page, e.g. straight from the upstream response stream
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return bundles.length;
+    }
+
+    public int countryCount() {
+        return countries.length;
+    }
+
+    public CompactBundle bundle(int id) {
+        return bundles[id];
+    }
+
+    /**
+     * All bundles, in upstream order, as a read-only DTO view
+     */
+    public List<ListBundlesResponse.BundleDto> all() {
+        return all;
+    }
+
+    /**
+     * The given bundles, in the given order, as a read-only DTO view. Each {@code get} materializes a new DTO.
+     */
+    public List<ListBundlesResponse.BundleDto> view(int[] ids) {
+        return ids.length == 0 ? List.of() : new BundleView(this, ids);
+    }
+
+    public ListBundlesResponse.BundleDto toDto(int id) {
+        return bundles[id].toDto();
+    }
+
+    private record CountryKey(String name, String region, String iso) {
+    }
+
+    private static final class BundleView extends AbstractList<ListBundlesResponse.BundleDto> implements RandomAccess {
+        private final CompactCatalogue catalogue;
+        private final int[] ids;
+
+        BundleView(CompactCatalogue catalogue, int[] ids) {
+            this.catalogue = catalogue;
+            this.ids = ids;
+        }
+
+        @Override
+        public ListBundlesResponse.BundleDto get(int index) {
+            if (ids == null) {
+                return catalogue.toDto(index);
+            }
+            return catalogue.toDto(ids[index]);
+        }
+
+        @Override
+        public int size() {
+            return ids == null ? catalogue.bundles.length : ids.length;
+        }
+    }
+
+    /**
+     * Assembles a catalogue from pages of bundles.
+     *
+     * Pages may be filled concurrently (one thread per page); repeated strings, string lists and countries
+     * are shared across all of them as bundles are added, so a page only retains what is new to the
+     * catalogue. Countries get their final, sorted numbering in {@link #build}, once all are known.
+     */
+    public static final class Builder {
+        private static final long[] NO_COUNTRIES = new long[0];
+
+        private final Map<String, String> strings = new ConcurrentHashMap<>();
+        private final Map<List<String>, List<String>> stringLists = new ConcurrentHashMap<>();
+        private final Map<CountryKey, Integer> countryIds = new ConcurrentHashMap<>();
+        private final AtomicInteger nextCountryId = new AtomicInteger();
+
+        private Builder() {
+        }
+
+        /**
+         * A new, empty page; a page is filled by one thread at a time
+         */
+        public Page page() {
+            return new Page();
+        }
+
+        /**
+         * The catalogue made of the given pages, in order. Pages not passed here (e.g. failed attempts) are dropped.
+         */
+        public CompactCatalogue build(List<Page> pages) {
+            // Number only the countries actually referenced, in a stable (name, ISO) order so that
+            // the common alphabetical country lists can be rebuilt from the bitset alone
+            boolean[] referenced = new boolean[nextCountryId.get()];
+            int total = 0;
+            for (Page page : pages) {
+                total += page.bundles.size();
+                for (PendingBundle bundle : page.bundles) {
+                    if (bundle.countries != null) {
+                        for (int id : bundle.countries) {
+                            referenced[id] = true;
+                        }
+                    }
+                }
+            }
+            List<CountryKey> ordered = new ArrayList<>();
+            int[] keyIds = new int[referenced.length];
+            CountryKey[] keys = new CountryKey[referenced.length];
+            countryIds.forEach((key, id) -> keys[id] = key);
+            for (int id = 0; id < keys.length; id++) {
+                if (referenced[id]) {
+                    ordered.add(keys[id]);
+                }
+            }
+            ordered.sort(Comparator.comparing((CountryKey k) -> k.name() != null ? k.name() : "", String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(k -> k.iso() != null ? k.iso() : "")
+                    .thenComparing(k -> k.region() != null ? k.region() : ""));
+            CatalogueCountry[] countries = new CatalogueCountry[ordered.size()];
+            for (int id = 0; id < countries.length; id++) {
+                CountryKey key = ordered.get(id);
+                countries[id] = new CatalogueCountry(id, key.name(), key.region(), key.iso());
+                keyIds[countryIds.get(key)] = id;
+            }
+
+            CompactBundle[] bundles = new CompactBundle[total];
+            int next = 0;
+            for (Page page : pages) {
+                for (PendingBundle bundle : page.bundles) {
+                    bundles[next++] = bundle.compact(countries, keyIds);
+                }
+            }
+            return new CompactCatalogue(countries, bundles);
+        }
+
+        private String string(String value) {
+            if (value == null) {
+                return null;
+            }
+            String shared = strings.putIfAbsent(value, value);
+            return shared != null ? shared : value;
+        }
+
+        private List<String> stringList(List<String> values) {
+            if (values == null) {
+                return null;
+            }
+            List<String> shared = new ArrayList<>(values.size());
+            for (String value : values) {
+                shared.add(string(value));
+            }
+            // List.copyOf rejects nulls; keep such (unusual) lists as read-only copies instead
+            List<String> frozen = shared.contains(null)
+                    ? Collections.unmodifiableList(shared)
+                    : List.copyOf(shared);
+            List<String> existing = stringLists.putIfAbsent(frozen, frozen);
+            return existing != null ? existing : frozen;
+        }
+
+        private int countryId(String name, String region, String iso) {
+            Integer id = countryIds.get(new CountryKey(name, region, iso));
+            if (id != null) {
+                return id;
+            }
+            return countryIds.computeIfAbsent(new CountryKey(string(name), string(region), string(iso)),
+                    key -> nextCountryId.getAndIncrement());
+        }
+
+        /**
+         * Bundles of one page, with countries referenced by their provisional (first seen) id
+         */
+        public final class Page {
+            private final List<PendingBundle> bundles = new ArrayList<>();
+
+            private Page() {
+            }
+
+            public int size() {
+                return bundles.size();
+            }
+
+            /**
+             * Add an upstream bundle, normalized as the catalogue has always been (missing autostart / unlimited
+             * read as false, a missing country list as an empty one). Only copies of its values are kept.
+             */
+            public void add(BundleResponse.Bundle bundle) {
+                int[] countries = new int[bundle.getCountries() != null ? bundle.getCountries().size() : 0];
+                int count = 0;
+                if (bundle.getCountries() != null) {
+                    for (BundleResponse.Country country : bundle.getCountries()) {
+                        if (country != null) {
+                            countries[count++] = countryId(country.getName(), country.getRegion(), country.getIso());
+                        }
+                    }
+                }
+                bundles.add(new PendingBundle(
+                        string(bundle.getName()),
+                        string(bundle.getDescription()),
+                        string(bundle.getImageUrl()),
+                        string(bundle.getBillingType()),
+                        stringList(bundle.getGroup()),
+                        stringList(bundle.getPotentialSpeeds()),
+                        bundle.getDataAmount(),
+                        bundle.getDuration(),
+                        bundle.getPrice(),
+                        bundle.getAutostart() != null ? bundle.getAutostart() : Boolean.FALSE,
+                        bundle.getUnlimited() != null ? bundle.getUnlimited() : Boolean.FALSE,
+                        bundle.getRoamingEnabled(),
+                        count == countries.length ? countries : Arrays.copyOf(countries, count)));
+            }
+
+            public void add(ListBundlesResponse.BundleDto dto) {
+                int[] countries = null;
+                if (dto.getCountries() != null) {
+                    countries = new int[dto.getCountries().size()];
+                    int count = 0;
+                    for (ListBundlesResponse.CountryDto country : dto.getCountries()) {
+                        if (country != null) {
+                            countries[count++] = countryId(country.getName(), country.getRegion(), country.getIso());
+                        }
+                    }
+                    countries = count == countries.length ? countries : Arrays.copyOf(countries, count);
+                }
+                bundles.add(new PendingBundle(
+                        string(dto.getName()),
+                        string(dto.getDescription()),
+                        string(dto.getImageUrl()),
+                        string(dto.getBillingType()),
+                        stringList(dto.getGroup()),
+                        stringList(dto.getPotentialSpeeds()),
+                        dto.getDataAmount(),
+                        dto.getDuration(),
+                        dto.getPrice(),
+                        dto.getAutostart(),
+                        dto.getUnlimited(),
+                        dto.getRoamingEnabled(),
+                        countries));
+            }
+        }
+
+        private record PendingBundle(String name, String description, String imageUrl, String billingType,
+                                     List<String> group, List<String> potentialSpeeds,
+                                     Integer dataAmount, Integer duration, Double price,
+                                     Boolean autostart, Boolean unlimited, Boolean roamingEnabled,
+                                     int[] countries) {
+
+            CompactBundle compact(CatalogueCountry[] table, int[] tableIds) {
+                int flags = 0;
+                if (dataAmount != null) flags |= CompactBundle.HAS_DATA_AMOUNT;
+                if (duration != null) flags |= CompactBundle.HAS_DURATION;
+                if (price != null) flags |= CompactBundle.HAS_PRICE;
+                flags |= flag(autostart, CompactBundle.HAS_AUTOSTART, CompactBundle.AUTOSTART);
+                flags |= flag(unlimited, CompactBundle.HAS_UNLIMITED, CompactBundle.UNLIMITED);
+                flags |= flag(roamingEnabled, CompactBundle.HAS_ROAMING_ENABLED, CompactBundle.ROAMING_ENABLED);
+
+                long[] countryBits = null;
+                char[] countryOrder = null;
+                if (countries != null) {
+                    countryBits = new long[(table.length + 63) / 64];
+                    char[] order = new char[countries.length];
+                    boolean tableOrder = true;
+                    for (int i = 0; i < countries.length; i++) {
+                        int id = tableIds[countries[i]];
+                        tableOrder &= i == 0 || id > order[i - 1];
+                        order[i] = (char) id;
+                        countryBits[id >>> 6] |= 1L << id;
+                    }
+                    if (!tableOrder) {
+                        countryOrder = order;
+                    }
+                    countryBits = trim(countryBits);
+                }
+
+                return new CompactBundle(name, description, imageUrl, billingType, group, potentialSpeeds,
+                        Objects.requireNonNullElse(dataAmount, 0),
+                        Objects.requireNonNullElse(duration, 0),
+                        Objects.requireNonNullElse(price, 0d),
+                        flags, table, countryBits, countryOrder);
+            }
+        }
+
+        private static int flag(Boolean value, int present, int set) {
+            if (value == null) {
+                return 0;
+            }
+            return value ? present | set : present;
+        }
+
+        /**
+         * Drop trailing zero words, so bundles covering only countries early in the table need fewer words
+         */
+        private static long[] trim(long[] bits) {
+            int length = bits.length;
+            while (length > 0 && bits[length - 1] == 0) {
+                length--;
+            }
+            if (length == 0) {
+                return NO_COUNTRIES;
+            }
+            return length == bits.length ? bits : Arrays.copyOf(bits, length);
+        }
+    }
+}
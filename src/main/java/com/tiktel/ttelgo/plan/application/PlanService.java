@@ -1,14 +1,25 @@
 package com.tiktel.ttelgo.plan.application;
 
 import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.plan.application.port.CatalogueMetricsPort;
+import com.tiktel.ttelgo.plan.application.port.CatalogueSharedStorePort;
+import com.tiktel.ttelgo.plan.application.port.CatalogueSnapshotStorePort;
 import com.tiktel.ttelgo.plan.application.port.EsimGoPort;
 import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -16,33 +27,130 @@ import java.util.stream.Collectors;
 public class PlanService {
     
     private final EsimGoPort esimGoPort;
+    private final CataloguePageFetcher pageFetcher;
+    private final CatalogueMetricsPort catalogueMetrics;
+    private final CatalogueSnapshotStorePort snapshotStore;
+    private final CatalogueSharedStorePort sharedStore;
+    private final Executor refreshExecutor;
+    private final ApplicationEventPublisher eventPublisher;
     
-    // In-memory cache for all bundles (TTL: 1 hour)
-    private static final long CACHE_TTL_MS = 60 * 60 * 1000; // 1 hour
+    // In-memory (L1) snapshot of all bundles. Served until replaced; refreshed in the background
+    // (see CatalogueRefreshJob) before it becomes older than the TTL. When the shared (L2) store is
+    // enabled, only the node holding the refresh lease loads from eSIMGo and the others adopt its snapshot.
+    private static final int CATALOGUE_PAGE_SIZE = 500;
+    private static final int SEARCH_FALLBACK_PAGE_SIZE = 100;
+    private static final long SHARED_SNAPSHOT_WAIT_MS = 30_000;
+    private static final long SHARED_SNAPSHOT_POLL_MS = 500;
+    private final long cacheTtlMs;
+    private final long refreshIntervalMs;
     private volatile CachedBundles cachedAllBundles = null;
+    private final Object snapshotLock = new Object();
+    // Single-flight guard: concurrent loaders join the refresh that is already running
+    private final AtomicReference<CompletableFuture<CachedBundles>> inFlightRefresh = new AtomicReference<>();
     
     @Autowired
-    public PlanService(EsimGoPort esimGoPort) {
+    public PlanService(EsimGoPort esimGoPort,
+                       CataloguePageFetcher pageFetcher,
+                       CatalogueMetricsPort catalogueMetrics,
+                       CatalogueSnapshotStorePort snapshotStore,
+                       CatalogueSharedStorePort sharedStore,
+                       @Qualifier("applicationTaskExecutor") Executor refreshExecutor,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${app.cache.plans-ttl:3600}") long plansTtlSeconds,
+                       @Value("${app.cache.catalogue-refresh-interval:2700000}") long refreshIntervalMs) {
         this.esimGoPort = esimGoPort;
+        this.pageFetcher = pageFetcher;
+        this.catalogueMetrics = catalogueMetrics;
+        this.snapshotStore = snapshotStore;
+        this.sharedStore = sharedStore;
+        this.refreshExecutor = refreshExecutor;
+        this.eventPublisher = eventPublisher;
+        this.cacheTtlMs = plansTtlSeconds * 1000;
+        this.refreshIntervalMs = refreshIntervalMs;
     }
     
     /**
-     * Simple cache wrapper for bundles
+     * Immutable catalogue snapshot: the bundles plus the indexes built from them.
+     * {@code version} is the shared-store version it was published as, or 0 for a node-local snapshot.
      */
     private static class CachedBundles {
         final ListBundlesResponse bundles;
+        final CatalogueIndex index;
+        final BundleSearchIndex search;
         final long timestamp;
+        final long version;
         
-        CachedBundles(ListBundlesResponse bundles) {
-            this.bundles = bundles;
-            this.timestamp = System.currentTimeMillis();
+        CachedBundles(ListBundlesResponse bundles, long timestamp, long version) {
+            this(CompactCatalogue.of(bundles.getBundles()), timestamp, version);
         }
         
-        boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_TTL_MS;
+        CachedBundles(CompactCatalogue catalogue, long timestamp, long version) {
+            // Only the compact form is retained; the DTO list handed out is a read-only view over it
+            this.index = CatalogueIndex.build(catalogue);
+            this.search = BundleSearchIndex.build(catalogue);
+            this.bundles = new ListBundlesResponse();
+            this.bundles.setBundles(index.all());
+            this.timestamp = timestamp;
+            this.version = version;
+        }
+        
+        boolean isExpired(long ttlMs) {
+            return System.currentTimeMillis() - timestamp > ttlMs;
+        }
+        
+        String tag() {
+            return version > 0 ? "v" + version : "t" + Long.toString(timestamp, 36);
+        }
+    }
+    
+    /**
+     * Serve the last persisted catalogue right away after a restart, then switch to the cluster's shared
+     * snapshot (if newer) in the background and subscribe to snapshots published by other nodes.
+     * The scheduled refresh replaces it shortly after (or on first access once it is past the TTL).
+     */
+    @PostConstruct
+    public void restoreCatalogueSnapshot() {
+        try {
+            snapshotStore.load().ifPresent(stored -> {
+                if (stored.bundles().isEmpty()) {
+                    return;
+                }
+                CachedBundles snapshot = new CachedBundles(wrap(stored.bundles()), stored.loadedAtMillis(), 0);
+                if (swapIn(snapshot)) {
+                    log.info("Restored catalogue snapshot with {} bundles from disk (loaded {} s ago)",
+                            snapshot.index.size(), (System.currentTimeMillis() - snapshot.timestamp) / 1000);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Could not restore catalogue snapshot from disk: {}", e.getMessage(), e);
+        }
+        if (!sharedStore.isEnabled()) {
+            return;
+        }
+        try {
+            sharedStore.onSnapshotPublished(this::onSharedSnapshotPublished);
+            refreshExecutor.execute(this::adoptSharedSnapshot);
+        } catch (Exception e) {
+            log.warn("Could not subscribe to shared catalogue snapshots: {}", e.getMessage(), e);
         }
     }
     
+    /**
+     * Identifies the catalogue snapshot currently served (its shared version, or its load time for a
+     * node-local snapshot), e.g. for ETags. {@code null} while no snapshot is available.
+     */
+    public String catalogueTag() {
+        CachedBundles snapshot = cachedAllBundles;
+        return snapshot != null ? snapshot.tag() : null;
+    }
+    
+    /**
+     * Whether a catalogue snapshot (restored from disk or freshly loaded) is available to serve
+     */
+    public boolean hasCatalogueSnapshot() {
+        return cachedAllBundles != null;
+    }
+    
     /**
      * List all bundles - loads ALL bundles using pagination
      */
@@ -75,254 +183,364 @@ public class PlanService {
     }
     
     /**
-     * List bundles by country with pagination
+     * Non-blocking {@link #listAllBundlesPaginated}: the caller's thread is not held while eSIMGo answers
+     */
+    public CompletableFuture<ListBundlesResponse> listAllBundlesPaginatedAsync(Integer page, Integer perPage, String direction, String orderBy, String search) {
+        return esimGoPort.listBundlesAsync(page, perPage, direction, orderBy, search).thenApply(this::mapToResponse);
+    }
+    
+    /**
+     * List bundles by country, sorted by the given upstream-style orderBy/direction.
+     * Served from the country index of the catalogue snapshot (see {@link #listBundlesByCountry(String, BundleSort)}).
      */
     public ListBundlesResponse listBundlesByCountryPaginated(String countryIso, Integer page, Integer perPage, String direction, String orderBy) {
-        // For country-specific, we still use the country filter but add pagination
-        BundleResponse response = esimGoPort.listBundlesByCountry(countryIso);
-        // Note: eSIMGo API may not support pagination with country filter simultaneously
-        // If needed, we can implement client-side pagination here
-        return mapToResponse(response);
+        BundleSort sort = orderBy != null ? BundleSort.parse(orderBy + "," + direction) : BundleSort.DEFAULT;
+        return listBundlesByCountry(countryIso, sort);
+    }
+    
+    public ListBundlesResponse listBundlesByCountry(String countryIso) {
+        return listBundlesByCountry(countryIso, BundleSort.DEFAULT);
     }
     
     /**
-     * Load all plans by making paginated requests until all are loaded
-     * This is used for admin panel to load all plans once for client-side filtering
+     * List bundles covering a country (ISO code), pre-sorted for the given sort.
+     * Served from the country index of the catalogue snapshot, so a country page costs a map lookup
+     * instead of an eSIMGo call. Only falls back to eSIMGo while no snapshot is available.
      */
-    public ListBundlesResponse loadAllPlans() {
-        ListBundlesResponse allPlans = new ListBundlesResponse();
-        allPlans.setBundles(new java.util.ArrayList<>());
-        
-        int page = 1;
-        int perPage = 100; // Load 100 per page to reduce API calls
-        boolean hasMore = true;
-        
-        while (hasMore) {
-            BundleResponse response = esimGoPort.listBundles(page, perPage, "asc", null, null);
-            if (response != null && response.getBundles() != null && !response.getBundles().isEmpty()) {
-                ListBundlesResponse pageResponse = mapToResponse(response);
-                if (pageResponse.getBundles() != null) {
-                    allPlans.getBundles().addAll(pageResponse.getBundles());
-                }
-                
-                // If we got less than perPage, we've reached the end
-                hasMore = response.getBundles().size() == perPage;
-                page++;
-            } else {
-                hasMore = false;
-            }
+    public ListBundlesResponse listBundlesByCountry(String countryIso, BundleSort sort) {
+        CatalogueIndex index = loadCatalogueIndex();
+        if (index.size() == 0) {
+            log.warn("No catalogue snapshot available, fetching bundles for {} from eSIMGo", countryIso);
+            ListBundlesResponse response = mapToResponse(esimGoPort.listBundlesByCountry(countryIso));
+            response.getBundles().sort(sort.comparator());
+            return response;
         }
-        
-        return allPlans;
+        return wrap(index.sortedByCountry(countryIso, sort));
     }
     
-    public ListBundlesResponse listBundlesByCountry(String countryIso) {
-        BundleResponse response = esimGoPort.listBundlesByCountry(countryIso);
-        return mapToResponse(response);
+    /**
+     * Full-text search over bundle names, descriptions, countries, ISO codes and regions, best match first.
+     * Served from the search index of the catalogue snapshot; only while no snapshot is available the query
+     * is forwarded to eSIMGo's description filter.
+     */
+    public ListBundlesResponse searchBundles(String query) {
+        CachedBundles snapshot = currentSnapshot();
+        if (snapshot == null || snapshot.search.size() == 0) {
+            log.warn("No catalogue snapshot available, forwarding search '{}' to eSIMGo", query);
+            return listAllBundlesPaginated(1, SEARCH_FALLBACK_PAGE_SIZE, "asc", "name", query);
+        }
+        return wrap(snapshot.search.search(query, snapshot.search.size()));
     }
     
+    /**
+     * Autocomplete suggestions (countries and regions) for a partially typed search
+     */
+    public List<BundleSearchIndex.Suggestion> suggest(String prefix, int limit) {
+        CachedBundles snapshot = currentSnapshot();
+        return snapshot != null ? snapshot.search.suggest(prefix, limit) : List.of();
+    }
+    
+    /**
+     * Bundle details from the catalogue snapshot; only bundles missing from it are looked up in eSIMGo
+     */
     public ListBundlesResponse.BundleDto getBundleDetails(String bundleName) {
+        Optional<ListBundlesResponse.BundleDto> cached = snapshotBundle(bundleName);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         BundleResponse.Bundle bundle = esimGoPort.getBundleDetails(bundleName);
         return mapBundleToDto(bundle);
     }
     
+    /**
+     * Non-blocking {@link #getBundleDetails}: completes right away from the snapshot, and otherwise when
+     * eSIMGo answers, without holding the caller's thread
+     */
+    public CompletableFuture<ListBundlesResponse.BundleDto> getBundleDetailsAsync(String bundleName) {
+        Optional<ListBundlesResponse.BundleDto> cached = snapshotBundle(bundleName);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return esimGoPort.getBundleDetailsAsync(bundleName).thenApply(this::mapBundleToDto);
+    }
+    
+    private Optional<ListBundlesResponse.BundleDto> snapshotBundle(String bundleName) {
+        CachedBundles snapshot = cachedAllBundles;
+        return snapshot != null ? snapshot.index.byName(bundleName) : Optional.empty();
+    }
+    
     /**
      * List local eSIM bundles (single country bundles)
-     * Loads ALL bundles using pagination for complete data
-     * A bundle is considered "local" if:
-     * 1. It has exactly one country
-     * 2. The country ISO code is a valid country code (2-3 letters, not a region name)
-     * 3. The country ISO is not a region name like "Asia", "Global", "Europe", etc.
+     * A bundle is considered "local" if it has exactly one country whose ISO code is a real
+     * country code (not a region name like "Asia" or "Global"). See {@link CatalogueIndex}.
      */
     public ListBundlesResponse listLocalBundles() {
-        log.info("=== listLocalBundles() called ===");
+        return listBundlesByType(CatalogueIndex.Type.LOCAL, null);
+    }
+    
+    /**
+     * List bundles of the given type, served from the pre-partitioned catalogue index.
+     * When a sort is given the returned list is a memoized, pre-sorted view, so callers can page
+     * through it with {@code subList} without copying.
+     */
+    public ListBundlesResponse listBundlesByType(CatalogueIndex.Type type, BundleSort sort) {
         try {
-            ListBundlesResponse allBundles = loadAllBundles();
-            log.info("loadAllBundles returned {} bundles", 
-                    allBundles != null && allBundles.getBundles() != null ? allBundles.getBundles().size() : 0);
-            
-            ListBundlesResponse result = new ListBundlesResponse();
-            result.setBundles(new java.util.ArrayList<>());
-            
-            if (allBundles == null || allBundles.getBundles() == null) {
-                log.warn("loadAllBundles returned null or empty bundles");
-                return result;
-            }
-            
-            // Set of region names that should NOT be considered as local bundles
-            java.util.Set<String> regionNames = java.util.Set.of(
-                "Asia", "Global", "Europe", "Africa", "Oceania", "Middle East",
-                "North America", "South America", "Caribbean", "CENAM", "CIS",
-                "Europe Lite", "Europe+", "LATAM", "Balkans", "Global - Light",
-                "Europe + USA"
-            );
-            
-            result.setBundles(allBundles.getBundles().stream()
-                    .filter(bundle -> {
-                        if (bundle == null || bundle.getCountries() == null || bundle.getCountries().isEmpty()) {
-                            return false;
-                        }
-                        
-                        // Must have exactly one country
-                        if (bundle.getCountries().size() != 1) {
-                            return false;
-                        }
-                        
-                        // Get the country ISO code
-                        String countryIso = bundle.getCountries().get(0).getIso();
-                        if (countryIso == null || countryIso.trim().isEmpty()) {
-                            return false;
-                        }
-                        
-                        // Check if it's a region name (should be excluded)
-                        if (regionNames.contains(countryIso.trim())) {
-                            return false;
-                        }
-                        
-                        // Check if it's a valid country code (2-3 letters, possibly with hyphen)
-                        // Valid formats: "GB", "US", "US-HI", "AE", etc.
-                        String isoTrimmed = countryIso.trim();
-                        if (isoTrimmed.length() < 2 || isoTrimmed.length() > 6) {
-                            return false;
-                        }
-                        
-                        // Should match pattern: 2-3 letters, optionally followed by hyphen and more letters/numbers
-                        if (!isoTrimmed.matches("^[A-Z]{2,3}(-[A-Z0-9]+)?$")) {
-                            return false;
-                        }
-                        
-                        return true;
-                    })
-                    .collect(Collectors.toList()));
-            log.info("Filtered to {} local bundles", result.getBundles().size());
-            return result;
+            CatalogueIndex index = loadCatalogueIndex();
+            List<ListBundlesResponse.BundleDto> bundles = sort != null ? index.sorted(type, sort) : index.ofType(type);
+            log.debug("Serving {} {} bundles from catalogue index", bundles.size(), type);
+            return wrap(bundles);
         } catch (Exception e) {
-            log.error("=== ERROR in listLocalBundles() ===");
-            log.error("Error: {} - {}", e.getClass().getSimpleName(), e.getMessage());
-            log.error("Stack trace:", e);
-            ListBundlesResponse result = new ListBundlesResponse();
-            result.setBundles(new java.util.ArrayList<>());
-            return result;
+            log.error("Error listing {} bundles: {}", type, e.getMessage(), e);
+            return wrap(List.of());
         }
     }
     
     /**
-     * Load all bundles from eSIMGo API using pagination
-     * This method fetches all available bundles by making paginated requests
-     * Uses in-memory cache to avoid repeated API calls (1 hour TTL)
+     * Index over the current catalogue snapshot (loading it if needed)
+     */
+    private CatalogueIndex loadCatalogueIndex() {
+        CachedBundles snapshot = currentSnapshot();
+        return snapshot != null ? snapshot.index : CatalogueIndex.empty();
+    }
+    
+    private ListBundlesResponse wrap(List<ListBundlesResponse.BundleDto> bundles) {
+        ListBundlesResponse result = new ListBundlesResponse();
+        result.setBundles(bundles);
+        return result;
+    }
+    
+    /**
+     * All bundles of the current catalogue snapshot
      */
     private ListBundlesResponse loadAllBundles() {
-        log.info("=== loadAllBundles() called ===");
-        // Check cache first
-        if (cachedAllBundles != null && !cachedAllBundles.isExpired()) {
-            int bundleCount = cachedAllBundles.bundles.getBundles() != null ? cachedAllBundles.bundles.getBundles().size() : 0;
-            log.info("Returning cached bundles ({} bundles)", bundleCount);
-            return cachedAllBundles.bundles;
+        CachedBundles snapshot = currentSnapshot();
+        return snapshot != null ? snapshot.bundles : wrap(new java.util.ArrayList<>());
+    }
+    
+    /**
+     * Stale-while-revalidate access to the catalogue snapshot.
+     * An existing snapshot is always served immediately; if it is older than the TTL a background
+     * refresh is kicked off. Only a cold start (no snapshot yet) waits for the upstream load, and
+     * concurrent cold-start callers share a single load.
+     */
+    private CachedBundles currentSnapshot() {
+        CachedBundles snapshot = cachedAllBundles;
+        if (snapshot == null) {
+            log.info("No catalogue snapshot available yet, loading it");
+            return refreshSingleFlight(false);
+        }
+        if (snapshot.isExpired(cacheTtlMs)) {
+            triggerBackgroundRefresh();
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Bring the catalogue snapshot up to date. Called by the scheduled refresher on every node; with the
+     * shared store enabled only one node per refresh interval actually reloads from eSIMGo, the others
+     * adopt its snapshot. Joins an in-flight refresh instead of starting another one.
+     * @return number of bundles in the snapshot being served afterwards
+     */
+    public int refreshCatalogue() {
+        CachedBundles snapshot = refreshSingleFlight(false);
+        return snapshot != null ? snapshot.index.size() : 0;
+    }
+    
+    private void triggerBackgroundRefresh() {
+        if (inFlightRefresh.get() != null) {
+            return;
         }
-        
-        log.info("Loading all bundles from eSIMGo API (cache miss or expired)");
-        ListBundlesResponse allBundles = new ListBundlesResponse();
-        allBundles.setBundles(new java.util.ArrayList<>());
-        
-        int page = 1;
-        int perPage = 500; // Load 500 per page to significantly reduce API calls (was 100)
-        boolean hasMore = true;
-        int totalLoaded = 0;
-        int maxPages = 1000; // Safety limit to prevent infinite loops
-        int pageCount = 0;
-        
         try {
-            while (hasMore && pageCount < maxPages) {
-                pageCount++;
-                BundleResponse response = null;
-                try {
-                    response = esimGoPort.listBundles(page, perPage, "asc", null, null);
-                } catch (Exception e) {
-                    log.error("Exception calling eSIMGo API at page {}: {}", page, e.getMessage(), e);
-                    // If we have cached data, return that instead of failing
-                    if (cachedAllBundles != null) {
-                        log.warn("Returning stale cached data due to API exception");
-                        return cachedAllBundles.bundles;
-                    }
-                    // Otherwise, break and return what we have so far
-                    hasMore = false;
-                    break;
-                }
-                
-                if (response == null) {
-                    log.warn("Received null response from eSIMGo API at page {}", page);
-                    // If we have cached data, return that instead
-                    if (cachedAllBundles != null && totalLoaded == 0) {
-                        log.warn("Returning stale cached data due to null response");
-                        return cachedAllBundles.bundles;
-                    }
-                    hasMore = false;
-                    break;
-                }
-                
-                if (response.getBundles() == null || response.getBundles().isEmpty()) {
-                    log.debug("No more bundles at page {}", page);
-                    hasMore = false;
-                    break;
-                }
-                
-                try {
-                    ListBundlesResponse pageResponse = mapToResponse(response);
-                    if (pageResponse != null && pageResponse.getBundles() != null) {
-                        allBundles.getBundles().addAll(pageResponse.getBundles());
-                        totalLoaded += pageResponse.getBundles().size();
-                        log.debug("Loaded {} bundles from page {} (total so far: {})", 
-                                pageResponse.getBundles().size(), page, totalLoaded);
-                    }
-                    
-                    // If we got less than perPage, we've reached the end
-                    hasMore = response.getBundles().size() == perPage;
-                    page++;
-                } catch (Exception e) {
-                    log.error("Error mapping response at page {}: {}", page, e.getMessage(), e);
-                    // Continue to next page instead of failing completely
-                    hasMore = response.getBundles().size() == perPage;
-                    page++;
-                }
+            log.info("Catalogue snapshot is older than {} ms, refreshing in background", cacheTtlMs);
+            refreshExecutor.execute(() -> refreshSingleFlight(false));
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not schedule background catalogue refresh: {}", e.getMessage());
+        }
+    }
+    
+    private CachedBundles refreshSingleFlight(boolean force) {
+        CompletableFuture<CachedBundles> refresh = new CompletableFuture<>();
+        CompletableFuture<CachedBundles> existing = inFlightRefresh.compareAndExchange(null, refresh);
+        if (existing != null) {
+            log.debug("Joining in-flight catalogue refresh");
+            return existing.join();
+        }
+        try {
+            CachedBundles snapshot = doRefresh(force);
+            refresh.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException | Error e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRefresh.set(null);
+        }
+    }
+    
+    /**
+     * Bring the snapshot up to date, loading from eSIMGo only when the cluster doesn't already have a
+     * recent snapshot and no other node is loading it.
+     * @param force reload from eSIMGo even if the shared snapshot is recent
+     */
+    private CachedBundles doRefresh(boolean force) {
+        if (!sharedStore.isEnabled()) {
+            return refreshFromUpstream();
+        }
+        CachedBundles previous = cachedAllBundles;
+        if (!force) {
+            CachedBundles shared = adoptSharedSnapshot();
+            if (shared != null && (previous == null || !shared.isExpired(refreshIntervalMs))) {
+                return shared;
             }
-            
-            if (pageCount >= maxPages) {
-                log.warn("Reached maximum page limit ({}), stopping pagination", maxPages);
+        }
+        if (!sharedStore.tryAcquireRefreshLease()) {
+            if (previous != null) {
+                log.info("Another node is refreshing the catalogue, keeping current snapshot until it is published");
+                return previous;
             }
-            
-            log.info("Loaded {} total bundles from eSIMGo API across {} pages", totalLoaded, pageCount);
-            
-            // Only cache if we got some bundles
-            if (totalLoaded > 0) {
-                cachedAllBundles = new CachedBundles(allBundles);
-            } else {
-                log.warn("No bundles loaded, not caching empty result");
+            return awaitSharedSnapshot();
+        }
+        try {
+            return refreshFromUpstream();
+        } finally {
+            sharedStore.releaseRefreshLease();
+        }
+    }
+    
+    /**
+     * Cold start while another node holds the refresh lease: wait briefly for its snapshot rather than
+     * loading the catalogue a second time, and load it ourselves if it doesn't show up.
+     */
+    private CachedBundles awaitSharedSnapshot() {
+        log.info("Another node is refreshing the catalogue, waiting up to {} ms for its snapshot", SHARED_SNAPSHOT_WAIT_MS);
+        long deadline = System.currentTimeMillis() + SHARED_SNAPSHOT_WAIT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(SHARED_SNAPSHOT_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             }
-            
-        } catch (Exception e) {
-            log.error("=== CRITICAL ERROR in loadAllBundles() ===");
-            log.error("Error message: {}", e.getMessage());
-            log.error("Error class: {}", e.getClass().getName());
-            log.error("Full stack trace:", e);
-            if (e.getCause() != null) {
-                log.error("Root cause: {}", e.getCause().getMessage());
-                log.error("Root cause class: {}", e.getCause().getClass().getName());
-                if (e.getCause().getCause() != null) {
-                    log.error("Root cause of root cause: {}", e.getCause().getCause().getMessage());
-                }
+            CachedBundles shared = adoptSharedSnapshot();
+            if (shared != null) {
+                return shared;
             }
-            // Return empty result instead of throwing to prevent 500 errors
-            // If we have cached data, return that instead
-            if (cachedAllBundles != null) {
-                log.warn("Returning stale cached data due to API error");
-                return cachedAllBundles.bundles;
+        }
+        log.warn("No shared catalogue snapshot published in time, loading from eSIMGo");
+        return refreshFromUpstream();
+    }
+    
+    /**
+     * Swap in the shared snapshot if it is newer than ours
+     * @return the snapshot being served afterwards
+     */
+    private CachedBundles adoptSharedSnapshot() {
+        CachedBundles current = cachedAllBundles;
+        long version = sharedStore.currentVersion();
+        if (version <= 0 || (current != null && current.version >= version)) {
+            return current;
+        }
+        Optional<CatalogueSharedStorePort.VersionedCatalogue> shared = sharedStore.loadCurrent();
+        if (shared.isEmpty() || shared.get().bundles().isEmpty()) {
+            return current;
+        }
+        CatalogueSharedStorePort.VersionedCatalogue catalogue = shared.get();
+        CachedBundles snapshot = new CachedBundles(wrap(catalogue.bundles()), catalogue.loadedAtMillis(), catalogue.version());
+        if (swapIn(snapshot)) {
+            persistSnapshot(snapshot);
+            log.info("Adopted shared catalogue snapshot v{} with {} bundles (loaded {} s ago)", snapshot.version,
+                    snapshot.index.size(), (System.currentTimeMillis() - snapshot.timestamp) / 1000);
+        }
+        return cachedAllBundles;
+    }
+    
+    /**
+     * Another node (or this one) published a new shared snapshot version
+     */
+    private void onSharedSnapshotPublished(long version) {
+        CachedBundles current = cachedAllBundles;
+        if (current != null && current.version >= version) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(this::adoptSharedSnapshot);
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not schedule adoption of shared catalogue snapshot v{}: {}", version, e.getMessage());
+        }
+    }
+    
+    /**
+     * Make the snapshot current unless a newer one is already being served
+     * @return whether the snapshot was swapped in
+     */
+    private boolean swapIn(CachedBundles snapshot) {
+        synchronized (snapshotLock) {
+            CachedBundles current = cachedAllBundles;
+            boolean newer = current == null
+                    || snapshot.timestamp > current.timestamp
+                    || (snapshot.timestamp == current.timestamp && snapshot.version > current.version);
+            if (!newer) {
+                return false;
             }
-            // Return empty result
-            log.warn("Returning empty bundles list due to error");
-            return allBundles;
+            cachedAllBundles = snapshot;
         }
+        catalogueMetrics.snapshotPublished(snapshot.index.size(), snapshot.timestamp);
+        eventPublisher.publishEvent(new CatalogueSnapshotPublishedEvent(snapshot.tag(), snapshot.index.size()));
+        return true;
+    }
+    
+    /**
+     * Load the catalogue from eSIMGo, share it with the other nodes and swap it in.
+     * On failure the previous snapshot keeps being served.
+     */
+    private CachedBundles refreshFromUpstream() {
+        long start = System.nanoTime();
+        CompactCatalogue catalogue = CompactCatalogue.empty();
+        boolean complete = false;
+        try {
+            CataloguePageFetcher.CatalogueFetch fetch = pageFetcher.fetchAll(CATALOGUE_PAGE_SIZE);
+            catalogue = fetch.catalogue();
+            complete = fetch.complete();
+        } catch (Exception e) {
+            log.error("Error loading catalogue from eSIMGo: {}", e.getMessage(), e);
+        }
+        long durationNanos = System.nanoTime() - start;
         
-        return allBundles;
+        CachedBundles previous = cachedAllBundles;
+        boolean publish = catalogue.size() > 0 && (complete || previous == null);
+        if (!publish) {
+            catalogueMetrics.refreshCompleted(durationNanos, false);
+            if (previous != null) {
+                log.warn("Catalogue refresh failed, keeping snapshot from {} ms ago",
+                        System.currentTimeMillis() - previous.timestamp);
+            } else {
+                log.warn("No bundles loaded, not caching empty result");
+            }
+            return previous;
+        }
+        
+        long loadedAt = System.currentTimeMillis();
+        long version = sharedStore.publish(catalogue.all(), loadedAt);
+        CachedBundles snapshot = new CachedBundles(catalogue, loadedAt, version);
+        catalogueMetrics.refreshCompleted(durationNanos, true);
+        swapIn(snapshot);
+        persistSnapshot(snapshot);
+        log.info("Published catalogue snapshot{} with {} bundles (loaded in {} ms{})",
+                version > 0 ? " v" + version : "", snapshot.index.size(), durationNanos / 1_000_000,
+                complete ? "" : ", partial");
+        return cachedAllBundles;
+    }
+    
+    /**
+     * Write the snapshot to disk off the request path for the next warm start
+     */
+    private void persistSnapshot(CachedBundles snapshot) {
+        Runnable save = () -> snapshotStore.save(snapshot.index.all(), snapshot.timestamp);
+        try {
+            refreshExecutor.execute(save);
+        } catch (RejectedExecutionException e) {
+            save.run();
+        }
     }
     
     /**
@@ -334,134 +552,35 @@ public class PlanService {
     }
     
     /**
-     * Force reload bundles (clear cache and reload)
+     * Force reload bundles (replaces the snapshot once the reload completes)
      */
     public void forceReloadBundles() {
-        log.info("=== FORCE RELOAD: Clearing cache ===");
-        cachedAllBundles = null;
-        log.info("Cache cleared. Next request will reload from eSIM Go API");
+        log.info("=== FORCE RELOAD: refreshing catalogue from eSIM Go API ===");
+        refreshSingleFlight(true);
     }
     
     /**
      * List regional eSIM bundles
-     * Strategy:
-     * 1. First try to get bundles with group containing "regional" or "region"
-     * 2. Then filter all bundles for 2-49 countries OR group containing regional keywords
-     * 3. If no true regional bundles found, return all bundles (frontend will group by region)
-     * Loads ALL bundles using pagination for complete data
+     * Regional bundles cover 2-49 countries OR have a group containing "regional"/"region".
+     * If no true regional bundles exist, all bundles are returned (frontend will group by region).
      */
     public ListBundlesResponse listRegionalBundles() {
-        try {
-            ListBundlesResponse allBundles = loadAllBundles();
-            ListBundlesResponse result = new ListBundlesResponse();
-            result.setBundles(new java.util.ArrayList<>());
-            
-            if (allBundles == null || allBundles.getBundles() == null) {
-                log.warn("loadAllBundles returned null or empty bundles");
-                return result;
-            }
-            
-            result.setBundles(allBundles.getBundles().stream()
-                    .filter(bundle -> bundle != null && bundle.getCountries() != null)
-                    .filter(bundle -> {
-                        int countryCount = bundle.getCountries().size();
-                        // Regional: 2-49 countries OR group contains "regional"
-                        boolean isRegionalByCount = countryCount >= 2 && countryCount < 50;
-                        boolean isRegionalByGroup = bundle.getGroup() != null && 
-                                bundle.getGroup().stream()
-                                        .anyMatch(group -> group != null && 
-                                                (group.toLowerCase().contains("regional") ||
-                                                 group.toLowerCase().contains("region")));
-                        return isRegionalByCount || isRegionalByGroup;
-                    })
-                    .collect(Collectors.toList()));
-            
-            // If no true regional bundles found, return all bundles
-            // Frontend will group them by region to create regional views
-            if (result.getBundles().isEmpty()) {
-                result.setBundles(allBundles.getBundles());
-            }
-            return result;
-        } catch (Exception e) {
-            log.error("Error in listRegionalBundles: {}", e.getMessage(), e);
-            ListBundlesResponse result = new ListBundlesResponse();
-            result.setBundles(new java.util.ArrayList<>());
-            return result;
-        }
+        return listBundlesByType(CatalogueIndex.Type.REGIONAL, null);
     }
     
     /**
      * List regional eSIM bundles filtered by region name
      * @param regionName The region name (e.g., "Europe", "Asia", "North America", etc.)
-     * Loads ALL bundles using pagination for complete data
      */
     public ListBundlesResponse listRegionalBundlesByRegion(String regionName) {
-        ListBundlesResponse allBundles = loadAllBundles();
-        ListBundlesResponse result = new ListBundlesResponse();
-        result.setBundles(allBundles.getBundles().stream()
-                .filter(bundle -> {
-                    if (bundle.getCountries() == null || bundle.getCountries().isEmpty()) return false;
-                    
-                    int countryCount = bundle.getCountries().size();
-                    // Regional: 2-49 countries
-                    boolean isRegionalByCount = countryCount >= 2 && countryCount < 50;
-                    
-                    // Check if bundle belongs to the specified region
-                    // A bundle belongs to a region if:
-                    // 1. All countries in the bundle are from that region, OR
-                    // 2. The majority of countries are from that region
-                    boolean belongsToRegion = bundle.getCountries().stream()
-                            .anyMatch(country -> {
-                                if (country == null || country.getRegion() == null) return false;
-                                // Normalize region names for comparison
-                                String bundleRegion = normalizeRegionName(country.getRegion());
-                                String targetRegion = normalizeRegionName(regionName);
-                                return bundleRegion.equalsIgnoreCase(targetRegion);
-                            });
-                    
-                    return isRegionalByCount && belongsToRegion;
-                })
-                .collect(Collectors.toList()));
-        return result;
+        return wrap(loadCatalogueIndex().byRegion(regionName));
     }
     
     /**
      * Get list of available regions from regional bundles
-     * Loads ALL bundles using pagination for complete data
      */
     public List<String> getAvailableRegions() {
-        ListBundlesResponse allBundles = loadAllBundles();
-        return allBundles.getBundles().stream()
-                .filter(bundle -> {
-                    if (bundle.getCountries() == null) return false;
-                    int countryCount = bundle.getCountries().size();
-                    // Regional: 2-49 countries
-                    return countryCount >= 2 && countryCount < 50;
-                })
-                .flatMap(bundle -> bundle.getCountries().stream()
-                        .map(country -> country != null ? country.getRegion() : null)
-                        .filter(region -> region != null && !region.trim().isEmpty()))
-                .map(this::normalizeRegionName)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
-    }
-    
-    /**
-     * Normalize region names to standard format
-     */
-    private String normalizeRegionName(String region) {
-        if (region == null) return "";
-        String normalized = region.trim();
-        // Map common variations to standard names
-        if (normalized.equalsIgnoreCase("Middle East")) return "Middle East";
-        if (normalized.equalsIgnoreCase("North America")) return "North America";
-        if (normalized.equalsIgnoreCase("South America")) return "South America";
-        if (normalized.equalsIgnoreCase("Oceania")) return "Oceania";
-        if (normalized.equalsIgnoreCase("Africa")) return "Africa";
-        if (normalized.equalsIgnoreCase("Asia")) return "Asia";
-        if (normalized.equalsIgnoreCase("Europe")) return "Europe";
-        return normalized;
+        return loadCatalogueIndex().regions();
     }
     
     /**
@@ -472,83 +591,9 @@ public class PlanService {
      * 3. 80+ countries in countries array
      * 4. roamingEnabled is an array with 10+ countries (indicates global roaming)
      * 5. Group contains "Global", "Long Duration" (for long-term global plans)
-     * Loads ALL bundles using pagination for complete data
      */
     public ListBundlesResponse listGlobalBundles() {
-        try {
-            ListBundlesResponse allBundles = loadAllBundles();
-            ListBundlesResponse result = new ListBundlesResponse();
-            result.setBundles(new java.util.ArrayList<>());
-            
-            if (allBundles == null || allBundles.getBundles() == null) {
-                log.warn("loadAllBundles returned null or empty bundles");
-                return result;
-            }
-            
-            result.setBundles(allBundles.getBundles().stream()
-                    .filter(bundle -> bundle != null && bundle.getCountries() != null && !bundle.getCountries().isEmpty())
-                    .filter(bundle -> {
-                        // Check country name for global indicators
-                        String firstCountryName = bundle.getCountries().get(0).getName();
-                        String firstCountryIso = bundle.getCountries().get(0).getIso();
-                    
-                    // Global indicators in country name/ISO
-                    boolean isGlobalByName = firstCountryName != null && (
-                        firstCountryName.contains("Global") ||
-                        firstCountryName.contains("Europe + USA") ||
-                        firstCountryName.equalsIgnoreCase("Asia") ||
-                        firstCountryName.equalsIgnoreCase("Oceania") ||
-                        firstCountryName.equalsIgnoreCase("North America") ||
-                        firstCountryName.equalsIgnoreCase("Middle East") ||
-                        firstCountryName.equalsIgnoreCase("CENAM") ||
-                        firstCountryName.equalsIgnoreCase("CIS") ||
-                        firstCountryName.equalsIgnoreCase("Europe Lite") ||
-                        firstCountryName.equalsIgnoreCase("Europe+")
-                    );
-                    
-                    boolean isGlobalByIso = firstCountryIso != null && (
-                        firstCountryIso.equalsIgnoreCase("Global - Light") ||
-                        firstCountryIso.equalsIgnoreCase("Global") ||
-                        firstCountryIso.equalsIgnoreCase("Europe + USA") ||
-                        firstCountryIso.equalsIgnoreCase("Asia") ||
-                        firstCountryIso.equalsIgnoreCase("Oceania")
-                    );
-                    
-                    int countryCount = bundle.getCountries().size();
-                    // Global: 80+ countries
-                    boolean isGlobalByCount = countryCount >= 80;
-                    
-                    // OR roaming enabled (indicates multi-country/global coverage)
-                    // The deserializer now returns true if roamingEnabled is array with 10+ countries
-                    boolean isGlobalByRoaming = Boolean.TRUE.equals(bundle.getRoamingEnabled());
-                    
-                    // OR group contains "global" or "Long Duration" (for long-term global plans)
-                    boolean isGlobalByGroup = false;
-                    if (bundle.getGroup() != null && !bundle.getGroup().isEmpty()) {
-                        isGlobalByGroup = bundle.getGroup().stream()
-                                .anyMatch(group -> {
-                                    if (group == null) return false;
-                                    String groupLower = group.toLowerCase();
-                                    return groupLower.contains("global") ||
-                                           groupLower.contains("long duration") ||
-                                           groupLower.contains("worldwide") ||
-                                           groupLower.contains("world");
-                                });
-                    }
-                    
-                    boolean isGlobal = isGlobalByName || isGlobalByIso || isGlobalByCount || 
-                                     isGlobalByRoaming || isGlobalByGroup;
-                    
-                    return isGlobal;
-                })
-                .collect(Collectors.toList()));
-            return result;
-        } catch (Exception e) {
-            log.error("Error in listGlobalBundles: {}", e.getMessage(), e);
-            ListBundlesResponse result = new ListBundlesResponse();
-            result.setBundles(new java.util.ArrayList<>());
-            return result;
-        }
+        return listBundlesByType(CatalogueIndex.Type.GLOBAL, null);
     }
     
     private ListBundlesResponse mapToResponse(BundleResponse response) {
@@ -565,8 +610,16 @@ public class PlanService {
             return result;
         }
         
+        result.setBundles(mapBundles(response.getBundles()));
+        return result;
+    }
+    
+    private List<ListBundlesResponse.BundleDto> mapBundles(List<BundleResponse.Bundle> bundles) {
+        if (bundles == null || bundles.isEmpty()) {
+            return new java.util.ArrayList<>();
+        }
         try {
-            result.setBundles(response.getBundles().stream()
+            return bundles.stream()
                     .filter(bundle -> bundle != null) // Filter out null bundles
                     .map(bundle -> {
                         try {
@@ -577,13 +630,12 @@ public class PlanService {
                         }
                     })
                     .filter(dto -> dto != null) // Filter out null DTOs
-                    .collect(Collectors.toList()));
+                    .collect(Collectors.toList());
         } catch (Exception e) {
-            log.error("Error mapping BundleResponse to ListBundlesResponse: {}", e.getMessage(), e);
+            log.error("Error mapping bundles to ListBundlesResponse: {}", e.getMessage(), e);
             // Return empty result instead of throwing
+            return new java.util.ArrayList<>();
         }
-        
-        return result;
     }
     
     private ListBundlesResponse.BundleDto mapBundleToDto(BundleResponse.Bundle bundle) {
@@ -0,0 +1,21 @@
+package com.tiktel.ttelgo.plan.application.port;
+
+/**
+ * Observability hook for the bundle catalogue snapshot (refresh timings, snapshot age and size)
+ */
+public interface CatalogueMetricsPort {
+
+    /**
+     * A catalogue refresh attempt finished
+     * @param durationNanos wall time of the upstream load
+     * @param success whether a new snapshot was published
+     */
+    void refreshCompleted(long durationNanos, boolean success);
+
+    /**
+     * A new snapshot is now being served
+     * @param bundleCount number of bundles in the snapshot
+     * @param loadedAtMillis epoch millis at which the snapshot data was loaded from upstream
+     */
+    void snapshotPublished(int bundleCount, long loadedAtMillis);
+}
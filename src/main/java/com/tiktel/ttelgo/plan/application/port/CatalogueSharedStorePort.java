@@ -0,0 +1,61 @@
+package com.tiktel.ttelgo.plan.application.port;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Cluster-wide (L2) copy of the catalogue snapshot, shared by all application nodes.
+ *
+ * Snapshots are versioned: one node at a time holds the refresh lease, loads the catalogue from eSIMGo,
+ * publishes it as a new version and announces that version to the other nodes, which then swap it into
+ * their in-process cache instead of loading the catalogue themselves.
+ */
+public interface CatalogueSharedStorePort {
+
+    /**
+     * Whether a shared store is configured; when disabled every node loads the catalogue on its own
+     */
+    boolean isEnabled();
+
+    /**
+     * The current shared snapshot, if any
+     */
+    Optional<VersionedCatalogue> loadCurrent();
+
+    /**
+     * Version number of the current shared snapshot, or 0 if there is none
+     */
+    long currentVersion();
+
+    /**
+     * Store the bundles as the new current snapshot and notify the other nodes
+     * @return the version assigned to the snapshot
+     */
+    long publish(List<ListBundlesResponse.BundleDto> bundles, long loadedAtMillis);
+
+    /**
+     * Try to become the node that refreshes the catalogue. The lease expires on its own if the holder dies.
+     */
+    boolean tryAcquireRefreshLease();
+
+    /**
+     * Give up the refresh lease if this node still holds it
+     */
+    void releaseRefreshLease();
+
+    /**
+     * Register a listener for snapshot versions published by any node (including this one)
+     */
+    void onSnapshotPublished(LongConsumer listener);
+
+    /**
+     * @param version cluster-wide, monotonically increasing snapshot version
+     * @param bundles catalogue bundles in upstream order
+     * @param loadedAtMillis epoch millis at which the catalogue was loaded from eSIMGo
+     */
+    record VersionedCatalogue(long version, List<ListBundlesResponse.BundleDto> bundles, long loadedAtMillis) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.tiktel.ttelgo.plan.application.port;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable copy of the last catalogue snapshot, used to serve the catalogue immediately after a restart
+ */
+public interface CatalogueSnapshotStorePort {
+
+    /**
+     * Last persisted snapshot, if any
+     */
+    Optional<StoredCatalogue> load();
+
+    /**
+     * Replace the persisted snapshot
+     */
+    void save(List<ListBundlesResponse.BundleDto> bundles, long loadedAtMillis);
+
+    /**
+     * @param bundles catalogue bundles in upstream order
+     * @param loadedAtMillis epoch millis at which the catalogue was loaded from eSIMGo
+     */
+    record StoredCatalogue(List<ListBundlesResponse.BundleDto> bundles, long loadedAtMillis) {
+    }
+}
@@ -1,6 +1,10 @@
 package com.tiktel.ttelgo.plan.application.port;
 
 import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.CataloguePage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface EsimGoPort {
 
@@ -8,8 +12,25 @@ public interface EsimGoPort {
 
     BundleResponse listBundles(Integer page, Integer perPage, String direction, String orderBy, String description);
 
+    /**
+     * Stream a catalogue page bundle by bundle; the bundle passed to the sink is reused, so copy what you keep.
+     * Null if the page could not be loaded completely.
+     */
+    CataloguePage streamCatalogue(Integer page, Integer perPage, Consumer<BundleResponse.Bundle> bundleSink);
+
     BundleResponse listBundlesByCountry(String countryIso);
 
     BundleResponse.Bundle getBundleDetails(String bundleName);
+
+    /**
+     * Non-blocking {@link #listBundles(Integer, Integer, String, String, String)}: completes with null if the page
+     * could not be loaded. Completes on the client's I/O thread, so continuations must not block.
+     */
+    CompletableFuture<BundleResponse> listBundlesAsync(Integer page, Integer perPage, String direction, String orderBy, String description);
+
+    /**
+     * Non-blocking {@link #getBundleDetails(String)}, completing with null if the bundle could not be loaded
+     */
+    CompletableFuture<BundleResponse.Bundle> getBundleDetailsAsync(String bundleName);
 }
 
@@ -0,0 +1,63 @@
+package com.tiktel.ttelgo.plan.infrastructure.adapter;
+
+import com.tiktel.ttelgo.plan.application.port.CatalogueMetricsPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes catalogue snapshot metrics to Micrometer:
+ * - catalogue.refresh.duration (timer, tagged outcome=success|failure)
+ * - catalogue.snapshot.age (gauge, seconds since the served snapshot was loaded)
+ * - catalogue.snapshot.bundles (gauge, bundles in the served snapshot)
+ */
+@Component
+public class CatalogueMetricsAdapter implements CatalogueMetricsPort {
+
+    private final Timer refreshSuccessTimer;
+    private final Timer refreshFailureTimer;
+    private final AtomicLong snapshotLoadedAt = new AtomicLong(0);
+    private final AtomicInteger snapshotBundles = new AtomicInteger(0);
+
+    public CatalogueMetricsAdapter(MeterRegistry meterRegistry) {
+        this.refreshSuccessTimer = Timer.builder("catalogue.refresh.duration")
+                .description("Time taken to load the full bundle catalogue from eSIMGo")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.refreshFailureTimer = Timer.builder("catalogue.refresh.duration")
+                .description("Time taken to load the full bundle catalogue from eSIMGo")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        Gauge.builder("catalogue.snapshot.age", snapshotLoadedAt, CatalogueMetricsAdapter::ageSeconds)
+                .description("Age of the bundle catalogue snapshot currently being served")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("catalogue.snapshot.bundles", snapshotBundles, AtomicInteger::get)
+                .description("Number of bundles in the catalogue snapshot currently being served")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void refreshCompleted(long durationNanos, boolean success) {
+        (success ? refreshSuccessTimer : refreshFailureTimer).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void snapshotPublished(int bundleCount, long loadedAtMillis) {
+        snapshotBundles.set(bundleCount);
+        snapshotLoadedAt.set(loadedAtMillis);
+    }
+
+    private static double ageSeconds(AtomicLong loadedAt) {
+        long at = loadedAt.get();
+        if (at == 0) {
+            return Double.NaN;
+        }
+        return (System.currentTimeMillis() - at) / 1000.0;
+    }
+}
@@ -0,0 +1,228 @@
+package com.tiktel.ttelgo.plan.infrastructure.adapter;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import com.tiktel.ttelgo.plan.application.port.CatalogueSnapshotStorePort.StoredCatalogue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a catalogue snapshot, shared by the on-disk and Redis snapshot stores.
+ *
+ * Layout (big-endian): magic, format version, loadedAt, a string table (every distinct string once,
+ * so the ~200 country names/regions/ISO codes repeated across thousands of bundles are stored once),
+ * then each bundle as string-table references plus its numeric fields.
+ */
+final class CatalogueSnapshotCodec {
+
+    private static final int MAGIC = 0x54434154; // "TCAT"
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL_REF = -1;
+
+    private CatalogueSnapshotCodec() {
+    }
+
+    static byte[] encode(List<ListBundlesResponse.BundleDto> bundles, long loadedAtMillis) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encode(out, bundles, loadedAtMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // ==================== Encoding ====================
+
+    static void encode(DataOutputStream out, List<ListBundlesResponse.BundleDto> bundles, long loadedAtMillis) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (ListBundlesResponse.BundleDto bundle : bundles) {
+            intern(strings, bundle.getName());
+            intern(strings, bundle.getDescription());
+            intern(strings, bundle.getImageUrl());
+            intern(strings, bundle.getBillingType());
+            if (bundle.getCountries() != null) {
+                for (ListBundlesResponse.CountryDto country : bundle.getCountries()) {
+                    intern(strings, country.getName());
+                    intern(strings, country.getRegion());
+                    intern(strings, country.getIso());
+                }
+            }
+            internAll(strings, bundle.getGroup());
+            internAll(strings, bundle.getPotentialSpeeds());
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(loadedAtMillis);
+
+        out.writeInt(strings.size());
+        for (String value : strings.keySet()) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+
+        out.writeInt(bundles.size());
+        for (ListBundlesResponse.BundleDto bundle : bundles) {
+            out.writeInt(ref(strings, bundle.getName()));
+            out.writeInt(ref(strings, bundle.getDescription()));
+            out.writeInt(ref(strings, bundle.getImageUrl()));
+            out.writeInt(ref(strings, bundle.getBillingType()));
+            writeNullableInt(out, bundle.getDataAmount());
+            writeNullableInt(out, bundle.getDuration());
+            writeNullableDouble(out, bundle.getPrice());
+            writeNullableBoolean(out, bundle.getAutostart());
+            writeNullableBoolean(out, bundle.getUnlimited());
+            writeNullableBoolean(out, bundle.getRoamingEnabled());
+
+            List<ListBundlesResponse.CountryDto> countries = bundle.getCountries();
+            out.writeInt(countries != null ? countries.size() : NULL_REF);
+            if (countries != null) {
+                for (ListBundlesResponse.CountryDto country : countries) {
+                    out.writeInt(ref(strings, country.getName()));
+                    out.writeInt(ref(strings, country.getRegion()));
+                    out.writeInt(ref(strings, country.getIso()));
+                }
+            }
+            writeStringList(out, strings, bundle.getGroup());
+            writeStringList(out, strings, bundle.getPotentialSpeeds());
+        }
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value != null) {
+            strings.putIfAbsent(value, strings.size());
+        }
+    }
+
+    private static void internAll(Map<String, Integer> strings, List<String> values) {
+        if (values != null) {
+            values.forEach(value -> intern(strings, value));
+        }
+    }
+
+    private static int ref(Map<String, Integer> strings, String value) {
+        return value != null ? strings.get(value) : NULL_REF;
+    }
+
+    private static void writeStringList(DataOutputStream out, Map<String, Integer> strings, List<String> values) throws IOException {
+        out.writeInt(values != null ? values.size() : NULL_REF);
+        if (values != null) {
+            for (String value : values) {
+                out.writeInt(ref(strings, value));
+            }
+        }
+    }
+
+    private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        out.writeInt(value != null ? value : 0);
+    }
+
+    private static void writeNullableDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        out.writeDouble(value != null ? value : 0d);
+    }
+
+    private static void writeNullableBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? 0 : (value ? 2 : 1));
+    }
+
+    // ==================== Decoding ====================
+
+    /**
+     * @throws IllegalStateException if the buffer does not hold a snapshot in a supported format
+     */
+    static StoredCatalogue decode(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("not a catalogue snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("unsupported snapshot format version " + version);
+        }
+        long loadedAtMillis = buffer.getLong();
+
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] utf8 = new byte[buffer.getInt()];
+            buffer.get(utf8);
+            strings[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        int bundleCount = buffer.getInt();
+        List<ListBundlesResponse.BundleDto> bundles = new ArrayList<>(bundleCount);
+        for (int i = 0; i < bundleCount; i++) {
+            ListBundlesResponse.BundleDto bundle = new ListBundlesResponse.BundleDto();
+            bundle.setName(string(strings, buffer.getInt()));
+            bundle.setDescription(string(strings, buffer.getInt()));
+            bundle.setImageUrl(string(strings, buffer.getInt()));
+            bundle.setBillingType(string(strings, buffer.getInt()));
+            bundle.setDataAmount(readNullableInt(buffer));
+            bundle.setDuration(readNullableInt(buffer));
+            bundle.setPrice(readNullableDouble(buffer));
+            bundle.setAutostart(readNullableBoolean(buffer));
+            bundle.setUnlimited(readNullableBoolean(buffer));
+            bundle.setRoamingEnabled(readNullableBoolean(buffer));
+
+            int countryCount = buffer.getInt();
+            if (countryCount != NULL_REF) {
+                List<ListBundlesResponse.CountryDto> countries = new ArrayList<>(countryCount);
+                for (int c = 0; c < countryCount; c++) {
+                    ListBundlesResponse.CountryDto country = new ListBundlesResponse.CountryDto();
+                    country.setName(string(strings, buffer.getInt()));
+                    country.setRegion(string(strings, buffer.getInt()));
+                    country.setIso(string(strings, buffer.getInt()));
+                    countries.add(country);
+                }
+                bundle.setCountries(countries);
+            }
+            bundle.setGroup(readStringList(buffer, strings));
+            bundle.setPotentialSpeeds(readStringList(buffer, strings));
+            bundles.add(bundle);
+        }
+        return new StoredCatalogue(bundles, loadedAtMillis);
+    }
+
+    private static String string(String[] strings, int ref) {
+        return ref == NULL_REF ? null : strings[ref];
+    }
+
+    private static List<String> readStringList(ByteBuffer buffer, String[] strings) {
+        int size = buffer.getInt();
+        if (size == NULL_REF) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(string(strings, buffer.getInt()));
+        }
+        return values;
+    }
+
+    private static Integer readNullableInt(ByteBuffer buffer) {
+        boolean present = buffer.get() != 0;
+        int value = buffer.getInt();
+        return present ? value : null;
+    }
+
+    private static Double readNullableDouble(ByteBuffer buffer) {
+        boolean present = buffer.get() != 0;
+        double value = buffer.getDouble();
+        return present ? value : null;
+    }
+
+    private static Boolean readNullableBoolean(ByteBuffer buffer) {
+        byte value = buffer.get();
+        return value == 0 ? null : value == 2;
+    }
+}
@@ -1,16 +1,22 @@
 package com.tiktel.ttelgo.plan.infrastructure.adapter;
 
+import com.tiktel.ttelgo.integration.esimgo.EsimGoAsyncClient;
 import com.tiktel.ttelgo.integration.esimgo.EsimGoClient;
 import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.CataloguePage;
 import com.tiktel.ttelgo.plan.application.port.EsimGoPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 @Component
 @RequiredArgsConstructor
 public class EsimGoAdapter implements EsimGoPort {
 
     private final EsimGoClient esimGoClient;
+    private final EsimGoAsyncClient esimGoAsyncClient;
 
     @Override
     public BundleResponse listBundles() {
@@ -22,6 +28,11 @@ public class EsimGoAdapter implements EsimGoPort {
         return esimGoClient.listBundles(page, perPage, direction, orderBy, description);
     }
 
+    @Override
+    public CataloguePage streamCatalogue(Integer page, Integer perPage, Consumer<BundleResponse.Bundle> bundleSink) {
+        return esimGoClient.streamCatalogue(page, perPage, bundleSink);
+    }
+
     @Override
     public BundleResponse listBundlesByCountry(String countryIso) {
         return esimGoClient.listBundlesByCountry(countryIso);
@@ -31,5 +42,14 @@ public class EsimGoAdapter implements EsimGoPort {
     public BundleResponse.Bundle getBundleDetails(String bundleName) {
         return esimGoClient.getBundleDetails(bundleName);
     }
-}
 
+    @Override
+    public CompletableFuture<BundleResponse> listBundlesAsync(Integer page, Integer perPage, String direction, String orderBy, String description) {
+        return esimGoAsyncClient.listBundles(page, perPage, direction, orderBy, description).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<BundleResponse.Bundle> getBundleDetailsAsync(String bundleName) {
+        return esimGoAsyncClient.getBundleDetails(bundleName).toFuture();
+    }
+}
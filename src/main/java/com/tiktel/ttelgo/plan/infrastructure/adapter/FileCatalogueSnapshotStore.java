@@ -0,0 +1,85 @@
+package com.tiktel.ttelgo.plan.infrastructure.adapter;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import com.tiktel.ttelgo.plan.application.port.CatalogueSnapshotStorePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores the catalogue snapshot as a compact binary file in the app's data directory.
+ *
+ * The file holds the {@link CatalogueSnapshotCodec} encoding; it is written to a temp file and atomically
+ * moved into place, and read back through a memory-mapped buffer.
+ */
+@Slf4j
+@Component
+public class FileCatalogueSnapshotStore implements CatalogueSnapshotStorePort {
+
+    private final boolean enabled;
+    private final Path snapshotFile;
+
+    public FileCatalogueSnapshotStore(
+            @Value("${app.cache.catalogue-snapshot.enabled:true}") boolean enabled,
+            @Value("${app.cache.catalogue-snapshot.file:data/catalogue-snapshot.bin}") String snapshotFile) {
+        this.enabled = enabled;
+        this.snapshotFile = Paths.get(snapshotFile).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Optional<StoredCatalogue> load() {
+        if (!enabled || !Files.isRegularFile(snapshotFile)) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            StoredCatalogue catalogue = CatalogueSnapshotCodec.decode(buffer);
+            log.info("Loaded catalogue snapshot from {}: {} bundles in {} ms", snapshotFile,
+                    catalogue.bundles().size(), (System.nanoTime() - start) / 1_000_000);
+            return Optional.of(catalogue);
+        } catch (IOException | IllegalStateException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring unreadable catalogue snapshot {}: {}", snapshotFile, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(List<ListBundlesResponse.BundleDto> bundles, long loadedAtMillis) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024))) {
+                CatalogueSnapshotCodec.encode(out, bundles, loadedAtMillis);
+            }
+            try {
+                Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.info("Saved catalogue snapshot to {}: {} bundles, {} bytes in {} ms", snapshotFile, bundles.size(),
+                    Files.size(snapshotFile), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.error("Failed to save catalogue snapshot to {}: {}", snapshotFile, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.tiktel.ttelgo.plan.infrastructure.adapter;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import com.tiktel.ttelgo.plan.application.port.CatalogueSharedStorePort;
+import com.tiktel.ttelgo.plan.application.port.CatalogueSnapshotStorePort.StoredCatalogue;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * Redis-backed shared catalogue snapshot.
+ *
+ * Keys:
+ * - catalogue:snapshot:{version}  - {@link CatalogueSnapshotCodec} encoded snapshot, expires after the retention period
+ * - catalogue:snapshot:current    - version number of the current snapshot (only ever moves forward)
+ * - catalogue:snapshot:version    - counter used to assign versions
+ * - catalogue:refresh:lease       - id of the node currently refreshing the catalogue (SET NX with expiry)
+ * New versions are announced on the catalogue:snapshot:published channel.
+ */
+@Slf4j
+@Component
+public class RedisCatalogueSharedStore implements CatalogueSharedStorePort {
+
+    private static final String SNAPSHOT_KEY_PREFIX = "catalogue:snapshot:";
+    private static final String CURRENT_KEY = "catalogue:snapshot:current";
+    private static final String VERSION_COUNTER_KEY = "catalogue:snapshot:version";
+    private static final String LEASE_KEY = "catalogue:refresh:lease";
+    private static final String PUBLISHED_CHANNEL = "catalogue:snapshot:published";
+
+    // Move the current pointer forward only, so a slow publisher can't roll back a newer snapshot
+    private static final RedisScript<Long> ADVANCE_CURRENT = new DefaultRedisScript<>(
+            "if tonumber(redis.call('GET', KEYS[1]) or '0') < tonumber(ARGV[1]) then " +
+            "redis.call('SET', KEYS[1], ARGV[1]) return 1 end return 0", Long.class);
+
+    // Delete the lease only if it is still ours (it may have expired and been taken by another node)
+    private static final RedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0", Long.class);
+
+    private final boolean enabled;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisTemplate<String, byte[]> snapshotTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final Duration leaseDuration;
+    private final Duration retention;
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID();
+    private volatile RedisMessageListenerContainer listenerContainer;
+
+    public RedisCatalogueSharedStore(
+            StringRedisTemplate redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            @Value("${app.cache.catalogue-shared.enabled:true}") boolean enabled,
+            @Value("${app.cache.catalogue-shared.lease-seconds:300}") long leaseSeconds,
+            @Value("${app.cache.catalogue-shared.retention-seconds:7200}") long retentionSeconds) {
+        this.enabled = enabled;
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.retention = Duration.ofSeconds(retentionSeconds);
+
+        this.snapshotTemplate = new RedisTemplate<>();
+        snapshotTemplate.setConnectionFactory(connectionFactory);
+        snapshotTemplate.setKeySerializer(RedisSerializer.string());
+        snapshotTemplate.setValueSerializer(RedisSerializer.byteArray());
+        snapshotTemplate.afterPropertiesSet();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Optional<VersionedCatalogue> loadCurrent() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long version = currentVersion();
+        if (version <= 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] encoded = snapshotTemplate.opsForValue().get(SNAPSHOT_KEY_PREFIX + version);
+            if (encoded == null) {
+                log.warn("Shared catalogue snapshot v{} is no longer available", version);
+                return Optional.empty();
+            }
+            StoredCatalogue stored = CatalogueSnapshotCodec.decode(ByteBuffer.wrap(encoded));
+            return Optional.of(new VersionedCatalogue(version, stored.bundles(), stored.loadedAtMillis()));
+        } catch (IllegalStateException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring unreadable shared catalogue snapshot v{}: {}", version, e.getMessage());
+            return Optional.empty();
+        } catch (Exception e) {
+            log.warn("Failed to load shared catalogue snapshot from Redis: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public long currentVersion() {
+        if (!enabled) {
+            return 0;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(CURRENT_KEY);
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (Exception e) {
+            log.warn("Failed to read shared catalogue version from Redis: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public long publish(List<ListBundlesResponse.BundleDto> bundles, long loadedAtMillis) {
+        if (!enabled) {
+            return 0;
+        }
+        try {
+            byte[] encoded = CatalogueSnapshotCodec.encode(bundles, loadedAtMillis);
+            Long version = redisTemplate.opsForValue().increment(VERSION_COUNTER_KEY);
+            if (version == null) {
+                return 0;
+            }
+            snapshotTemplate.opsForValue().set(SNAPSHOT_KEY_PREFIX + version, encoded, retention);
+            Long advanced = redisTemplate.execute(ADVANCE_CURRENT, List.of(CURRENT_KEY), String.valueOf(version));
+            if (advanced == null || advanced == 0) {
+                log.info("Shared catalogue snapshot v{} was superseded before it became current", version);
+                return 0;
+            }
+            redisTemplate.convertAndSend(PUBLISHED_CHANNEL, String.valueOf(version));
+            log.info("Published shared catalogue snapshot v{}: {} bundles, {} bytes", version, bundles.size(), encoded.length);
+            return version;
+        } catch (Exception e) {
+            log.warn("Failed to publish catalogue snapshot to Redis: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public boolean tryAcquireRefreshLease() {
+        if (!enabled) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LEASE_KEY, nodeId, leaseDuration));
+        } catch (Exception e) {
+            // Redis unavailable: refresh locally rather than not at all
+            log.warn("Failed to acquire catalogue refresh lease, refreshing locally: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void releaseRefreshLease() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_LEASE, List.of(LEASE_KEY), nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release catalogue refresh lease: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void onSnapshotPublished(LongConsumer listener) {
+        if (!enabled) {
+            return;
+        }
+        if (listenerContainer == null) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.afterPropertiesSet();
+            container.start();
+            listenerContainer = container;
+        }
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                listener.accept(Long.parseLong(body.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed catalogue snapshot notification: {}", body);
+            }
+        }, new ChannelTopic(PUBLISHED_CHANNEL));
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.destroy();
+            } catch (Exception e) {
+                log.debug("Error stopping catalogue snapshot listener: {}", e.getMessage());
+            }
+            listenerContainer = null;
+        }
+        releaseRefreshLease();
+    }
+}
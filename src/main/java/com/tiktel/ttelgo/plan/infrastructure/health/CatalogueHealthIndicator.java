@@ -0,0 +1,28 @@
+package com.tiktel.ttelgo.plan.infrastructure.health;
+
+import com.tiktel.ttelgo.plan.application.PlanService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the node as ready only once a bundle catalogue snapshot (from disk or freshly loaded) can be served.
+ * Included in the readiness group so rolling deploys don't route shop traffic to a node with a cold catalogue.
+ */
+@Component("catalogue")
+public class CatalogueHealthIndicator implements HealthIndicator {
+
+    private final PlanService planService;
+
+    public CatalogueHealthIndicator(PlanService planService) {
+        this.planService = planService;
+    }
+
+    @Override
+    public Health health() {
+        if (planService.hasCatalogueSnapshot()) {
+            return Health.up().build();
+        }
+        return Health.outOfService().withDetail("reason", "catalogue snapshot not loaded yet").build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.tiktel.ttelgo.user.api;
 
 import com.tiktel.ttelgo.common.dto.ApiResponse;
+import com.tiktel.ttelgo.common.dto.Cursor;
+import com.tiktel.ttelgo.common.dto.CursorPage;
 import com.tiktel.ttelgo.common.dto.PaginationMeta;
 import com.tiktel.ttelgo.common.service.FileStorageService;
 import com.tiktel.ttelgo.order.api.dto.OrderResponse;
@@ -14,18 +16,21 @@ import com.tiktel.ttelgo.common.exception.BusinessException;
 import com.tiktel.ttelgo.common.exception.ErrorCode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.time.LocalDateTime;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/users")
 public class UserController {
     
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
     private final UserService userService;
     private final OrderService orderService;
     private final RoleScopeResolver roleScopeResolver;
@@ -122,11 +127,15 @@ public class UserController {
      * Get orders for a specific user.
      * - Admins can access any user's orders.
      * - Regular users can only access their own orders.
+     * - Paged by offset; paging=cursor (or a cursor) pages newest first by cursor instead.
      * GET /api/v1/users/{id}/orders
      */
     @GetMapping("/{id}/orders")
     public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersForUser(
             @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) Boolean includeTotal,
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "50") Integer size,
             @RequestParam(required = false, defaultValue = "createdAt,desc") String sort
@@ -137,10 +146,18 @@ public class UserController {
             throw new BusinessException(ErrorCode.FORBIDDEN,
                     "Access denied. You can only view your own orders.");
         }
-        List<OrderResponse> response = orderService.getOrdersByUserId(id);
-        List<OrderResponse> sorted = applySort(response, sort);
-        List<OrderResponse> paged = slice(sorted, page, size);
-        return ResponseEntity.ok(ApiResponse.success(paged, "Success", PaginationMeta.simple(page, size, sorted.size())));
+        Sort sortOrder = parseSort(sort);
+        if (cursor != null || "cursor".equals(paging)) {
+            // Keyset paging: follow meta.pagination.nextCursor; counted on the first page unless asked otherwise
+            if (!NEWEST_FIRST.equals(sortOrder)) {
+                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Cursor paging only supports sort=createdAt,desc");
+            }
+            boolean withTotal = includeTotal != null ? includeTotal : cursor == null;
+            CursorPage<OrderResponse> orders = orderService.getOrdersByUserId(id, Cursor.decode(cursor), size, withTotal);
+            return ResponseEntity.ok(ApiResponse.success(orders.content(), "Success", PaginationMeta.fromCursorPage(orders, size)));
+        }
+        Page<OrderResponse> orders = orderService.getOrdersByUserId(id, PageRequest.of(page, size, sortOrder));
+        return ResponseEntity.ok(ApiResponse.success(orders.getContent(), "Success", PaginationMeta.fromPage(orders)));
     }
     
     /**
@@ -211,52 +228,20 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
-    private List<OrderResponse> slice(List<OrderResponse> items, int page, int size) {
-        if (items == null || items.isEmpty()) return items;
-        if (size <= 0) return items;
-        int from = Math.max(0, page) * size;
-        if (from >= items.size()) return List.of();
-        int to = Math.min(items.size(), from + size);
-        return items.subList(from, to);
-    }
-
-    private List<OrderResponse> applySort(List<OrderResponse> items, String sort) {
-        if (items == null) return List.of();
-        if (sort == null || sort.isBlank()) return items;
-
+    /**
+     * Sort by createdAt (default) or status; only newest first is paged by cursor
+     */
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return NEWEST_FIRST;
+        }
         String[] parts = sort.split(",", 2);
         String field = parts[0].trim();
+        if (!"createdAt".equals(field) && !"status".equals(field)) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Cannot sort orders by: " + field);
+        }
         String dir = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
-        boolean desc = "desc".equals(dir);
-
-        return items.stream().sorted((a, b) -> {
-            int cmp = 0;
-            if ("createdAt".equals(field)) {
-                LocalDateTime av = a.getCreatedAt();
-                LocalDateTime bv = b.getCreatedAt();
-                if (av == null && bv == null) cmp = 0;
-                else if (av == null) cmp = 1;
-                else if (bv == null) cmp = -1;
-                else cmp = av.compareTo(bv);
-            } else if ("status".equals(field)) {
-                String av = a.getStatus() != null ? a.getStatus().name() : null;
-                String bv = b.getStatus() != null ? b.getStatus().name() : null;
-                if (av == null && bv == null) cmp = 0;
-                else if (av == null) cmp = 1;
-                else if (bv == null) cmp = -1;
-                else cmp = av.compareToIgnoreCase(bv);
-            } else {
-                // default: createdAt
-                LocalDateTime av = a.getCreatedAt();
-                LocalDateTime bv = b.getCreatedAt();
-                if (av == null && bv == null) cmp = 0;
-                else if (av == null) cmp = 1;
-                else if (bv == null) cmp = -1;
-                else cmp = av.compareTo(bv);
-            }
-
-            return desc ? -cmp : cmp;
-        }).collect(Collectors.toList());
+        Sort.Direction direction = "desc".equals(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, field);
     }
 }
-
@@ -0,0 +1,16 @@
+-- V10: Indexes for the admin and vendor order search
+-- The search only emits the filters given (user, vendor, status, createdAt range) and orders newest first.
+-- Each common combination gets an index with the equality filters first and (created_at, id) last, so the range
+-- and the ordering come from the index too. User, vendor and unfiltered searches use the V9 indexes.
+
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_id ON orders(status, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_status_created_id ON orders(user_id, status, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_orders_vendor_status_created_id ON orders(vendor_id, status, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+-- Superseded: idx_orders_status_created_id starts with the same column
+DROP INDEX IF EXISTS idx_orders_status;
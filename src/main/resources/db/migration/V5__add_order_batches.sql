@@ -0,0 +1,6 @@
+-- V5: Group vendor orders placed through the batch order API
+-- All orders of one POST /api/v1/vendor/orders/batch share a batch_id (UUID), returned to the vendor.
+
+ALTER TABLE orders ADD COLUMN batch_id VARCHAR(36);
+
+CREATE INDEX IF NOT EXISTS idx_orders_batch_id ON orders(batch_id) WHERE batch_id IS NOT NULL;
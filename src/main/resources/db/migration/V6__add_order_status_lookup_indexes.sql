@@ -0,0 +1,9 @@
+-- V6: Covering indexes for the vendor order status lookup (POST /api/v1/vendor/orders/status)
+-- The lookup reads a few hundred orders of one vendor by ID, with their eSIMs, in one query.
+-- Every column it reads is in these indexes, so both sides are answered by index-only scans.
+
+CREATE INDEX IF NOT EXISTS idx_orders_vendor_status_lookup ON orders(vendor_id, id)
+    INCLUDE (order_number, status) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_esims_order_status_lookup ON esims(order_id)
+    INCLUDE (iccid, matching_id, status) WHERE deleted_at IS NULL;
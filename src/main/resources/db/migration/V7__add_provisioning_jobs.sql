@@ -0,0 +1,28 @@
+-- V7: Durable queue of order provisioning jobs
+-- A job is written in the same transaction that marks an order PAID. Workers on any node claim due jobs
+-- with FOR UPDATE SKIP LOCKED, so each job runs on one worker at a time, and a job whose worker died
+-- is claimed again once its lease (locked_at) expires.
+
+CREATE TABLE provisioning_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL UNIQUE REFERENCES orders(id),
+    
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- 'PENDING', 'RUNNING', 'DONE', 'FAILED'
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    -- Claim
+    locked_by VARCHAR(255),
+    locked_at TIMESTAMP,
+    
+    last_error TEXT,
+    
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT chk_provisioning_jobs_status CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED'))
+);
+
+-- Claim scans: due jobs, and running jobs with an expired lease
+CREATE INDEX idx_provisioning_jobs_due ON provisioning_jobs(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_provisioning_jobs_running ON provisioning_jobs(locked_at) WHERE status = 'RUNNING';
@@ -0,0 +1,34 @@
+-- V8: Transactional outbox for order, payment, ledger and eSIM lifecycle events
+-- Rows are written in the same transaction as the state change they describe, so an event exists if and
+-- only if the change was committed. The relay claims due rows with FOR UPDATE SKIP LOCKED, hands them to
+-- in-process listeners and marks them PUBLISHED; failed dispatches are retried with backoff.
+
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    
+    -- What changed
+    aggregate_type VARCHAR(50) NOT NULL, -- 'ORDER', 'VENDOR', 'ESIM'
+    aggregate_id BIGINT,
+    event_type VARCHAR(100) NOT NULL, -- 'ORDER_PAID', 'LEDGER_POSTED', ...
+    payload TEXT NOT NULL, -- JSON
+    
+    -- Delivery
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- 'PENDING', 'RUNNING', 'PUBLISHED', 'FAILED'
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_by VARCHAR(255),
+    locked_at TIMESTAMP,
+    last_error TEXT,
+    
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,
+    
+    CONSTRAINT chk_outbox_events_status CHECK (status IN ('PENDING', 'RUNNING', 'PUBLISHED', 'FAILED'))
+);
+
+-- Claim scans: due events in commit order, and running events with an expired lease
+CREATE INDEX idx_outbox_events_due ON outbox_events(next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_events_running ON outbox_events(locked_at) WHERE status = 'RUNNING';
+-- Cleanup of published events
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at) WHERE status = 'PUBLISHED';
+CREATE INDEX idx_outbox_events_aggregate ON outbox_events(aggregate_type, aggregate_id);
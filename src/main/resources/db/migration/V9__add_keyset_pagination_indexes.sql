@@ -0,0 +1,24 @@
+-- V9: Indexes for keyset (cursor) pagination of order, eSIM and ledger listings
+-- Listings are newest first on (created_at, id) and a page starts right after the last row of the previous one.
+-- With these indexes every page, however deep, is one index range scan of page size + 1 rows.
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_created_id ON orders(user_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_orders_vendor_created_id ON orders(vendor_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_orders_created_id ON orders(created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_esims_user_created_id ON esims(user_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_vendor_ledger_vendor_created_id ON vendor_ledger_entries(vendor_id, created_at DESC, id DESC);
+
+-- Superseded: the indexes above start with the same columns
+DROP INDEX IF EXISTS idx_orders_user_id;
+DROP INDEX IF EXISTS idx_orders_vendor_id;
+DROP INDEX IF EXISTS idx_orders_created_at;
+DROP INDEX IF EXISTS idx_esims_user_id;
+DROP INDEX IF EXISTS idx_vendor_ledger_vendor_id;
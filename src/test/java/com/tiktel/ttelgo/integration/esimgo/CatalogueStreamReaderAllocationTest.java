@@ -0,0 +1,196 @@
+package com.tiktel.ttelgo.integration.esimgo;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.CataloguePage;
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import com.tiktel.ttelgo.plan.application.CompactCatalogue;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation per catalogue page: data binding to {@link BundleResponse} plus the DTO copy (the previous
+ * pipeline) versus streaming the page straight into a {@link CompactCatalogue.Builder}.
+ *
+ * Bytes are read from the per-thread allocation counter around each run, after a warm-up, on a
+ * 500-bundle page shaped like eSIMGo's: mostly single-country bundles, plus regional and global ones
+ * whose {@code roamingEnabled} is the array of roaming countries.
+ */
+class CatalogueStreamReaderAllocationTest {
+
+    private static final int BUNDLES = 500;
+    private static final int WARMUP = 30;
+    private static final int RUNS = 20;
+    private static final String[] REGIONS = {"Europe", "Asia", "Africa", "North America", "South America", "Oceania"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final byte[] page = cataloguePage().getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void streamingAllocatesLessThanHalfOfDataBindingPerPage() throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            boundPage();
+            streamedPage();
+        }
+        long bound = 0;
+        long streamed = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long start = allocatedBytes();
+            boundPage();
+            long middle = allocatedBytes();
+            streamedPage();
+            long end = allocatedBytes();
+            bound += middle - start;
+            streamed += end - middle;
+        }
+        bound /= RUNS;
+        streamed /= RUNS;
+
+        System.out.printf("Catalogue page of %d bundles (%,d bytes): data binding %,d B/page, streaming %,d B/page (%.0f%%)%n",
+                BUNDLES, page.length, bound, streamed, 100.0 * streamed / bound);
+        assertTrue(streamed * 2 < bound,
+                "Streaming should allocate less than half per page: " + streamed + " vs " + bound);
+    }
+
+    @Test
+    void streamingReadsTheSameBundlesAsDataBinding() throws IOException {
+        CompactCatalogue.Builder builder = CompactCatalogue.builder();
+        CompactCatalogue.Builder.Page bundles = builder.page();
+        CataloguePage info = CatalogueStreamReader.read(new ByteArrayInputStream(page), bundles::add);
+
+        assertEquals(BUNDLES, info.bundleCount());
+        assertEquals(12, info.pageCount());
+        assertEquals(6000, info.rows());
+        assertEquals(boundPage().all(), builder.build(List.of(bundles)).all());
+    }
+
+    @Test
+    void roamingEnabledIsDecodedLikeBefore() throws IOException {
+        assertEquals(Boolean.TRUE, roamingEnabled("true"));
+        assertEquals(Boolean.FALSE, roamingEnabled("\"no\""));
+        assertEquals(Boolean.TRUE, roamingEnabled("\"1\""));
+        assertEquals(Boolean.FALSE, roamingEnabled("[]"));
+        assertEquals(Boolean.TRUE, roamingEnabled("[false, {\"a\": [1, 2]}, \"TRUE\", {\"name\": \"x\"}]"));
+        assertEquals(Boolean.FALSE, roamingEnabled(countryArray(9)));
+        assertEquals(Boolean.TRUE, roamingEnabled(countryArray(10)));
+        assertEquals(Boolean.FALSE, roamingEnabled("{\"enabled\": true}"));
+        assertNull(roamingEnabled("null"));
+    }
+
+    private Boolean roamingEnabled(String json) throws IOException {
+        String body = "{\"bundles\":[{\"roamingEnabled\":" + json + ",\"name\":\"after\"}]}";
+        List<Boolean> values = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        CatalogueStreamReader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), bundle -> {
+            values.add(bundle.getRoamingEnabled());
+            names.add(bundle.getName());
+        });
+        // The parser must be left right after the value
+        assertEquals(List.of("after"), names);
+        Boolean bound = objectMapper.readValue(body, BundleResponse.class).getBundles().get(0).getRoamingEnabled();
+        assertEquals(bound, values.get(0));
+        return values.get(0);
+    }
+
+    /**
+     * The previous pipeline: bind the page, copy it into listing DTOs, then compact it
+     */
+    private CompactCatalogue boundPage() throws IOException {
+        BundleResponse response = objectMapper.readValue(page, BundleResponse.class);
+        List<ListBundlesResponse.BundleDto> dtos = new ArrayList<>();
+        for (BundleResponse.Bundle bundle : response.getBundles()) {
+            ListBundlesResponse.BundleDto dto = new ListBundlesResponse.BundleDto();
+            dto.setName(bundle.getName());
+            dto.setDescription(bundle.getDescription());
+            dto.setDataAmount(bundle.getDataAmount());
+            dto.setDuration(bundle.getDuration());
+            dto.setAutostart(bundle.getAutostart() != null ? bundle.getAutostart() : false);
+            dto.setUnlimited(bundle.getUnlimited() != null ? bundle.getUnlimited() : false);
+            dto.setRoamingEnabled(bundle.getRoamingEnabled());
+            dto.setImageUrl(bundle.getImageUrl());
+            dto.setPrice(bundle.getPrice());
+            dto.setGroup(bundle.getGroup());
+            dto.setBillingType(bundle.getBillingType());
+            dto.setPotentialSpeeds(bundle.getPotentialSpeeds());
+            List<ListBundlesResponse.CountryDto> countries = new ArrayList<>();
+            if (bundle.getCountries() != null) {
+                for (BundleResponse.Country country : bundle.getCountries()) {
+                    ListBundlesResponse.CountryDto countryDto = new ListBundlesResponse.CountryDto();
+                    countryDto.setName(country.getName());
+                    countryDto.setRegion(country.getRegion());
+                    countryDto.setIso(country.getIso());
+                    countries.add(countryDto);
+                }
+            }
+            dto.setCountries(countries);
+            dtos.add(dto);
+        }
+        return CompactCatalogue.of(dtos);
+    }
+
+    private CompactCatalogue streamedPage() throws IOException {
+        CompactCatalogue.Builder builder = CompactCatalogue.builder();
+        CompactCatalogue.Builder.Page bundles = builder.page();
+        CatalogueStreamReader.read(new ByteArrayInputStream(page), bundles::add);
+        return builder.build(List.of(bundles));
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static String cataloguePage() {
+        StringBuilder json = new StringBuilder("{\"bundles\":[");
+        for (int i = 0; i < BUNDLES; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int gb = i % 7 + 1;
+            int days = (i % 4 + 1) * 7;
+            // Mostly single-country bundles, with regional and global ones like the upstream catalogue
+            int countryCount = i % 10 == 0 ? 120 : i % 4 == 0 ? 30 : 1;
+            String countries = countryList(i % 200, countryCount);
+            json.append("{\"name\":\"esim_").append(gb).append("GB_").append(days).append("D_").append(i).append("_V2\",")
+                    .append("\"description\":\"eSIM, ").append(gb).append("GB, ").append(days).append(" Days, V2\",")
+                    .append("\"groups\":[],")
+                    .append("\"countries\":").append(countries).append(',')
+                    .append("\"dataAmount\":").append(gb * 1000).append(",\"duration\":").append(days)
+                    .append(",\"speed\":null,\"autostart\":true,\"unlimited\":false,")
+                    .append("\"roamingEnabled\":").append(countryCount > 1 ? countries : "[]").append(',')
+                    .append("\"imageUrl\":\"https://cdn.esim-go.com/bundles/esim.png\",")
+                    .append("\"price\":").append(1.5 + i % 40).append(',')
+                    .append("\"group\":[\"").append(countryCount > 1 ? "Regional Bundles" : "Standard eSIM Bundles").append("\"],")
+                    .append("\"billingType\":\"FixedCost\",")
+                    .append("\"potentialSpeeds\":[\"3G\",\"4G\",\"5G\"]}");
+        }
+        return json.append("],\"pageCount\":12,\"rows\":6000,\"pageSize\":").append(BUNDLES).append('}').toString();
+    }
+
+    private static String countryList(int first, int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int c = 0; c < count; c++) {
+            int id = (first + c) % 200;
+            if (c > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Country ").append(id)
+                    .append("\",\"region\":\"").append(REGIONS[id % REGIONS.length])
+                    .append("\",\"iso\":\"").append((char) ('A' + id / 26)).append((char) ('A' + id % 26)).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String countryArray(int count) {
+        return countryList(0, count);
+    }
+}
@@ -0,0 +1,209 @@
+package com.tiktel.ttelgo.integration.esimgo.simulator;
+
+import com.tiktel.ttelgo.integration.esimgo.EsimGoClient;
+import com.tiktel.ttelgo.integration.esimgo.EsimGoConfig;
+import com.tiktel.ttelgo.integration.esimgo.dto.BundleResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderRequest;
+import com.tiktel.ttelgo.integration.esimgo.dto.CreateOrderResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.OrderDetailResponse;
+import com.tiktel.ttelgo.integration.esimgo.dto.QrCodeResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The eSIMGo simulator, driven through the real {@link EsimGoClient}
+ */
+class EsimGoSimulatorTest {
+
+    private static final String API_KEY = "simulator-test-key";
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private EsimGoSimulator simulator;
+
+    @AfterEach
+    void tearDown() {
+        if (simulator != null) {
+            simulator.stop();
+        }
+    }
+
+    private EsimGoClient start(EsimGoSimulator.Builder builder) {
+        simulator = builder.apiKey(API_KEY).build();
+        simulator.start();
+        EsimGoConfig config = new EsimGoConfig();
+        ReflectionTestUtils.setField(config, "apiEndpoint", simulator.baseUrl());
+        ReflectionTestUtils.setField(config, "apiKey", API_KEY);
+        return new EsimGoClient(config, new RestTemplate());
+    }
+
+    @Test
+    void cataloguePagesCoverEveryBundleOnce() {
+        EsimGoClient client = start(EsimGoSimulator.builder().catalogueSize(1234));
+
+        BundleResponse first = client.listBundles(1, 100, "asc", null, null);
+        assertEquals(1234, first.getRows());
+        assertEquals(13, first.getPageCount());
+        Set<String> names = new HashSet<>();
+        for (int page = 1; page <= first.getPageCount(); page++) {
+            client.listBundles(page, 100, "asc", null, null).getBundles().forEach(bundle -> assertTrue(names.add(bundle.getName())));
+        }
+        assertEquals(1234, names.size());
+        assertTrue(client.listBundles(14, 100, "asc", null, null).getBundles().isEmpty());
+
+        String name = simulator.catalogue().bundles().get(42).getName();
+        assertEquals(name, client.getBundleDetails(name).getName());
+        assertNull(client.getBundleDetails("esim_no_such_bundle"));
+    }
+
+    @Test
+    void catalogueFiltersByCountryGroupAndDescription() {
+        EsimGoClient client = start(EsimGoSimulator.builder().catalogueSize(2000));
+
+        BundleResponse gb = client.listBundlesByCountry("GB");
+        assertFalse(gb.getBundles().isEmpty());
+        assertTrue(gb.getBundles().stream().allMatch(bundle -> bundle.getCountries().stream().anyMatch(c -> "GB".equals(c.getIso()))));
+
+        BundleResponse global = client.listBundlesByGroup(SyntheticCatalogue.GLOBAL_GROUP);
+        assertFalse(global.getBundles().isEmpty());
+        assertTrue(global.getBundles().stream().allMatch(bundle -> bundle.getCountries().size() >= 80 && bundle.getRoamingEnabled()));
+
+        BundleResponse unlimited = client.listBundles(1, 500, "desc", "price", "Unlimited");
+        assertFalse(unlimited.getBundles().isEmpty());
+        assertTrue(unlimited.getBundles().stream().allMatch(bundle -> bundle.getUnlimited() && bundle.getDataAmount() == -1));
+        List<Double> prices = unlimited.getBundles().stream().map(BundleResponse.Bundle::getPrice).toList();
+        List<Double> descending = new ArrayList<>(prices);
+        descending.sort((a, b) -> Double.compare(b, a));
+        assertEquals(descending, prices);
+    }
+
+    @Test
+    void catalogueIsDeterministicPerSeed() {
+        List<String> a = SyntheticCatalogue.generate(500, 7).bundles().stream().map(BundleResponse.Bundle::getName).toList();
+        List<String> b = SyntheticCatalogue.generate(500, 7).bundles().stream().map(BundleResponse.Bundle::getName).toList();
+        List<String> c = SyntheticCatalogue.generate(500, 8).bundles().stream().map(BundleResponse.Bundle::getName).toList();
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+        assertEquals(500, new HashSet<>(a).size());
+    }
+
+    @Test
+    void ordersAssignEsimsWithQrCodesInBothFormats() {
+        for (EsimGoSimulator.QrFormat format : EsimGoSimulator.QrFormat.values()) {
+            EsimGoClient client = start(EsimGoSimulator.builder().catalogueSize(100).qrFormat(format));
+            String bundle = simulator.catalogue().bundles().get(0).getName();
+
+            CreateOrderResponse order = client.createOrder(orderFor(bundle, 2));
+            assertEquals("Completed", order.getStatus());
+            assertNotNull(order.getOrderReference());
+            List<CreateOrderResponse.EsimInfo> esims = order.getOrder().get(0).getEsims();
+            assertEquals(2, esims.size());
+
+            OrderDetailResponse details = client.getOrderDetails(order.getOrderReference());
+            assertEquals(esims.get(1).getIccid(), details.getOrder().get(0).getEsims().get(1).getIccid());
+
+            QrCodeResponse qr = client.getQrCode(esims.get(0).getMatchingId());
+            assertTrue(qr.getQrCode().startsWith("data:image/png;base64,"), format.name());
+            byte[] png = Base64.getDecoder().decode(qr.getQrCode().substring("data:image/png;base64,".length()));
+            assertArrayEquals(new byte[]{(byte) 0x89, 'P', 'N', 'G'}, Arrays.copyOf(png, 4), format.name());
+
+            simulator.stop();
+        }
+    }
+
+    @Test
+    void injectsThrottlingAndServerErrors() throws Exception {
+        start(EsimGoSimulator.builder().catalogueSize(10).throttleRate(1));
+        HttpResponse<String> throttled = get("/catalogue");
+        assertEquals(429, throttled.statusCode());
+        assertEquals("1", throttled.headers().firstValue("Retry-After").orElse(null));
+        simulator.stop();
+
+        start(EsimGoSimulator.builder().catalogueSize(10).errorRate(1));
+        int status = get("/catalogue").statusCode();
+        assertTrue(status == 500 || status == 503, "status " + status);
+    }
+
+    @Test
+    void delayedResponsesDoNotHoldThreads() throws Exception {
+        start(EsimGoSimulator.builder().catalogueSize(100).latency("fixed:200").latency(EsimGoSimulator.Endpoint.BUNDLE, "none"));
+        get("/catalogue?page=1&perPage=10"); // warm-up
+
+        int concurrent = 64;
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < concurrent; i++) {
+            responses.add(httpClient.sendAsync(request("/catalogue?page=1&perPage=10"), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.join().statusCode());
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs >= 200, "Responses must wait out the latency, took " + elapsedMs + " ms");
+        assertTrue(elapsedMs < 5 * 200, "Delayed responses should overlap, took " + elapsedMs + " ms");
+
+        long bundleStart = System.nanoTime();
+        get("/catalogue/bundle/" + simulator.catalogue().bundles().get(0).getName());
+        assertTrue((System.nanoTime() - bundleStart) / 1_000_000 < 200, "Per-endpoint latency overrides the default");
+    }
+
+    @Test
+    void latencyDistributionsMatchTheirSpecs() {
+        Random random = new Random(1);
+        assertEquals(50, LatencyDistribution.parse("fixed:50").sampleMillis(random));
+        assertEquals(0, LatencyDistribution.parse("none").sampleMillis(random));
+        for (int i = 0; i < 1000; i++) {
+            long sample = LatencyDistribution.parse("uniform:20-200").sampleMillis(random);
+            assertTrue(sample >= 20 && sample <= 200, "uniform sample " + sample);
+        }
+
+        LatencyDistribution logNormal = LatencyDistribution.parse("lognormal:80,400");
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = logNormal.sampleMillis(random);
+        }
+        Arrays.sort(samples);
+        assertEquals(80.0, samples[samples.length / 2], 8.0);
+        assertEquals(400.0, samples[samples.length * 99 / 100], 60.0);
+
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("gamma:1,2"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("uniform:200-20"));
+    }
+
+    private static CreateOrderRequest orderFor(String bundle, int quantity) {
+        CreateOrderRequest.OrderItem item = new CreateOrderRequest.OrderItem();
+        item.setType("bundle");
+        item.setItem(bundle);
+        item.setQuantity(quantity);
+        item.setAllowReassign(false);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setType("transaction");
+        request.setAssign(true);
+        request.setOrder(List.of(item));
+        return request;
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create(simulator.baseUrl() + path)).header("X-API-Key", API_KEY).build();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return httpClient.send(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+}
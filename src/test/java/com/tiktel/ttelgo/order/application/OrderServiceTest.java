@@ -1,6 +1,7 @@
 package com.tiktel.ttelgo.order.application;
 
 import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+import com.tiktel.ttelgo.common.outbox.application.OutboxService;
 import com.tiktel.ttelgo.integration.esimgo.EsimGoService;
 import com.tiktel.ttelgo.integration.esimgo.domain.Bundle;
 import com.tiktel.ttelgo.order.domain.Order;
@@ -40,6 +41,9 @@ class OrderServiceTest {
     @Mock
     private VendorService vendorService;
     
+    @Mock
+    private OutboxService outboxService;
+    
     @InjectMocks
     private OrderService orderService;
     
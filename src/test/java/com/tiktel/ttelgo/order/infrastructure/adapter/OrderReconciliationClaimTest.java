@@ -0,0 +1,144 @@
+package com.tiktel.ttelgo.order.infrastructure.adapter;
+
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+import com.tiktel.ttelgo.common.domain.enums.PaymentStatus;
+import com.tiktel.ttelgo.order.application.port.OrderRepositoryPort;
+import com.tiktel.ttelgo.order.application.port.ProvisioningJobPort;
+import com.tiktel.ttelgo.order.domain.Order;
+import com.tiktel.ttelgo.order.domain.OrderTransition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reconciliation claims against the real claim statement: claim, a failed attempt, and claiming again.
+ *
+ * The claim is an UPDATE ... FOR UPDATE SKIP LOCKED ... RETURNING on the order_status enum, which H2 cannot run,
+ * so this test needs a PostgreSQL database (migrated by Flyway on startup); it is skipped unless
+ * TEST_POSTGRES_URL is set, with TEST_POSTGRES_USER and TEST_POSTGRES_PASSWORD for the credentials;
+ * scripts/test-postgres.sh sets them for a disposable PostgreSQL.
+ * The orders table sets updated_at on every update, so claims count every order updated before now as stale;
+ * stale orders left in the database by other tests may be claimed along with the test orders.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class OrderReconciliationClaimTest {
+
+    private static final Duration BACKOFF = Duration.ofMinutes(1);
+    private static final int MAX_RETRIES = 3;
+
+    @Autowired
+    private OrderRepositoryPort orderRepositoryPort;
+
+    @Autowired
+    private ProvisioningJobPort provisioningJobPort;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_POSTGRES_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", ""));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    @Test
+    void failedAttemptIsClaimedAgainAfterItsBackoffUpToMaxRetries() {
+        Order order = createPaidOrder();
+
+        assertTrue(claimed(order));
+        assertEquals(1, retryCount(order));
+
+        // The attempt failed before the order was submitted: it is still PAID, but waits out its backoff
+        // (doubled per attempt since the last one)
+        elapse(order, BACKOFF.multipliedBy(2).minusSeconds(5));
+        assertFalse(claimed(order));
+        elapse(order, Duration.ofSeconds(5));
+        assertTrue(claimed(order));
+        assertEquals(2, retryCount(order));
+
+        elapse(order, BACKOFF.multipliedBy(4));
+        assertTrue(claimed(order));
+        assertEquals(MAX_RETRIES, retryCount(order));
+
+        // Out of attempts
+        elapse(order, BACKOFF.multipliedBy(100));
+        assertFalse(claimed(order));
+        assertEquals(OrderStatus.PAID, orderRepositoryPort.findById(order.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void attemptThatReachedEsimGoIsNotClaimedAgain() {
+        Order order = createPaidOrder();
+        assertTrue(claimed(order));
+
+        // Submitted and not confirmed: left SYNC_FAILED for a manual retry
+        orderRepositoryPort.transition(order.getId(), OrderTransition.START_PROVISIONING, OrderTransition.Details.NONE);
+        orderRepositoryPort.transition(order.getId(), OrderTransition.SYNC_FAIL,
+                OrderTransition.Details.error(null, "timeout"));
+        elapse(order, BACKOFF.multipliedBy(100));
+        assertFalse(claimed(order));
+    }
+
+    @Test
+    void orderQueuedForProvisioningIsNotClaimed() {
+        Order order = createPaidOrder();
+        provisioningJobPort.enqueue(order.getId());
+
+        assertFalse(claimed(order));
+        assertEquals(0, retryCount(order));
+    }
+
+    private boolean claimed(Order order) {
+        return orderRepositoryPort.claimForReconciliation(List.of(OrderStatus.PAID), LocalDateTime.now().plusMinutes(1),
+                MAX_RETRIES, BACKOFF, Integer.MAX_VALUE).contains(order.getId());
+    }
+
+    /**
+     * Move the last attempt the given time into the past
+     */
+    private void elapse(Order order, Duration duration) {
+        jdbcTemplate.update("UPDATE orders SET last_retry_at = last_retry_at - ? * INTERVAL '1 second' WHERE id = ?",
+                duration.toSeconds(), order.getId());
+    }
+
+    private int retryCount(Order order) {
+        return orderRepositoryPort.findById(order.getId()).orElseThrow().getRetryCount();
+    }
+
+    private Order createPaidOrder() {
+        return orderRepositoryPort.insertAll(List.of(Order.builder()
+                .orderNumber("ORD-CLAIM-" + UUID.randomUUID())
+                .userId(1L)
+                .customerEmail("claim@example.com")
+                .bundleCode("BUNDLE_US_5GB_30D")
+                .quantity(1)
+                .unitPrice(BigDecimal.TEN)
+                .totalAmount(BigDecimal.TEN)
+                .currency("USD")
+                .status(OrderStatus.PAID)
+                .paymentStatus(PaymentStatus.SUCCEEDED)
+                .retryCount(0)
+                .build())).get(0);
+    }
+}
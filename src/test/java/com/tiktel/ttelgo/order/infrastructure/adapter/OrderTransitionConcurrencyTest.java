@@ -0,0 +1,165 @@
+package com.tiktel.ttelgo.order.infrastructure.adapter;
+
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+import com.tiktel.ttelgo.common.domain.enums.PaymentStatus;
+import com.tiktel.ttelgo.order.application.port.OrderRepositoryPort;
+import com.tiktel.ttelgo.order.domain.Order;
+import com.tiktel.ttelgo.order.domain.OrderTransition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency test: many threads racing state machine transitions on one order.
+ *
+ * Transitions are conditional UPDATE ... RETURNING statements on the order_status enum, which H2 cannot run,
+ * so this test needs a PostgreSQL database (migrated by Flyway on startup); it is skipped unless
+ * TEST_POSTGRES_URL is set, with TEST_POSTGRES_USER and TEST_POSTGRES_PASSWORD for the credentials;
+ * scripts/test-postgres.sh sets them for a disposable PostgreSQL.
+ * Each transition runs in its own auto-committed statement, as it would from concurrent requests and jobs.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class OrderTransitionConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+
+    @Autowired
+    private OrderRepositoryPort orderRepositoryPort;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_POSTGRES_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", ""));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    @Test
+    void exactlyOneOfManyRacingTransitionsWins() throws Exception {
+        Order order = createOrder(OrderStatus.ORDER_CREATED);
+
+        // Half the threads pay the order, half cancel it; both start from ORDER_CREATED
+        Map<OrderTransition, AtomicInteger> wins = new ConcurrentHashMap<>();
+        race(thread -> {
+            OrderTransition transition = thread % 2 == 0 ? OrderTransition.MARK_PAID : OrderTransition.CANCEL;
+            orderRepositoryPort.transition(order.getId(), transition, OrderTransition.Details.error(null, "race"))
+                    .ifPresent(updated -> wins.computeIfAbsent(transition, t -> new AtomicInteger()).incrementAndGet());
+        });
+
+        assertEquals(1, wins.values().stream().mapToInt(AtomicInteger::get).sum());
+        OrderTransition winner = wins.keySet().iterator().next();
+        assertEquals(winner.getTarget(), orderRepositoryPort.findById(order.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void racingProvisioningRetryCycleLosesNoUpdates() throws Exception {
+        Order order = createOrder(OrderStatus.PAID);
+
+        // PAID -> PROVISIONING -> SYNC_FAILED -> PAID, attempted at random by every thread
+        List<OrderTransition> cycle = List.of(
+                OrderTransition.START_PROVISIONING, OrderTransition.SYNC_FAIL, OrderTransition.RETRY);
+        Map<OrderTransition, AtomicInteger> applied = new ConcurrentHashMap<>();
+        cycle.forEach(transition -> applied.put(transition, new AtomicInteger()));
+        race(thread -> {
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                OrderTransition transition = cycle.get(ThreadLocalRandom.current().nextInt(cycle.size()));
+                orderRepositoryPort.transition(order.getId(), transition, OrderTransition.Details.error("E", "race"))
+                        .ifPresent(updated -> {
+                            assertEquals(transition.getTarget(), updated.getStatus());
+                            applied.get(transition).incrementAndGet();
+                        });
+            }
+        });
+
+        int started = applied.get(OrderTransition.START_PROVISIONING).get();
+        int syncFailed = applied.get(OrderTransition.SYNC_FAIL).get();
+        int retried = applied.get(OrderTransition.RETRY).get();
+        assertTrue(started > 0, "No transition was applied");
+
+        // Every applied transition followed the previous one in the cycle, so the counts only differ
+        // by where the cycle stopped
+        Order last = orderRepositoryPort.findById(order.getId()).orElseThrow();
+        switch (last.getStatus()) {
+            case PAID -> assertTrue(started == syncFailed && syncFailed == retried);
+            case PROVISIONING -> assertTrue(started == syncFailed + 1 && syncFailed == retried);
+            case SYNC_FAILED -> assertTrue(started == syncFailed && syncFailed == retried + 1);
+            default -> fail("Order left the cycle: " + last.getStatus());
+        }
+        // Each SYNC_FAIL incremented the retry count in the database; none was overwritten
+        assertEquals(syncFailed, last.getRetryCount());
+    }
+
+    private Order createOrder(OrderStatus status) {
+        return orderRepositoryPort.insertAll(List.of(Order.builder()
+                .orderNumber("ORD-RACE-" + UUID.randomUUID())
+                .userId(1L)
+                .customerEmail("race@example.com")
+                .bundleCode("BUNDLE_US_5GB_30D")
+                .quantity(1)
+                .unitPrice(BigDecimal.TEN)
+                .totalAmount(BigDecimal.TEN)
+                .currency("USD")
+                .status(status)
+                .paymentStatus(status == OrderStatus.PAID ? PaymentStatus.SUCCEEDED : PaymentStatus.CREATED)
+                .retryCount(0)
+                .build())).get(0);
+    }
+
+    /**
+     * Run the body on every thread, all released at once, and rethrow the first failure
+     */
+    private void race(ThreadBody body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    body.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,262 @@
+package com.tiktel.ttelgo.order.infrastructure.repository;
+
+import com.tiktel.ttelgo.common.domain.enums.OrderStatus;
+import com.tiktel.ttelgo.common.dto.Cursor;
+import com.tiktel.ttelgo.order.application.OrderService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Checks that every common order search filter combination is answered from the index meant for it.
+ *
+ * The orders table is seeded with a realistic volume and spread (ORDERS orders of USERS customers and VENDORS
+ * vendors over two years, mostly COMPLETED) and analyzed, so the planner costs real statistics. Each search runs
+ * through OrderService; the SQL Hibernate generates for it is recorded and planned again with EXPLAIN (GENERIC_PLAN),
+ * the plan Postgres caches for a prepared statement, with the default planner settings. Page queries must use the
+ * index designed for their filters; count queries one of the indexes leading with a filtered column.
+ * This needs PostgreSQL 16 or later (migrated by Flyway on startup); the test is skipped unless TEST_POSTGRES_URL
+ * is set, with TEST_POSTGRES_USER and TEST_POSTGRES_PASSWORD for the credentials; scripts/test-postgres.sh sets them
+ * for a disposable PostgreSQL. The seed rows are kept between runs.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class OrderSearchIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    private static final int ORDERS = 200_000;
+    private static final int USERS = 5_000;
+    private static final int VENDORS = 100;
+
+    private static final Pattern INDEX_NAME = Pattern.compile("(?:Scan using|Bitmap Index Scan on) (\\w+)");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_POSTGRES_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", ""));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        // Status is bound as a string; let Postgres take it as order_status
+        registry.add("spring.datasource.hikari.data-source-properties.stringtype", () -> "unspecified");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", SqlRecorder.class::getName);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    @BeforeAll
+    void seed() {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM orders WHERE order_number LIKE 'ORD-SEARCH-%'", Integer.class);
+        if (seeded == null || seeded < ORDERS) {
+            jdbcTemplate.update("INSERT INTO users (email) SELECT 'order-search-' || i || '@example.com' " +
+                    "FROM generate_series(1, ?) i ON CONFLICT (email) DO NOTHING", USERS);
+            jdbcTemplate.update("INSERT INTO vendors (name, company_name, email) " +
+                    "SELECT 'Vendor ' || i, 'Vendor ' || i, 'order-search-vendor-' || i || '@example.com' " +
+                    "FROM generate_series(1, ?) i ON CONFLICT (email) DO NOTHING", VENDORS);
+            // 7 in 10 orders are B2C; one order every 5 minutes from 2024 on; 85% COMPLETED, the rest spread
+            // over the other end and intermediate statuses
+            jdbcTemplate.update("""
+                    INSERT INTO orders (order_number, user_id, vendor_id, bundle_code, quantity, unit_price,
+                                        total_amount, currency, status, created_at, updated_at)
+                    SELECT 'ORD-SEARCH-' || i,
+                           CASE WHEN i % 10 < 7 THEN u.id END,
+                           CASE WHEN i % 10 >= 7 THEN v.id END,
+                           'BUNDLE_US_5GB_30D', 1, 10, 10, 'USD',
+                           (CASE WHEN i % 100 < 85 THEN 'COMPLETED'
+                                 WHEN i % 100 < 90 THEN 'FAILED'
+                                 WHEN i % 100 < 94 THEN 'CANCELED'
+                                 WHEN i % 100 < 97 THEN 'PAYMENT_PENDING'
+                                 WHEN i % 100 < 99 THEN 'SYNC_FAILED'
+                                 ELSE 'PAID' END)::order_status,
+                           TIMESTAMP '2024-01-01' + i * INTERVAL '5 minutes',
+                           TIMESTAMP '2024-01-01' + i * INTERVAL '5 minutes'
+                    FROM generate_series(1, ?) i
+                    JOIN (SELECT id, row_number() OVER (ORDER BY id) AS n FROM users
+                          WHERE email LIKE 'order-search-%') u ON u.n = 1 + (i * 7919) % ?
+                    JOIN (SELECT id, row_number() OVER (ORDER BY id) AS n FROM vendors
+                          WHERE email LIKE 'order-search-vendor-%') v ON v.n = 1 + (i * 31) % ?
+                    ON CONFLICT (order_number) DO NOTHING
+                    """, ORDERS, USERS, VENDORS);
+        }
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE vendors");
+        // Also sets the visibility map, as autovacuum would have on a live table, so index-only scans are costed
+        jdbcTemplate.execute("VACUUM ANALYZE orders");
+    }
+
+    /**
+     * Filter combinations with the index designed for their page query first, then the other indexes leading
+     * with a filtered column, which a count query may use as well
+     */
+    static Stream<Arguments> filterCombinations() {
+        String created = "idx_orders_created_id";
+        String user = "idx_orders_user_created_id";
+        String userStatus = "idx_orders_user_status_created_id";
+        String vendor = "idx_orders_vendor_created_id";
+        String vendorStatus = "idx_orders_vendor_status_created_id";
+        String vendorLookup = "idx_orders_vendor_status_lookup";
+        String statusCreated = "idx_orders_status_created_id";
+        return Stream.of(
+                arguments("no filter", null, null, null, null, null, List.of(created)),
+                arguments("user", 1L, null, null, null, null, List.of(user, userStatus)),
+                arguments("user, dates", 1L, null, null, START, END, List.of(user, userStatus, created)),
+                arguments("user, status", 1L, null, OrderStatus.COMPLETED, null, null,
+                        List.of(userStatus, user, statusCreated)),
+                arguments("vendor", null, 1L, null, null, null, List.of(vendor, vendorStatus, vendorLookup)),
+                arguments("vendor, dates", null, 1L, null, START, END,
+                        List.of(vendor, vendorStatus, vendorLookup, created)),
+                arguments("vendor, status", null, 1L, OrderStatus.COMPLETED, null, null,
+                        List.of(vendorStatus, vendor, vendorLookup, statusCreated)),
+                arguments("vendor, status, dates", null, 1L, OrderStatus.COMPLETED, START, END,
+                        List.of(vendorStatus, vendor, vendorLookup, statusCreated, created)),
+                arguments("status", null, null, OrderStatus.FAILED, null, null, List.of(statusCreated, created)),
+                arguments("status, dates", null, null, OrderStatus.FAILED, START, END,
+                        List.of(statusCreated, created)),
+                arguments("dates", null, null, null, START, END, List.of(created)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void searchUsesItsIndex(String combination, Long userId, Long vendorId, OrderStatus status,
+                            LocalDateTime startDate, LocalDateTime endDate, List<String> indexes) {
+        // First page with its count, then a page after a cursor
+        List<String> statements = record(() -> {
+            orderService.searchOrders(userId, vendorId, status, startDate, endDate, null, 20, true);
+            orderService.searchOrders(userId, vendorId, status, startDate, endDate,
+                    new Cursor(END, Long.MAX_VALUE), 20, false);
+        });
+        assertEquals(3, statements.size(), "Unexpected statements: " + statements);
+
+        boolean unfiltered = userId == null && vendorId == null && status == null && startDate == null;
+        for (String sql : statements) {
+            boolean page = sql.contains(" order by ");
+            if (unfiltered && !page) {
+                // Counting every order reads the whole table; a sequential scan is the right plan
+                continue;
+            }
+            String plan = String.join("\n", explain(sql));
+            Set<String> used = indexesOn(plan);
+            assertFalse(plan.contains("Seq Scan on orders"), () -> sql + "\n" + plan);
+            if (page) {
+                // A status alone: the generic plan cannot tell a common status, for which walking
+                // idx_orders_created_id and filtering is cheapest, from a rare one, so after a cursor it may take either
+                Set<String> planned = status != null && userId == null && vendorId == null && startDate == null
+                        ? Set.copyOf(indexes) : Set.of(indexes.get(0));
+                assertEquals(1, used.size(), () -> sql + "\n" + plan);
+                assertTrue(planned.containsAll(used), () -> sql + "\n" + plan);
+            } else {
+                assertFalse(used.isEmpty(), () -> sql + "\n" + plan);
+                assertTrue(indexes.containsAll(used), () -> sql + "\n" + plan);
+            }
+        }
+    }
+
+    /**
+     * SQL statements on the orders table run by the action
+     */
+    private List<String> record(Runnable action) {
+        SqlRecorder.STATEMENTS.clear();
+        action.run();
+        return SqlRecorder.STATEMENTS.stream()
+                .filter(sql -> sql.contains(" orders "))
+                .toList();
+    }
+
+    private List<String> explain(String sql) {
+        // Hibernate's ? placeholders become the $n parameters GENERIC_PLAN plans for
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        // Sent with the simple query protocol: the extended protocol would expect values for the $n parameters
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres"));
+        properties.setProperty("password", System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", ""));
+        properties.setProperty("preferQueryMode", "simple");
+        try (Connection connection = DriverManager.getConnection(System.getenv("TEST_POSTGRES_URL"), properties);
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numbered)) {
+            List<String> plan = new ArrayList<>();
+            while (rows.next()) {
+                plan.add(rows.getString(1));
+            }
+            return plan;
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed: " + numbered, e);
+        }
+    }
+
+    /**
+     * Names of the orders indexes the plan scans
+     */
+    private static Set<String> indexesOn(String plan) {
+        Set<String> indexes = new TreeSet<>();
+        Matcher matcher = INDEX_NAME.matcher(plan);
+        while (matcher.find()) {
+            if (matcher.group(1).startsWith("idx_orders_") || matcher.group(1).equals("orders_pkey")) {
+                indexes.add(matcher.group(1));
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
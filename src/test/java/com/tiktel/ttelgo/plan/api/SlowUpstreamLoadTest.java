@@ -0,0 +1,165 @@
+package com.tiktel.ttelgo.plan.api;
+
+import com.tiktel.ttelgo.integration.esimgo.simulator.EsimGoSimulator;
+import com.tiktel.ttelgo.security.RateLimitingFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test: requests waiting on a slow eSIMGo must not take request threads away from other endpoints.
+ *
+ * eSIMGo is replaced by the eSIMGo simulator, answering every call after {@value #UPSTREAM_DELAY_MS} ms, and Tomcat
+ * gets only {@value #REQUEST_THREADS} request threads. While {@value #SLOW_REQUESTS} catalogue page requests
+ * (three times the thread count) wait on the simulator, an unrelated endpoint (the database health check) is driven
+ * as fast as possible, and its throughput is compared with a baseline taken while eSIMGo is idle. With a
+ * blocking eSIMGo client every request thread would be parked on the simulator and the unrelated endpoint would
+ * stall until it answers.
+ * All requests come from one client address, so the per-client rate limit is turned off for this test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + SlowUpstreamLoadTest.REQUEST_THREADS,
+        "server.tomcat.threads.min-spare=" + SlowUpstreamLoadTest.REQUEST_THREADS,
+        "esimgo.http.max-connections-per-route=" + SlowUpstreamLoadTest.SLOW_REQUESTS,
+        // Pin the adaptive read limit, so all slow requests reach the simulator at once
+        "esimgo.concurrency.reads.min-limit=" + SlowUpstreamLoadTest.SLOW_REQUESTS,
+        "esimgo.concurrency.reads.max-limit=" + SlowUpstreamLoadTest.SLOW_REQUESTS
+})
+@ActiveProfiles("test")
+class SlowUpstreamLoadTest {
+
+    static final int REQUEST_THREADS = 16;
+    static final int SLOW_REQUESTS = 3 * REQUEST_THREADS;
+    static final long UPSTREAM_DELAY_MS = 4000;
+    private static final int CLIENTS = 8;
+    private static final long WARMUP_MS = 1500;
+    private static final long MEASURE_MS = 1500;
+
+    private static EsimGoSimulator upstream;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @TestConfiguration
+    static class NoRateLimit {
+
+        @Bean
+        FilterRegistrationBean<RateLimitingFilter> rateLimitingFilterRegistration(RateLimitingFilter filter) {
+            FilterRegistrationBean<RateLimitingFilter> registration = new FilterRegistrationBean<>(filter);
+            registration.setEnabled(false);
+            return registration;
+        }
+    }
+
+    @DynamicPropertySource
+    static void slowUpstream(DynamicPropertyRegistry registry) {
+        upstream = EsimGoSimulator.builder().catalogueSize(100).latency("fixed:" + UPSTREAM_DELAY_MS).build();
+        upstream.start();
+        registry.add("esimgo.api.endpoint", upstream::baseUrl);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop();
+    }
+
+    @Test
+    void unrelatedEndpointThroughputStaysFlatWhileUpstreamIsSlow() throws Exception {
+        URI unrelated = URI.create("http://localhost:" + port + "/api/v1/health/db");
+        URI catalogue = URI.create("http://localhost:" + port + "/api/v1/bundles?page=0&size=10");
+
+        // Warm the catalogue path too, so first-call initialization doesn't hold back the slow requests below
+        assertEquals(200, client.send(HttpRequest.newBuilder(catalogue).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode());
+        throughput(unrelated, WARMUP_MS);
+        double baseline = throughput(unrelated, MEASURE_MS);
+
+        List<CompletableFuture<HttpResponse<String>>> slow = new ArrayList<>();
+        for (int i = 0; i < SLOW_REQUESTS; i++) {
+            slow.add(client.sendAsync(HttpRequest.newBuilder(catalogue).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        awaitUpstreamInFlight(SLOW_REQUESTS);
+        double loaded = throughput(unrelated, MEASURE_MS);
+        int stillWaiting = upstream.inFlight();
+
+        for (CompletableFuture<HttpResponse<String>> response : slow) {
+            assertEquals(200, response.get(UPSTREAM_DELAY_MS * 3, TimeUnit.MILLISECONDS).statusCode());
+        }
+        System.out.printf("Unrelated endpoint with %d request threads: %.0f req/s idle, %.0f req/s with %d requests waiting on a %d ms eSIMGo (%.0f%%)%n",
+                REQUEST_THREADS, baseline, loaded, SLOW_REQUESTS, UPSTREAM_DELAY_MS, 100 * loaded / baseline);
+        assertEquals(SLOW_REQUESTS, stillWaiting, "The measurement must fall within the upstream delay");
+        assertTrue(loaded >= baseline * 0.5,
+                "Throughput of unrelated endpoints should stay flat: " + loaded + " vs " + baseline + " req/s");
+    }
+
+    private void awaitUpstreamInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(UPSTREAM_DELAY_MS / 2);
+        while (upstream.inFlight() < expected) {
+            assertTrue(System.nanoTime() < deadline,
+                    "Only " + upstream.inFlight() + " of " + expected + " catalogue requests reached eSIMGo");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Successful requests per second over the given window, from {@value #CLIENTS} closed-loop clients
+     */
+    private double throughput(URI uri, long durationMs) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+            List<Future<Integer>> counts = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                counts.add(clients.submit(() -> {
+                    int ok = 0;
+                    HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMillis(durationMs)).build();
+                    while (System.nanoTime() < end) {
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                                ok++;
+                            }
+                        } catch (IOException e) {
+                            // Timed out behind blocked request threads: counts as no throughput
+                        }
+                    }
+                    return ok;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> count : counts) {
+                total += count.get();
+            }
+            return total * 1000.0 / durationMs;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tiktel.ttelgo.integration.esimgo.EsimGoClient;
+import com.tiktel.ttelgo.integration.esimgo.EsimGoConfig;
+import com.tiktel.ttelgo.plan.infrastructure.adapter.EsimGoAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark for CataloguePageFetcher against a local stub of the eSIMGo /catalogue endpoint
+ * with a fixed per-page latency. Compares strictly sequential paging with parallel fan-out.
+ */
+class CataloguePageFetcherBenchmarkTest {
+    
+    private static final int TOTAL_BUNDLES = 4000;
+    private static final int PER_PAGE = 500;
+    private static final long PAGE_LATENCY_MS = 150;
+    
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private EsimGoAdapter esimGoPort;
+    private volatile boolean reportPageCount = true;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        serverThreads = Executors.newFixedThreadPool(16);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/catalogue", exchange -> {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            int page = Integer.parseInt(query.getOrDefault("page", "1"));
+            int perPage = Integer.parseInt(query.getOrDefault("perPage", "50"));
+            sleep(PAGE_LATENCY_MS);
+            
+            byte[] body = cataloguePage(page, perPage).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+        
+        EsimGoConfig config = new EsimGoConfig();
+        ReflectionTestUtils.setField(config, "apiEndpoint", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(config, "apiKey", "benchmark-key");
+        esimGoPort = new EsimGoAdapter(new EsimGoClient(config, new RestTemplate()), null);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+    
+    @Test
+    void parallelFanOutIsMuchFasterThanSequentialPaging() {
+        CataloguePageFetcher sequential = new CataloguePageFetcher(esimGoPort, 1, 0, 0);
+        CataloguePageFetcher parallel = new CataloguePageFetcher(esimGoPort, 8, 0, 0);
+        try {
+            // Warm up connections and JIT
+            sequential.fetchAll(PER_PAGE);
+            parallel.fetchAll(PER_PAGE);
+            
+            long sequentialMs = time(() -> assertComplete(sequential.fetchAll(PER_PAGE)));
+            long parallelMs = time(() -> assertComplete(parallel.fetchAll(PER_PAGE)));
+            
+            System.out.printf("Catalogue load of %d pages @ %d ms/page: sequential=%d ms, parallel=%d ms%n",
+                    TOTAL_BUNDLES / PER_PAGE, PAGE_LATENCY_MS, sequentialMs, parallelMs);
+            // Sequential pays every round trip (~8 x 150 ms); fan-out pays roughly first page + one wave
+            assertTrue(parallelMs * 2 < sequentialMs,
+                    "expected parallel (" + parallelMs + " ms) to be well under sequential (" + sequentialMs + " ms)");
+        } finally {
+            sequential.shutdown();
+            parallel.shutdown();
+        }
+    }
+    
+    @Test
+    void fetchesAllPagesInOrderWhenPageCountIsUnknown() {
+        reportPageCount = false;
+        CataloguePageFetcher parallel = new CataloguePageFetcher(esimGoPort, 3, 0, 0);
+        try {
+            assertComplete(parallel.fetchAll(PER_PAGE));
+        } finally {
+            parallel.shutdown();
+        }
+    }
+    
+    private void assertComplete(CataloguePageFetcher.CatalogueFetch fetch) {
+        assertTrue(fetch.complete());
+        assertEquals(TOTAL_BUNDLES, fetch.catalogue().size());
+        for (int i = 0; i < TOTAL_BUNDLES; i++) {
+            assertEquals(bundleName(i), fetch.catalogue().bundle(i).name());
+        }
+    }
+    
+    private String cataloguePage(int page, int perPage) {
+        int from = (page - 1) * perPage;
+        int to = Math.min(TOTAL_BUNDLES, from + perPage);
+        StringBuilder json = new StringBuilder("{\"bundles\":[");
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"").append(bundleName(i)).append("\",")
+                    .append("\"description\":\"eSIM, 1GB, 7 Days, United Kingdom\",")
+                    .append("\"countries\":[{\"name\":\"United Kingdom\",\"region\":\"Europe\",\"iso\":\"GB\"}],")
+                    .append("\"dataAmount\":1000,\"duration\":7,\"autostart\":true,\"unlimited\":false,")
+                    .append("\"roamingEnabled\":[],\"price\":1.5,\"group\":[\"Standard eSIM Bundles\"],")
+                    .append("\"billingType\":\"FixedCost\"}");
+        }
+        json.append(']');
+        if (reportPageCount) {
+            int pageCount = (TOTAL_BUNDLES + perPage - 1) / perPage;
+            json.append(",\"pageCount\":").append(pageCount)
+                    .append(",\"rows\":").append(TOTAL_BUNDLES)
+                    .append(",\"pageSize\":").append(perPage);
+        }
+        return json.append('}').toString();
+    }
+    
+    private static String bundleName(int i) {
+        return String.format("esim_1GB_7D_GB_V2_%05d", i);
+    }
+    
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            String[] kv = pair.split("=", 2);
+            params.put(kv[0], kv.length > 1 ? kv[1] : "");
+        }
+        return params;
+    }
+    
+    private static long time(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.tiktel.ttelgo.plan.application;
+
+import com.tiktel.ttelgo.plan.api.dto.ListBundlesResponse;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Retained heap of a catalogue snapshot held as upstream DTOs versus the compact form plus its index.
+ *
+ * Sizes are taken from the JVM's class histogram of live objects (the {@code GC.class_histogram}
+ * diagnostic command, which runs a full GC first), before and after building each representation.
+ * The synthetic catalogue mirrors the upstream shape: a few hundred countries repeated across thousands
+ * of local, regional and global bundles, every string freshly allocated as it would be by the JSON parser.
+ */
+class CompactCatalogueHeapTest {
+
+    private static final int COUNTRIES = 200;
+    private static final int BUNDLES = 6000;
+    private static final String[] REGIONS = {"Europe", "Asia", "Africa", "North America", "South America", "Oceania"};
+    private static final Pattern TOTAL = Pattern.compile("(?m)^Total\\s+(\\d+)\\s+(\\d+)\\s*$");
+
+    @Test
+    void compactCatalogueRetainsLessThanHalfOfTheDtoHeap() throws Exception {
+        long before = liveHeapBytes();
+        List<ListBundlesResponse.BundleDto> dtos = catalogue();
+        long dtoBytes = liveHeapBytes() - before;
+        assertEquals(BUNDLES, dtos.size());
+        Reference.reachabilityFence(dtos);
+        dtos = null;
+
+        before = liveHeapBytes();
+        CatalogueIndex index = CatalogueIndex.build(CompactCatalogue.of(catalogue()));
+        long compactBytes = liveHeapBytes() - before;
+        assertEquals(BUNDLES, index.size());
+        Reference.reachabilityFence(index);
+
+        System.out.printf("Catalogue of %d bundles: DTOs %,d bytes, compact + index %,d bytes (%.0f%%)%n",
+                BUNDLES, dtoBytes, compactBytes, 100.0 * compactBytes / dtoBytes);
+        assertTrue(compactBytes < dtoBytes / 2,
+                "Compact catalogue should retain less than half of the DTO heap: " + compactBytes + " vs " + dtoBytes);
+    }
+
+    @Test
+    void viewsMaterializeTheOriginalBundles() {
+        List<ListBundlesResponse.BundleDto> dtos = catalogue();
+        CompactCatalogue compact = CompactCatalogue.of(dtos);
+
+        assertEquals(dtos, compact.all());
+        assertEquals(COUNTRIES, compact.countryCount());
+        assertNotSame(compact.all().get(0), compact.all().get(0), "Views hand out fresh DTOs");
+    }
+
+    private static long liveHeapBytes() throws Exception {
+        String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram",
+                new Object[]{null},
+                new String[]{String[].class.getName()});
+        Matcher total = TOTAL.matcher(histogram);
+        assertTrue(total.find(), "Unexpected class histogram format");
+        return Long.parseLong(total.group(2));
+    }
+
+    private static List<ListBundlesResponse.BundleDto> catalogue() {
+        List<ListBundlesResponse.BundleDto> bundles = new ArrayList<>(BUNDLES);
+        for (int i = 0; i < BUNDLES; i++) {
+            ListBundlesResponse.BundleDto bundle = new ListBundlesResponse.BundleDto();
+            bundle.setName(fresh("esim_" + (i % 7 + 1) + "GB_" + (i % 4 + 1) * 7 + "D_" + i + "_V2"));
+            bundle.setDescription(fresh("eSIM, " + (i % 7 + 1) + "GB, " + (i % 4 + 1) * 7 + " Days, V2"));
+            bundle.setDataAmount((i % 7 + 1) * 1000);
+            bundle.setDuration((i % 4 + 1) * 7);
+            bundle.setAutostart(true);
+            bundle.setUnlimited(false);
+            bundle.setRoamingEnabled(i % 3 == 0);
+            bundle.setImageUrl(fresh("https://cdn.example.com/bundles/esim.png"));
+            bundle.setPrice(1.5 + i % 40);
+            bundle.setGroup(List.of(fresh("Standard eSIM Bundles")));
+            bundle.setBillingType(fresh("FixedCost"));
+            bundle.setPotentialSpeeds(List.of(fresh("3G"), fresh("4G"), fresh("5G")));
+
+            // Mostly single-country bundles, with regional and global ones like the upstream catalogue
+            int first = i % COUNTRIES;
+            int count = i % 10 == 0 ? 120 : i % 4 == 0 ? 30 : 1;
+            List<ListBundlesResponse.CountryDto> countries = new ArrayList<>(count);
+            for (int c = 0; c < count; c++) {
+                countries.add(country((first + c) % COUNTRIES));
+            }
+            bundle.setCountries(countries);
+            bundles.add(bundle);
+        }
+        return bundles;
+    }
+
+    private static ListBundlesResponse.CountryDto country(int id) {
+        ListBundlesResponse.CountryDto country = new ListBundlesResponse.CountryDto();
+        country.setName(fresh("Country " + id));
+        country.setRegion(fresh(REGIONS[id % REGIONS.length]));
+        country.setIso(fresh(String.valueOf((char) ('A' + id / 26 % 26)) + (char) ('A' + id % 26)));
+        return country;
+    }
+
+    private static String fresh(String value) {
+        return new String(value.toCharArray());
+    }
+}
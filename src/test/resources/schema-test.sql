@@ -1,8 +1,9 @@
 -- Test schema initialization for H2 database
--- This creates the audit_logs table that is required by AuditService
+-- Tables that are not mapped by JPA entities (ddl-auto does not create them):
+-- audit_logs, required by AuditService
 
 CREATE TABLE IF NOT EXISTS audit_logs (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     
     -- Actor
     user_id BIGINT,
@@ -26,9 +27,40 @@ CREATE TABLE IF NOT EXISTS audit_logs (
     http_method VARCHAR(10),
     
     -- Result
-    success BOOLEAN NOT NULL DEFAULT TRUE,
+    success BOOLEAN DEFAULT TRUE NOT NULL,
     error_message TEXT,
     
     -- Timestamp
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
+
+-- Provisioning job queue, used through JdbcTemplate by ProvisioningJobRepositoryAdapter
+CREATE TABLE IF NOT EXISTS provisioning_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id BIGINT NOT NULL UNIQUE,
+    status VARCHAR(20) DEFAULT 'PENDING' NOT NULL,
+    attempts INTEGER DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255),
+    locked_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Transactional outbox, used through JdbcTemplate by OutboxEventRepository
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT,
+    event_type VARCHAR(100) NOT NULL,
+    payload CLOB NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING' NOT NULL,
+    attempts INTEGER DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255),
+    locked_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);